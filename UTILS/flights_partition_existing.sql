@@ -0,0 +1,81 @@
+-- One-off conversion of an existing, unpartitioned flights table to the monthly-partitioned layout of
+-- services/flight-search-service/src/main/resources/schema-postgresql.sql.
+-- Usage: psql -h localhost -U flight -d flights -f UTILS/flights_partition_existing.sql
+-- Runs in one transaction. Searches keep reading the old table while rows are copied and indexed, writers
+-- wait; only the final renames block reads. Every row lands in flights_default; FlightPartitionMaintenance
+-- moves them into their months at the next start. The old table is kept as flights_unpartitioned.
+\set ON_ERROR_STOP on
+
+BEGIN;
+LOCK TABLE flights IN EXCLUSIVE MODE;
+
+CREATE TABLE flights_partitioned (
+  id BIGINT NOT NULL,
+  origin VARCHAR(8) NOT NULL,
+  destination VARCHAR(8) NOT NULL,
+  departure_date DATE NOT NULL,
+  return_date DATE,
+  airline VARCHAR(2) NOT NULL,
+  flight_number VARCHAR(10) NOT NULL,
+  cabin VARCHAR(16) NOT NULL,
+  base_fare NUMERIC(12,2) NOT NULL,
+  total_fare NUMERIC(12,2) NOT NULL,
+  currency VARCHAR(3) NOT NULL,
+  seats_available INT NOT NULL,
+  PRIMARY KEY (id, departure_date)
+) PARTITION BY RANGE (departure_date);
+CREATE TABLE flights_partitioned_default PARTITION OF flights_partitioned DEFAULT;
+
+INSERT INTO flights_partitioned (id, origin, destination, departure_date, return_date, airline, flight_number,
+                                 cabin, base_fare, total_fare, currency, seats_available)
+SELECT id, origin, destination, departure_date, return_date, airline, flight_number,
+       cabin, base_fare, total_fare, currency, seats_available
+FROM flights;
+
+-- Built after the copy; a duplicate natural key fails here and rolls everything back.
+CREATE INDEX flights_partitioned_route_date ON flights_partitioned (origin, destination, departure_date);
+CREATE INDEX flights_partitioned_route_date_ci ON flights_partitioned (UPPER(origin), UPPER(destination), departure_date);
+CREATE INDEX flights_partitioned_destination_date ON flights_partitioned (destination, departure_date);
+CREATE UNIQUE INDEX flights_partitioned_natural_key ON flights_partitioned (airline, flight_number, departure_date);
+
+-- Swap: the old table and its indexes step aside, the new ones take the names schema-postgresql.sql uses.
+ALTER TABLE flights RENAME TO flights_unpartitioned;
+ALTER TABLE flights_unpartitioned RENAME CONSTRAINT flights_pkey TO flights_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_flights_route_date RENAME TO flights_unpartitioned_route_date;
+ALTER INDEX IF EXISTS idx_flights_route_date_ci RENAME TO flights_unpartitioned_route_date_ci;
+ALTER INDEX IF EXISTS idx_flights_destination_date RENAME TO flights_unpartitioned_destination_date;
+ALTER INDEX IF EXISTS ux_flights_natural_key RENAME TO flights_unpartitioned_natural_key;
+
+ALTER TABLE flights_partitioned RENAME TO flights;
+ALTER TABLE flights_partitioned_default RENAME TO flights_default;
+ALTER TABLE flights RENAME CONSTRAINT flights_partitioned_pkey TO flights_pkey;
+ALTER INDEX flights_partitioned_route_date RENAME TO idx_flights_route_date;
+ALTER INDEX flights_partitioned_route_date_ci RENAME TO idx_flights_route_date_ci;
+ALTER INDEX flights_partitioned_destination_date RENAME TO idx_flights_destination_date;
+ALTER INDEX flights_partitioned_natural_key RENAME TO ux_flights_natural_key;
+
+-- Ids keep coming from the old serial sequence, widened to BIGINT and owned by the new table.
+ALTER SEQUENCE flights_id_seq AS BIGINT OWNED BY flights.id;
+ALTER TABLE flights ALTER COLUMN id SET DEFAULT nextval('flights_id_seq');
+
+-- Databases from before the fare calendar get it filled from the copied rows.
+CREATE TABLE IF NOT EXISTS fare_calendar (
+  origin VARCHAR(8) NOT NULL,
+  destination VARCHAR(8) NOT NULL,
+  cabin VARCHAR(16) NOT NULL,
+  departure_date DATE NOT NULL,
+  min_total_fare NUMERIC(12,2) NOT NULL,
+  currency VARCHAR(3) NOT NULL,
+  flight_count INT NOT NULL,
+  PRIMARY KEY (origin, destination, cabin, departure_date)
+);
+INSERT INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count)
+SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*)
+FROM flights
+GROUP BY origin, destination, cabin, departure_date
+ON CONFLICT DO NOTHING;
+
+COMMIT;
+
+-- Once the service runs on the partitioned table:
+--   DROP TABLE flights_unpartitioned;
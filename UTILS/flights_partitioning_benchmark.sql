@@ -0,0 +1,74 @@
+-- Heap vs monthly-partitioned flights table on a synthetic schedule.
+-- Usage: psql -h localhost -U flight -d flights -v rows=5000000 -f UTILS/flights_partitioning_benchmark.sql
+-- Creates its own bench_* tables; the service tables are not touched.
+\timing on
+\if :{?rows}
+\else
+  \set rows 5000000
+\endif
+
+DROP TABLE IF EXISTS bench_flights_heap;
+DROP TABLE IF EXISTS bench_flights_part;
+
+CREATE TABLE bench_flights_heap (
+  id BIGINT NOT NULL, origin VARCHAR(8) NOT NULL, destination VARCHAR(8) NOT NULL,
+  departure_date DATE NOT NULL, airline VARCHAR(2) NOT NULL, flight_number VARCHAR(10) NOT NULL,
+  cabin VARCHAR(16) NOT NULL, total_fare NUMERIC(12,2) NOT NULL, seats_available INT NOT NULL,
+  PRIMARY KEY (id, departure_date)
+);
+CREATE TABLE bench_flights_part (LIKE bench_flights_heap INCLUDING ALL) PARTITION BY RANGE (departure_date);
+
+-- 36 months, 2024-01 .. 2026-12
+SELECT format('CREATE TABLE bench_flights_part_%s PARTITION OF bench_flights_part FOR VALUES FROM (%L) TO (%L)',
+              to_char(m, 'YYYY_MM'), m::date, (m + interval '1 month')::date)
+FROM generate_series(DATE '2024-01-01', DATE '2026-12-01', interval '1 month') m \gexec
+
+-- 400 routes over 20 airports, departures spread evenly over the 36 months
+INSERT INTO bench_flights_heap
+SELECT g,
+       'A' || lpad((g % 20)::text, 2, '0'),
+       'B' || lpad(((g / 20) % 20)::text, 2, '0'),
+       DATE '2024-01-01' + (g % 1096),
+       'XX', 'XX' || (g % 100000),
+       CASE WHEN g % 10 = 0 THEN 'BUSINESS' ELSE 'ECONOMY' END,
+       100 + (g % 500), 1 + (g % 50)
+FROM generate_series(1, :rows) g;
+INSERT INTO bench_flights_part SELECT * FROM bench_flights_heap;
+
+CREATE INDEX ON bench_flights_heap (origin, destination, departure_date);
+CREATE INDEX ON bench_flights_part (origin, destination, departure_date);
+VACUUM ANALYZE bench_flights_heap;
+VACUUM ANALYZE bench_flights_part;
+
+-- 1) FlightRepository-style search: one route, one week
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_flights_heap
+WHERE origin = 'A07' AND destination = 'B03' AND departure_date BETWEEN DATE '2026-03-01' AND DATE '2026-03-07';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench_flights_part
+WHERE origin = 'A07' AND destination = 'B03' AND departure_date BETWEEN DATE '2026-03-01' AND DATE '2026-03-07';
+
+-- 2) Window scan without a route (fare calendar rebuild / ingestion refresh of one month)
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT origin, destination, cabin, departure_date, min(total_fare) FROM bench_flights_heap
+WHERE departure_date >= DATE '2026-03-01' AND departure_date < DATE '2026-04-01'
+GROUP BY origin, destination, cabin, departure_date;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT origin, destination, cabin, departure_date, min(total_fare) FROM bench_flights_part
+WHERE departure_date >= DATE '2026-03-01' AND departure_date < DATE '2026-04-01'
+GROUP BY origin, destination, cabin, departure_date;
+
+-- 3) Retiring the oldest month: DELETE + VACUUM on the heap vs DETACH on the partitioned table
+DELETE FROM bench_flights_heap WHERE departure_date < DATE '2024-02-01';
+VACUUM bench_flights_heap;
+ALTER TABLE bench_flights_part DETACH PARTITION bench_flights_part_2024_01;
+DROP TABLE bench_flights_part_2024_01;
+
+-- 4) Routine vacuum after a day of seat updates: whole heap vs only the month that changed
+UPDATE bench_flights_heap SET seats_available = seats_available - 1 WHERE departure_date = DATE '2026-03-15';
+UPDATE bench_flights_part SET seats_available = seats_available - 1 WHERE departure_date = DATE '2026-03-15';
+VACUUM bench_flights_heap;
+VACUUM bench_flights_part_2026_03;
+
+DROP TABLE bench_flights_heap;
+DROP TABLE bench_flights_part;
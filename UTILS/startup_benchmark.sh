@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Time-to-first-request of one service in three launch modes:
+#   jar      java -jar on the executable jar (what the Dockerfiles ran before)
+#   cds      extracted jar + Class Data Sharing archive from a training run
+#   cds+aot  the same with the AOT-generated bean definitions (-Dspring.aot.enabled=true)
+#
+# Build the module with the aot profile first:
+#   (cd services/pricing-service && mvn -B -Paot -DskipTests package)
+# Usage:
+#   UTILS/startup_benchmark.sh <module-dir> <first-request-url> [runs] [-- app arguments...]
+#   UTILS/startup_benchmark.sh services/pricing-service "http://localhost:8081/api/pricing/quote?baseFare=100" 5
+# App arguments are passed to every run, including the training run (e.g. a datasource URL).
+set -euo pipefail
+
+module=${1:?module directory}
+url=${2:?first request url}
+runs=${3:-5}
+shift $(( $# >= 3 ? 3 : $# ))
+[[ ${1:-} == "--" ]] && shift
+args=("$@")
+
+jar=$(ls "$module"/target/*.jar | grep -v '\.original$' | head -1)
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+
+java -Djarmode=tools -jar "$jar" extract --destination "$work/app" > /dev/null
+app="$work/app/$(basename "$jar")"
+
+# Training runs: start the context, exit once it is refreshed, dump the loaded classes.
+# They must use the same JVM, classpath and flags as the measured runs to be accepted.
+train() {
+  local archive=$1; shift
+  (cd "$work/app" && java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" \
+      -jar "$app" "${args[@]}" > "$work/train.log" 2>&1)
+}
+train "$work/app.jsa" || { tail -20 "$work/train.log"; exit 1; }
+modes=(jar cds)
+# Modules built without process-aot (eureka-server) fail here; they are reported without the AOT column.
+if train "$work/app-aot.jsa" -Dspring.aot.enabled=true; then modes+=(cds+aot); fi
+
+# Prints milliseconds from launch until $url answers with any HTTP status.
+measure() {
+  local start pid code
+  start=$(date +%s%N)
+  "$@" "${args[@]}" > "$work/run.log" 2>&1 &
+  pid=$!
+  until code=$(curl -s -o /dev/null -w '%{http_code}' "$url") && [[ $code != 000 ]]; do
+    kill -0 "$pid" 2> /dev/null || { tail -20 "$work/run.log" >&2; exit 1; }
+    sleep 0.02
+  done
+  echo $(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"; wait "$pid" 2> /dev/null || true
+}
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'; }
+
+declare -A result=([cds+aot]=n/a)
+for mode in "${modes[@]}"; do
+  samples=()
+  for ((i = 0; i < runs; i++)); do
+    case $mode in
+      jar)     samples+=("$(measure java -jar "$jar")") ;;
+      cds)     samples+=("$(measure java -XX:SharedArchiveFile="$work/app.jsa" -jar "$app")") ;;
+      cds+aot) samples+=("$(measure java -XX:SharedArchiveFile="$work/app-aot.jsa" -Dspring.aot.enabled=true -jar "$app")") ;;
+    esac
+  done
+  result[$mode]=$(printf '%s\n' "${samples[@]}" | median)
+done
+
+printf '| %s | %s ms | %s ms | %s |\n' "$(basename "$module")" "${result[jar]}" "${result[cds]}" \
+  "${result[cds+aot]}$([[ ${result[cds+aot]} == n/a ]] || echo ' ms')"
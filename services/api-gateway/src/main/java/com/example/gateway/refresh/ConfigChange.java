@@ -0,0 +1,8 @@
+package com.example.gateway.refresh;
+
+import java.util.Set;
+
+/** Mirrors the config server's {@code /changes} event payload. */
+public record ConfigChange(String application, String profile, String label, String version,
+                           Set<String> keys, long timestamp) {
+}
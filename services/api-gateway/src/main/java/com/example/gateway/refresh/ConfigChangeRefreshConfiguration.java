@@ -0,0 +1,50 @@
+package com.example.gateway.refresh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+
+/** Incremental refresh driven by the config server's change stream; off with {@code config.changes.enabled=false}. */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "config.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class ConfigChangeRefreshConfiguration {
+
+  @Bean
+  SelectiveConfigRefresher selectiveConfigRefresher(ConfigurableApplicationContext context,
+                                                    ConfigurationPropertiesRebinder rebinder, ObjectMapper mapper,
+                                                    MeterRegistry registry) {
+    Environment env = context.getEnvironment();
+    EnvironmentFetcher fetcher = new ConfigServerEnvironmentFetcher(serverUri(env), application(env), profile(env),
+        env.getProperty("spring.cloud.config.label"), mapper);
+    return new SelectiveConfigRefresher(context, rebinder, fetcher, registry);
+  }
+
+  @Bean
+  ConfigChangeSubscriber configChangeSubscriber(Environment env, SelectiveConfigRefresher refresher,
+                                                ObjectMapper mapper) {
+    URI changes = URI.create(serverUri(env).replaceAll("/+$", "") + "/changes");
+    return new ConfigChangeSubscriber(changes, application(env), profile(env), refresher, mapper);
+  }
+
+  private static String serverUri(Environment env) {
+    return env.getProperty("config.changes.server-uri",
+        env.getProperty("spring.cloud.config.uri", "http://localhost:8888"));
+  }
+
+  private static String application(Environment env) {
+    return env.getProperty("spring.cloud.config.name", env.getProperty("spring.application.name", "application"));
+  }
+
+  /** The profile string the config client sent at startup, which is also the server's cache key. */
+  private static String profile(Environment env) {
+    String[] active = env.getActiveProfiles();
+    return env.getProperty("spring.cloud.config.profile", active.length == 0 ? "default" : String.join(",", active));
+  }
+}
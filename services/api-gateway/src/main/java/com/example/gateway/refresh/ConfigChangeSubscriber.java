@@ -0,0 +1,119 @@
+package com.example.gateway.refresh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Follows the config server's {@code /changes} stream and hands changes for this application and profile
+ * to {@link SelectiveConfigRefresher}. Reconnects with exponential backoff; {@code /actuator/refresh}
+ * keeps working as the fallback.
+ */
+public class ConfigChangeSubscriber implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(ConfigChangeSubscriber.class);
+  private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final URI changesUrl;
+  private final String application;
+  private final String profile;
+  private final SelectiveConfigRefresher refresher;
+  private final ObjectMapper mapper;
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(2))
+      .build();
+
+  private volatile boolean running;
+  private volatile Thread worker;
+  private volatile Stream<String> current;
+
+  public ConfigChangeSubscriber(URI changesUrl, String application, String profile,
+                                SelectiveConfigRefresher refresher, ObjectMapper mapper) {
+    this.changesUrl = changesUrl;
+    this.application = application;
+    this.profile = profile;
+    this.refresher = refresher;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = new Thread(this::follow, "config-changes");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Stream<String> lines = current;
+    if (lines != null) lines.close();
+    if (worker != null) worker.interrupt();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  void handle(String json) {
+    ConfigChange change;
+    try {
+      change = mapper.readValue(json, ConfigChange.class);
+    } catch (IOException ex) {
+      log.debug("Ignoring malformed config change: {}", json);
+      return;
+    }
+    if (!application.equals(change.application()) || !profile.equals(change.profile())) return;
+    try {
+      refresher.apply(change);
+    } catch (RuntimeException ex) {
+      log.warn("Could not apply config change {}; use /actuator/refresh", change.keys(), ex);
+    }
+  }
+
+  private void follow() {
+    Duration backoff = Duration.ofSeconds(1);
+    while (running) {
+      try {
+        var request = HttpRequest.newBuilder(changesUrl).header("Accept", "text/event-stream").GET().build();
+        HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+          response.body().close();
+          throw new IOException("HTTP " + response.statusCode());
+        }
+        log.info("Subscribed to config changes at {}", changesUrl);
+        backoff = Duration.ofSeconds(1);
+        try (Stream<String> lines = response.body()) {
+          current = lines;
+          lines.filter(line -> line.startsWith("data:")).forEach(line -> handle(line.substring(5).trim()));
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException | RuntimeException ex) {
+        if (running) log.debug("Config change stream unavailable: {}", ex.toString());
+      } finally {
+        current = null;
+      }
+      if (!running) return;
+      try {
+        Thread.sleep(backoff.toMillis());
+      } catch (InterruptedException ex) {
+        return;
+      }
+      backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+    }
+  }
+}
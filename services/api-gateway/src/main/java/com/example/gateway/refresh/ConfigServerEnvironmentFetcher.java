@@ -0,0 +1,62 @@
+package com.example.gateway.refresh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One GET of {@code /{application}/{profile}[/{label}]}, the same (decrypted, server-cached) resource the
+ * config client loads at startup. Sources are named {@code configserver:<name>} like the client names them.
+ */
+public class ConfigServerEnvironmentFetcher implements EnvironmentFetcher {
+
+  private final URI uri;
+  private final ObjectMapper mapper;
+  private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+  public ConfigServerEnvironmentFetcher(String serverUri, String application, String profile, String label,
+                                        ObjectMapper mapper) {
+    String path = "/" + application + "/" + profile + (label == null || label.isBlank() ? "" : "/" + label);
+    this.uri = URI.create(serverUri.replaceAll("/+$", "") + path);
+    this.mapper = mapper;
+  }
+
+  @Override
+  public List<PropertySource<?>> fetch() {
+    try {
+      HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(uri)
+          .header("Accept", "application/json")
+          .timeout(Duration.ofSeconds(5))
+          .GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException("Config server answered " + response.statusCode() + " for " + uri);
+      }
+      List<PropertySource<?>> sources = new ArrayList<>();
+      for (JsonNode source : mapper.readTree(response.body()).path("propertySources")) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        source.path("source").fields()
+            .forEachRemaining(e -> values.put(e.getKey(), mapper.convertValue(e.getValue(), Object.class)));
+        sources.add(new MapPropertySource("configserver:" + source.path("name").asText(), values));
+      }
+      return sources;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+}
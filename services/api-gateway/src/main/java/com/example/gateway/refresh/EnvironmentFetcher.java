@@ -0,0 +1,12 @@
+package com.example.gateway.refresh;
+
+import org.springframework.core.env.PropertySource;
+
+import java.util.List;
+
+/** Resolves this application's remote property sources, highest precedence first. */
+@FunctionalInterface
+public interface EnvironmentFetcher {
+
+  List<PropertySource<?>> fetch();
+}
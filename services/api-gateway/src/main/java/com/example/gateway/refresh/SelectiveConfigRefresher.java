@@ -0,0 +1,123 @@
+package com.example.gateway.refresh;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBean;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Applies a {@link ConfigChange} without a full {@code /refresh}: the remote property sources are swapped
+ * in place, and only the {@code @ConfigurationProperties} beans whose prefix covers a changed key are
+ * rebound. Routes are reloaded only when a {@code spring.cloud.gateway.*} key changed.
+ */
+public class SelectiveConfigRefresher {
+
+  private static final Logger log = LoggerFactory.getLogger(SelectiveConfigRefresher.class);
+  private static final String REMOTE_PREFIX = "configserver:";
+  private static final ConfigurationPropertyName GATEWAY = ConfigurationPropertyName.of("spring.cloud.gateway");
+
+  private final ConfigurableApplicationContext context;
+  private final ConfigurationPropertiesRebinder rebinder;
+  private final EnvironmentFetcher fetcher;
+  private final Timer timer;
+
+  public SelectiveConfigRefresher(ConfigurableApplicationContext context, ConfigurationPropertiesRebinder rebinder,
+                                  EnvironmentFetcher fetcher, MeterRegistry registry) {
+    this.context = context;
+    this.rebinder = rebinder;
+    this.fetcher = fetcher;
+    this.timer = Timer.builder("config.refresh.selective")
+        .description("Time to apply a pushed config change")
+        .register(registry);
+  }
+
+  /** Returns the names of the beans that were rebound. */
+  public synchronized Set<String> apply(ConfigChange change) {
+    return timer.record(() -> {
+      ConfigurableEnvironment env = context.getEnvironment();
+      Map<String, Object> before = snapshot(env, change.keys());
+      List<PropertySource<?>> fresh = fetcher.fetch();
+      replaceRemoteSources(env.getPropertySources(), fresh, change.version());
+
+      List<ConfigurationPropertyName> changed = new ArrayList<>();
+      for (String key : change.keys()) {
+        if (!Objects.equals(before.get(key), value(env, key))) changed.add(ConfigurationPropertyName.adapt(key, '.'));
+      }
+      Set<String> rebound = new TreeSet<>();
+      ConfigurationPropertiesBean.getAll(context).forEach((name, bean) -> {
+        if (covers(bean.getAnnotation(), changed) && rebinder.rebind(name)) rebound.add(name);
+      });
+      if (changed.stream().anyMatch(key -> GATEWAY.isAncestorOf(key))) {
+        context.publishEvent(new RefreshRoutesEvent(this));
+      }
+      log.info("Applied config change {} ({} keys changed), rebound {}", change.version(), changed.size(), rebound);
+      return rebound;
+    });
+  }
+
+  private static boolean covers(ConfigurationProperties annotation, List<ConfigurationPropertyName> changed) {
+    if (changed.isEmpty()) return false;
+    String prefix = annotation.prefix();
+    if (prefix.isEmpty()) return true;
+    ConfigurationPropertyName root = ConfigurationPropertyName.of(prefix);
+    return changed.stream().anyMatch(key -> root.equals(key) || root.isAncestorOf(key));
+  }
+
+  /**
+   * Replaces the client's {@code configserver:*} sources with the fetched ones at the same position, so
+   * precedence against local files, env vars and command-line arguments is unchanged.
+   */
+  static void replaceRemoteSources(MutablePropertySources sources, List<PropertySource<?>> fresh, String version) {
+    List<String> remote = new ArrayList<>();
+    String anchor = null;
+    boolean seen = false;
+    for (PropertySource<?> source : sources) {
+      if (source.getName().startsWith(REMOTE_PREFIX)) {
+        remote.add(source.getName());
+        seen = true;
+      } else if (seen && anchor == null) {
+        anchor = source.getName();
+      }
+    }
+    remote.forEach(sources::remove);
+    for (PropertySource<?> source : fresh) {
+      if (anchor != null) sources.addBefore(anchor, source);
+      else sources.addLast(source);
+    }
+    if (version != null && sources.get("configClient") instanceof MapPropertySource client) {
+      client.getSource().put("config.client.version", version);
+    }
+  }
+
+  private static Map<String, Object> snapshot(ConfigurableEnvironment env, Set<String> keys) {
+    Map<String, Object> values = new HashMap<>();
+    keys.forEach(key -> values.put(key, value(env, key)));
+    return values;
+  }
+
+  private static Object value(ConfigurableEnvironment env, String key) {
+    try {
+      return env.getProperty(key);
+    } catch (IllegalArgumentException ex) {
+      return ex.getMessage();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.gateway.refresh;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SelectiveConfigRefresherTest {
+
+  private final AtomicReference<List<PropertySource<?>>> remote = new AtomicReference<>(List.of(
+      new MapPropertySource("configserver:api-gateway.yml", Map.of("edge.pricing.timeout-ms", 600,
+          "edge.bookings.timeout-ms", 5000))));
+
+  private final ApplicationContextRunner runner = new ApplicationContextRunner()
+      .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+          ConfigurationPropertiesRebinderAutoConfiguration.class))
+      .withUserConfiguration(Props.class)
+      .withInitializer(ctx -> ctx.getEnvironment().getPropertySources().addLast(remote.get().get(0)));
+
+  @Test
+  void only_properties_beans_covering_a_changed_key_are_rebound() {
+    runner.run(context -> {
+      SelectiveConfigRefresher refresher = refresher(context);
+      PricingEdge pricing = context.getBean(PricingEdge.class);
+      BookingsEdge bookings = context.getBean(BookingsEdge.class);
+      int pricingInits = pricing.inits;
+      int bookingsInits = bookings.inits;
+
+      remote.set(List.of(new MapPropertySource("configserver:api-gateway.yml",
+          Map.of("edge.pricing.timeout-ms", 450, "edge.bookings.timeout-ms", 5000))));
+      Set<String> rebound = refresher.apply(new ConfigChange("api-gateway", "default", null, "v2",
+          Set.of("edge.pricing.timeout-ms"), 0));
+
+      assertThat(pricing.getTimeoutMs()).isEqualTo(450);
+      assertThat(pricing.inits).isEqualTo(pricingInits + 1);
+      assertThat(bookings.inits).isEqualTo(bookingsInits);
+      assertThat(rebound).hasSize(1).allMatch(name -> name.contains("PricingEdge") || name.startsWith("edge.pricing"));
+    });
+  }
+
+  @Test
+  void announced_keys_that_resolve_to_the_same_value_rebind_nothing() {
+    runner.run(context -> {
+      Set<String> rebound = refresher(context).apply(new ConfigChange("api-gateway", "default", null, "v2",
+          Set.of("edge.bookings.timeout-ms"), 0));
+
+      assertThat(rebound).isEmpty();
+    });
+  }
+
+  @Test
+  void removed_keys_disappear_and_local_sources_keep_precedence() {
+    runner.run(context -> {
+      var sources = context.getEnvironment().getPropertySources();
+      sources.addFirst(new MapPropertySource("commandLineArgs", Map.of("edge.bookings.timeout-ms", 9000)));
+
+      remote.set(List.of(new MapPropertySource("configserver:api-gateway.yml", Map.of("edge.bookings.timeout-ms", 7000))));
+      Set<String> rebound = refresher(context).apply(new ConfigChange("api-gateway", "default", null, "v3",
+          Set.of("edge.pricing.timeout-ms", "edge.bookings.timeout-ms"), 0));
+
+      assertThat(context.getEnvironment().getProperty("edge.pricing.timeout-ms")).isNull();
+      assertThat(context.getEnvironment().getProperty("edge.bookings.timeout-ms")).isEqualTo("9000");
+      assertThat(rebound).noneMatch(name -> name.contains("BookingsEdge") || name.startsWith("edge.bookings"));
+    });
+  }
+
+  private SelectiveConfigRefresher refresher(ConfigurableApplicationContext context) {
+    return new SelectiveConfigRefresher(context, context.getBean(ConfigurationPropertiesRebinder.class),
+        remote::get, new SimpleMeterRegistry());
+  }
+
+  @EnableConfigurationProperties({PricingEdge.class, BookingsEdge.class})
+  static class Props {
+  }
+
+  @ConfigurationProperties("edge.pricing")
+  static class PricingEdge {
+    private int timeoutMs;
+    int inits;
+
+    @PostConstruct
+    void init() {
+      inits++;
+    }
+
+    public int getTimeoutMs() {
+      return timeoutMs;
+    }
+
+    public void setTimeoutMs(int timeoutMs) {
+      this.timeoutMs = timeoutMs;
+    }
+  }
+
+  @ConfigurationProperties("edge.bookings")
+  static class BookingsEdge {
+    private int timeoutMs;
+    int inits;
+
+    @PostConstruct
+    void init() {
+      inits++;
+    }
+
+    public int getTimeoutMs() {
+      return timeoutMs;
+    }
+
+    public void setTimeoutMs(int timeoutMs) {
+      this.timeoutMs = timeoutMs;
+    }
+  }
+}
@@ -0,0 +1,460 @@
+package com.example.booking.async;
+
+import com.example.booking.cache.BookingLookupCache;
+import com.example.booking.model.BookingRequest;
+import com.example.booking.model.BookingResponse;
+import com.example.booking.model.BookingStatus;
+import com.example.booking.service.BookingService;
+import com.example.booking.service.FlightManifestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind booking acceptance ({@code bookings.async.enabled=true}). {@link #accept} validates nothing
+ * beyond the controller's bean validation. It assigns the locator, appends the booking to the
+ * {@link BookingJournal} and returns. It does not wait for the database.
+ *
+ * <p>One writer thread drains the queue in journal order and stores whatever has accumulated (up to
+ * {@code batch-size}) in a single transaction: one JDBC batch insert plus the manifest upserts. It then
+ * checkpoints the journal past that batch. After a crash, the records after the checkpoint are replayed.
+ * Locators that are already stored with the same content are skipped, so a batch that committed just
+ * before the crash is not inserted twice.
+ *
+ * <p>With {@code fsync=true} (default) {@code accept} also waits for the journal page to reach the disk.
+ * A sync thread forces the log continuously, so concurrent requests share each flush (group commit).
+ * The writer only stores records that are already on disk. Without fsync, a booking survives a JVM crash
+ * but not a power loss.
+ *
+ * <p>If a flush fails, the on-disk state of the journal is unknown. Requests still waiting get a 503, and
+ * their records are marked FAILED instead of stored. New bookings are refused, and the health indicator
+ * reports DOWN until the service restarts. Before its 503 is sent, a refused booking is marked as refused in
+ * its journal record, so the next start does not replay it if its page reached the disk anyway. With the disk
+ * failing that mark is best effort: only an OS crash before the page is written back loses it.
+ *
+ * <p>The bean always exists, and {@code bookings.async.enabled} is read when it is created. It is not a bean
+ * condition, so the setting still applies to the AOT-processed jar ({@code -Paot}), whose conditions are
+ * fixed at build time.
+ */
+@Service
+public class AsyncBookingService implements SmartLifecycle, MeterBinder, HealthIndicator {
+  private static final Logger log = LoggerFactory.getLogger(AsyncBookingService.class);
+
+  private static final String INSERT = """
+    INSERT INTO bookings (record_locator, flight_number, origin, destination, departure_date, seat_count,
+                          person_type, total_fare, currency)
+    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+  private static final String EXISTING = """
+    SELECT record_locator, flight_number, origin, destination, departure_date, seat_count, person_type,
+           total_fare, currency
+    FROM bookings WHERE record_locator IN (:locators)
+    """;
+
+  private final BookingService bookings;
+  private final FlightManifestService manifests;
+  private final BookingLookupCache cache;
+  private final ObjectMapper json;
+  private final JdbcTemplate jdbc;
+  private final NamedParameterJdbcTemplate named;
+  private final TransactionTemplate tx;
+  private final Path journalDir;
+  private final int segmentSize;
+  private final int batchSize;
+  private final int maxPending;
+  private final boolean fsync;
+  private final boolean enabled;
+
+  private final Map<String, BookingResponse> pending = new ConcurrentHashMap<>();
+  private final Map<String, String> failed = lru(10_000);
+  private final BlockingQueue<Queued> queue = new LinkedBlockingQueue<>();
+  private final LongAdder stored = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final Object syncSignal = new Object();
+  private DistributionSummary batchSizes;
+
+  private BookingJournal journal;
+  private volatile boolean running;
+  private volatile boolean syncing;
+  private volatile boolean closed;
+  private volatile Throwable journalFailure;
+  private Thread writer;
+  private Thread syncer;
+
+  private record Queued(BookingJournal.Entry entry, BookingResponse view) {}
+
+  public AsyncBookingService(BookingService bookings, FlightManifestService manifests, BookingLookupCache cache,
+                             ObjectMapper json, DataSource dataSource, PlatformTransactionManager transactionManager,
+                             @Value("${bookings.async.journal-dir:./data/booking-journal}") Path journalDir,
+                             @Value("${bookings.async.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${bookings.async.batch-size:500}") int batchSize,
+                             @Value("${bookings.async.max-pending:200000}") int maxPending,
+                             @Value("${bookings.async.fsync:true}") boolean fsync,
+                             @Value("${bookings.async.enabled:false}") boolean enabled) {
+    this.bookings = bookings;
+    this.manifests = manifests;
+    this.cache = cache;
+    this.json = json;
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.named = new NamedParameterJdbcTemplate(jdbc);
+    this.tx = new TransactionTemplate(transactionManager);
+    this.journalDir = journalDir;
+    this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+    this.batchSize = batchSize;
+    this.maxPending = maxPending;
+    this.fsync = fsync;
+    this.enabled = enabled;
+  }
+
+  /** Whether bookings are accepted here; when not, the controller stores them synchronously. */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Journals the booking and returns its PENDING status. Returns empty (a 503) when {@code max-pending} is
+   * reached, when the service is stopped or its journal failed, or when the record did not reach the disk.
+   */
+  public Optional<BookingStatus> accept(BookingRequest request) {
+    if (!running || journalFailure != null || pending.size() >= maxPending) return Optional.empty();
+    BookingResponse view = bookings.prepare(request);
+    byte[] payload;
+    try {
+      payload = json.writeValueAsBytes(view);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    pending.put(view.recordLocator(), view);
+    BookingJournal.Entry entry;
+    // Journal order and queue order must match: the writer checkpoints past everything it has taken.
+    synchronized (queue) {
+      try {
+        entry = journal.append(payload);
+      } catch (RuntimeException ex) {
+        pending.remove(view.recordLocator());
+        throw ex;
+      }
+      queue.add(new Queued(entry, view));
+    }
+    if (fsync) {
+      try {
+        if (!awaitDurable(entry.next())) {
+          refuse(entry);
+          return Optional.empty();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("interrupted waiting for the booking journal", ex);
+      }
+    }
+    return Optional.of(new BookingStatus(view.recordLocator(), BookingStatus.State.PENDING, null));
+  }
+
+  /** PENDING while queued, FAILED if it could not be stored, CONFIRMED once it is in the database. */
+  public Optional<BookingStatus> status(String recordLocator) {
+    if (pending.containsKey(recordLocator)) {
+      return Optional.of(new BookingStatus(recordLocator, BookingStatus.State.PENDING, null));
+    }
+    String reason;
+    synchronized (failed) {
+      reason = failed.get(recordLocator);
+    }
+    if (reason != null) return Optional.of(new BookingStatus(recordLocator, BookingStatus.State.FAILED, reason));
+    return bookings.findByLocator(recordLocator)
+      .map(b -> new BookingStatus(recordLocator, BookingStatus.State.CONFIRMED, null));
+  }
+
+  @Override
+  public void start() {
+    if (!enabled) return;
+    journal = new BookingJournal(journalDir, segmentSize);
+    List<BookingJournal.Entry> recovered = journal.takeRecovered();
+    for (BookingJournal.Entry entry : recovered) {
+      BookingResponse view = decode(entry.payload());
+      pending.put(view.recordLocator(), view);
+      queue.add(new Queued(entry, view));
+    }
+    if (!recovered.isEmpty()) log.info("Replaying {} journaled bookings from {}", recovered.size(), journalDir);
+    running = true;
+    writer = thread("booking-writer", this::writeLoop);
+    if (fsync) {
+      syncing = true;
+      syncer = thread("booking-journal-sync", this::syncLoop);
+    }
+  }
+
+  /**
+   * Refuses new bookings, lets the writer finish its current batch, then flushes the journal. Requests
+   * still waiting for the disk are answered after that flush. Bookings not stored yet stay journaled.
+   */
+  @Override
+  public void stop() {
+    if (!running) return;
+    running = false;
+    join(writer);
+    syncing = false;
+    join(syncer);
+    try {
+      journal.close();
+    } catch (RuntimeException ex) {
+      journalFailed(ex);
+    }
+    closed = true;
+    synchronized (syncSignal) {
+      syncSignal.notifyAll();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** DOWN once the journal failed, until a restart; OUT_OF_SERVICE while stopped. */
+  @Override
+  public Health health() {
+    if (!enabled) return Health.up().withDetail("enabled", false).build();
+    if (journalFailure != null) return Health.down().withException(journalFailure).build();
+    if (!running) return Health.outOfService().build();
+    return Health.up().withDetail("pending", pending.size()).build();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!enabled) return;
+    Gauge.builder("bookings.async.pending", pending, Map::size)
+      .description("Accepted bookings not yet stored in the database")
+      .register(registry);
+    FunctionCounter.builder("bookings.async.stored", stored, LongAdder::sum).register(registry);
+    FunctionCounter.builder("bookings.async.failed", rejected, LongAdder::sum).register(registry);
+    Gauge.builder("bookings.async.journal.backlog", this,
+        s -> s.journal == null ? 0 : s.journal.writtenPosition() - s.journal.checkpointPosition())
+      .baseUnit("bytes")
+      .description("Journal bytes not yet checkpointed")
+      .register(registry);
+    FunctionCounter.builder("bookings.async.journal.syncs", this, s -> s.journal == null ? 0 : s.journal.syncCount())
+      .description("Journal flushes to disk; concurrent bookings share one")
+      .register(registry);
+    batchSizes = DistributionSummary.builder("bookings.async.batch.size")
+      .description("Bookings stored per database transaction")
+      .register(registry);
+  }
+
+  /** True once the journal is on disk up to {@code position}; false if it failed or was closed first. */
+  private boolean awaitDurable(long position) throws InterruptedException {
+    synchronized (syncSignal) {
+      syncSignal.notifyAll();
+      while (journal.durablePosition() < position) {
+        if (journalFailure != null || closed) return false;
+        syncSignal.wait(100);
+      }
+      return true;
+    }
+  }
+
+  /** The client gets a 503 and books again, so this record must not be replayed as well. */
+  private void refuse(BookingJournal.Entry entry) {
+    try {
+      journal.refuse(entry);
+    } catch (RuntimeException ex) {
+      log.warn("Cannot mark journal record {} refused: {}", entry.position(), ex.toString());
+    }
+  }
+
+  private void syncLoop() {
+    while (syncing) {
+      synchronized (syncSignal) {
+        if (journal.durablePosition() >= journal.writtenPosition()) {
+          try {
+            syncSignal.wait(10);
+          } catch (InterruptedException ex) {
+            continue;
+          }
+        }
+      }
+      try {
+        journal.sync();
+      } catch (RuntimeException ex) {
+        journalFailed(ex);
+        return;
+      }
+      synchronized (syncSignal) {
+        syncSignal.notifyAll();
+      }
+    }
+  }
+
+  /** After a failed flush nothing past the durable position can be trusted: stop acknowledging bookings. */
+  void journalFailed(Throwable ex) {
+    log.error("Booking journal flush failed; refusing bookings until restarted", ex);
+    journalFailure = ex;
+    synchronized (syncSignal) {
+      syncSignal.notifyAll();
+    }
+  }
+
+  private void writeLoop() {
+    List<Queued> batch = new ArrayList<>(batchSize);
+    long backoff = 100;
+    while (running || !batch.isEmpty()) {
+      try {
+        if (batch.isEmpty()) {
+          Queued first = queue.poll(200, TimeUnit.MILLISECONDS);
+          if (first == null) continue;
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+        }
+        if (fsync && !awaitDurable(batch.get(batch.size() - 1).entry().next())) {
+          // Their requests were answered 503; storing them now would confirm a booking the client retries.
+          for (Queued q : batch) fail(q.view(), "booking journal unavailable, please book again");
+          batch.clear();
+          continue;
+        }
+        store(batch);
+        journal.checkpoint(batch.get(batch.size() - 1).entry().next());
+        batch.clear();
+        backoff = 100;
+      } catch (InterruptedException ex) {
+        if (batch.isEmpty()) return;
+      } catch (RuntimeException ex) {
+        // Database unavailable or similar: keep the batch (it is still journaled) and try again.
+        log.warn("Storing {} bookings failed, retrying in {} ms: {}", batch.size(), backoff, ex.toString());
+        if (!running) return;
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ignored) {
+          return;
+        }
+        backoff = Math.min(backoff * 2, 5_000);
+      }
+    }
+  }
+
+  private void store(List<Queued> batch) {
+    try {
+      List<BookingResponse> inserted = tx.execute(status -> insertNew(batch));
+      batchSizes.record(inserted.size());
+      done(batch, inserted);
+    } catch (DataIntegrityViolationException ex) {
+      if (batch.size() == 1) {
+        fail(batch.get(0).view(), "rejected by the database: " + ex.getMostSpecificCause().getMessage());
+        return;
+      }
+      // One bad row fails the whole batch; find it by storing them one at a time.
+      for (Queued q : batch) store(List.of(q));
+    }
+  }
+
+  /** Inserts the bookings that are not stored yet; a locator held by a different booking fails that booking. */
+  private List<BookingResponse> insertNew(List<Queued> batch) throws DataAccessException {
+    Map<String, BookingResponse> existing = new HashMap<>();
+    named.query(EXISTING, Map.of("locators", batch.stream().map(q -> q.view().recordLocator()).toList()), rs -> {
+      existing.put(rs.getString(1), new BookingResponse(rs.getString(1), rs.getString(2), rs.getString(3),
+        rs.getString(4), rs.getDate(5).toLocalDate(), rs.getInt(6), rs.getString(7), rs.getBigDecimal(8),
+        rs.getString(9)));
+    });
+    List<BookingResponse> toInsert = new ArrayList<>(batch.size());
+    for (Queued q : batch) {
+      BookingResponse stored = existing.get(q.view().recordLocator());
+      if (stored == null) toInsert.add(q.view());
+      else if (!sameBooking(stored, q.view())) fail(q.view(), "record locator already taken, please book again");
+    }
+    jdbc.batchUpdate(INSERT, toInsert.stream().map(v -> new Object[] {v.recordLocator(), v.flightNumber(),
+      v.origin(), v.destination(), Date.valueOf(v.departureDate()), v.seatCount(), v.personType(), v.totalFare(),
+      v.currency()}).toList());
+    manifests.applyAll(toInsert.stream().map(BookingService::toBooking).toList());
+    return toInsert;
+  }
+
+  private void done(List<Queued> batch, List<BookingResponse> inserted) {
+    for (BookingResponse view : inserted) cache.put(view);
+    stored.add(inserted.size());
+    // Cache first, then leave PENDING, so a status check never falls between the two and sees a miss.
+    for (Queued q : batch) pending.remove(q.view().recordLocator());
+  }
+
+  private void fail(BookingResponse view, String reason) {
+    log.warn("Booking {} could not be stored: {}", view.recordLocator(), reason);
+    synchronized (failed) {
+      failed.put(view.recordLocator(), reason);
+    }
+    rejected.increment();
+    pending.remove(view.recordLocator());
+  }
+
+  /** Every stored column matches; fares by value, since the database may change their scale. */
+  private static boolean sameBooking(BookingResponse a, BookingResponse b) {
+    return Objects.equals(a.flightNumber(), b.flightNumber()) && Objects.equals(a.origin(), b.origin())
+      && Objects.equals(a.destination(), b.destination()) && Objects.equals(a.departureDate(), b.departureDate())
+      && a.seatCount() == b.seatCount() && Objects.equals(a.personType(), b.personType())
+      && a.totalFare().compareTo(b.totalFare()) == 0 && Objects.equals(a.currency(), b.currency());
+  }
+
+  private BookingResponse decode(byte[] payload) {
+    try {
+      return json.readValue(payload, BookingResponse.class);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("unreadable journal record", ex);
+    }
+  }
+
+  private static void join(Thread t) {
+    if (t == null) return;
+    t.interrupt();
+    try {
+      t.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Thread thread(String name, Runnable body) {
+    Thread t = new Thread(body, name);
+    t.setDaemon(true);
+    t.start();
+    return t;
+  }
+
+  private static <V> Map<String, V> lru(int maxEntries) {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+}
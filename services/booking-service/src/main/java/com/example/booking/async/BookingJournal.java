@@ -0,0 +1,311 @@
+package com.example.booking.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of accepted bookings in memory-mapped segment files ({@code <base position>.log}, fixed
+ * size, pre-zeroed). A record is {@code [int length][int crc32c][payload]}; a zero length marks the tail,
+ * and a negative one a record {@link #refuse refused} after it was written. Positions are global byte offsets,
+ * so they only grow.
+ *
+ * <p>A written record survives a crash of the JVM as soon as {@link #append} returns, because the pages
+ * belong to the OS. It survives an OS crash or power loss only after {@link #sync()}. {@link #checkpoint}
+ * records the position up to which the records have reached the database, in a {@code [long position]
+ * [int crc32c]} file that is on disk before any segment is deleted. Recovery returns everything after it,
+ * except refused records, and the segments before it are deleted. A missing or unreadable checkpoint
+ * replays every remaining segment. Recovery stops at the first torn or corrupt record.
+ *
+ * <p>{@link #sync()} and {@link #close()} throw {@link UncheckedIOException} when the flush fails;
+ * the caller must then assume that nothing after {@link #durablePosition()} is on disk.
+ */
+final class BookingJournal implements Closeable {
+
+  /** One record: where it starts, where the next one starts, and its payload. */
+  record Entry(long position, long next, byte[] payload) {}
+
+  private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+  private static final int HEADER = 8;
+  private static final String CHECKPOINT = "checkpoint";
+  private static final int CHECKPOINT_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final Path dir;
+  private final int segmentSize;
+  private final TreeMap<Long, Path> segments = new TreeMap<>();
+  private final LongAdder syncs = new LongAdder();
+  private List<Entry> recovered = new ArrayList<>();
+
+  private MappedByteBuffer current;
+  private long currentBase;
+  private int writeOffset;
+  private long checkpointed;
+  private volatile long durable;
+
+  BookingJournal(Path dir, int segmentSize) {
+    if (segmentSize < 4096) throw new IllegalArgumentException("segment size must be at least 4 KB");
+    this.dir = dir;
+    this.segmentSize = segmentSize;
+    try {
+      Files.createDirectories(dir);
+      recover();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("cannot open booking journal in " + dir, ex);
+    }
+  }
+
+  /**
+   * Records written before the last start that are not checkpointed yet, in log order. Hands them over once:
+   * the journal keeps no reference, so the payloads can be collected after the replay.
+   */
+  synchronized List<Entry> takeRecovered() {
+    List<Entry> entries = recovered;
+    recovered = List.of();
+    return entries;
+  }
+
+  synchronized Entry append(byte[] payload) {
+    int size = HEADER + payload.length;
+    if (size > segmentSize) throw new IllegalArgumentException("journal record larger than a segment");
+    if (writeOffset + size > segmentSize) roll();
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+    current.put(writeOffset + HEADER, payload);
+    current.putInt(writeOffset + 4, (int) crc.getValue());
+    // Length last: a record whose payload did not fully reach the page reads as the tail or fails its CRC.
+    current.putInt(writeOffset, payload.length);
+    long position = currentBase + writeOffset;
+    writeOffset += size;
+    return new Entry(position, currentBase + writeOffset, payload);
+  }
+
+  /** Flushes everything appended so far to the storage device; returns the position now durable. */
+  long sync() {
+    MappedByteBuffer buffer;
+    long target;
+    synchronized (this) {
+      buffer = current;
+      target = currentBase + writeOffset;
+    }
+    if (target > durable) {
+      buffer.force();
+      syncs.increment();
+      durable = target;
+    }
+    return target;
+  }
+
+  /** Number of flushes so far; concurrent appends share one. */
+  long syncCount() {
+    return syncs.sum();
+  }
+
+  long durablePosition() {
+    return durable;
+  }
+
+  synchronized long writtenPosition() {
+    return currentBase + writeOffset;
+  }
+
+  synchronized long checkpointPosition() {
+    return checkpointed;
+  }
+
+  /**
+   * Marks {@code entry} as refused, so recovery skips it: its request was answered with an error, and
+   * replaying it would store a booking the client books again. The mark goes into the record's own page,
+   * which is forced if the disk still allows it; a failed force is thrown, and the mark then reaches the disk
+   * only if the OS writes the page back.
+   */
+  synchronized void refuse(Entry entry) {
+    if (entry.position() < checkpointed) return;
+    Map.Entry<Long, Path> segment = segments.floorEntry(entry.position());
+    if (segment == null) return;
+    int offset = (int) (entry.position() - segment.getKey());
+    MappedByteBuffer buffer;
+    try {
+      buffer = segment.getKey() == currentBase ? current : map(segment.getValue());
+    } catch (IOException ex) {
+      throw new UncheckedIOException("cannot mark journal record " + entry.position() + " refused", ex);
+    }
+    int length = buffer.getInt(offset);
+    if (length <= 0) return;
+    buffer.putInt(offset, -length);
+    buffer.force(offset, Integer.BYTES);
+  }
+
+  /**
+   * Everything before {@code position} is in the database: remember that and drop the segments it covers.
+   * The checkpoint file and its directory entry are forced before any segment is deleted. A failure is logged,
+   * not thrown. The next checkpoint tries again, and until one succeeds a restart replays the records again
+   * and skips them as already stored.
+   */
+  synchronized void checkpoint(long position) {
+    if (position <= checkpointed) return;
+    try {
+      Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+      CRC32C crc = new CRC32C();
+      crc.update(ByteBuffer.allocate(Long.BYTES).putLong(position).flip());
+      // Not a FileChannel: the writer is interrupted to stop it, and an interrupt closes a channel.
+      try (RandomAccessFile file = new RandomAccessFile(tmp.toFile(), "rw")) {
+        file.setLength(0);
+        file.writeLong(position);
+        file.writeInt((int) crc.getValue());
+        file.getFD().sync();
+      }
+      Files.move(tmp, dir.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      syncDirectory();
+      checkpointed = position;
+      var done = segments.headMap(currentBase, false).entrySet().iterator();
+      while (done.hasNext()) {
+        Map.Entry<Long, Path> segment = done.next();
+        if (segment.getKey() + segmentSize > position) break;
+        Files.deleteIfExists(segment.getValue());
+        done.remove();
+      }
+    } catch (IOException ex) {
+      log.warn("Cannot checkpoint the booking journal at {}: {}", position, ex.toString());
+    }
+  }
+
+  /** Flushes the current segment; everything appended so far is durable afterwards. */
+  @Override
+  public synchronized void close() {
+    if (current == null) return;
+    current.force();
+    durable = currentBase + writeOffset;
+  }
+
+  private void recover() throws IOException {
+    Path checkpointFile = dir.resolve(CHECKPOINT);
+    if (Files.exists(checkpointFile)) checkpointed = readCheckpoint(checkpointFile);
+    try (Stream<Path> files = Files.list(dir)) {
+      files.filter(p -> p.getFileName().toString().endsWith(".log")).forEach(p -> {
+        String name = p.getFileName().toString();
+        segments.put(Long.parseLong(name.substring(0, name.length() - 4)), p);
+      });
+    }
+    if (segments.isEmpty()) {
+      open(Math.max(0, checkpointed));
+      durable = currentBase;
+      return;
+    }
+    for (var segment : new ArrayList<>(segments.entrySet())) {
+      long base = segment.getKey();
+      boolean last = base == segments.lastKey();
+      if (!last && base + segmentSize <= checkpointed) {
+        Files.deleteIfExists(segment.getValue());
+        segments.remove(base);
+        continue;
+      }
+      MappedByteBuffer buffer = map(segment.getValue());
+      int offset = (int) Math.max(0, Math.min(segmentSize, checkpointed - base));
+      offset = scan(buffer, base, offset);
+      if (last) {
+        if (offset + Integer.BYTES <= segmentSize && buffer.getInt(offset) != 0) {
+          // Torn or corrupt tail from a crash mid-append: clear it so new records are not followed by garbage.
+          for (int i = offset; i < segmentSize; i++) buffer.put(i, (byte) 0);
+          buffer.force();
+        }
+        current = buffer;
+        currentBase = base;
+        writeOffset = offset;
+      }
+    }
+    durable = currentBase + writeOffset;
+  }
+
+  /** The checkpointed position, or 0 (replay everything left) if the file is torn or corrupt. */
+  private static long readCheckpoint(Path file) throws IOException {
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+    if (content.remaining() == CHECKPOINT_SIZE) {
+      CRC32C crc = new CRC32C();
+      crc.update(content.slice(0, Long.BYTES));
+      long position = content.getLong();
+      if ((int) crc.getValue() == content.getInt() && position >= 0) return position;
+    }
+    log.warn("Ignoring the unreadable booking journal checkpoint {}; replaying every segment", file);
+    return 0;
+  }
+
+  /**
+   * Makes the checkpoint rename durable. Platforms that cannot open a directory (Windows) skip it. A pending
+   * interrupt (the writer being stopped) is held back meanwhile, as it would close the channel.
+   */
+  private void syncDirectory() throws IOException {
+    boolean interrupted = Thread.interrupted();
+    try {
+      FileChannel channel;
+      try {
+        channel = FileChannel.open(dir, StandardOpenOption.READ);
+      } catch (IOException | UnsupportedOperationException ex) {
+        return;
+      }
+      try (channel) {
+        channel.force(true);
+      }
+    } finally {
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+  }
+
+  private int scan(MappedByteBuffer buffer, long base, int offset) {
+    while (offset + HEADER <= segmentSize) {
+      int length = buffer.getInt(offset);
+      boolean refused = length < 0;
+      if (refused) length = -length;
+      if (length <= 0 || offset + HEADER + length > segmentSize) break;
+      byte[] payload = new byte[length];
+      buffer.get(offset + HEADER, payload);
+      CRC32C crc = new CRC32C();
+      crc.update(payload);
+      if ((int) crc.getValue() != buffer.getInt(offset + 4)) break;
+      if (!refused) recovered.add(new Entry(base + offset, base + offset + HEADER + length, payload));
+      offset += HEADER + length;
+    }
+    return offset;
+  }
+
+  private void roll() {
+    current.force();
+    open(currentBase + segmentSize);
+  }
+
+  private void open(long base) {
+    Path file = dir.resolve("%020d.log".formatted(base));
+    try {
+      current = map(file);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("cannot create journal segment " + file, ex);
+    }
+    segments.put(base, file);
+    currentBase = base;
+    writeOffset = 0;
+  }
+
+  private MappedByteBuffer map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+  }
+}
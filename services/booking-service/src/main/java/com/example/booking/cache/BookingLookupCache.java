@@ -0,0 +1,118 @@
+package com.example.booking.cache;
+
+import com.example.booking.model.BookingResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of booking views by record locator. Bookings are never modified after creation, so
+ * found views stay until evicted by size ({@code bookings.cache.max-entries}). Unknown locators are cached
+ * separately for {@code bookings.cache.negative-ttl}, in their own smaller cache so a flood of probes cannot
+ * push real bookings out; the TTL bounds how long another instance's new booking can look missing here.
+ * Both are Caffeine caches, so lookups take no shared lock.
+ */
+@Component
+public class BookingLookupCache implements MeterBinder {
+
+  private final Cache<String, BookingResponse> found;
+  private final Cache<String, Boolean> missing;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder negativeHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  @Autowired
+  public BookingLookupCache(@Value("${bookings.cache.max-entries:100000}") int maxEntries,
+                            @Value("${bookings.cache.max-negative-entries:10000}") int maxNegativeEntries,
+                            @Value("${bookings.cache.negative-ttl:30s}") Duration negativeTtl) {
+    this(maxEntries, maxNegativeEntries, negativeTtl, Ticker.systemTicker());
+  }
+
+  BookingLookupCache(int maxEntries, int maxNegativeEntries, Duration negativeTtl, Ticker ticker) {
+    this.found = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    this.missing = Caffeine.newBuilder()
+        .maximumSize(maxNegativeEntries)
+        .expireAfterWrite(negativeTtl)
+        .ticker(ticker)
+        .build();
+  }
+
+  /** Returns the cached view, or loads it with {@code loader} (a database lookup) and remembers the result. */
+  public Optional<BookingResponse> get(String recordLocator, Function<String, Optional<BookingResponse>> loader) {
+    BookingResponse view = found.getIfPresent(recordLocator);
+    if (view != null) {
+      hits.increment();
+      return Optional.of(view);
+    }
+    if (missing.getIfPresent(recordLocator) != null) {
+      negativeHits.increment();
+      return Optional.empty();
+    }
+
+    misses.increment();
+    Optional<BookingResponse> loaded = loader.apply(recordLocator);
+    if (loaded.isPresent()) {
+      put(loaded.get());
+    } else {
+      missing.put(recordLocator, Boolean.TRUE);
+    }
+    return loaded;
+  }
+
+  /** Write-through from {@code create}; also clears a negative entry left by an earlier probe. */
+  public void put(BookingResponse view) {
+    missing.invalidate(view.recordLocator());
+    found.put(view.recordLocator(), view);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    result(registry, "hit", hits);
+    result(registry, "negative_hit", negativeHits);
+    result(registry, "miss", misses);
+    FunctionCounter.builder("bookings.lookup.db.avoided", this, c -> c.hits.sum() + c.negativeHits.sum())
+        .description("Locator lookups answered without a database query")
+        .register(registry);
+    Gauge.builder("bookings.lookup.cache.hit.ratio", this, BookingLookupCache::hitRatio)
+        .description("Share of locator lookups answered from the cache, including cached 404s")
+        .register(registry);
+    Gauge.builder("bookings.lookup.cache.size", found, Cache::estimatedSize)
+        .tag("kind", "found")
+        .register(registry);
+    Gauge.builder("bookings.lookup.cache.size", missing, Cache::estimatedSize)
+        .tag("kind", "missing")
+        .register(registry);
+  }
+
+  double hitRatio() {
+    double cached = hits.sum() + negativeHits.sum();
+    double total = cached + misses.sum();
+    return total == 0 ? 0 : cached / total;
+  }
+
+  /** Runs pending evictions; the size gauges are estimates until then. */
+  void cleanUp() {
+    found.cleanUp();
+    missing.cleanUp();
+  }
+
+  private static void result(MeterRegistry registry, String result, LongAdder adder) {
+    FunctionCounter.builder("bookings.lookup.requests", adder, LongAdder::sum)
+        .description("Locator lookups by cache result")
+        .tag("result", result)
+        .register(registry);
+  }
+}
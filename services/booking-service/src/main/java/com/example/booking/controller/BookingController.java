@@ -1,34 +1,58 @@
 package com.example.booking.controller;
 
+import com.example.booking.async.AsyncBookingService;
 import com.example.booking.model.BookingRequest;
 import com.example.booking.model.BookingResponse;
-import com.example.booking.repository.BookingRepository;
+import com.example.booking.model.BookingStatus;
 import com.example.booking.service.BookingService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
 
   private final BookingService service;
-  private final BookingRepository repo;
+  private final AsyncBookingService async;
 
-  public BookingController(BookingService service, BookingRepository repo) {
+  public BookingController(BookingService service, AsyncBookingService async) {
     this.service = service;
-    this.repo = repo;
+    this.async = async;
   }
 
+  /**
+   * 200 with the stored booking, or, with {@code bookings.async.enabled}, 202 with its PENDING status and
+   * a {@code Location} to poll. 503 when the async backlog is full or the booking could not be journaled.
+   */
   @PostMapping
-  public ResponseEntity<BookingResponse> create(@Valid @RequestBody BookingRequest request) {
-    return ResponseEntity.ok(service.create(request));
+  public ResponseEntity<?> create(@Valid @RequestBody BookingRequest request) {
+    if (!async.enabled()) return ResponseEntity.ok(service.create(request));
+    return async.accept(request)
+      .<ResponseEntity<?>>map(s -> ResponseEntity
+        .accepted()
+        .location(URI.create("/api/bookings/" + s.recordLocator() + "/status"))
+        .body(s))
+      .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build());
   }
 
   @GetMapping("/{recordLocator}")
-  public ResponseEntity<?> byLocator(@PathVariable String recordLocator) {
-    return repo.findByRecordLocator(recordLocator)
-      .<ResponseEntity<?>>map(ResponseEntity::ok)
-      .orElse(ResponseEntity.notFound().build());
+  public ResponseEntity<BookingResponse> byLocator(@PathVariable String recordLocator) {
+    return service.findByLocator(recordLocator)
+      .map(ResponseEntity::ok)
+      .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  @GetMapping("/{recordLocator}/status")
+  public ResponseEntity<BookingStatus> status(@PathVariable String recordLocator) {
+    Optional<BookingStatus> status = async.enabled()
+      ? async.status(recordLocator)
+      : service.findByLocator(recordLocator)
+          .map(b -> new BookingStatus(recordLocator, BookingStatus.State.CONFIRMED, null));
+    return status.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.example.booking.controller;
+
+import com.example.booking.model.FlightManifestResponse;
+import com.example.booking.service.FlightManifestService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/manifests")
+public class ManifestController {
+
+  private final FlightManifestService service;
+
+  public ManifestController(FlightManifestService service) {
+    this.service = service;
+  }
+
+  @GetMapping("/{flightNumber}/{departureDate}")
+  public ResponseEntity<FlightManifestResponse> manifest(
+    @PathVariable String flightNumber,
+    @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate departureDate) {
+    FlightManifestResponse manifest = service.find(flightNumber, departureDate);
+    return manifest == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(manifest);
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.booking.controller;
+
+import com.example.booking.service.FlightManifestService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * A rebuild locks {@code flight_manifests} and rewrites every row, so it lives under {@code /internal},
+ * outside the gateway's {@code /api} routes, and needs {@code bookings.manifest.token} in
+ * {@value #TOKEN_HEADER}. Without a configured token the endpoint is off (403).
+ */
+@RestController
+@RequestMapping("/internal/manifests")
+public class ManifestRebuildController {
+
+  static final String TOKEN_HEADER = "X-Manifest-Token";
+
+  private final FlightManifestService service;
+  private final byte[] token;
+
+  public ManifestRebuildController(FlightManifestService service,
+                                   @Value("${bookings.manifest.token:}") String token) {
+    this.service = service;
+    this.token = token.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Recomputes all manifests from the bookings table, e.g. after a backfill or a manual fix. */
+  @PostMapping("/rebuild")
+  public ResponseEntity<Map<String, Integer>> rebuild(
+    @RequestHeader(value = TOKEN_HEADER, required = false) String presented) {
+    if (token.length == 0) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    return ResponseEntity.ok(Map.of("rows", service.rebuild()));
+  }
+}
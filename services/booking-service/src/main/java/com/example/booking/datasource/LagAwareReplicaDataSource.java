@@ -0,0 +1,157 @@
+package com.example.booking.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing: hands out connections from the replicas round-robin, skipping any
+ * replica whose last lag check failed or exceeded {@code max-lag}, and falls back to the primary when
+ * none is usable or a replica refuses a connection. Lag is checked every {@code check-interval}.
+ */
+public class LagAwareReplicaDataSource extends AbstractDataSource implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(LagAwareReplicaDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final String lagQuery;
+  private final double maxLagSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Counter primaryFallbacks;
+
+  public LagAwareReplicaDataSource(DataSource primary, List<Replica> replicas, String lagQuery, Duration maxLag,
+                                   MeterRegistry registry) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    this.primaryFallbacks = Counter.builder("datasource.replicas.fallbacks")
+        .description("Read-only connections served by the primary because no replica was usable")
+        .register(registry);
+    for (Replica replica : this.replicas) {
+      Gauge.builder("datasource.replicas.lag", replica, r -> r.lagSeconds)
+          .description("Replication lag seen by the last check (NaN when the check failed)")
+          .baseUnit("seconds")
+          .tag("replica", replica.name)
+          .register(registry);
+      Gauge.builder("datasource.replicas.usable", replica, r -> r.usable ? 1 : 0)
+          .tag("replica", replica.name)
+          .register(registry);
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return route(DataSource::getConnection);
+  }
+
+  /**
+   * Same routing, with the credentials passed to whichever target is picked. Hikari pools do not take
+   * per-call credentials and answer {@link SQLFeatureNotSupportedException}, which is rethrown as is
+   * rather than counted against the replica.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return route(dataSource -> dataSource.getConnection(username, password));
+  }
+
+  private Connection route(ConnectionSource source) throws SQLException {
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (!replica.usable) continue;
+      try {
+        return source.open(replica.dataSource);
+      } catch (SQLFeatureNotSupportedException ex) {
+        throw ex;
+      } catch (SQLException ex) {
+        replica.markUnusable(Double.NaN);
+        log.warn("Replica {} refused a connection, routing reads elsewhere until the next check: {}",
+            replica.name, ex.getMessage());
+      }
+    }
+    primaryFallbacks.increment();
+    return source.open(primary);
+  }
+
+  @Scheduled(fixedDelayString = "${datasource.replicas.check-interval:PT2S}")
+  public void checkLag() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection();
+           Statement statement = connection.createStatement()) {
+        statement.setQueryTimeout(1);
+        try (ResultSet rs = statement.executeQuery(lagQuery)) {
+          double lag = rs.next() ? rs.getDouble(1) : Double.NaN;
+          if (lag <= maxLagSeconds) {
+            replica.markUsable(lag);
+          } else {
+            replica.markUnusable(lag);
+          }
+        }
+      } catch (SQLException ex) {
+        replica.markUnusable(Double.NaN);
+        log.debug("Lag check on replica {} failed: {}", replica.name, ex.getMessage());
+      }
+    }
+  }
+
+  /** Names of the replicas reads are currently routed to. */
+  public List<String> usableReplicas() {
+    return replicas.stream().filter(r -> r.usable).map(r -> r.name).toList();
+  }
+
+  @Override
+  public void close() {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof HikariDataSource hikari) hikari.close();
+    }
+  }
+
+  private interface ConnectionSource {
+    Connection open(DataSource dataSource) throws SQLException;
+  }
+
+  /** One replica pool and what its last lag check said. Starts unusable until checked. */
+  public static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    void markUsable(double lag) {
+      if (!usable) log.info("Replica {} usable (lag {}s)", name, lag);
+      lagSeconds = lag;
+      usable = true;
+    }
+
+    void markUnusable(double lag) {
+      if (usable) log.warn("Replica {} taken out of read routing (lag {}s)", name, lag);
+      lagSeconds = lag;
+      usable = false;
+    }
+  }
+}
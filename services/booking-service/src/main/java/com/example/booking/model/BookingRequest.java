@@ -14,15 +14,3 @@ public record BookingRequest(
   @NotNull BigDecimal totalFare,
   @NotBlank @Size(min=3, max=3) String currency
 ) {}
-
-public record BookingResponse(
-  String recordLocator,
-  String flightNumber,
-  String origin,
-  String destination,
-  LocalDate departureDate,
-  int seatCount,
-  String personType,
-  BigDecimal totalFare,
-  String currency
-) {}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.example.booking.model;
+
+/** Outcome of an asynchronously accepted booking; {@code reason} is only set when it failed. */
+public record BookingStatus(String recordLocator, State state, String reason) {
+  public enum State { PENDING, CONFIRMED, FAILED }
+}
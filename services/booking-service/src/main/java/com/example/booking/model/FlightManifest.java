@@ -0,0 +1,56 @@
+package com.example.booking.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Running totals of one flight's bookings in one currency, kept up to date by {@code FlightManifestService}.
+ * Hibernate lays out the {@code @IdClass} key in attribute-name order, (currency, departure_date, flight_number),
+ * which cannot serve a lookup by flight; the (flight_number, departure_date) index makes a flight's manifest
+ * one index range scan.
+ */
+@Entity
+@Table(name = "flight_manifests", indexes = @Index(name = "idx_flight_manifests_flight_date",
+  columnList = "flight_number, departure_date"))
+@IdClass(FlightManifest.Key.class)
+public class FlightManifest {
+  @Id
+  @Column(length = 10)
+  private String flightNumber;
+  @Id
+  private LocalDate departureDate;
+  @Id
+  @Column(length = 3)
+  private String currency;
+  @Column(nullable = false)
+  private Integer bookings;
+  @Column(nullable = false)
+  private Integer seats;
+  @Column(nullable = false, precision = 14, scale = 2)
+  private BigDecimal revenue;
+
+  public String getFlightNumber() { return flightNumber; }
+  public LocalDate getDepartureDate() { return departureDate; }
+  public String getCurrency() { return currency; }
+  public Integer getBookings() { return bookings; }
+  public Integer getSeats() { return seats; }
+  public BigDecimal getRevenue() { return revenue; }
+
+  public static class Key implements Serializable {
+    private String flightNumber;
+    private LocalDate departureDate;
+    private String currency;
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key k && Objects.equals(flightNumber, k.flightNumber)
+        && Objects.equals(departureDate, k.departureDate) && Objects.equals(currency, k.currency);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(flightNumber, departureDate, currency); }
+  }
+}
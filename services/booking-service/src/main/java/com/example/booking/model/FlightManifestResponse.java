@@ -0,0 +1,14 @@
+package com.example.booking.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/** Bookings and seats over all currencies; revenue is kept per currency and never converted. */
+public record FlightManifestResponse(
+  String flightNumber,
+  LocalDate departureDate,
+  int bookings,
+  int seats,
+  Map<String, BigDecimal> revenue
+) {}
@@ -0,0 +1,10 @@
+package com.example.booking.repository;
+
+import com.example.booking.model.FlightManifest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FlightManifestRepository extends JpaRepository<FlightManifest, FlightManifest.Key> {
+  List<FlightManifest> findByFlightNumberAndDepartureDate(String flightNumber, LocalDate departureDate);
+}
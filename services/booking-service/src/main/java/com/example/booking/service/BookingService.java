@@ -1,33 +1,91 @@
 package com.example.booking.service;
 
+import com.example.booking.cache.BookingLookupCache;
 import com.example.booking.model.Booking;
 import com.example.booking.model.BookingRequest;
 import com.example.booking.model.BookingResponse;
 import com.example.booking.repository.BookingRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.security.SecureRandom;
+import java.util.Optional;
 
 @Service
 public class BookingService {
   private final BookingRepository repo;
   private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
   private final SecureRandom rnd = new SecureRandom();
-  public BookingService(BookingRepository repo) { this.repo = repo; }
+  private final TransactionTemplate readOnly;
+  private final TransactionTemplate readWrite;
+  private final BookingLookupCache cache;
+  private final FlightManifestService manifests;
+
+  public BookingService(BookingRepository repo, PlatformTransactionManager transactionManager,
+                        BookingLookupCache cache, FlightManifestService manifests) {
+    this.repo = repo;
+    this.cache = cache;
+    this.manifests = manifests;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.readWrite = new TransactionTemplate(transactionManager);
+  }
 
   @Transactional
   public BookingResponse create(BookingRequest req) {
-    Booking b = new Booking();
-    b.setRecordLocator(generateLocator(6));
-    b.setFlightNumber(req.flightNumber());
-    b.setOrigin(req.origin().toUpperCase());
-    b.setDestination(req.destination().toUpperCase());
-    b.setDepartureDate(req.departureDate());
-    b.setSeatCount(req.seatCount());
-    b.setPersonType(req.personType());
-    b.setTotalFare(req.totalFare());
-    b.setCurrency(req.currency().toUpperCase());
+    BookingResponse view = prepare(req);
+    Booking b = toBooking(view);
     repo.save(b);
+    manifests.apply(b);
+    // Cache only once the row is committed, so a rolled-back booking is never served.
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() { cache.put(view); }
+    });
+    return view;
+  }
+
+  /** The booking as it will be stored: a new locator and normalized codes. Touches no database. */
+  public BookingResponse prepare(BookingRequest req) {
+    return new BookingResponse(
+      generateLocator(6), req.flightNumber(), req.origin().toUpperCase(), req.destination().toUpperCase(),
+      req.departureDate(), req.seatCount(), req.personType(), req.totalFare(), req.currency().toUpperCase()
+    );
+  }
+
+  public static Booking toBooking(BookingResponse v) {
+    Booking b = new Booking();
+    b.setRecordLocator(v.recordLocator());
+    b.setFlightNumber(v.flightNumber());
+    b.setOrigin(v.origin());
+    b.setDestination(v.destination());
+    b.setDepartureDate(v.departureDate());
+    b.setSeatCount(v.seatCount());
+    b.setPersonType(v.personType());
+    b.setTotalFare(v.totalFare());
+    b.setCurrency(v.currency());
+    return b;
+  }
+
+  /**
+   * Served from {@link BookingLookupCache}; on a cache miss the locator is looked up on a read replica when
+   * replicas are configured. A database miss is retried on the primary, so a booking that has not
+   * replicated yet is still found right after {@link #create}.
+   */
+  public Optional<BookingResponse> findByLocator(String recordLocator) {
+    return cache.get(recordLocator, this::load);
+  }
+
+  private Optional<BookingResponse> load(String recordLocator) {
+    Optional<Booking> booking = readOnly.execute(tx -> repo.findByRecordLocator(recordLocator));
+    if (booking.isEmpty()) booking = readWrite.execute(tx -> repo.findByRecordLocator(recordLocator));
+    return booking.map(BookingService::toResponse);
+  }
+
+  public static BookingResponse toResponse(Booking b) {
     return new BookingResponse(
       b.getRecordLocator(), b.getFlightNumber(), b.getOrigin(), b.getDestination(),
       b.getDepartureDate(), b.getSeatCount(), b.getPersonType(), b.getTotalFare(), b.getCurrency()
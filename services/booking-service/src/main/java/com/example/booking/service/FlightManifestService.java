@@ -0,0 +1,186 @@
+package com.example.booking.service;
+
+import com.example.booking.model.Booking;
+import com.example.booking.model.FlightManifest;
+import com.example.booking.model.FlightManifestResponse;
+import com.example.booking.repository.FlightManifestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-flight manifest read model. {@link BookingService#create} adds each booking to its
+ * (flight, date, currency) row in the same transaction, with one atomic upsert, so the manifest commits
+ * or rolls back with the booking and concurrent bookings never lose an increment. Reading a manifest is one
+ * lookup on the (flight_number, departure_date) index; nothing aggregates {@code bookings} at query time.
+ *
+ * <p>The upsert is {@code INSERT ... ON CONFLICT} on PostgreSQL and a standard {@code MERGE} elsewhere (H2).
+ * {@code MERGE} is not atomic on H2: when two transactions add the first booking of a row, both insert and
+ * one fails on the primary key. That one runs its {@code MERGE} again, which now updates the row.
+ */
+@Service
+public class FlightManifestService {
+  private static final Logger log = LoggerFactory.getLogger(FlightManifestService.class);
+
+  private static final String PG_UPSERT = """
+    INSERT INTO flight_manifests (flight_number, departure_date, currency, bookings, seats, revenue)
+    VALUES (?, ?, ?, ?, ?, ?)
+    ON CONFLICT (flight_number, departure_date, currency) DO UPDATE SET
+      bookings = flight_manifests.bookings + EXCLUDED.bookings,
+      seats = flight_manifests.seats + EXCLUDED.seats,
+      revenue = flight_manifests.revenue + EXCLUDED.revenue
+    """;
+  private static final String MERGE_UPSERT = """
+    MERGE INTO flight_manifests t
+    USING (VALUES (CAST(? AS VARCHAR(10)), CAST(? AS DATE), CAST(? AS VARCHAR(3)), CAST(? AS INT), CAST(? AS INT),
+                   CAST(? AS DECIMAL(14,2))))
+      AS s (flight_number, departure_date, currency, bookings, seats, revenue)
+    ON t.flight_number = s.flight_number AND t.departure_date = s.departure_date AND t.currency = s.currency
+    WHEN MATCHED THEN UPDATE SET bookings = t.bookings + s.bookings, seats = t.seats + s.seats,
+      revenue = t.revenue + s.revenue
+    WHEN NOT MATCHED THEN INSERT (flight_number, departure_date, currency, bookings, seats, revenue)
+      VALUES (s.flight_number, s.departure_date, s.currency, s.bookings, s.seats, s.revenue)
+    """;
+  private static final String AGGREGATE = """
+    SELECT flight_number, departure_date, currency, COUNT(*), SUM(seat_count), SUM(total_fare)
+    FROM bookings GROUP BY flight_number, departure_date, currency
+    """;
+
+  private final FlightManifestRepository repo;
+  private final JdbcTemplate jdbc;
+  private final int rebuildBatchSize;
+  private final boolean rebuildOnStartup;
+  private volatile Boolean postgres;
+
+  public FlightManifestService(FlightManifestRepository repo, DataSource dataSource,
+                               @Value("${bookings.manifest.rebuild-batch-size:1000}") int rebuildBatchSize,
+                               @Value("${bookings.manifest.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+    this.repo = repo;
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.jdbc.setFetchSize(rebuildBatchSize);
+    this.rebuildBatchSize = rebuildBatchSize;
+    this.rebuildOnStartup = rebuildOnStartup;
+  }
+
+  /** Adds one booking to its manifest row. Runs inside the caller's transaction. */
+  @Transactional
+  public void apply(Booking b) {
+    add(List.<Object[]>of(new Object[] {b.getFlightNumber(), Date.valueOf(b.getDepartureDate()), b.getCurrency(),
+      1, b.getSeatCount(), b.getTotalFare()}));
+  }
+
+  /** Adds a batch of bookings, one upsert per (flight, date, currency) they touch. Runs inside the caller's transaction. */
+  @Transactional
+  public void applyAll(Collection<Booking> batch) {
+    Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+    for (Booking b : batch) {
+      Object[] row = rows.computeIfAbsent(List.of(b.getFlightNumber(), b.getDepartureDate(), b.getCurrency()),
+        k -> new Object[] {b.getFlightNumber(), Date.valueOf(b.getDepartureDate()), b.getCurrency(), 0, 0, BigDecimal.ZERO});
+      row[3] = (Integer) row[3] + 1;
+      row[4] = (Integer) row[4] + b.getSeatCount();
+      row[5] = ((BigDecimal) row[5]).add(b.getTotalFare());
+    }
+    if (!rows.isEmpty()) add(new ArrayList<>(rows.values()));
+  }
+
+  @Transactional(readOnly = true)
+  public FlightManifestResponse find(String flightNumber, LocalDate departureDate) {
+    List<FlightManifest> rows = repo.findByFlightNumberAndDepartureDate(flightNumber, departureDate);
+    if (rows.isEmpty()) return null;
+    int bookings = 0;
+    int seats = 0;
+    Map<String, BigDecimal> revenue = new TreeMap<>();
+    for (FlightManifest m : rows) {
+      bookings += m.getBookings();
+      seats += m.getSeats();
+      revenue.put(m.getCurrency(), m.getRevenue());
+    }
+    return new FlightManifestResponse(flightNumber, departureDate, bookings, seats, revenue);
+  }
+
+  /**
+   * Recomputes every manifest from {@code bookings} in one transaction. The aggregate is read through a
+   * cursor and written back in batches, so memory does not grow with the number of flights. On PostgreSQL
+   * the manifest table is locked first: bookings created meanwhile wait at their upsert and are added on top
+   * of the rebuilt rows once it commits, so none is counted twice or lost. Reads are not blocked.
+   *
+   * @return number of manifest rows written
+   */
+  @Transactional
+  public int rebuild() {
+    long start = System.nanoTime();
+    if (isPostgres()) jdbc.execute("LOCK TABLE flight_manifests IN EXCLUSIVE MODE");
+    jdbc.update("DELETE FROM flight_manifests");
+    String upsert = upsert();
+    List<Object[]> batch = new ArrayList<>(rebuildBatchSize);
+    int[] rows = {0};
+    jdbc.query(AGGREGATE, rs -> {
+      batch.add(new Object[] {rs.getString(1), rs.getDate(2), rs.getString(3), rs.getInt(4), rs.getInt(5),
+        rs.getBigDecimal(6)});
+      if (batch.size() == rebuildBatchSize) {
+        jdbc.batchUpdate(upsert, batch);
+        rows[0] += batch.size();
+        batch.clear();
+      }
+    });
+    if (!batch.isEmpty()) {
+      jdbc.batchUpdate(upsert, batch);
+      rows[0] += batch.size();
+    }
+    log.info("Rebuilt {} flight manifest rows in {} ms", rows[0], (System.nanoTime() - start) / 1_000_000);
+    return rows[0];
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (rebuildOnStartup) rebuild();
+  }
+
+  private void add(List<Object[]> rows) {
+    if (isPostgres()) {
+      jdbc.batchUpdate(PG_UPSERT, rows);
+      return;
+    }
+    // One statement per row: a failed statement in a JDBC batch leaves the others applied, so it cannot be rerun.
+    for (Object[] row : rows) {
+      for (int attempt = 1; ; attempt++) {
+        try {
+          jdbc.update(MERGE_UPSERT, row);
+          break;
+        } catch (DuplicateKeyException ex) {
+          if (attempt == 3) throw ex;
+        }
+      }
+    }
+  }
+
+  private String upsert() {
+    return isPostgres() ? PG_UPSERT : MERGE_UPSERT;
+  }
+
+  private boolean isPostgres() {
+    Boolean pg = postgres;
+    if (pg == null) {
+      pg = jdbc.execute((Connection c) -> "PostgreSQL".equals(c.getMetaData().getDatabaseProductName()));
+      postgres = pg;
+    }
+    return pg;
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.booking;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** {@link FlightManifestServiceTest} on PostgreSQL, where the upsert is {@code INSERT ... ON CONFLICT}. */
+@Testcontainers(disabledWithoutDocker = true)
+class FlightManifestPostgresIntegrationTest extends FlightManifestServiceTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+      .withDatabaseName("bookings")
+      .withUsername("booking")
+      .withPassword("booking");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+}
@@ -0,0 +1,162 @@
+package com.example.booking;
+
+import com.example.booking.model.Booking;
+import com.example.booking.model.BookingRequest;
+import com.example.booking.model.FlightManifestResponse;
+import com.example.booking.repository.BookingRepository;
+import com.example.booking.service.BookingService;
+import com.example.booking.service.FlightManifestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The manifest upsert and rebuild on H2, where they run as {@code MERGE}.
+ * {@link FlightManifestPostgresIntegrationTest} runs the same tests on PostgreSQL's {@code ON CONFLICT}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:manifests;DB_CLOSE_DELAY=-1",
+    "bookings.manifest.rebuild-batch-size=2"
+})
+class FlightManifestServiceTest {
+
+  static final LocalDate DAY = LocalDate.parse("2025-12-20");
+
+  @Autowired
+  BookingService bookings;
+
+  @Autowired
+  FlightManifestService manifests;
+
+  @Autowired
+  BookingRepository repository;
+
+  @Autowired
+  DataSource dataSource;
+
+  JdbcTemplate jdbc;
+
+  @BeforeEach
+  void clear() {
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.update("DELETE FROM flight_manifests");
+    jdbc.update("DELETE FROM bookings");
+  }
+
+  @Test
+  void each_booking_is_added_to_its_flight_and_currency_row() {
+    bookings.create(request("AM680", DAY, 2, "240.00", "usd"));
+    bookings.create(request("AM680", DAY, 1, "120.50", "USD"));
+    bookings.create(request("AM680", DAY, 3, "5100.00", "MXN"));
+    bookings.create(request("AM680", DAY.plusDays(1), 1, "99.00", "USD"));
+
+    FlightManifestResponse manifest = manifests.find("AM680", DAY);
+    assertThat(manifest.bookings()).isEqualTo(3);
+    assertThat(manifest.seats()).isEqualTo(6);
+    assertThat(manifest.revenue()).isEqualTo(Map.of("MXN", new BigDecimal("5100.00"), "USD", new BigDecimal("360.50")));
+    assertThat(manifests.find("AM680", DAY.plusDays(1)).bookings()).isOne();
+    assertThat(manifests.find("AM999", DAY)).isNull();
+  }
+
+  @Test
+  void a_batch_touching_one_row_several_times_adds_up() {
+    List<Booking> batch = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      batch.add(BookingService.toBooking(bookings.prepare(request("AM682", DAY, 2, "100.00", "USD"))));
+    }
+    batch.add(BookingService.toBooking(bookings.prepare(request("AM684", DAY, 1, "80.00", "USD"))));
+
+    manifests.applyAll(batch);
+
+    assertThat(manifests.find("AM682", DAY).seats()).isEqualTo(10);
+    assertThat(manifests.find("AM682", DAY).revenue()).containsEntry("USD", new BigDecimal("500.00"));
+    assertThat(manifests.find("AM684", DAY).bookings()).isOne();
+  }
+
+  @Test
+  void concurrent_bookings_on_one_flight_lose_no_increment() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> done = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        done.add(pool.submit(() -> bookings.create(request("AM700", DAY, 1, "10.00", "USD"))));
+      }
+      for (Future<?> f : done) f.get();
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(manifests.find("AM700", DAY).bookings()).isEqualTo(200);
+    assertThat(manifests.find("AM700", DAY).revenue()).containsEntry("USD", new BigDecimal("2000.00"));
+  }
+
+  @Test
+  void rebuild_recomputes_every_row_from_the_bookings_table() {
+    for (int i = 0; i < 5; i++) {
+      bookings.create(request("AM" + (800 + i), DAY, i + 1, "50.00", "USD"));
+    }
+    bookings.create(request("AM800", DAY, 2, "70.00", "USD"));
+    // Drift the read model: one row wrong, one missing, one that no booking backs.
+    jdbc.update("UPDATE flight_manifests SET seats = 99 WHERE flight_number = 'AM800'");
+    jdbc.update("DELETE FROM flight_manifests WHERE flight_number = 'AM801'");
+    jdbc.update("INSERT INTO flight_manifests (flight_number, departure_date, currency, bookings, seats, revenue) "
+        + "VALUES ('ZZ1', ?, 'USD', 1, 1, 1.00)", DAY);
+
+    assertThat(manifests.rebuild()).isEqualTo(5);
+
+    assertThat(manifests.find("AM800", DAY).seats()).isEqualTo(3);
+    assertThat(manifests.find("AM800", DAY).revenue()).containsEntry("USD", new BigDecimal("120.00"));
+    assertThat(manifests.find("AM801", DAY).seats()).isEqualTo(2);
+    assertThat(manifests.find("ZZ1", DAY)).isNull();
+    assertThat(repository.count()).isEqualTo(6);
+  }
+
+  @Test
+  void flight_lookups_have_an_index() throws SQLException {
+    assertThat(indexColumns("flight_manifests", "idx_flight_manifests_flight_date"))
+        .containsExactly("flight_number", "departure_date");
+  }
+
+  private List<String> indexColumns(String table, String index) throws SQLException {
+    List<String> columns = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    try (Connection c = dataSource.getConnection()) {
+      DatabaseMetaData meta = c.getMetaData();
+      for (String name : List.of(table, table.toUpperCase())) {
+        try (ResultSet rs = meta.getIndexInfo(null, null, name, false, false)) {
+          while (rs.next()) {
+            String column = rs.getString("COLUMN_NAME");
+            if (index.equalsIgnoreCase(rs.getString("INDEX_NAME")) && seen.add(column.toLowerCase())) {
+              columns.add(rs.getShort("ORDINAL_POSITION") - 1, column.toLowerCase());
+            }
+          }
+        }
+      }
+    }
+    return columns;
+  }
+
+  static BookingRequest request(String flightNumber, LocalDate date, int seats, String fare, String currency) {
+    return new BookingRequest(flightNumber, "mex", "lax", date, seats, "ADULT", new BigDecimal(fare), currency);
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.booking;
+
+import com.example.booking.controller.ManifestRebuildController;
+import com.example.booking.service.FlightManifestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ManifestRebuildController.class)
+@TestPropertySource(properties = "bookings.manifest.token=s3cret")
+class ManifestRebuildControllerTest {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @MockBean
+  private FlightManifestService service;
+
+  @Test
+  void rebuild_needs_the_token() throws Exception {
+    mvc.perform(post("/internal/manifests/rebuild"))
+      .andExpect(status().isUnauthorized());
+    mvc.perform(post("/internal/manifests/rebuild").header("X-Manifest-Token", "guess"))
+      .andExpect(status().isUnauthorized());
+    verify(service, never()).rebuild();
+  }
+
+  @Test
+  void rebuild_runs_with_a_valid_token() throws Exception {
+    when(service.rebuild()).thenReturn(42);
+
+    mvc.perform(post("/internal/manifests/rebuild").header("X-Manifest-Token", "s3cret"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.rows").value(42));
+  }
+
+  @Test
+  void rebuild_is_no_longer_under_the_public_api_path() throws Exception {
+    mvc.perform(post("/api/manifests/rebuild").header("X-Manifest-Token", "s3cret"))
+      .andExpect(status().isNotFound());
+    verify(service, never()).rebuild();
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.booking;
+
+import com.example.booking.datasource.LagAwareReplicaDataSource;
+import com.example.booking.model.BookingRequest;
+import com.example.booking.model.BookingResponse;
+import com.example.booking.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two in-memory H2 databases: the primary, created by Hibernate, and a "replica" with its own bookings
+ * table, so each lookup shows which database answered. The replica's lag comes from a
+ * {@code replica_status} table instead of the PostgreSQL recovery functions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+    "datasource.replicas.enabled=true",
+    "datasource.replicas.max-lag=5s",
+    "datasource.replicas.check-interval=PT1H",
+    "datasource.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+    "datasource.replicas.targets[0].name=replica-a",
+    "datasource.replicas.targets[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+    "datasource.replicas.targets[0].maximum-pool-size=2"
+})
+class ReplicaRoutingTest {
+
+  static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+  static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+  @Autowired
+  BookingService service;
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  LagAwareReplicaDataSource replicas;
+
+  @Autowired
+  MeterRegistry meters;
+
+  JdbcTemplate replica;
+
+  @BeforeEach
+  void setUpReplica() {
+    replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "booking", "booking"));
+    replica.execute("DROP TABLE IF EXISTS bookings");
+    replica.execute("""
+        CREATE TABLE bookings (id BIGINT AUTO_INCREMENT PRIMARY KEY, record_locator VARCHAR(8) NOT NULL UNIQUE,
+          flight_number VARCHAR(10) NOT NULL, origin VARCHAR(3) NOT NULL, destination VARCHAR(3) NOT NULL,
+          departure_date DATE NOT NULL, seat_count INT NOT NULL, person_type VARCHAR(10) NOT NULL,
+          total_fare DECIMAL(12,2) NOT NULL, currency VARCHAR(3) NOT NULL)""");
+    for (String locator : List.of("RPLREAD", "RPLLAG", "RPLDOWN")) {
+      replica.update("INSERT INTO bookings (record_locator, flight_number, origin, destination, departure_date, "
+          + "seat_count, person_type, total_fare, currency) VALUES (?, 'AM680', 'MEX', 'LAX', '2025-12-20', 1, "
+          + "'ADULT', 120.00, 'USD')", locator);
+    }
+    replica.execute("DROP TABLE IF EXISTS replica_status");
+    replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE PRECISION)");
+    replica.update("INSERT INTO replica_status VALUES (0.5)");
+    replicas.checkLag();
+  }
+
+  @Test
+  void locator_lookups_are_served_by_the_replica() {
+    assertThat(replicas.usableReplicas()).containsExactly("replica-a");
+    assertThat(service.findByLocator("RPLREAD")).map(BookingResponse::flightNumber).contains("AM680");
+    assertThat(meters.get("datasource.replicas.lag").tag("replica", "replica-a").gauge().value()).isEqualTo(0.5);
+  }
+
+  @Test
+  void bookings_are_written_to_the_primary() {
+    BookingResponse created = service.create(new BookingRequest("AM682", "mex", "gdl", LocalDate.parse("2025-12-21"),
+        2, "ADULT", new BigDecimal("240.00"), "usd"));
+
+    String count = "SELECT COUNT(*) FROM bookings WHERE record_locator = ?";
+    assertThat(new JdbcTemplate(dataSource).queryForObject(count, Integer.class, created.recordLocator())).isOne();
+    assertThat(replica.queryForObject(count, Integer.class, created.recordLocator())).isZero();
+  }
+
+  @Test
+  void lagging_replica_falls_back_to_the_primary() {
+    replica.update("UPDATE replica_status SET lag_seconds = 30");
+    replicas.checkLag();
+    double fallbacks = meters.get("datasource.replicas.fallbacks").counter().count();
+
+    assertThat(replicas.usableReplicas()).isEmpty();
+    // Only the replica has the row, and the lookup no longer reaches it.
+    assertThat(service.findByLocator("RPLLAG")).isEmpty();
+    assertThat(meters.get("datasource.replicas.fallbacks").counter().count()).isGreaterThan(fallbacks);
+    assertThat(meters.get("datasource.replicas.usable").tag("replica", "replica-a").gauge().value()).isZero();
+  }
+
+  @Test
+  void failing_lag_check_falls_back_to_the_primary() {
+    replica.execute("DROP TABLE replica_status");
+    replicas.checkLag();
+
+    assertThat(replicas.usableReplicas()).isEmpty();
+    assertThat(service.findByLocator("RPLDOWN")).isEmpty();
+    assertThat(meters.get("datasource.replicas.lag").tag("replica", "replica-a").gauge().value()).isNaN();
+  }
+
+  @Test
+  void every_target_has_its_own_pool_metrics() {
+    service.findByLocator("RPLREAD");
+
+    assertThat(meters.get("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+    assertThat(meters.get("hikaricp.connections").tag("pool", "replica-a").gauge()).isNotNull();
+  }
+
+  @Test
+  void explicit_credentials_follow_the_same_routing() throws SQLException {
+    var routing = new LagAwareReplicaDataSource(new DriverManagerDataSource(PRIMARY_URL, "booking", "booking"),
+        List.of(new LagAwareReplicaDataSource.Replica("replica-a",
+            new DriverManagerDataSource(REPLICA_URL, "booking", "booking"))),
+        "SELECT lag_seconds FROM replica_status", Duration.ofSeconds(5), new SimpleMeterRegistry());
+    routing.checkLag();
+
+    assertThat(url(routing, "booking", "booking")).isEqualTo("jdbc:h2:mem:routing-replica");
+    assertThatThrownBy(() -> url(routing, "booking", "wrong")).isInstanceOf(SQLException.class);
+
+    replica.update("UPDATE replica_status SET lag_seconds = 30");
+    routing.checkLag();
+    assertThat(url(routing, "booking", "booking")).isEqualTo("jdbc:h2:mem:routing-primary");
+  }
+
+  private static String url(DataSource dataSource, String username, String password) throws SQLException {
+    try (Connection connection = dataSource.getConnection(username, password)) {
+      return connection.getMetaData().getURL();
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package com.example.booking.async;
+
+import com.example.booking.cache.BookingLookupCache;
+import com.example.booking.controller.BookingController;
+import com.example.booking.model.BookingRequest;
+import com.example.booking.model.BookingResponse;
+import com.example.booking.model.BookingStatus;
+import com.example.booking.repository.BookingRepository;
+import com.example.booking.service.BookingService;
+import com.example.booking.service.FlightManifestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs its own {@link AsyncBookingService} instances against the context's H2 database (the context's own
+ * instance is disabled), each with a fresh journal directory.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:async;DB_CLOSE_DELAY=-1"
+})
+class AsyncBookingServiceTest {
+
+  private static final LocalDate DAY = LocalDate.parse("2025-12-20");
+
+  @Autowired
+  BookingService bookings;
+
+  @Autowired
+  FlightManifestService manifests;
+
+  @Autowired
+  BookingLookupCache cache;
+
+  @Autowired
+  BookingRepository repository;
+
+  @Autowired
+  ObjectMapper json;
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @TempDir
+  Path dir;
+
+  private final List<AsyncBookingService> started = new ArrayList<>();
+  private final MeterRegistry meters = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void clear() {
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.update("DELETE FROM flight_manifests");
+    jdbc.update("DELETE FROM bookings");
+  }
+
+  @AfterEach
+  void stop() {
+    started.forEach(AsyncBookingService::stop);
+  }
+
+  @Test
+  void bookings_journaled_before_a_crash_are_stored_at_the_next_start() throws Exception {
+    BookingJournal journal = new BookingJournal(dir, 64 * 1024);
+    List<BookingResponse> views = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      BookingResponse view = bookings.prepare(request("AM680", 1));
+      views.add(view);
+      journal.append(json.writeValueAsBytes(view));
+    }
+    // The process dies here: nothing reached the database and nothing was checkpointed.
+
+    AsyncBookingService service = start(dataSource, transactionManager, 100);
+    for (BookingResponse view : views) {
+      assertThat(awaitOutcome(service, view.recordLocator()).state()).isEqualTo(BookingStatus.State.CONFIRMED);
+    }
+    assertThat(manifests.find("AM680", DAY).bookings()).isEqualTo(3);
+
+    service.stop();
+    assertThat(new BookingJournal(dir, 64 * 1024).takeRecovered()).isEmpty();
+  }
+
+  @Test
+  void replay_skips_bookings_that_are_already_stored() throws Exception {
+    BookingResponse stored = bookings.prepare(request("AM682", 2));
+    repository.save(BookingService.toBooking(stored));
+    manifests.apply(BookingService.toBooking(stored));
+    BookingResponse taken = bookings.prepare(request("AM682", 1));
+    repository.save(BookingService.toBooking(taken));
+    BookingResponse clash = new BookingResponse(taken.recordLocator(), taken.flightNumber(), taken.origin(), "GDL",
+        taken.departureDate(), taken.seatCount(), taken.personType(), taken.totalFare(), taken.currency());
+
+    BookingJournal journal = new BookingJournal(dir, 64 * 1024);
+    journal.append(json.writeValueAsBytes(stored));
+    journal.append(json.writeValueAsBytes(clash));
+
+    AsyncBookingService service = start(dataSource, transactionManager, 100);
+
+    assertThat(awaitOutcome(service, stored.recordLocator()).state()).isEqualTo(BookingStatus.State.CONFIRMED);
+    assertThat(awaitOutcome(service, clash.recordLocator()).state()).isEqualTo(BookingStatus.State.FAILED);
+    assertThat(repository.count()).isEqualTo(2);
+    assertThat(manifests.find("AM682", DAY).bookings()).isOne();
+    assertThat(meters.get("bookings.async.stored").functionCounter().count()).isZero();
+    assertThat(meters.get("bookings.async.failed").functionCounter().count()).isOne();
+  }
+
+  @Test
+  void concurrent_accepts_share_journal_syncs() throws Exception {
+    AsyncBookingService service = start(dataSource, transactionManager, 10_000);
+    int threads = 16;
+    int perThread = 25;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch go = new CountDownLatch(1);
+    List<Future<List<String>>> results = new ArrayList<>();
+    try {
+      for (int t = 0; t < threads; t++) {
+        results.add(pool.submit(() -> {
+          go.await();
+          List<String> locators = new ArrayList<>();
+          for (int i = 0; i < perThread; i++) {
+            locators.add(service.accept(request("AM700", 1)).orElseThrow().recordLocator());
+          }
+          return locators;
+        }));
+      }
+      go.countDown();
+      List<String> locators = new ArrayList<>();
+      for (Future<List<String>> f : results) locators.addAll(f.get());
+
+      assertThat(meters.get("bookings.async.journal.syncs").functionCounter().count())
+          .isPositive()
+          .isLessThan(threads * perThread);
+      for (String locator : locators) {
+        assertThat(awaitOutcome(service, locator).state()).isEqualTo(BookingStatus.State.CONFIRMED);
+      }
+      assertThat(manifests.find("AM700", DAY).bookings()).isEqualTo(threads * perThread);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void a_full_backlog_is_answered_with_503() {
+    // The writer cannot reach this database, so accepted bookings stay pending.
+    DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable");
+    AsyncBookingService service = start(down, new DataSourceTransactionManager(down), 2);
+    BookingController controller = new BookingController(bookings, service);
+
+    assertThat(controller.create(request("AM710", 1)).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    assertThat(controller.create(request("AM710", 1)).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    var full = controller.create(request("AM710", 1));
+
+    assertThat(full.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(full.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+  }
+
+  @Test
+  void a_failed_journal_refuses_bookings_and_reports_down() {
+    AsyncBookingService service = start(dataSource, transactionManager, 100);
+    assertThat(service.accept(request("AM720", 1))).isPresent();
+    assertThat(service.health().getStatus()).isEqualTo(Status.UP);
+
+    service.journalFailed(new UncheckedIOException(new IOException("fsync: I/O error")));
+
+    assertThat(service.accept(request("AM720", 1))).isEmpty();
+    assertThat(service.health().getStatus()).isEqualTo(Status.DOWN);
+  }
+
+  @Test
+  void nothing_is_acknowledged_after_stop() {
+    AsyncBookingService service = start(dataSource, transactionManager, 100);
+    String locator = service.accept(request("AM730", 1)).orElseThrow().recordLocator();
+
+    service.stop();
+
+    assertThat(service.accept(request("AM730", 1))).isEmpty();
+    assertThat(service.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    assertThat(service.status(locator)).map(BookingStatus::state).contains(BookingStatus.State.CONFIRMED);
+  }
+
+  private AsyncBookingService start(DataSource db, PlatformTransactionManager tx, int maxPending) {
+    AsyncBookingService service = new AsyncBookingService(bookings, manifests, cache, json, db, tx, dir,
+        DataSize.ofKilobytes(64), 50, maxPending, true, true);
+    service.bindTo(meters);
+    service.start();
+    started.add(service);
+    return service;
+  }
+
+  private static BookingStatus awaitOutcome(AsyncBookingService service, String locator) throws InterruptedException {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    BookingStatus status = service.status(locator).orElseThrow();
+    while (status.state() == BookingStatus.State.PENDING && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      status = service.status(locator).orElseThrow();
+    }
+    return status;
+  }
+
+  private static BookingRequest request(String flightNumber, int seats) {
+    return new BookingRequest(flightNumber, "mex", "lax", DAY, seats, "ADULT", new BigDecimal("120.00"), "usd");
+  }
+}
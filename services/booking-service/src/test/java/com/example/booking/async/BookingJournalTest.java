@@ -0,0 +1,165 @@
+package com.example.booking.async;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingJournalTest {
+
+  private static final int SEGMENT = 4096;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void records_written_before_a_crash_are_recovered_in_order() {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    journal.append(bytes("one"));
+    journal.append(bytes("two"));
+    // No close and no checkpoint: the process dies here.
+
+    BookingJournal reopened = new BookingJournal(dir, SEGMENT);
+    assertThat(payloads(reopened.takeRecovered())).containsExactly("one", "two");
+    assertThat(reopened.takeRecovered()).isEmpty();
+  }
+
+  @Test
+  void a_torn_tail_is_dropped_and_cleared_before_new_records() throws IOException {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    journal.append(bytes("one"));
+    BookingJournal.Entry last = journal.append(bytes("two"));
+    // A crash mid-append: the length reached the page, the payload and its CRC did not.
+    try (FileChannel segment = FileChannel.open(dir.resolve("%020d.log".formatted(0)), StandardOpenOption.WRITE)) {
+      segment.write(ByteBuffer.allocate(12).putInt(40).putInt(0xBAD).putInt(0x7F7F7F7F).flip(), last.next());
+    }
+
+    BookingJournal reopened = new BookingJournal(dir, SEGMENT);
+    assertThat(payloads(reopened.takeRecovered())).containsExactly("one", "two");
+    assertThat(reopened.writtenPosition()).isEqualTo(last.next());
+    reopened.append(bytes("three"));
+
+    assertThat(payloads(new BookingJournal(dir, SEGMENT).takeRecovered())).containsExactly("one", "two", "three");
+  }
+
+  @Test
+  void recovery_starts_at_the_checkpoint_and_covered_segments_are_deleted() throws IOException {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    BookingJournal.Entry checkpointed = null;
+    for (int i = 0; i < 10; i++) {
+      BookingJournal.Entry entry = journal.append(bytes("record-" + i + "-" + "x".repeat(1000)));
+      if (i == 6) checkpointed = entry;
+    }
+    assertThat(segments()).hasSize(3);
+
+    journal.checkpoint(checkpointed.next());
+
+    assertThat(segments()).hasSize(2);
+    assertThat(payloads(new BookingJournal(dir, SEGMENT).takeRecovered()))
+        .extracting(p -> p.substring(0, 8))
+        .containsExactly("record-7", "record-8", "record-9");
+  }
+
+  @Test
+  void a_failed_checkpoint_is_logged_and_retried_by_the_next_one() throws IOException {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    BookingJournal.Entry first = journal.append(bytes("one"));
+    BookingJournal.Entry second = journal.append(bytes("two"));
+    Path blocker = Files.createDirectories(dir.resolve("checkpoint.tmp").resolve("blocker"));
+
+    journal.checkpoint(first.next());
+    assertThat(journal.checkpointPosition()).isZero();
+
+    Files.delete(blocker);
+    Files.delete(blocker.getParent());
+    journal.checkpoint(second.next());
+    assertThat(journal.checkpointPosition()).isEqualTo(second.next());
+    assertThat(new BookingJournal(dir, SEGMENT).takeRecovered()).isEmpty();
+  }
+
+  @Test
+  void an_empty_or_corrupt_checkpoint_replays_every_segment() throws IOException {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    journal.append(bytes("one"));
+    BookingJournal.Entry second = journal.append(bytes("two"));
+    journal.checkpoint(second.next());
+    assertThat(Files.size(dir.resolve("checkpoint"))).isEqualTo(12);
+
+    // A power loss after the rename but before the data: the file is there, its content is not.
+    Files.write(dir.resolve("checkpoint"), new byte[0]);
+    assertThat(payloads(new BookingJournal(dir, SEGMENT).takeRecovered())).containsExactly("one", "two");
+
+    Files.write(dir.resolve("checkpoint"), ByteBuffer.allocate(12).putLong(second.next()).putInt(0xBAD).array());
+    BookingJournal reopened = new BookingJournal(dir, SEGMENT);
+    assertThat(reopened.checkpointPosition()).isZero();
+    assertThat(payloads(reopened.takeRecovered())).containsExactly("one", "two");
+  }
+
+  @Test
+  void refused_records_are_not_recovered() {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    journal.append(bytes("one"));
+    BookingJournal.Entry refused = journal.append(bytes("two"));
+    journal.append(bytes("three"));
+
+    journal.refuse(refused);
+    journal.refuse(refused);
+
+    BookingJournal reopened = new BookingJournal(dir, SEGMENT);
+    assertThat(payloads(reopened.takeRecovered())).containsExactly("one", "three");
+    reopened.append(bytes("four"));
+    assertThat(payloads(new BookingJournal(dir, SEGMENT).takeRecovered())).containsExactly("one", "three", "four");
+  }
+
+  @Test
+  void records_in_an_earlier_segment_can_be_refused() {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    BookingJournal.Entry refused = journal.append(bytes("record-0-" + "x".repeat(3000)));
+    journal.append(bytes("record-1-" + "x".repeat(3000)));
+
+    journal.refuse(refused);
+
+    assertThat(payloads(new BookingJournal(dir, SEGMENT).takeRecovered()))
+        .extracting(p -> p.substring(0, 8))
+        .containsExactly("record-1");
+  }
+
+  @Test
+  void sync_and_close_make_everything_appended_durable() {
+    BookingJournal journal = new BookingJournal(dir, SEGMENT);
+    journal.append(bytes("one"));
+    assertThat(journal.durablePosition()).isLessThan(journal.writtenPosition());
+
+    journal.sync();
+    assertThat(journal.durablePosition()).isEqualTo(journal.writtenPosition());
+    assertThat(journal.syncCount()).isOne();
+
+    journal.append(bytes("two"));
+    journal.close();
+    assertThat(journal.durablePosition()).isEqualTo(journal.writtenPosition());
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(p -> p.toString().endsWith(".log")).toList();
+    }
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static List<String> payloads(List<BookingJournal.Entry> entries) {
+    return entries.stream().map(e -> new String(e.payload(), StandardCharsets.UTF_8)).toList();
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.booking.cache;
+
+import com.example.booking.model.BookingResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingLookupCacheTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final BookingLookupCache cache = new BookingLookupCache(100, 10, Duration.ofSeconds(30), nanos::get);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void found_bookings_are_loaded_once() {
+    Function<String, Optional<BookingResponse>> loader = counting(Optional.of(view("ABC123")));
+
+    assertThat(cache.get("ABC123", loader)).contains(view("ABC123"));
+    assertThat(cache.get("ABC123", loader)).contains(view("ABC123"));
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void unknown_locators_are_remembered_until_the_negative_ttl_passes() {
+    Function<String, Optional<BookingResponse>> loader = counting(Optional.empty());
+
+    assertThat(cache.get("NOPE01", loader)).isEmpty();
+    nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+    assertThat(cache.get("NOPE01", loader)).isEmpty();
+    assertThat(loads).hasValue(1);
+
+    nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+    assertThat(cache.get("NOPE01", loader)).isEmpty();
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void write_through_clears_a_negative_entry() {
+    assertThat(cache.get("ABC123", counting(Optional.empty()))).isEmpty();
+
+    cache.put(view("ABC123"));
+
+    assertThat(cache.get("ABC123", counting(Optional.empty()))).contains(view("ABC123"));
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void both_caches_stay_within_their_bounds() {
+    for (int i = 0; i < 1_000; i++) {
+      cache.put(view("F" + i));
+      cache.get("M" + i, counting(Optional.empty()));
+    }
+    cache.cleanUp();
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    assertThat(registry.get("bookings.lookup.cache.size").tag("kind", "found").gauge().value()).isEqualTo(100);
+    assertThat(registry.get("bookings.lookup.cache.size").tag("kind", "missing").gauge().value()).isEqualTo(10);
+  }
+
+  @Test
+  void lookups_are_counted_by_result() {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+
+    cache.get("ABC123", counting(Optional.of(view("ABC123"))));
+    cache.get("ABC123", counting(Optional.empty()));
+    cache.get("ABC123", counting(Optional.empty()));
+    cache.get("NOPE01", counting(Optional.empty()));
+    cache.get("NOPE01", counting(Optional.empty()));
+
+    assertThat(requests(registry, "miss")).isEqualTo(2);
+    assertThat(requests(registry, "hit")).isEqualTo(2);
+    assertThat(requests(registry, "negative_hit")).isEqualTo(1);
+    assertThat(registry.get("bookings.lookup.db.avoided").functionCounter().count()).isEqualTo(3);
+    assertThat(registry.get("bookings.lookup.cache.hit.ratio").gauge().value()).isEqualTo(0.6);
+  }
+
+  private Function<String, Optional<BookingResponse>> counting(Optional<BookingResponse> result) {
+    return locator -> {
+      loads.incrementAndGet();
+      return result;
+    };
+  }
+
+  private static double requests(MeterRegistry registry, String result) {
+    return registry.get("bookings.lookup.requests").tag("result", result).functionCounter().count();
+  }
+
+  private static BookingResponse view(String locator) {
+    return new BookingResponse(locator, "AM680", "MEX", "LAX", LocalDate.parse("2025-12-20"), 1, "ADULT",
+        new BigDecimal("120.00"), "USD");
+  }
+}
@@ -0,0 +1,182 @@
+package com.example.flightsearch.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix index over airport codes, built from the flight count per route. Every prefix of
+ * every code, the empty one included, maps to its top {@code maxResults} answers, ranked by flights. The
+ * answers are precomputed when the index is built. A lookup packs the query (trimmed, ASCII upper-cased)
+ * into a {@code long}, binary-searches a sorted {@code long[]} and returns the stored list, so it does
+ * not allocate. Codes are at most 8 characters ({@code flights.origin} is VARCHAR(8)), one byte each.
+ *
+ * <p>Three tables: airports by flights touching them, destinations served from each origin, and origins
+ * serving each destination. The last two restrict the type-ahead to routes that exist.
+ */
+public final class AutocompleteIndex {
+
+  /** Flights per route, as read from {@code flights}. */
+  public record RouteCount(String origin, String destination, long flights) {}
+
+  static final int MAX_CODE_LENGTH = 8;
+  private static final long INVALID = -1;
+
+  private final PrefixTable airports;
+  private final long[] originKeys;
+  private final PrefixTable[] destinationsByOrigin;
+  private final long[] destinationKeys;
+  private final PrefixTable[] originsByDestination;
+  private final int routes;
+
+  private AutocompleteIndex(PrefixTable airports, long[] originKeys, PrefixTable[] destinationsByOrigin,
+                            long[] destinationKeys, PrefixTable[] originsByDestination, int routes) {
+    this.airports = airports;
+    this.originKeys = originKeys;
+    this.destinationsByOrigin = destinationsByOrigin;
+    this.destinationKeys = destinationKeys;
+    this.originsByDestination = originsByDestination;
+    this.routes = routes;
+  }
+
+  public static AutocompleteIndex build(Iterable<RouteCount> routeCounts, int maxResults) {
+    Map<String, Long> airportFlights = new HashMap<>();
+    Map<String, Map<String, Long>> fromOrigin = new TreeMap<>();
+    Map<String, Map<String, Long>> toDestination = new TreeMap<>();
+    int routes = 0;
+    for (RouteCount r : routeCounts) {
+      String origin = normalize(r.origin());
+      String destination = normalize(r.destination());
+      if (origin == null || destination == null || r.flights() <= 0) continue;
+      routes++;
+      airportFlights.merge(origin, r.flights(), Long::sum);
+      airportFlights.merge(destination, r.flights(), Long::sum);
+      fromOrigin.computeIfAbsent(origin, k -> new HashMap<>()).merge(destination, r.flights(), Long::sum);
+      toDestination.computeIfAbsent(destination, k -> new HashMap<>()).merge(origin, r.flights(), Long::sum);
+    }
+
+    long[] originKeys = new long[fromOrigin.size()];
+    PrefixTable[] byOrigin = new PrefixTable[fromOrigin.size()];
+    nested(fromOrigin, maxResults, originKeys, byOrigin);
+    long[] destinationKeys = new long[toDestination.size()];
+    PrefixTable[] byDestination = new PrefixTable[toDestination.size()];
+    nested(toDestination, maxResults, destinationKeys, byDestination);
+    return new AutocompleteIndex(PrefixTable.of(airportFlights, maxResults), originKeys, byOrigin,
+        destinationKeys, byDestination, routes);
+  }
+
+  /** Airports whose code starts with {@code prefix}, most flights first. */
+  public List<Suggestion> airports(CharSequence prefix) {
+    return airports.lookup(prefix);
+  }
+
+  /** Destinations served from {@code origin} whose code starts with {@code prefix}. */
+  public List<Suggestion> destinationsFrom(CharSequence origin, CharSequence prefix) {
+    return lookupIn(originKeys, destinationsByOrigin, origin, prefix);
+  }
+
+  /** Origins with flights to {@code destination} whose code starts with {@code prefix}. */
+  public List<Suggestion> originsTo(CharSequence destination, CharSequence prefix) {
+    return lookupIn(destinationKeys, originsByDestination, destination, prefix);
+  }
+
+  public int airportCount() {
+    return airports.codes;
+  }
+
+  public int routeCount() {
+    return routes;
+  }
+
+  private static List<Suggestion> lookupIn(long[] keys, PrefixTable[] tables, CharSequence code, CharSequence prefix) {
+    long key = pack(code);
+    if (key <= 0) return List.of();
+    int i = Arrays.binarySearch(keys, key);
+    return i < 0 ? List.of() : tables[i].lookup(prefix);
+  }
+
+  private static void nested(Map<String, Map<String, Long>> byCode, int maxResults, long[] keys, PrefixTable[] tables) {
+    int i = 0;
+    // TreeMap of ASCII codes: packed keys come out in ascending order too.
+    for (Map.Entry<String, Map<String, Long>> e : byCode.entrySet()) {
+      keys[i] = pack(e.getKey());
+      tables[i++] = PrefixTable.of(e.getValue(), maxResults);
+    }
+  }
+
+  private static String normalize(String code) {
+    if (code == null) return null;
+    String c = code.trim().toUpperCase(Locale.ROOT);
+    return pack(c) > 0 ? c : null;
+  }
+
+  /**
+   * Up to 8 ASCII characters, upper-cased, one byte each, first character in the high byte. Empty is 0;
+   * -1 when the text is too long or not ASCII. Keys are never negative otherwise, so their numeric order
+   * is the codes' lexicographic order.
+   */
+  static long pack(CharSequence text) {
+    if (text == null) return 0;
+    int start = 0;
+    int end = text.length();
+    while (start < end && text.charAt(start) == ' ') start++;
+    while (end > start && text.charAt(end - 1) == ' ') end--;
+    if (end - start > MAX_CODE_LENGTH) return INVALID;
+    long key = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+      if (c == 0 || c > 0x7F) return INVALID;
+      key |= (long) c << (8 * (MAX_CODE_LENGTH - 1 - (i - start)));
+    }
+    return key;
+  }
+
+  /** Sorted packed prefixes and, at the same position, the precomputed answer for that prefix. */
+  private static final class PrefixTable {
+    private final long[] prefixes;
+    private final List<Suggestion>[] answers;
+    private final int codes;
+
+    @SuppressWarnings("unchecked")
+    private PrefixTable(long[] prefixes, List<?>[] answers, int codes) {
+      this.prefixes = prefixes;
+      this.answers = (List<Suggestion>[]) answers;
+      this.codes = codes;
+    }
+
+    static PrefixTable of(Map<String, Long> flightsByCode, int maxResults) {
+      List<Suggestion> ranked = new ArrayList<>(flightsByCode.size());
+      flightsByCode.forEach((code, flights) -> ranked.add(new Suggestion(code, flights)));
+      ranked.sort(Comparator.comparingLong(Suggestion::flights).reversed().thenComparing(Suggestion::code));
+
+      // Walking codes in rank order fills each prefix's list best-first; stop a list at maxResults.
+      TreeMap<Long, List<Suggestion>> byPrefix = new TreeMap<>();
+      for (Suggestion s : ranked) {
+        for (int length = 0; length <= s.code().length(); length++) {
+          List<Suggestion> answer = byPrefix.computeIfAbsent(pack(s.code().substring(0, length)), k -> new ArrayList<>());
+          if (answer.size() < maxResults) answer.add(s);
+        }
+      }
+      long[] prefixes = new long[byPrefix.size()];
+      List<?>[] answers = new List<?>[byPrefix.size()];
+      int i = 0;
+      for (Map.Entry<Long, List<Suggestion>> e : byPrefix.entrySet()) {
+        prefixes[i] = e.getKey();
+        answers[i++] = List.copyOf(e.getValue());
+      }
+      return new PrefixTable(prefixes, answers, ranked.size());
+    }
+
+    List<Suggestion> lookup(CharSequence prefix) {
+      long key = pack(prefix);
+      int i = key < 0 ? -1 : Arrays.binarySearch(prefixes, key);
+      return i < 0 ? List.of() : answers[i];
+    }
+  }
+}
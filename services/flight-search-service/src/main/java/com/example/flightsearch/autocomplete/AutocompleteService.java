@@ -0,0 +1,112 @@
+package com.example.flightsearch.autocomplete;
+
+import com.example.flightsearch.domain.FlightsChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the {@link AutocompleteIndex} for {@code GET /api/flights/autocomplete}. It is built once at
+ * startup. After that it is rebuilt on a background thread after every schedule ingestion and every
+ * {@code flights.autocomplete.refresh-interval}, which also catches writes from outside this service.
+ * Requests that arrive during a rebuild use the previous index. Rebuild requests that come in while one
+ * is running are merged into a single follow-up rebuild.
+ */
+@Service
+public class AutocompleteService implements DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+  private static final String ROUTE_COUNTS = """
+      SELECT UPPER(TRIM(origin)) AS origin, UPPER(TRIM(destination)) AS destination, COUNT(*) AS flights
+        FROM flights
+       GROUP BY UPPER(TRIM(origin)), UPPER(TRIM(destination))
+      """;
+
+  private final JdbcTemplate jdbc;
+  private final int maxResults;
+  private final Timer buildTimer;
+  private final ExecutorService rebuilds = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "autocomplete-rebuild");
+    t.setDaemon(true);
+    return t;
+  });
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private volatile AutocompleteIndex index = AutocompleteIndex.build(List.of(), 1);
+
+  public AutocompleteService(DataSource dataSource, MeterRegistry registry,
+                             @Value("${flights.autocomplete.max-results:10}") int maxResults) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.maxResults = maxResults;
+    this.buildTimer = Timer.builder("flights.autocomplete.build")
+        .description("Time to rebuild the airport autocomplete index")
+        .register(registry);
+    Gauge.builder("flights.autocomplete.airports", this, s -> s.index.airportCount())
+        .description("Airport codes in the autocomplete index")
+        .register(registry);
+  }
+
+  public int maxResults() {
+    return maxResults;
+  }
+
+  /** The current index; replaced as a whole on rebuild, so one request always sees one consistent index. */
+  public AutocompleteIndex index() {
+    return index;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    try {
+      List<AutocompleteIndex.RouteCount> counts = jdbc.query(ROUTE_COUNTS, (rs, i) ->
+          new AutocompleteIndex.RouteCount(rs.getString("origin"), rs.getString("destination"), rs.getLong("flights")));
+      AutocompleteIndex built = buildTimer.record(() -> AutocompleteIndex.build(counts, maxResults));
+      index = built;
+      log.debug("Autocomplete index rebuilt: {} airports, {} routes", built.airportCount(), built.routeCount());
+    } catch (RuntimeException ex) {
+      log.warn("Autocomplete index rebuild failed; keeping the previous one", ex);
+    }
+  }
+
+  @EventListener
+  public void onFlightsChanged(FlightsChangedEvent event) {
+    rebuildInBackground();
+  }
+
+  @Scheduled(fixedDelayString = "${flights.autocomplete.refresh-interval:PT10M}",
+      initialDelayString = "${flights.autocomplete.refresh-interval:PT10M}")
+  public void rebuildInBackground() {
+    dirty.set(true);
+    if (scheduled.compareAndSet(false, true)) rebuilds.execute(this::drain);
+  }
+
+  private void drain() {
+    try {
+      while (dirty.getAndSet(false)) rebuild();
+    } finally {
+      scheduled.set(false);
+    }
+    // A request that saw scheduled == true just before it was cleared would otherwise be lost.
+    if (dirty.get() && scheduled.compareAndSet(false, true)) rebuilds.execute(this::drain);
+  }
+
+  @Override
+  public void destroy() {
+    rebuilds.shutdownNow();
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.flightsearch.autocomplete;
+
+/** An airport code and the number of flights that ranked it. */
+public record Suggestion(String code, long flights) {}
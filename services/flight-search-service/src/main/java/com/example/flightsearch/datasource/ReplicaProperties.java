@@ -0,0 +1,29 @@
+package com.example.flightsearch.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code datasource.replicas.*}: read replicas behind the primary {@code spring.datasource}.
+ * The default lag query is PostgreSQL's: zero on a primary or a replica that has replayed everything
+ * it received, otherwise the age of the last replayed transaction.
+ */
+@ConfigurationProperties("datasource.replicas")
+public record ReplicaProperties(
+    boolean enabled,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("2s") Duration checkInterval,
+    @DefaultValue(POSTGRES_LAG_QUERY) String lagQuery,
+    @DefaultValue List<Target> targets
+) {
+
+  public static final String POSTGRES_LAG_QUERY = """
+      SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                  ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END""";
+
+  public record Target(String name, String url, String username, String password,
+                       @DefaultValue("10") int maximumPoolSize) {}
+}
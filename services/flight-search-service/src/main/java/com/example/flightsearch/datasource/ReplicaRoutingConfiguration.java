@@ -0,0 +1,68 @@
+package com.example.flightsearch.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to read replicas. The application's DataSource
+ * is a {@link LazyConnectionDataSourceProxy} over the primary pool: it fetches the physical connection
+ * at the first statement, once the transaction manager has marked it read-only, and takes read-only
+ * connections from {@link LagAwareReplicaDataSource}. Every target has its own Hikari pool named after
+ * it, so {@code hikaricp.connections.*} is reported per {@code pool} tag.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  LagAwareReplicaDataSource replicaDataSource(ReplicaProperties replicas, DataSourceProperties primary,
+                                              HikariDataSource primaryDataSource, MeterRegistry registry) {
+    var targets = replicas.targets().stream().map(target -> {
+      var pool = new HikariDataSource();
+      pool.setPoolName(target.name());
+      pool.setJdbcUrl(target.url());
+      pool.setUsername(target.username() != null ? target.username() : primary.determineUsername());
+      pool.setPassword(target.password() != null ? target.password() : primary.determinePassword());
+      pool.setMaximumPoolSize(target.maximumPoolSize());
+      pool.setReadOnly(true);
+      // Fail over to the primary quickly instead of queueing behind an unreachable replica.
+      pool.setConnectionTimeout(1000);
+      pool.setInitializationFailTimeout(-1);
+      pool.setMetricRegistry(registry);
+      return new LagAwareReplicaDataSource.Replica(target.name(), pool);
+    }).toList();
+    var dataSource = new LagAwareReplicaDataSource(primaryDataSource, targets, replicas.lagQuery(),
+        replicas.maxLag(), registry);
+    dataSource.checkLag();
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource primaryDataSource, LagAwareReplicaDataSource replicaDataSource) {
+    var routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+    routing.setReadOnlyDataSource(replicaDataSource);
+    return routing;
+  }
+}
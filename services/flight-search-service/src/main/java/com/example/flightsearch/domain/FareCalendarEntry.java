@@ -0,0 +1,90 @@
+package com.example.flightsearch.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Lowest total fare per (origin, destination, cabin, departure_date), materialized from {@code flights}.
+ * Rows are maintained by {@link com.example.flightsearch.service.FareCalendarService} whenever flights change.
+ */
+@Entity
+@Table(name = "fare_calendar")
+@IdClass(FareCalendarEntry.Key.class)
+public class FareCalendarEntry {
+
+  @Id
+  @Column(nullable = false, length = 8)
+  private String origin;
+
+  @Id
+  @Column(nullable = false, length = 8)
+  private String destination;
+
+  @Id
+  @Column(nullable = false, length = 16)
+  private String cabin;
+
+  @Id
+  @Column(name = "departure_date", nullable = false)
+  private LocalDate departureDate;
+
+  @Column(name = "min_total_fare", nullable = false, precision = 12, scale = 2)
+  private BigDecimal minTotalFare;
+
+  @Column(nullable = false, length = 3)
+  private String currency;
+
+  @Column(name = "flight_count", nullable = false)
+  private Integer flightCount;
+
+  public FareCalendarEntry() {}
+
+  public FareCalendarEntry(String origin, String destination, String cabin, LocalDate departureDate,
+                           BigDecimal minTotalFare, String currency, Integer flightCount) {
+    this.origin = origin;
+    this.destination = destination;
+    this.cabin = cabin;
+    this.departureDate = departureDate;
+    this.minTotalFare = minTotalFare;
+    this.currency = currency;
+    this.flightCount = flightCount;
+  }
+
+  public String getOrigin() { return origin; }
+  public String getDestination() { return destination; }
+  public String getCabin() { return cabin; }
+  public LocalDate getDepartureDate() { return departureDate; }
+  public BigDecimal getMinTotalFare() { return minTotalFare; }
+  public String getCurrency() { return currency; }
+  public Integer getFlightCount() { return flightCount; }
+
+  public static class Key implements Serializable {
+    private String origin;
+    private String destination;
+    private String cabin;
+    private LocalDate departureDate;
+
+    public Key() {}
+
+    public Key(String origin, String destination, String cabin, LocalDate departureDate) {
+      this.origin = origin;
+      this.destination = destination;
+      this.cabin = cabin;
+      this.departureDate = departureDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key k)) return false;
+      return Objects.equals(origin, k.origin) && Objects.equals(destination, k.destination)
+          && Objects.equals(cabin, k.cabin) && Objects.equals(departureDate, k.departureDate);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(origin, destination, cabin, departureDate); }
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.flightsearch.domain;
+
+import java.time.LocalDate;
+
+/** Published after rows of {@code flights} were written in bulk (schedule ingestion), for derived in-memory views. */
+public record FlightsChangedEvent(LocalDate dateFrom, LocalDate dateTo, long rows) {}
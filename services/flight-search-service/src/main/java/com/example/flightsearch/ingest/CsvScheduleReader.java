@@ -0,0 +1,110 @@
+package com.example.flightsearch.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads CSV with a header row using the {@code flights} column names
+ * (origin, destination, departure_date, return_date, airline, flight_number, cabin,
+ * base_fare, total_fare, currency, seats_available). Column order is free.
+ */
+public class CsvScheduleReader implements ScheduleReader {
+
+  private static final String[] COLUMNS = {
+      "origin", "destination", "departure_date", "return_date", "airline", "flight_number",
+      "cabin", "base_fare", "total_fare", "currency", "seats_available"
+  };
+
+  private final BufferedReader reader;
+  private final int[] positions = new int[COLUMNS.length];
+  private final List<String> fields = new ArrayList<>(COLUMNS.length);
+  private long lineNumber;
+
+  public CsvScheduleReader(BufferedReader reader) throws IOException {
+    this.reader = reader;
+    String header = reader.readLine();
+    lineNumber = 1;
+    if (header == null) {
+      throw new IllegalArgumentException("CSV header row is missing");
+    }
+    split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+    Map<String, Integer> index = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      index.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    for (int c = 0; c < COLUMNS.length; c++) {
+      Integer pos = index.get(COLUMNS[c]);
+      if (pos == null && !"return_date".equals(COLUMNS[c])) {
+        throw new IllegalArgumentException("CSV header is missing column " + COLUMNS[c]);
+      }
+      positions[c] = pos == null ? -1 : pos;
+    }
+  }
+
+  @Override
+  public ScheduleRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) return null;
+      lineNumber++;
+    } while (line.isBlank());
+
+    split(line);
+    return new ScheduleRecord(
+        field(0), field(1), date(field(2)), date(field(3)), field(4), field(5), field(6),
+        decimal(field(7)), decimal(field(8)), field(9), integer(field(10)));
+  }
+
+  @Override
+  public long lineNumber() { return lineNumber; }
+
+  @Override
+  public void close() throws IOException { reader.close(); }
+
+  private String field(int column) {
+    int pos = positions[column];
+    if (pos < 0 || pos >= fields.size()) return null;
+    String value = fields.get(pos).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  /** Splits one line into {@link #fields}, honouring double-quoted values with "" escapes. */
+  private void split(String line) {
+    fields.clear();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char ch = line.charAt(i);
+      if (quoted) {
+        if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (ch == '"') {
+          quoted = false;
+        } else {
+          current.append(ch);
+        }
+      } else if (ch == '"') {
+        quoted = true;
+      } else if (ch == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(ch);
+      }
+    }
+    fields.add(current.toString());
+  }
+
+  private static LocalDate date(String value) { return value == null ? null : LocalDate.parse(value); }
+  private static BigDecimal decimal(String value) { return value == null ? null : new BigDecimal(value); }
+  private static Integer integer(String value) { return value == null ? null : Integer.valueOf(value); }
+}
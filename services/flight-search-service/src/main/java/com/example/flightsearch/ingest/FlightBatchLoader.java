@@ -0,0 +1,16 @@
+package com.example.flightsearch.ingest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Upserts one chunk of schedule records into {@code flights} by (airline, flight_number, departure_date).
+ * The caller owns the connection and commits after every chunk.
+ */
+public interface FlightBatchLoader {
+
+  String name();
+
+  void load(Connection connection, List<ScheduleRecord> chunk) throws SQLException;
+}
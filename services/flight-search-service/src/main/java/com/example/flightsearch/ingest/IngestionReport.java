@@ -0,0 +1,10 @@
+package com.example.flightsearch.ingest;
+
+public record IngestionReport(
+    String loader,
+    long rowsRead,
+    long rowsUpserted,
+    long rowsRejected,
+    long elapsedMillis,
+    long rowsPerSecond
+) {}
@@ -0,0 +1,44 @@
+package com.example.flightsearch.ingest;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Fallback for databases without COPY (H2 in tests and the {@code h2} profile):
+ * one batched {@code MERGE ... KEY (...)} per chunk.
+ */
+public class JdbcBatchLoader implements FlightBatchLoader {
+
+  private static final String MERGE = "MERGE INTO flights (origin, destination, departure_date, return_date, "
+      + "airline, flight_number, cabin, base_fare, total_fare, currency, seats_available) "
+      + "KEY (airline, flight_number, departure_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Override
+  public String name() { return "jdbc-batch"; }
+
+  @Override
+  public void load(Connection connection, List<ScheduleRecord> chunk) throws SQLException {
+    try (PreparedStatement ps = connection.prepareStatement(MERGE)) {
+      for (ScheduleRecord r : chunk) {
+        ps.setString(1, r.origin());
+        ps.setString(2, r.destination());
+        ps.setDate(3, Date.valueOf(r.departureDate()));
+        if (r.returnDate() == null) ps.setNull(4, Types.DATE);
+        else ps.setDate(4, Date.valueOf(r.returnDate()));
+        ps.setString(5, r.airline());
+        ps.setString(6, r.flightNumber());
+        ps.setString(7, r.cabin());
+        ps.setBigDecimal(8, r.baseFare());
+        ps.setBigDecimal(9, r.totalFare());
+        ps.setString(10, r.currency());
+        ps.setInt(11, r.seatsAvailable());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+  }
+}
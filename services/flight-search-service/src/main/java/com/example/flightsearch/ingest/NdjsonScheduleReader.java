@@ -0,0 +1,45 @@
+package com.example.flightsearch.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one JSON object per line, using the same property names as the {@code Flight} API payload.
+ */
+public class NdjsonScheduleReader implements ScheduleReader {
+
+  private final BufferedReader reader;
+  private final ObjectReader recordReader;
+  private long lineNumber;
+
+  public NdjsonScheduleReader(BufferedReader reader, ObjectMapper mapper) {
+    this.reader = reader;
+    this.recordReader = mapper.readerFor(ScheduleRecord.class);
+  }
+
+  @Override
+  public ScheduleRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) return null;
+      lineNumber++;
+    } while (line.isBlank());
+
+    try {
+      return recordReader.readValue(line);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException(ex.getOriginalMessage(), ex);
+    }
+  }
+
+  @Override
+  public long lineNumber() { return lineNumber; }
+
+  @Override
+  public void close() throws IOException { reader.close(); }
+}
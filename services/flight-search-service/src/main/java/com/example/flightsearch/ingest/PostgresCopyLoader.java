@@ -0,0 +1,90 @@
+package com.example.flightsearch.ingest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Streams each chunk into a session-local staging table with {@code COPY ... FROM STDIN}
+ * and merges it into {@code flights} with a single {@code INSERT ... ON CONFLICT}.
+ * When a key repeats inside one chunk the last occurrence wins.
+ */
+public class PostgresCopyLoader implements FlightBatchLoader {
+
+  private static final String COLUMNS = "origin, destination, departure_date, return_date, airline, flight_number, "
+      + "cabin, base_fare, total_fare, currency, seats_available";
+
+  private static final String CREATE_STAGING = "CREATE TEMP TABLE IF NOT EXISTS flights_staging ("
+      + "seq BIGSERIAL, origin VARCHAR(8), destination VARCHAR(8), departure_date DATE, return_date DATE, "
+      + "airline VARCHAR(2), flight_number VARCHAR(10), cabin VARCHAR(16), base_fare NUMERIC(12,2), "
+      + "total_fare NUMERIC(12,2), currency VARCHAR(3), seats_available INT) ON COMMIT DELETE ROWS";
+
+  private static final String COPY = "COPY flights_staging (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+  private static final String MERGE = "INSERT INTO flights (" + COLUMNS + ") "
+      + "SELECT DISTINCT ON (airline, flight_number, departure_date) " + COLUMNS + " FROM flights_staging "
+      + "ORDER BY airline, flight_number, departure_date, seq DESC "
+      + "ON CONFLICT (airline, flight_number, departure_date) DO UPDATE SET "
+      + "origin = EXCLUDED.origin, destination = EXCLUDED.destination, return_date = EXCLUDED.return_date, "
+      + "cabin = EXCLUDED.cabin, base_fare = EXCLUDED.base_fare, total_fare = EXCLUDED.total_fare, "
+      + "currency = EXCLUDED.currency, seats_available = EXCLUDED.seats_available";
+
+  private final StringBuilder line = new StringBuilder(128);
+
+  @Override
+  public String name() { return "postgres-copy"; }
+
+  @Override
+  public void load(Connection connection, List<ScheduleRecord> chunk) throws SQLException {
+    try (Statement st = connection.createStatement()) {
+      st.execute(CREATE_STAGING);
+    }
+
+    CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+    try {
+      for (ScheduleRecord r : chunk) {
+        byte[] bytes = csvLine(r).getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+      }
+      copy.endCopy();
+    } finally {
+      if (copy.isActive()) copy.cancelCopy();
+    }
+
+    try (Statement st = connection.createStatement()) {
+      st.executeUpdate(MERGE);
+    }
+  }
+
+  private String csvLine(ScheduleRecord r) {
+    line.setLength(0);
+    quote(r.origin()).append(',');
+    quote(r.destination()).append(',');
+    line.append(r.departureDate()).append(',');
+    if (r.returnDate() != null) line.append(r.returnDate());
+    line.append(',');
+    quote(r.airline()).append(',');
+    quote(r.flightNumber()).append(',');
+    quote(r.cabin()).append(',');
+    line.append(r.baseFare().toPlainString()).append(',');
+    line.append(r.totalFare().toPlainString()).append(',');
+    quote(r.currency()).append(',');
+    line.append(r.seatsAvailable()).append('\n');
+    return line.toString();
+  }
+
+  private StringBuilder quote(String value) {
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '"') line.append('"');
+      line.append(ch);
+    }
+    return line.append('"');
+  }
+}
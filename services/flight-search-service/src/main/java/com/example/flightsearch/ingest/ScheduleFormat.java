@@ -0,0 +1,30 @@
+package com.example.flightsearch.ingest;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ScheduleFormat {
+  CSV,
+  NDJSON;
+
+  public static final String TEXT_CSV = "text/csv";
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  public static ScheduleFormat fromContentType(MediaType contentType) {
+    if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+      return NDJSON;
+    }
+    if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+      return CSV;
+    }
+    throw new IllegalArgumentException("Content-Type must be " + TEXT_CSV + " or " + APPLICATION_NDJSON);
+  }
+
+  public static ScheduleFormat fromFileName(String fileName) {
+    String name = fileName.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+    if (name.endsWith(".csv")) return CSV;
+    throw new IllegalArgumentException("Unsupported schedule file: " + fileName);
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.flightsearch.ingest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CLI entry point: {@code java -jar flight-search-service.jar --flights.ingest.file=schedule.csv}
+ * loads the file on startup. Use {@code .csv} or {@code .ndjson}/{@code .jsonl} extensions.
+ */
+@Component
+@ConditionalOnProperty(name = "flights.ingest.file")
+public class ScheduleIngestionRunner implements ApplicationRunner {
+
+  private final ScheduleIngestionService ingestion;
+  private final Path file;
+
+  public ScheduleIngestionRunner(ScheduleIngestionService ingestion, @Value("${flights.ingest.file}") Path file) {
+    this.ingestion = ingestion;
+    this.file = file;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    try (InputStream in = Files.newInputStream(file)) {
+      ingestion.ingest(in, ScheduleFormat.fromFileName(file.getFileName().toString()));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.example.flightsearch.ingest;
+
+import com.example.flightsearch.domain.FlightsChangedEvent;
+import com.example.flightsearch.service.FareCalendarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads schedule feeds into {@code flights} in fixed-size chunks, so memory stays bounded by
+ * {@code flights.ingest.chunk-size} whatever the feed size. PostgreSQL connections use COPY,
+ * anything else falls back to JDBC batches. Each chunk commits on its own; feeds are idempotent
+ * upserts, so a failed run can simply be replayed.
+ */
+@Service
+public class ScheduleIngestionService {
+
+  private static final Logger log = LoggerFactory.getLogger(ScheduleIngestionService.class);
+  private static final int MAX_LOGGED_REJECTS = 10;
+
+  private final DataSource dataSource;
+  private final ObjectMapper mapper;
+  private final FareCalendarService fareCalendar;
+  private final ApplicationEventPublisher events;
+  private final int chunkSize;
+  private final long progressEvery;
+
+  private final Counter upsertedRows;
+  private final Counter rejectedRows;
+  private final Timer duration;
+  private final AtomicLong currentRunRows = new AtomicLong();
+
+  public ScheduleIngestionService(DataSource dataSource, ObjectMapper mapper, FareCalendarService fareCalendar,
+                                  ApplicationEventPublisher events, MeterRegistry registry,
+                                  @Value("${flights.ingest.chunk-size:5000}") int chunkSize,
+                                  @Value("${flights.ingest.progress-every:100000}") long progressEvery) {
+    this.dataSource = dataSource;
+    this.mapper = mapper;
+    this.fareCalendar = fareCalendar;
+    this.events = events;
+    this.chunkSize = chunkSize;
+    this.progressEvery = progressEvery;
+    this.upsertedRows = Counter.builder("flights.ingest.rows")
+        .description("Schedule rows processed by the ingestion pipeline")
+        .tag("result", "upserted")
+        .register(registry);
+    this.rejectedRows = Counter.builder("flights.ingest.rows")
+        .description("Schedule rows processed by the ingestion pipeline")
+        .tag("result", "rejected")
+        .register(registry);
+    this.duration = Timer.builder("flights.ingest.duration")
+        .description("Wall time of a complete schedule ingestion run")
+        .register(registry);
+    Gauge.builder("flights.ingest.progress", currentRunRows, AtomicLong::get)
+        .description("Rows read so far by the running ingestion")
+        .register(registry);
+  }
+
+  public IngestionReport ingest(InputStream input, ScheduleFormat format) throws IOException {
+    long start = System.nanoTime();
+    long read = 0;
+    long upserted = 0;
+    long rejected = 0;
+    LocalDate minDate = null;
+    LocalDate maxDate = null;
+    String loaderName;
+    currentRunRows.set(0);
+
+    try (ScheduleReader reader = open(input, format); Connection connection = dataSource.getConnection()) {
+      FlightBatchLoader loader = loaderFor(connection);
+      loaderName = loader.name();
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      List<ScheduleRecord> chunk = new ArrayList<>(chunkSize);
+      try {
+        while (true) {
+          ScheduleRecord record;
+          try {
+            record = reader.next();
+            if (record == null) break;
+            record = record.normalized();
+          } catch (IllegalArgumentException | DateTimeParseException ex) {
+            rejected++;
+            rejectedRows.increment();
+            if (rejected <= MAX_LOGGED_REJECTS) {
+              log.warn("Skipping schedule line {}: {}", reader.lineNumber(), ex.getMessage());
+            }
+            continue;
+          }
+
+          read++;
+          currentRunRows.set(read);
+          chunk.add(record);
+          if (minDate == null || record.departureDate().isBefore(minDate)) minDate = record.departureDate();
+          if (maxDate == null || record.departureDate().isAfter(maxDate)) maxDate = record.departureDate();
+
+          if (chunk.size() == chunkSize) {
+            upserted += flush(connection, loader, chunk);
+          }
+          if (read % progressEvery == 0) {
+            log.info("Schedule ingestion progress: {} rows read, {} rows/s", read, rate(read, start));
+          }
+        }
+        upserted += flush(connection, loader, chunk);
+      } catch (SQLException ex) {
+        connection.rollback();
+        throw new IllegalStateException("Schedule ingestion failed near line " + reader.lineNumber()
+            + " after " + upserted + " committed rows", ex);
+      } finally {
+        connection.setAutoCommit(autoCommit);
+      }
+    } catch (SQLException ex) {
+      throw new IllegalStateException("Schedule ingestion could not use the datasource", ex);
+    }
+
+    if (minDate != null) {
+      fareCalendar.refreshRange(minDate, maxDate);
+      events.publishEvent(new FlightsChangedEvent(minDate, maxDate, upserted));
+    }
+
+    long elapsedNanos = System.nanoTime() - start;
+    duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    IngestionReport report = new IngestionReport(loaderName, read, upserted, rejected,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rate(read, start));
+    log.info("Schedule ingestion finished: {}", report);
+    return report;
+  }
+
+  private long flush(Connection connection, FlightBatchLoader loader, List<ScheduleRecord> chunk) throws SQLException {
+    if (chunk.isEmpty()) return 0;
+    loader.load(connection, chunk);
+    connection.commit();
+    int size = chunk.size();
+    upsertedRows.increment(size);
+    chunk.clear();
+    return size;
+  }
+
+  private ScheduleReader open(InputStream input, ScheduleFormat format) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+    return format == ScheduleFormat.NDJSON ? new NdjsonScheduleReader(reader, mapper) : new CsvScheduleReader(reader);
+  }
+
+  private static FlightBatchLoader loaderFor(Connection connection) throws SQLException {
+    return connection.isWrapperFor(PGConnection.class) ? new PostgresCopyLoader() : new JdbcBatchLoader();
+  }
+
+  private static long rate(long rows, long startNanos) {
+    long elapsed = Math.max(1, System.nanoTime() - startNanos);
+    return rows * TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+}
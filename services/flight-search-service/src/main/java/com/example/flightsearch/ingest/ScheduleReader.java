@@ -0,0 +1,16 @@
+package com.example.flightsearch.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pulls schedule records one line at a time so a feed is never held in memory.
+ */
+public interface ScheduleReader extends Closeable {
+
+  /** Returns the next record, or {@code null} at end of input. Malformed lines throw {@link IllegalArgumentException}. */
+  ScheduleRecord next() throws IOException;
+
+  /** 1-based number of the line last returned by {@link #next()}. */
+  long lineNumber();
+}
@@ -0,0 +1,55 @@
+package com.example.flightsearch.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * One row of a schedule feed. Natural key is (airline, flightNumber, departureDate).
+ */
+public record ScheduleRecord(
+    String origin,
+    String destination,
+    LocalDate departureDate,
+    LocalDate returnDate,
+    String airline,
+    String flightNumber,
+    String cabin,
+    BigDecimal baseFare,
+    BigDecimal totalFare,
+    String currency,
+    Integer seatsAvailable
+) {
+
+  /** Upper-cases codes and checks the columns that are NOT NULL in {@code flights}. */
+  public ScheduleRecord normalized() {
+    require(origin, "origin");
+    require(destination, "destination");
+    require(departureDate, "departureDate");
+    require(airline, "airline");
+    require(flightNumber, "flightNumber");
+    require(cabin, "cabin");
+    require(baseFare, "baseFare");
+    require(totalFare, "totalFare");
+    require(currency, "currency");
+    require(seatsAvailable, "seatsAvailable");
+    if (baseFare.signum() < 0 || totalFare.signum() < 0) {
+      throw new IllegalArgumentException("fares must not be negative");
+    }
+    if (seatsAvailable < 0) {
+      throw new IllegalArgumentException("seatsAvailable must not be negative");
+    }
+    return new ScheduleRecord(code(origin), code(destination), departureDate, returnDate, code(airline),
+        code(flightNumber), code(cabin), baseFare, totalFare, code(currency), seatsAvailable);
+  }
+
+  private static void require(Object value, String field) {
+    if (value == null || (value instanceof String s && s.isBlank())) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+  }
+
+  private static String code(String value) {
+    return value.trim().toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.flightsearch.itinerary;
+
+import com.example.flightsearch.domain.Flight;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** One-way (empty {@code returning}) or round-trip itinerary; each direction is one flight or a one-stop connection. */
+public record Itinerary(List<Flight> outbound, List<Flight> returning, BigDecimal totalFare, String currency) {}
@@ -0,0 +1,164 @@
+package com.example.flightsearch.itinerary;
+
+import com.example.flightsearch.domain.Flight;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Top-N cheapest itineraries without building the cross product. Legs are grouped per route and sorted by
+ * fare, and every combination (outbound leg x connecting leg, outbound journey x return journey) is
+ * walked as a frontier over two sorted lists: a pair (i, j) is only looked at after (i, j - 1) was taken,
+ * so candidates come out of one priority queue in ascending total fare and the walk stops once
+ * {@code limit} valid itineraries are out. Combinations whose dates do not fit are skipped, not expanded
+ * into a result; {@code maxExpansions} caps the total work for pathological date windows.
+ *
+ * <p>Schedules carry departure dates only, so connection and stay rules are in whole days.
+ */
+public final class ItinerarySearch {
+
+  /** A connection leaves between {@code minConnectionDays} and {@code maxConnectionDays} after the first leg. */
+  public record Rules(int minConnectionDays, int maxConnectionDays, int minStayDays, int maxExpansions) {}
+
+  /** Sort order every leg list handed to {@link Legs} must follow. */
+  public static final Comparator<Flight> BY_FARE = Comparator.comparing(Flight::getTotalFare)
+      .thenComparing(Flight::getDepartureDate);
+
+  private final Rules rules;
+  private int expansions;
+
+  public ItinerarySearch(Rules rules) {
+    this.rules = rules;
+  }
+
+  /** Candidates looked at by the last {@link #cheapest} call. */
+  public int expansions() {
+    return expansions;
+  }
+
+  /**
+   * @param outbound legs for the outbound direction, see {@link Legs}
+   * @param returning legs for the return direction, or {@code null} for one-way
+   */
+  public List<Itinerary> cheapest(Legs outbound, Legs returning, int limit) {
+    expansions = 0;
+    Journeys out = new Journeys(outbound);
+    List<Itinerary> result = new ArrayList<>(limit);
+    if (returning == null) {
+      for (int i = 0; result.size() < limit; i++) {
+        Journey journey = out.get(i);
+        if (journey == null) break;
+        result.add(new Itinerary(journey.legs(), List.of(), journey.fare(), journey.currency()));
+      }
+      return result;
+    }
+
+    Journeys back = new Journeys(returning);
+    var frontier = new PriorityQueue<Pair>(Comparator.comparingLong(Pair::cents));
+    offer(frontier, out, back, 0, 0);
+    while (result.size() < limit && !frontier.isEmpty() && expansions++ < rules.maxExpansions()) {
+      Pair pair = frontier.poll();
+      offer(frontier, out, back, pair.i(), pair.j() + 1);
+      if (pair.j() == 0) offer(frontier, out, back, pair.i() + 1, 0);
+      Journey there = out.get(pair.i());
+      Journey home = back.get(pair.j());
+      if (there.currency().equals(home.currency())
+          && !home.departs().isBefore(there.arrives().plusDays(rules.minStayDays()))) {
+        result.add(new Itinerary(there.legs(), home.legs(), there.fare().add(home.fare()), there.currency()));
+      }
+    }
+    return result;
+  }
+
+  private static void offer(PriorityQueue<Pair> frontier, Journeys a, Journeys b, int i, int j) {
+    Journey x = a.get(i);
+    Journey y = b.get(j);
+    if (x != null && y != null) frontier.add(new Pair(i, j, x.cents() + y.cents()));
+  }
+
+  /**
+   * Legs for one direction, each list sorted by fare: {@code direct} origin to destination,
+   * {@code firstLegs} and {@code secondLegs} keyed by connection airport.
+   */
+  public record Legs(List<Flight> direct, Map<String, List<Flight>> firstLegs, Map<String, List<Flight>> secondLegs) {}
+
+  record Journey(List<Flight> legs, long cents, String currency, LocalDate departs, LocalDate arrives) {
+
+    BigDecimal fare() {
+      return BigDecimal.valueOf(cents, 2);
+    }
+
+    static Journey of(List<Flight> legs) {
+      long cents = 0;
+      for (Flight leg : legs) cents += ItinerarySearch.cents(leg);
+      return new Journey(legs, cents, legs.get(0).getCurrency(), legs.get(0).getDepartureDate(),
+          legs.get(legs.size() - 1).getDepartureDate());
+    }
+  }
+
+  private record Pair(int i, int j, long cents) {}
+
+  /** Journeys of one direction in ascending fare, produced on demand and remembered by index. */
+  private final class Journeys {
+
+    /** {@code hub == null} walks the direct list with {@code i}; otherwise (i, j) over the hub's two lists. */
+    private record Candidate(String hub, int i, int j, long cents) {}
+
+    private final Legs legs;
+    private final List<Journey> produced = new ArrayList<>();
+    private final PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingLong(Candidate::cents));
+
+    Journeys(Legs legs) {
+      this.legs = legs;
+      if (!legs.direct().isEmpty()) frontier.add(new Candidate(null, 0, 0, cents(legs.direct().get(0))));
+      legs.firstLegs().forEach((hub, first) -> {
+        List<Flight> second = legs.secondLegs().get(hub);
+        if (second != null && !second.isEmpty() && !first.isEmpty()) {
+          frontier.add(new Candidate(hub, 0, 0, cents(first.get(0)) + cents(second.get(0))));
+        }
+      });
+    }
+
+    /** The {@code index}-th cheapest journey, or {@code null} if there are fewer. */
+    Journey get(int index) {
+      while (produced.size() <= index && !frontier.isEmpty() && expansions++ < rules.maxExpansions()) {
+        Candidate c = frontier.poll();
+        if (c.hub() == null) {
+          if (c.i() + 1 < legs.direct().size()) {
+            frontier.add(new Candidate(null, c.i() + 1, 0, cents(legs.direct().get(c.i() + 1))));
+          }
+          produced.add(Journey.of(List.of(legs.direct().get(c.i()))));
+          continue;
+        }
+        List<Flight> first = legs.firstLegs().get(c.hub());
+        List<Flight> second = legs.secondLegs().get(c.hub());
+        if (c.j() + 1 < second.size()) add(c.hub(), c.i(), c.j() + 1, first, second);
+        if (c.j() == 0 && c.i() + 1 < first.size()) add(c.hub(), c.i() + 1, 0, first, second);
+        Flight a = first.get(c.i());
+        Flight b = second.get(c.j());
+        if (connects(a, b)) produced.add(Journey.of(List.of(a, b)));
+      }
+      return index < produced.size() ? produced.get(index) : null;
+    }
+
+    private void add(String hub, int i, int j, List<Flight> first, List<Flight> second) {
+      frontier.add(new Candidate(hub, i, j, cents(first.get(i)) + cents(second.get(j))));
+    }
+
+    private boolean connects(Flight a, Flight b) {
+      LocalDate earliest = a.getDepartureDate().plusDays(rules.minConnectionDays());
+      LocalDate latest = a.getDepartureDate().plusDays(rules.maxConnectionDays());
+      return a.getCurrency().equals(b.getCurrency())
+          && !b.getDepartureDate().isBefore(earliest) && !b.getDepartureDate().isAfter(latest);
+    }
+  }
+
+  static long cents(Flight flight) {
+    return flight.getTotalFare().movePointRight(2).longValue();
+  }
+}
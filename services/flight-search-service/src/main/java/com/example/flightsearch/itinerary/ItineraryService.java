@@ -0,0 +1,115 @@
+package com.example.flightsearch.itinerary;
+
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One-way and round-trip itineraries, direct or with one stop, cheapest first. Reads every leg leaving
+ * the origin and every leg arriving at the destination in the window (two indexed range queries per
+ * direction) and lets {@link ItinerarySearch} pair them.
+ */
+@Service
+public class ItineraryService {
+
+  static final long MAX_RANGE_DAYS = 31;
+  static final int MAX_LIMIT = 50;
+
+  private final FlightRepository repository;
+  private final ItinerarySearch.Rules rules;
+
+  public ItineraryService(FlightRepository repository,
+                          @Value("${flights.itineraries.min-connection-days:0}") int minConnectionDays,
+                          @Value("${flights.itineraries.max-connection-days:1}") int maxConnectionDays,
+                          @Value("${flights.itineraries.min-stay-days:0}") int minStayDays,
+                          @Value("${flights.itineraries.max-expansions:200000}") int maxExpansions) {
+    if (minConnectionDays < 0 || maxConnectionDays < minConnectionDays) {
+      throw new IllegalArgumentException("flights.itineraries connection days must satisfy 0 <= min <= max");
+    }
+    this.repository = repository;
+    this.rules = new ItinerarySearch.Rules(minConnectionDays, maxConnectionDays, minStayDays, maxExpansions);
+  }
+
+  /**
+   * @param returnFrom start of the return window, or {@code null} for one-way
+   * @param maxStops   0 for direct flights only, 1 to include one-stop connections
+   */
+  @Transactional(readOnly = true)
+  public List<Itinerary> search(String origin, String destination, LocalDate dateFrom, LocalDate dateTo,
+                                LocalDate returnFrom, LocalDate returnTo, int maxStops, int seats, int limit) {
+    if (!StringUtils.hasText(origin) || !StringUtils.hasText(destination)) {
+      throw new IllegalArgumentException("origin and destination are required");
+    }
+    String o = normalize(origin);
+    String d = normalize(destination);
+    if (o.equals(d)) throw new IllegalArgumentException("origin and destination must differ");
+    checkWindow(dateFrom, dateTo, "dateFrom", "dateTo");
+    if ((returnFrom == null) != (returnTo == null)) {
+      throw new IllegalArgumentException("returnFrom and returnTo go together");
+    }
+    if (returnFrom != null) checkWindow(returnFrom, returnTo, "returnFrom", "returnTo");
+    if (maxStops < 0 || maxStops > 1) throw new IllegalArgumentException("maxStops must be 0 or 1");
+    if (seats < 1) throw new IllegalArgumentException("seats must be >= 1");
+    if (limit < 1 || limit > MAX_LIMIT) throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+
+    ItinerarySearch.Legs outbound = legs(o, d, dateFrom, dateTo, maxStops, seats);
+    ItinerarySearch.Legs returning = returnFrom == null ? null : legs(d, o, returnFrom, returnTo, maxStops, seats);
+    return new ItinerarySearch(rules).cheapest(outbound, returning, limit);
+  }
+
+  private ItinerarySearch.Legs legs(String from, String to, LocalDate dateFrom, LocalDate dateTo, int maxStops, int seats) {
+    if (maxStops == 0) {
+      return new ItinerarySearch.Legs(
+          sorted(repository.findByOriginAndDestinationAndDepartureDateBetween(from, to, dateFrom, dateTo), seats),
+          Map.of(), Map.of());
+    }
+    List<Flight> direct = new ArrayList<>();
+    Map<String, List<Flight>> first = new HashMap<>();
+    for (Flight f : repository.findByOriginAndDepartureDateBetween(from, dateFrom, dateTo)) {
+      if (f.getDestination().equals(to)) direct.add(f);
+      else first.computeIfAbsent(f.getDestination(), k -> new ArrayList<>()).add(f);
+    }
+    Map<String, List<Flight>> second = new HashMap<>();
+    LocalDate lastConnection = dateTo.plusDays(rules.maxConnectionDays());
+    for (Flight f : repository.findByDestinationAndDepartureDateBetween(to, dateFrom, lastConnection)) {
+      if (first.containsKey(f.getOrigin())) second.computeIfAbsent(f.getOrigin(), k -> new ArrayList<>()).add(f);
+    }
+    first.keySet().retainAll(second.keySet());
+    first.replaceAll((hub, flights) -> sorted(flights, seats));
+    second.replaceAll((hub, flights) -> sorted(flights, seats));
+    return new ItinerarySearch.Legs(sorted(direct, seats), first, second);
+  }
+
+  private static List<Flight> sorted(List<Flight> flights, int seats) {
+    List<Flight> sorted = new ArrayList<>(flights.size());
+    for (Flight f : flights) {
+      if (f.getSeatsAvailable() >= seats) sorted.add(f);
+    }
+    sorted.sort(ItinerarySearch.BY_FARE);
+    return sorted;
+  }
+
+  private static void checkWindow(LocalDate from, LocalDate to, String fromName, String toName) {
+    if (from == null || to == null || from.isAfter(to)) {
+      throw new IllegalArgumentException(fromName + " must be <= " + toName);
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+      throw new IllegalArgumentException(fromName + ".." + toName + " must be shorter than " + MAX_RANGE_DAYS + " days");
+    }
+  }
+
+  private static String normalize(String code) {
+    return code.trim().toUpperCase(Locale.ROOT);
+  }
+}
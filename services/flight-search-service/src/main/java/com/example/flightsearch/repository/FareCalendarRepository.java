@@ -0,0 +1,83 @@
+package com.example.flightsearch.repository;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FareCalendarRepository extends JpaRepository<FareCalendarEntry, FareCalendarEntry.Key> {
+
+  List<FareCalendarEntry> findByOriginAndDestinationAndDepartureDateBetweenOrderByDepartureDateAscCabinAsc(
+      String origin, String destination, LocalDate dateFrom, LocalDate dateTo);
+
+  List<FareCalendarEntry> findByOriginAndDestinationAndCabinAndDepartureDateBetweenOrderByDepartureDateAsc(
+      String origin, String destination, String cabin, LocalDate dateFrom, LocalDate dateTo);
+
+  // A refresh is one upsert of the grouped flights plus a delete of the keys no flight is left on, so two
+  // refreshes of the same day (an ingestion chunk and FlightService.save) never both insert it.
+  // PostgreSQL upserts with ON CONFLICT; H2 (tests and the h2 profile) with MERGE ... KEY.
+
+  @Modifying
+  @Query(value = "INSERT INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count) "
+      + "SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights "
+      + "WHERE origin = :origin AND destination = :destination AND cabin = :cabin AND departure_date = :departureDate "
+      + "GROUP BY origin, destination, cabin, departure_date "
+      + "ON CONFLICT (origin, destination, cabin, departure_date) DO UPDATE SET min_total_fare = EXCLUDED.min_total_fare, "
+      + "currency = EXCLUDED.currency, flight_count = EXCLUDED.flight_count", nativeQuery = true)
+  int upsertDay(@Param("origin") String origin, @Param("destination") String destination,
+                @Param("cabin") String cabin, @Param("departureDate") LocalDate departureDate);
+
+  @Modifying
+  @Query(value = "MERGE INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count) "
+      + "KEY (origin, destination, cabin, departure_date) "
+      + "SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights "
+      + "WHERE origin = :origin AND destination = :destination AND cabin = :cabin AND departure_date = :departureDate "
+      + "GROUP BY origin, destination, cabin, departure_date", nativeQuery = true)
+  int mergeDay(@Param("origin") String origin, @Param("destination") String destination,
+               @Param("cabin") String cabin, @Param("departureDate") LocalDate departureDate);
+
+  @Modifying
+  @Query(value = "DELETE FROM fare_calendar c WHERE c.origin = :origin AND c.destination = :destination "
+      + "AND c.cabin = :cabin AND c.departure_date = :departureDate AND NOT EXISTS (SELECT 1 FROM flights f "
+      + "WHERE f.origin = c.origin AND f.destination = c.destination AND f.cabin = c.cabin "
+      + "AND f.departure_date = c.departure_date)", nativeQuery = true)
+  int deleteDayWithoutFlights(@Param("origin") String origin, @Param("destination") String destination,
+                              @Param("cabin") String cabin, @Param("departureDate") LocalDate departureDate);
+
+  @Modifying
+  @Query(value = "INSERT INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count) "
+      + "SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights "
+      + "WHERE departure_date BETWEEN :dateFrom AND :dateTo "
+      + "GROUP BY origin, destination, cabin, departure_date "
+      + "ON CONFLICT (origin, destination, cabin, departure_date) DO UPDATE SET min_total_fare = EXCLUDED.min_total_fare, "
+      + "currency = EXCLUDED.currency, flight_count = EXCLUDED.flight_count", nativeQuery = true)
+  int upsertRange(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
+
+  @Modifying
+  @Query(value = "MERGE INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count) "
+      + "KEY (origin, destination, cabin, departure_date) "
+      + "SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights "
+      + "WHERE departure_date BETWEEN :dateFrom AND :dateTo "
+      + "GROUP BY origin, destination, cabin, departure_date", nativeQuery = true)
+  int mergeRange(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
+
+  @Modifying
+  @Query(value = "DELETE FROM fare_calendar c WHERE c.departure_date BETWEEN :dateFrom AND :dateTo "
+      + "AND NOT EXISTS (SELECT 1 FROM flights f WHERE f.origin = c.origin AND f.destination = c.destination "
+      + "AND f.cabin = c.cabin AND f.departure_date = c.departure_date)", nativeQuery = true)
+  int deleteRangeWithoutFlights(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
+
+  @Modifying
+  @Query(value = "DELETE FROM fare_calendar", nativeQuery = true)
+  int deleteAllDays();
+
+  @Modifying
+  @Query(value = "INSERT INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count) "
+      + "SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights "
+      + "GROUP BY origin, destination, cabin, departure_date", nativeQuery = true)
+  int materializeAll();
+}
@@ -0,0 +1,151 @@
+package com.example.flightsearch.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code flights} (see {@code schema-postgresql.sql}) rolling:
+ * creates the current month plus {@code premake-months} ahead, gives every month found in the default
+ * partition its own partition, and detaches months older than {@code retention-months} into the
+ * archive schema, where they no longer take part in searches or vacuum and can be dumped or dropped.
+ * Does nothing unless {@code flights} is a partitioned PostgreSQL table.
+ */
+@Component
+@ConditionalOnProperty(name = "flights.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightPartitionMaintenance {
+
+  private static final Logger log = LoggerFactory.getLogger(FlightPartitionMaintenance.class);
+  private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'flights_p'yyyy_MM");
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final int premakeMonths;
+  private final int retentionMonths;
+  private final String archiveSchema;
+
+  public FlightPartitionMaintenance(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                                    @Value("${flights.partitions.premake-months:3}") int premakeMonths,
+                                    @Value("${flights.partitions.retention-months:12}") int retentionMonths,
+                                    @Value("${flights.partitions.archive-schema:flights_archive}") String archiveSchema) {
+    if (!IDENTIFIER.matcher(archiveSchema).matches()) {
+      throw new IllegalArgumentException("flights.partitions.archive-schema is not a plain identifier: " + archiveSchema);
+    }
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(transactionManager);
+    this.premakeMonths = premakeMonths;
+    this.retentionMonths = retentionMonths;
+    this.archiveSchema = archiveSchema;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${flights.partitions.cron:0 15 3 * * *}", zone = "UTC")
+  public void maintain() {
+    maintain(YearMonth.now(ZoneOffset.UTC));
+  }
+
+  public void maintain(YearMonth current) {
+    if (!isPartitioned()) {
+      log.debug("flights is not a partitioned PostgreSQL table; skipping partition maintenance");
+      return;
+    }
+    YearMonth oldestKept = current.minusMonths(retentionMonths);
+
+    for (int i = 0; i <= premakeMonths; i++) {
+      ensurePartition(current.plusMonths(i));
+    }
+    List<Date> strayMonths = jdbc.queryForList(
+        "SELECT DISTINCT CAST(date_trunc('month', departure_date) AS DATE) FROM flights_default "
+            + "WHERE departure_date >= ?", Date.class, Date.valueOf(oldestKept.atDay(1)));
+    for (Date month : strayMonths) {
+      ensurePartition(YearMonth.from(month.toLocalDate()));
+    }
+    archiveBefore(oldestKept);
+  }
+
+  /** Creates the month's partition, moving any rows the default partition already holds for it. */
+  void ensurePartition(YearMonth month) {
+    String name = month.format(PARTITION_NAME);
+    if (exists(name)) return;
+
+    LocalDate from = month.atDay(1);
+    LocalDate to = month.plusMonths(1).atDay(1);
+    tx.executeWithoutResult(status -> {
+      jdbc.execute("CREATE TABLE " + name + " (LIKE flights)");
+      int moved = jdbc.update("WITH moved AS (DELETE FROM flights_default WHERE departure_date >= ? "
+              + "AND departure_date < ? RETURNING *) INSERT INTO " + name + " SELECT * FROM moved",
+          Date.valueOf(from), Date.valueOf(to));
+      jdbc.execute("ALTER TABLE flights ATTACH PARTITION " + name
+          + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+      log.info("Created partition {} [{}, {}), moved {} rows from flights_default", name, from, to, moved);
+    });
+  }
+
+  /** Detaches every month partition older than {@code oldestKept} and parks it in the archive schema. */
+  void archiveBefore(YearMonth oldestKept) {
+    List<String> partitions = jdbc.queryForList(
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "WHERE p.relname = 'flights' AND p.relnamespace = to_regnamespace(current_schema())", String.class);
+
+    for (String name : partitions) {
+      YearMonth month = monthOf(name);
+      if (month == null || !month.isBefore(oldestKept)) continue;
+
+      tx.executeWithoutResult(status -> {
+        jdbc.execute("ALTER TABLE flights DETACH PARTITION " + name);
+        jdbc.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        if (exists(archiveSchema + "." + name)) {
+          // The month was archived before (schema re-created, late feed): keep the archived rows, add the rest.
+          jdbc.execute("INSERT INTO " + archiveSchema + "." + name + " SELECT * FROM " + name + " ON CONFLICT DO NOTHING");
+          jdbc.execute("DROP TABLE " + name);
+        } else {
+          jdbc.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+        }
+        jdbc.update("DELETE FROM fare_calendar WHERE departure_date >= ? AND departure_date < ?",
+            Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+      });
+      log.info("Detached partition {} into schema {}", name, archiveSchema);
+    }
+  }
+
+  static YearMonth monthOf(String partitionName) {
+    try {
+      return YearMonth.parse(partitionName, PARTITION_NAME);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+  private boolean exists(String table) {
+    return Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+  }
+
+  private boolean isPartitioned() {
+    Boolean postgres = jdbc.execute((ConnectionCallback<Boolean>) c ->
+        "PostgreSQL".equals(c.getMetaData().getDatabaseProductName()));
+    if (!Boolean.TRUE.equals(postgres)) return false;
+    return Boolean.TRUE.equals(jdbc.queryForObject(
+        "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+            + "WHERE c.relname = 'flights' AND c.relnamespace = to_regnamespace(current_schema()))", Boolean.class));
+  }
+}
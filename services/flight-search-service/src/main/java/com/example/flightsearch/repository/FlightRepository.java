@@ -9,4 +9,12 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
 
   List<Flight> findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureDateBetween(
       String origin, String destination, LocalDate dateFrom, LocalDate dateTo);
+
+  // Itinerary search: codes are already upper-cased, so these can use the route/date indexes.
+  List<Flight> findByOriginAndDestinationAndDepartureDateBetween(
+      String origin, String destination, LocalDate dateFrom, LocalDate dateTo);
+
+  List<Flight> findByOriginAndDepartureDateBetween(String origin, LocalDate dateFrom, LocalDate dateTo);
+
+  List<Flight> findByDestinationAndDepartureDateBetween(String destination, LocalDate dateFrom, LocalDate dateTo);
 }
@@ -0,0 +1,105 @@
+package com.example.flightsearch.service;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FareCalendarRepository;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serves "cheapest fare per day" calendars from the {@code fare_calendar} materialization
+ * instead of scanning and pricing every flight in the requested window.
+ */
+@Service
+public class FareCalendarService {
+
+  static final long MAX_RANGE_DAYS = 366;
+
+  private final FareCalendarRepository repository;
+  private final DataSource dataSource;
+  private volatile Boolean postgres;
+
+  public FareCalendarService(FareCalendarRepository repository, DataSource dataSource) {
+    this.repository = repository;
+    this.dataSource = dataSource;
+  }
+
+  @Transactional(readOnly = true)
+  public List<FareCalendarEntry> calendar(String origin, String destination,
+                                          LocalDate dateFrom, LocalDate dateTo, String cabin) {
+    if (!StringUtils.hasText(origin) || !StringUtils.hasText(destination)) {
+      throw new IllegalArgumentException("origin and destination are required");
+    }
+    if (dateFrom == null || dateTo == null || dateFrom.isAfter(dateTo)) {
+      throw new IllegalArgumentException("dateFrom must be <= dateTo");
+    }
+    if (ChronoUnit.DAYS.between(dateFrom, dateTo) >= MAX_RANGE_DAYS) {
+      throw new IllegalArgumentException("calendar range must be shorter than " + MAX_RANGE_DAYS + " days");
+    }
+
+    String o = normalize(origin);
+    String d = normalize(destination);
+    if (!StringUtils.hasText(cabin)) {
+      return repository.findByOriginAndDestinationAndDepartureDateBetweenOrderByDepartureDateAscCabinAsc(
+          o, d, dateFrom, dateTo);
+    }
+    return repository.findByOriginAndDestinationAndCabinAndDepartureDateBetweenOrderByDepartureDateAsc(
+        o, d, normalize(cabin), dateFrom, dateTo);
+  }
+
+  /** Recomputes the calendar day a flight belongs to; call after inserting, updating or deleting it. */
+  @Transactional
+  public void refresh(Flight flight) {
+    refreshDay(flight.getOrigin(), flight.getDestination(), flight.getCabin(), flight.getDepartureDate());
+  }
+
+  /** Upserts the day from its flights, or deletes it when none are left; safe to run concurrently. */
+  @Transactional
+  public void refreshDay(String origin, String destination, String cabin, LocalDate departureDate) {
+    if (postgres()) repository.upsertDay(origin, destination, cabin, departureDate);
+    else repository.mergeDay(origin, destination, cabin, departureDate);
+    repository.deleteDayWithoutFlights(origin, destination, cabin, departureDate);
+  }
+
+  /** Recomputes every route for departures in [dateFrom, dateTo]; used after bulk schedule loads. */
+  @Transactional
+  public int refreshRange(LocalDate dateFrom, LocalDate dateTo) {
+    int days = postgres() ? repository.upsertRange(dateFrom, dateTo) : repository.mergeRange(dateFrom, dateTo);
+    repository.deleteRangeWithoutFlights(dateFrom, dateTo);
+    return days;
+  }
+
+  /** Rebuilds the whole materialization from {@code flights} in one grouped pass. */
+  @Transactional
+  public int rebuild() {
+    repository.deleteAllDays();
+    return repository.materializeAll();
+  }
+
+  private boolean postgres() {
+    Boolean pg = postgres;
+    if (pg == null) {
+      try {
+        pg = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+      } catch (MetaDataAccessException ex) {
+        throw new IllegalStateException("Could not read the database product name", ex);
+      }
+      postgres = pg;
+    }
+    return pg;
+  }
+
+  private static String normalize(String value) {
+    return value.trim().toUpperCase(Locale.ROOT);
+  }
+}
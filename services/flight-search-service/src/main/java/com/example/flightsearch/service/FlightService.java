@@ -2,7 +2,10 @@ package com.example.flightsearch.service;
 
 import com.example.flightsearch.domain.Flight;
 import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.snapshot.FlightSnapshotService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
@@ -12,24 +15,71 @@ import java.util.List;
 public class FlightService {
 
   private final FlightRepository repository;
+  private final FareCalendarService fareCalendar;
+  private final FlightSnapshotService snapshot;
 
-  public FlightService(FlightRepository repository) {
+  /** With {@code flights.snapshot.enabled}, searches are served from the off-heap snapshot once it is loaded. */
+  public FlightService(FlightRepository repository, FareCalendarService fareCalendar,
+                       ObjectProvider<FlightSnapshotService> snapshot) {
     this.repository = repository;
+    this.fareCalendar = fareCalendar;
+    this.snapshot = snapshot == null ? null : snapshot.getIfAvailable();
   }
 
+  @Transactional(readOnly = true)
   public List<Flight> listAll() { return repository.findAll(); }
 
+  /**
+   * Inserts or updates one (detached) flight. The fare calendar day it lands on, and the one it left when
+   * its route, cabin or date changed, are recomputed in the same transaction.
+   */
+  @Transactional
+  public Flight save(Flight flight) {
+    CalendarDay before = flight.getId() == null ? null
+        : repository.findById(flight.getId()).map(CalendarDay::of).orElse(null);
+    Flight saved = repository.saveAndFlush(flight);
+    CalendarDay after = CalendarDay.of(saved);
+    if (before != null && !before.equals(after)) before.refresh(fareCalendar);
+    after.refresh(fareCalendar);
+    return saved;
+  }
+
+  /** Deletes a flight and recomputes its calendar day; false when there was no such flight. */
+  @Transactional
+  public boolean delete(Long id) {
+    Flight flight = repository.findById(id).orElse(null);
+    if (flight == null) return false;
+    repository.delete(flight);
+    repository.flush();
+    CalendarDay.of(flight).refresh(fareCalendar);
+    return true;
+  }
+
+  private record CalendarDay(String origin, String destination, String cabin, LocalDate departureDate) {
+    static CalendarDay of(Flight f) {
+      return new CalendarDay(f.getOrigin(), f.getDestination(), f.getCabin(), f.getDepartureDate());
+    }
+
+    void refresh(FareCalendarService fareCalendar) {
+      fareCalendar.refreshDay(origin, destination, cabin, departureDate);
+    }
+  }
+
+    @Transactional(readOnly = true)
     public List<Flight> search(String origin, String destination, LocalDate dateFrom, LocalDate dateTo) {
         String o = origin == null ? null : origin.trim();
         String d = destination == null ? null : destination.trim();
 
-        if (o == null || StringUtils.hasText(o) || d == null || StringUtils.hasText(d)) {
+        if (!StringUtils.hasText(o) || !StringUtils.hasText(d)) {
             throw new IllegalArgumentException("origin and destination are required");
         }
         if (dateFrom == null || dateTo == null || dateFrom.isAfter(dateTo)) {
             throw new IllegalArgumentException("dateFrom must be <= dateTo");
         }
 
+        if (snapshot != null && snapshot.isLoaded()) {
+            return snapshot.search(o, d, dateFrom, dateTo);
+        }
         return repository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureDateBetween(
                 o, d, dateFrom, dateTo
         );
@@ -0,0 +1,314 @@
+package com.example.flightsearch.snapshot;
+
+import com.example.flightsearch.domain.Flight;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, columnar copy of the {@code flights} table kept outside the Java heap. Every column lives in
+ * its own direct buffer: ids as longs, airports/airlines/flight numbers/cabins/currencies as dictionary
+ * codes, dates as epoch days and fares as long cents. Rows are ordered by route (upper-cased origin and
+ * destination) then departure date, so a search is a directory lookup plus a binary search over the
+ * date column. Only matched rows are materialized as {@link Flight} objects.
+ *
+ * <p>The heap keeps the dictionaries and the route directory only, both proportional to the number of
+ * distinct values, not rows.
+ */
+public final class FlightSnapshot {
+
+  static final int NO_DATE = Integer.MIN_VALUE;
+
+  private final int size;
+  private final Column ids;
+  private final Column origins;
+  private final Column destinations;
+  private final Column departures;
+  private final Column returns;
+  private final Column airlines;
+  private final Column flightNumbers;
+  private final Column cabins;
+  private final Column baseFares;
+  private final Column totalFares;
+  private final Column currencies;
+  private final Column seats;
+  private final String[] airportValues;
+  private final String[] airlineValues;
+  private final String[] flightNumberValues;
+  private final String[] cabinValues;
+  private final String[] currencyValues;
+  /** "ORIGIN DESTINATION" (upper case) to {first row, end row}. */
+  private final Map<String, int[]> routes;
+
+  private FlightSnapshot(Builder b) {
+    this.size = b.size;
+    this.ids = b.ids;
+    this.origins = b.origins;
+    this.destinations = b.destinations;
+    this.departures = b.departures;
+    this.returns = b.returns;
+    this.airlines = b.airlines;
+    this.flightNumbers = b.flightNumbers;
+    this.cabins = b.cabins;
+    this.baseFares = b.baseFares;
+    this.totalFares = b.totalFares;
+    this.currencies = b.currencies;
+    this.seats = b.seats;
+    this.airportValues = b.airports.values();
+    this.airlineValues = b.airlineDict.values();
+    this.flightNumberValues = b.flightNumberDict.values();
+    this.cabinValues = b.cabinDict.values();
+    this.currencyValues = b.currencyDict.values();
+    this.routes = Map.copyOf(b.routes);
+  }
+
+  /** Same contract as {@code FlightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureDateBetween}. */
+  public List<Flight> search(String origin, String destination, LocalDate dateFrom, LocalDate dateTo) {
+    int[] range = routes.get(routeKey(origin, destination));
+    if (range == null) return List.of();
+    int from = (int) dateFrom.toEpochDay();
+    int to = (int) dateTo.toEpochDay();
+
+    var result = new ArrayList<Flight>();
+    for (int row = firstDepartureOnOrAfter(range[0], range[1], from);
+         row < range[1] && departures.getInt(row) <= to; row++) {
+      result.add(flight(row));
+    }
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int routeCount() {
+    return routes.size();
+  }
+
+  /** Direct memory held by the columns. */
+  public long offHeapBytes() {
+    return ids.capacity() + origins.capacity() + destinations.capacity() + departures.capacity()
+        + returns.capacity() + airlines.capacity() + flightNumbers.capacity() + cabins.capacity()
+        + baseFares.capacity() + totalFares.capacity() + currencies.capacity() + seats.capacity();
+  }
+
+  private int firstDepartureOnOrAfter(int low, int high, int epochDay) {
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (departures.getInt(mid) < epochDay) low = mid + 1;
+      else high = mid;
+    }
+    return low;
+  }
+
+  private Flight flight(int row) {
+    int returnDay = returns.getInt(row);
+    var flight = new Flight(
+        airportValues[origins.getShort(row)],
+        airportValues[destinations.getShort(row)],
+        LocalDate.ofEpochDay(departures.getInt(row)),
+        returnDay == NO_DATE ? null : LocalDate.ofEpochDay(returnDay),
+        airlineValues[airlines.getShort(row)],
+        flightNumberValues[flightNumbers.getInt(row)],
+        cabinValues[cabins.getShort(row)],
+        BigDecimal.valueOf(baseFares.getLong(row), 2),
+        BigDecimal.valueOf(totalFares.getLong(row), 2),
+        currencyValues[currencies.getShort(row)],
+        seats.getInt(row));
+    flight.setId(ids.getLong(row));
+    return flight;
+  }
+
+  static String routeKey(String origin, String destination) {
+    return origin.trim().toUpperCase(Locale.ROOT) + ' ' + destination.trim().toUpperCase(Locale.ROOT);
+  }
+
+  /** Snapshot of an arbitrary collection; sorts a copy first. Meant for tests and small data sets. */
+  public static FlightSnapshot of(Collection<Flight> flights) {
+    var sorted = new ArrayList<>(flights);
+    sorted.sort(Comparator.comparing((Flight f) -> routeKey(f.getOrigin(), f.getDestination()))
+        .thenComparing(Flight::getDepartureDate));
+    var builder = builder(sorted.size());
+    sorted.forEach(builder::add);
+    return builder.build();
+  }
+
+  public static Builder builder(int expectedRows) {
+    return new Builder(expectedRows);
+  }
+
+  /**
+   * Appends rows grouped by route (upper-cased origin, destination) and ordered by departure date within
+   * a route, the order {@link FlightSnapshotLoader} reads them in. Not thread-safe; {@link #build()} once.
+   */
+  public static final class Builder {
+
+    private int size;
+    private final Column ids;
+    private final Column origins;
+    private final Column destinations;
+    private final Column departures;
+    private final Column returns;
+    private final Column airlines;
+    private final Column flightNumbers;
+    private final Column cabins;
+    private final Column baseFares;
+    private final Column totalFares;
+    private final Column currencies;
+    private final Column seats;
+    private final Dictionary airports = new Dictionary("airports", Short.MAX_VALUE);
+    private final Dictionary airlineDict = new Dictionary("airlines", Short.MAX_VALUE);
+    private final Dictionary flightNumberDict = new Dictionary("flight numbers", Integer.MAX_VALUE);
+    private final Dictionary cabinDict = new Dictionary("cabins", Short.MAX_VALUE);
+    private final Dictionary currencyDict = new Dictionary("currencies", Short.MAX_VALUE);
+    private final Map<String, int[]> routes = new HashMap<>();
+    private String currentRoute;
+    private int currentDeparture;
+    private boolean built;
+
+    private Builder(int expectedRows) {
+      int rows = Math.max(expectedRows, 16);
+      ids = new Column(Long.BYTES, rows);
+      origins = new Column(Short.BYTES, rows);
+      destinations = new Column(Short.BYTES, rows);
+      departures = new Column(Integer.BYTES, rows);
+      returns = new Column(Integer.BYTES, rows);
+      airlines = new Column(Short.BYTES, rows);
+      flightNumbers = new Column(Integer.BYTES, rows);
+      cabins = new Column(Short.BYTES, rows);
+      baseFares = new Column(Long.BYTES, rows);
+      totalFares = new Column(Long.BYTES, rows);
+      currencies = new Column(Short.BYTES, rows);
+      seats = new Column(Integer.BYTES, rows);
+    }
+
+    public Builder add(Flight f) {
+      return add(f.getId() == null ? 0 : f.getId(), f.getOrigin(), f.getDestination(), f.getDepartureDate(),
+          f.getReturnDate(), f.getAirline(), f.getFlightNumber(), f.getCabin(), f.getBaseFare(), f.getTotalFare(),
+          f.getCurrency(), f.getSeatsAvailable());
+    }
+
+    public Builder add(long id, String origin, String destination, LocalDate departureDate, LocalDate returnDate,
+                       String airline, String flightNumber, String cabin, BigDecimal baseFare, BigDecimal totalFare,
+                       String currency, int seatsAvailable) {
+      if (built) throw new IllegalStateException("snapshot already built");
+      String route = routeKey(origin, destination);
+      int departure = (int) departureDate.toEpochDay();
+      if (!route.equals(currentRoute)) {
+        if (routes.containsKey(route)) {
+          throw new IllegalArgumentException("rows must be grouped by route: " + route + " seen twice");
+        }
+        routes.put(route, new int[] {size, size});
+        currentRoute = route;
+      } else if (departure < currentDeparture) {
+        throw new IllegalArgumentException("rows must be ordered by route then departure date: " + route
+            + " " + departureDate);
+      }
+      currentDeparture = departure;
+
+      int row = size;
+      ids.putLong(row, id);
+      origins.putShort(row, (short) airports.code(origin));
+      destinations.putShort(row, (short) airports.code(destination));
+      departures.putInt(row, departure);
+      returns.putInt(row, returnDate == null ? NO_DATE : (int) returnDate.toEpochDay());
+      airlines.putShort(row, (short) airlineDict.code(airline));
+      flightNumbers.putInt(row, flightNumberDict.code(flightNumber));
+      cabins.putShort(row, (short) cabinDict.code(cabin));
+      baseFares.putLong(row, cents(baseFare));
+      totalFares.putLong(row, cents(totalFare));
+      currencies.putShort(row, (short) currencyDict.code(currency));
+      seats.putInt(row, seatsAvailable);
+      size++;
+      routes.get(route)[1] = size;
+      return this;
+    }
+
+    public FlightSnapshot build() {
+      built = true;
+      return new FlightSnapshot(this);
+    }
+
+    /** Fares are NUMERIC(12,2): exact in cents. */
+    private static long cents(BigDecimal amount) {
+      return amount.movePointRight(2).longValueExact();
+    }
+  }
+
+  /** Value to code, assigned in first-seen order. */
+  private static final class Dictionary {
+
+    private final String name;
+    private final int maxCodes;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    Dictionary(String name, int maxCodes) {
+      this.name = name;
+      this.maxCodes = maxCodes;
+    }
+
+    int code(String value) {
+      Integer code = codes.get(value);
+      if (code != null) return code;
+      if (values.size() == maxCodes) {
+        throw new IllegalStateException("more than " + maxCodes + " distinct " + name);
+      }
+      codes.put(value, values.size());
+      values.add(value);
+      return values.size() - 1;
+    }
+
+    String[] values() {
+      return values.toArray(String[]::new);
+    }
+  }
+
+  /** One fixed-width column in its own direct buffer; doubles when full. */
+  private static final class Column {
+
+    private final int width;
+    private ByteBuffer buffer;
+
+    Column(int width, int rows) {
+      this.width = width;
+      this.buffer = allocate((long) rows * width);
+    }
+
+    long getLong(int row) { return buffer.getLong(row * width); }
+    int getInt(int row) { return buffer.getInt(row * width); }
+    short getShort(int row) { return buffer.getShort(row * width); }
+
+    void putLong(int row, long value) { ensure(row); buffer.putLong(row * width, value); }
+    void putInt(int row, int value) { ensure(row); buffer.putInt(row * width, value); }
+    void putShort(int row, short value) { ensure(row); buffer.putShort(row * width, value); }
+
+    long capacity() {
+      return buffer.capacity();
+    }
+
+    private void ensure(int row) {
+      if ((long) (row + 1) * width <= buffer.capacity()) return;
+      ByteBuffer bigger = allocate(Math.max((long) buffer.capacity() * 2, (long) (row + 1) * width));
+      bigger.put(0, buffer, 0, buffer.capacity());
+      buffer = bigger;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+      if (bytes > Integer.MAX_VALUE) {
+        throw new IllegalStateException("flight snapshot column exceeds 2 GB");
+      }
+      return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+  }
+}
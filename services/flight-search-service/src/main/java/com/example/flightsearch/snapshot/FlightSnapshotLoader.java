@@ -0,0 +1,52 @@
+package com.example.flightsearch.snapshot;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+
+/**
+ * Streams {@code flights} into a {@link FlightSnapshot} in route/date order (the order of
+ * {@code idx_flights_route_date}). Runs in one read-only REPEATABLE READ transaction so the row count
+ * and the scan agree, with a fetch size so the PostgreSQL driver uses a cursor instead of buffering
+ * the whole result set.
+ */
+public class FlightSnapshotLoader {
+
+  private static final String SELECT = """
+      SELECT id, origin, destination, departure_date, return_date, airline, flight_number, cabin,
+             base_fare, total_fare, currency, seats_available
+        FROM flights
+       ORDER BY UPPER(origin), UPPER(destination), departure_date, id
+      """;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+
+  public FlightSnapshotLoader(DataSource dataSource, PlatformTransactionManager transactionManager, int fetchSize) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.jdbc.setFetchSize(fetchSize);
+    this.tx = new TransactionTemplate(transactionManager);
+    this.tx.setReadOnly(true);
+    this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  public FlightSnapshot load() {
+    return tx.execute(status -> {
+      Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class);
+      var builder = FlightSnapshot.builder(rows == null ? 0 : rows);
+      jdbc.query(SELECT, rs -> {
+        Date returnDate = rs.getDate("return_date");
+        builder.add(rs.getLong("id"), rs.getString("origin"), rs.getString("destination"),
+            rs.getDate("departure_date").toLocalDate(), returnDate == null ? null : returnDate.toLocalDate(),
+            rs.getString("airline"), rs.getString("flight_number"), rs.getString("cabin"),
+            rs.getBigDecimal("base_fare"), rs.getBigDecimal("total_fare"), rs.getString("currency"),
+            rs.getInt("seats_available"));
+      });
+      return builder.build();
+    });
+  }
+}
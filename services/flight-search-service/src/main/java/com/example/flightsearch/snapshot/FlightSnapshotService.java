@@ -0,0 +1,73 @@
+package com.example.flightsearch.snapshot;
+
+import com.example.flightsearch.domain.Flight;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves searches from an off-heap {@link FlightSnapshot} for read-heavy instances. The snapshot is
+ * built at startup and rebuilt every {@code flights.snapshot.refresh-interval}; a new one replaces the
+ * old atomically and the old buffers are freed with it. Results can be up to one interval stale.
+ */
+@Service
+@ConditionalOnProperty(name = "flights.snapshot.enabled", havingValue = "true")
+public class FlightSnapshotService {
+
+  private static final Logger log = LoggerFactory.getLogger(FlightSnapshotService.class);
+
+  private final FlightSnapshotLoader loader;
+  private final Timer loadTimer;
+  private volatile FlightSnapshot current;
+
+  public FlightSnapshotService(DataSource dataSource, PlatformTransactionManager transactionManager, MeterRegistry registry,
+                               @Value("${flights.snapshot.fetch-size:10000}") int fetchSize) {
+    this.loader = new FlightSnapshotLoader(dataSource, transactionManager, fetchSize);
+    this.loadTimer = Timer.builder("flights.snapshot.load")
+        .description("Time to rebuild the off-heap flight snapshot")
+        .register(registry);
+    Gauge.builder("flights.snapshot.rows", this, s -> s.current == null ? 0 : s.current.size())
+        .description("Rows in the off-heap flight snapshot")
+        .register(registry);
+    Gauge.builder("flights.snapshot.off.heap", this, s -> s.current == null ? 0 : s.current.offHeapBytes())
+        .description("Direct memory held by the flight snapshot")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${flights.snapshot.refresh-interval:PT5M}",
+      initialDelayString = "${flights.snapshot.refresh-interval:PT5M}")
+  public void refresh() {
+    try {
+      FlightSnapshot snapshot = loadTimer.record(loader::load);
+      current = snapshot;
+      log.info("Flight snapshot loaded: {} rows, {} routes, {} KB off-heap",
+          snapshot.size(), snapshot.routeCount(), snapshot.offHeapBytes() / 1024);
+    } catch (RuntimeException ex) {
+      log.warn("Flight snapshot refresh failed; {}", current == null ? "searches use the database" : "keeping the previous one", ex);
+    }
+  }
+
+  public boolean isLoaded() {
+    return current != null;
+  }
+
+  /** Caller validates arguments, as for the repository query. */
+  public List<Flight> search(String origin, String destination, LocalDate dateFrom, LocalDate dateTo) {
+    return current.search(origin, destination, dateFrom, dateTo);
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.flightsearch.web;
+
+import com.example.flightsearch.autocomplete.AutocompleteIndex;
+import com.example.flightsearch.autocomplete.AutocompleteService;
+import com.example.flightsearch.autocomplete.Suggestion;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/flights")
+public class AutocompleteController {
+
+  private final AutocompleteService service;
+
+  public AutocompleteController(AutocompleteService service) { this.service = service; }
+
+  /**
+   * Airport codes starting with {@code q}, most flights first. With {@code origin} only destinations served
+   * from it, with {@code destination} only origins that fly there.
+   */
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<Suggestion>> autocomplete(
+      @RequestParam(defaultValue = "") String q,
+      @RequestParam(required = false) String origin,
+      @RequestParam(required = false) String destination,
+      @RequestParam(required = false) Integer limit
+  ) {
+    int max = service.maxResults();
+    int n = limit == null ? max : limit;
+    if (n < 1 || n > max) throw new IllegalArgumentException("limit must be between 1 and " + max);
+    if (origin != null && destination != null) {
+      throw new IllegalArgumentException("pass origin or destination, not both");
+    }
+    AutocompleteIndex index = service.index();
+    List<Suggestion> found = origin != null ? index.destinationsFrom(origin, q)
+        : destination != null ? index.originsTo(destination, q)
+        : index.airports(q);
+    return ResponseEntity.ok(found.size() > n ? found.subList(0, n) : found);
+  }
+}
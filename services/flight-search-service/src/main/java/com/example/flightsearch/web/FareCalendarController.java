@@ -0,0 +1,30 @@
+package com.example.flightsearch.web;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import com.example.flightsearch.service.FareCalendarService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/flights")
+public class FareCalendarController {
+
+  private final FareCalendarService service;
+
+  public FareCalendarController(FareCalendarService service) { this.service = service; }
+
+  @GetMapping("/calendar")
+  public ResponseEntity<List<FareCalendarEntry>> calendar(
+      @RequestParam String origin,
+      @RequestParam String destination,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+      @RequestParam(required = false) String cabin
+  ) {
+    return ResponseEntity.ok(service.calendar(origin, destination, dateFrom, dateTo, cabin));
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.flightsearch.web;
+
+import com.example.flightsearch.itinerary.Itinerary;
+import com.example.flightsearch.itinerary.ItineraryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/flights")
+public class ItineraryController {
+
+  private final ItineraryService service;
+
+  public ItineraryController(ItineraryService service) { this.service = service; }
+
+  /** Cheapest one-way or (with returnFrom/returnTo) round-trip itineraries, direct or with one stop. */
+  @GetMapping("/itineraries")
+  public ResponseEntity<List<Itinerary>> itineraries(
+      @RequestParam String origin,
+      @RequestParam String destination,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate returnFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate returnTo,
+      @RequestParam(defaultValue = "1") int maxStops,
+      @RequestParam(defaultValue = "1") int seats,
+      @RequestParam(defaultValue = "10") int limit
+  ) {
+    return ResponseEntity.ok(service.search(origin, destination, dateFrom, dateTo, returnFrom, returnTo,
+        maxStops, seats, limit));
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.flightsearch.web;
+
+import com.example.flightsearch.ingest.IngestionReport;
+import com.example.flightsearch.ingest.ScheduleFormat;
+import com.example.flightsearch.ingest.ScheduleIngestionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Schedule feeds replace rows in {@code flights}, so this lives under {@code /internal}, outside the gateway's
+ * {@code /api/flights/**} route, and needs {@code flights.ingest.token} in {@value #TOKEN_HEADER}. Without a
+ * configured token the endpoint is off (403) and feeds go through the CLI runner only.
+ */
+@RestController
+@RequestMapping("/internal/flights")
+public class ScheduleIngestionController {
+
+  static final String TOKEN_HEADER = "X-Ingest-Token";
+
+  private final ScheduleIngestionService service;
+  private final byte[] token;
+
+  public ScheduleIngestionController(ScheduleIngestionService service,
+                                     @Value("${flights.ingest.token:}") String token) {
+    this.service = service;
+    this.token = token.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Streams the request body straight into the loader; the feed is never buffered in full. */
+  @PostMapping(value = "/ingest", consumes = {ScheduleFormat.TEXT_CSV, ScheduleFormat.APPLICATION_NDJSON})
+  public ResponseEntity<IngestionReport> ingest(@RequestHeader("Content-Type") MediaType contentType,
+                                                @RequestHeader(value = TOKEN_HEADER, required = false) String presented,
+                                                InputStream body) throws IOException {
+    if (token.length == 0) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    return ResponseEntity.ok(service.ingest(body, ScheduleFormat.fromContentType(contentType)));
+  }
+}
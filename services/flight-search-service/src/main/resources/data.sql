@@ -7,3 +7,7 @@ INSERT INTO flights (origin, destination, departure_date, return_date, airline,
 ('MEX','JFK','2025-12-24', NULL, 'AM','AM406','BUSINESS', 520.00, 650.00,'USD', 3),
 ('GRU','MIA','2025-12-20', NULL, 'AA','AA930','ECONOMY', 300.00, 360.00,'USD', 20),
 ('GRU','MIA','2025-12-23', NULL, 'AA','AA932','ECONOMY', 320.00, 384.00,'USD', 16);
+
+INSERT INTO fare_calendar (origin, destination, cabin, departure_date, min_total_fare, currency, flight_count)
+SELECT origin, destination, cabin, departure_date, MIN(total_fare), MIN(currency), COUNT(*) FROM flights
+GROUP BY origin, destination, cabin, departure_date;
@@ -0,0 +1,44 @@
+-- Runs at every startup, so every statement is IF NOT EXISTS and never touches existing rows.
+-- An existing unpartitioned flights table fails at flights_default ("flights" is not partitioned):
+-- convert it once with UTILS/flights_partition_existing.sql.
+
+-- Monthly range partitions on departure_date. Month partitions (flights_pYYYY_MM) are created ahead
+-- and detached once past retention by FlightPartitionMaintenance; the default partition only catches
+-- rows outside the managed window until their month is created.
+CREATE TABLE IF NOT EXISTS flights (
+  id BIGSERIAL NOT NULL,
+  origin VARCHAR(8) NOT NULL,
+  destination VARCHAR(8) NOT NULL,
+  departure_date DATE NOT NULL,
+  return_date DATE,
+  airline VARCHAR(2) NOT NULL,
+  flight_number VARCHAR(10) NOT NULL,
+  cabin VARCHAR(16) NOT NULL,
+  base_fare NUMERIC(12,2) NOT NULL,
+  total_fare NUMERIC(12,2) NOT NULL,
+  currency VARCHAR(3) NOT NULL,
+  seats_available INT NOT NULL,
+  PRIMARY KEY (id, departure_date)
+) PARTITION BY RANGE (departure_date);
+
+CREATE TABLE IF NOT EXISTS flights_default PARTITION OF flights DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_flights_route_date ON flights (origin, destination, departure_date);
+-- FlightRepository searches with IgnoreCase, i.e. upper(origin) = upper(?).
+CREATE INDEX IF NOT EXISTS idx_flights_route_date_ci ON flights (UPPER(origin), UPPER(destination), departure_date);
+-- Itinerary search: legs arriving at a destination (connections).
+CREATE INDEX IF NOT EXISTS idx_flights_destination_date ON flights (destination, departure_date);
+-- Natural key used by schedule ingestion upserts; it includes the partition key as PostgreSQL requires.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_flights_natural_key ON flights (airline, flight_number, departure_date);
+
+-- Lowest total_fare per route/cabin/day, kept in sync by FareCalendarService.
+CREATE TABLE IF NOT EXISTS fare_calendar (
+  origin VARCHAR(8) NOT NULL,
+  destination VARCHAR(8) NOT NULL,
+  cabin VARCHAR(16) NOT NULL,
+  departure_date DATE NOT NULL,
+  min_total_fare NUMERIC(12,2) NOT NULL,
+  currency VARCHAR(3) NOT NULL,
+  flight_count INT NOT NULL,
+  PRIMARY KEY (origin, destination, cabin, departure_date)
+);
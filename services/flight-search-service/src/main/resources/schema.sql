@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS fare_calendar;
 DROP TABLE IF EXISTS flights;
 
 CREATE TABLE flights (
@@ -14,3 +15,21 @@ CREATE TABLE flights (
   currency VARCHAR(3) NOT NULL,
   seats_available INT NOT NULL
 );
+
+CREATE INDEX idx_flights_route_date ON flights (origin, destination, departure_date);
+-- Itinerary search: legs arriving at a destination (connections).
+CREATE INDEX idx_flights_destination_date ON flights (destination, departure_date);
+-- Natural key used by schedule ingestion upserts.
+CREATE UNIQUE INDEX ux_flights_natural_key ON flights (airline, flight_number, departure_date);
+
+-- Lowest total_fare per route/cabin/day, kept in sync by FareCalendarService.
+CREATE TABLE fare_calendar (
+  origin VARCHAR(8) NOT NULL,
+  destination VARCHAR(8) NOT NULL,
+  cabin VARCHAR(16) NOT NULL,
+  departure_date DATE NOT NULL,
+  min_total_fare NUMERIC(12,2) NOT NULL,
+  currency VARCHAR(3) NOT NULL,
+  flight_count INT NOT NULL,
+  PRIMARY KEY (origin, destination, cabin, departure_date)
+);
@@ -0,0 +1,71 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.autocomplete.AutocompleteIndex;
+import com.example.flightsearch.autocomplete.Suggestion;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wall-clock cost and allocation of {@link AutocompleteIndex} lookups over 20k routes. Runs 7M lookups
+ * against a latency bound, so it only runs with {@code mvn test -Pbenchmarks}; AutocompleteTest checks
+ * that lookups hand back the stored answers.
+ */
+@Tag("benchmark")
+public class AutocompleteBenchmarkTest {
+
+    @Test
+    void common_prefixes_answer_in_well_under_a_microsecond_without_allocating() {
+        Random random = new Random(5);
+        List<AutocompleteIndex.RouteCount> routes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            routes.add(new AutocompleteIndex.RouteCount(code(random), code(random), 1 + random.nextInt(100)));
+        }
+        AutocompleteIndex index = AutocompleteIndex.build(routes, 10);
+        String[] queries = {"", "m", "ME", "mex", "L", "la", "GD", " c", "JF", "zz"};
+        String[] origins = {"MEX", "LAX", "GDL", "CUN", "JFK"};
+
+        long sink = lookups(index, queries, origins, 2_000_000);
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        int calls = 1_000_000;
+        for (int round = 0; round < 5; round++) {
+            long bytes = threads.getThreadAllocatedBytes(tid);
+            long t0 = System.nanoTime();
+            sink += lookups(index, queries, origins, calls);
+            best = Math.min(best, System.nanoTime() - t0);
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(tid) - bytes);
+        }
+        double nanosPerLookup = (double) best / calls;
+        System.out.printf("autocomplete lookup: %.1f ns, %d bytes allocated per %d lookups%n",
+                nanosPerLookup, allocated, calls);
+
+        assertThat(sink).isPositive();
+        assertThat(nanosPerLookup).isLessThan(1_000);
+        assertThat(allocated).as("bytes allocated by %d lookups", calls).isLessThan(1024);
+    }
+
+    private static long lookups(AutocompleteIndex index, String[] queries, String[] origins, int calls) {
+        long sink = 0;
+        for (int i = 0; i < calls; i++) {
+            String q = queries[i % queries.length];
+            List<Suggestion> found = (i & 1) == 0 ? index.airports(q) : index.destinationsFrom(origins[i % origins.length], q);
+            sink += found.size();
+        }
+        return sink;
+    }
+
+    private static String code(Random random) {
+        char[] c = new char[3];
+        for (int i = 0; i < 3; i++) c[i] = (char) ('A' + random.nextInt(26));
+        return new String(c);
+    }
+}
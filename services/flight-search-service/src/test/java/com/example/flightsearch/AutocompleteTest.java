@@ -0,0 +1,132 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.autocomplete.AutocompleteIndex;
+import com.example.flightsearch.autocomplete.AutocompleteService;
+import com.example.flightsearch.autocomplete.Suggestion;
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.domain.FlightsChangedEvent;
+import com.example.flightsearch.repository.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the rebuild reads on its own connection
+@Import({AutocompleteService.class, AutocompleteTest.Beans.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class AutocompleteTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        MeterRegistry meterRegistry() { return new SimpleMeterRegistry(); }
+    }
+
+    @Autowired
+    AutocompleteService service;
+
+    @Autowired
+    FlightRepository flights;
+
+    @Test
+    void ranks_every_prefix_like_a_brute_force_scan() {
+        Random random = new Random(3);
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            codes.add("" + (char) ('A' + random.nextInt(4)) + (char) ('A' + random.nextInt(6)) + (char) ('A' + random.nextInt(26)));
+        }
+        List<AutocompleteIndex.RouteCount> routes = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            routes.add(new AutocompleteIndex.RouteCount(codes.get(random.nextInt(codes.size())),
+                    codes.get(random.nextInt(codes.size())), 1 + random.nextInt(50)));
+        }
+        AutocompleteIndex index = AutocompleteIndex.build(routes, 10);
+
+        Map<String, Long> airports = new HashMap<>();
+        Map<String, Map<String, Long>> fromOrigin = new HashMap<>();
+        for (AutocompleteIndex.RouteCount r : routes) {
+            airports.merge(r.origin(), r.flights(), Long::sum);
+            airports.merge(r.destination(), r.flights(), Long::sum);
+            fromOrigin.computeIfAbsent(r.origin(), k -> new HashMap<>()).merge(r.destination(), r.flights(), Long::sum);
+        }
+        for (String prefix : List.of("", "A", "B", "AB", "CF", "DA", "ABC", "DFZ", "ZZ")) {
+            String typed = random.nextBoolean() ? " " + prefix.toLowerCase() : prefix + " ";
+            assertThat(index.airports(typed)).as("prefix '%s'", typed).isEqualTo(bruteForce(airports, prefix));
+            String origin = codes.get(random.nextInt(codes.size()));
+            assertThat(index.destinationsFrom(origin.toLowerCase(), prefix)).as("%s -> '%s'", origin, prefix)
+                    .isEqualTo(bruteForce(fromOrigin.getOrDefault(origin, Map.of()), prefix));
+        }
+        assertThat(index.airports("ABCDEFGHI")).isEmpty();
+        assertThat(index.airports("AÉ")).isEmpty();
+        assertThat(index.destinationsFrom("", "A")).isEmpty();
+        assertThat(index.destinationsFrom("ZZZ", "")).isEmpty();
+    }
+
+    @Test
+    void builds_from_flights_and_rebuilds_in_the_background_after_ingestion() throws Exception {
+        service.rebuild();
+        AutocompleteIndex index = service.index();
+        assertThat(index.airports("m")).extracting(Suggestion::code).contains("MEX");
+        assertThat(index.destinationsFrom("mex", "")).extracting(Suggestion::code).contains("LAX");
+        assertThat(index.originsTo("LAX", "G")).extracting(Suggestion::code).containsExactly("GDL");
+        assertThat(index.airports("Q")).isEmpty();
+
+        Flight flight = new Flight("QRO", "MEX", LocalDate.parse("2025-12-05"), null, "AM", "AM9001", "ECONOMY",
+                new BigDecimal("90.00"), new BigDecimal("110.00"), "USD", 40);
+        flights.saveAndFlush(flight);
+        try {
+            service.onFlightsChanged(new FlightsChangedEvent(flight.getDepartureDate(), flight.getDepartureDate(), 1));
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (service.index() == index && System.nanoTime() < deadline) Thread.sleep(10);
+
+            assertThat(service.index().airports("q")).extracting(Suggestion::code).containsExactly("QRO");
+            assertThat(service.index().originsTo("MEX", "")).extracting(Suggestion::code).contains("QRO");
+        } finally {
+            flights.delete(flight);
+        }
+    }
+
+    @Test
+    void lookups_hand_back_the_stored_answers() {
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                new AutocompleteIndex.RouteCount("MEX", "LAX", 5),
+                new AutocompleteIndex.RouteCount("MEX", "MIA", 2),
+                new AutocompleteIndex.RouteCount("GDL", "LAX", 1)), 10);
+
+        // Case, padding and repeated calls all land on the same precomputed list: nothing is built per lookup.
+        assertThat(index.airports(" me")).isSameAs(index.airports("ME ")).isSameAs(index.airports("me"));
+        assertThat(index.destinationsFrom("mex", "l")).isSameAs(index.destinationsFrom("MEX", "L"));
+        assertThat(index.originsTo("lax", "")).isSameAs(index.originsTo(" LAX", ""));
+        assertThat(index.airports("ZZ")).isSameAs(index.airports("QQ")).isEmpty();
+    }
+
+    private static List<Suggestion> bruteForce(Map<String, Long> flightsByCode, String prefix) {
+        return flightsByCode.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix))
+                .map(e -> new Suggestion(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(Suggestion::flights).reversed().thenComparing(Suggestion::code))
+                .limit(10)
+                .toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FareCalendarRepository;
+import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.service.FareCalendarService;
+import com.example.flightsearch.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@DataJpaTest
+@Import({FareCalendarService.class, FlightService.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FareCalendarRepositoryTest {
+
+    @Autowired
+    FlightRepository flights;
+
+    @Autowired
+    FareCalendarRepository calendar;
+
+    @Autowired
+    FareCalendarService service;
+
+    @Autowired
+    FlightService flightService;
+
+    @Test
+    void seed_data_is_materialized() {
+        List<FareCalendarEntry> days = service.calendar("MEX", "LAX",
+                LocalDate.parse("2025-12-01"), LocalDate.parse("2025-12-31"), "ECONOMY");
+
+        assertThat(days).extracting(FareCalendarEntry::getDepartureDate).containsExactly(
+                LocalDate.parse("2025-12-20"), LocalDate.parse("2025-12-22"), LocalDate.parse("2025-12-26"));
+        assertThat(days.get(0).getMinTotalFare()).isEqualByComparingTo("220.00");
+    }
+
+    @Test
+    void refresh_picks_up_a_cheaper_flight() {
+        Flight cheaper = flights.saveAndFlush(new Flight("MEX", "LAX", LocalDate.parse("2025-12-20"), null,
+                "Y4", "Y4100", "ECONOMY", new BigDecimal("99.00"), new BigDecimal("120.00"), "USD", 30));
+
+        service.refresh(cheaper);
+
+        FareCalendarEntry day = calendar.findById(new FareCalendarEntry.Key(
+                "MEX", "LAX", "ECONOMY", LocalDate.parse("2025-12-20"))).orElseThrow();
+        assertThat(day.getMinTotalFare()).isEqualByComparingTo("120.00");
+        assertThat(day.getFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the service is the transaction boundary
+    void writes_through_the_flight_service_keep_the_calendar_current() {
+        LocalDate dec20 = LocalDate.parse("2025-12-20");
+        LocalDate dec21 = LocalDate.parse("2025-12-21");
+        Flight cheaper = flightService.save(new Flight("MEX", "LAX", dec20, null,
+                "Y4", "Y4100", "ECONOMY", new BigDecimal("99.00"), new BigDecimal("120.00"), "USD", 30));
+        assertThat(day(dec20).getMinTotalFare()).isEqualByComparingTo("120.00");
+        assertThat(day(dec20).getFlightCount()).isEqualTo(2);
+
+        cheaper.setDepartureDate(dec21);
+        flightService.save(cheaper);
+        assertThat(day(dec20).getMinTotalFare()).isEqualByComparingTo("220.00");
+        assertThat(day(dec20).getFlightCount()).isEqualTo(1);
+        assertThat(day(dec21).getMinTotalFare()).isEqualByComparingTo("120.00");
+
+        assertThat(flightService.delete(cheaper.getId())).isTrue();
+        assertThat(calendar.findById(key(dec21))).isEmpty();
+        assertThat(flightService.delete(cheaper.getId())).isFalse();
+        assertThat(day(dec20).getFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrent_refreshes_of_the_same_day_do_not_collide() throws Exception {
+        LocalDate dec20 = LocalDate.parse("2025-12-20");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                boolean range = t % 2 == 0; // an ingestion chunk and FlightService.save racing on one day
+                runs.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        if (range) service.refreshRange(dec20, dec20);
+                        else service.refreshDay("MEX", "LAX", "ECONOMY", dec20);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) run.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(day(dec20).getMinTotalFare()).isEqualByComparingTo("220.00");
+        assertThat(day(dec20).getFlightCount()).isEqualTo(1);
+    }
+
+    private FareCalendarEntry day(LocalDate date) {
+        return calendar.findById(key(date)).orElseThrow();
+    }
+
+    private static FareCalendarEntry.Key key(LocalDate date) {
+        return new FareCalendarEntry.Key("MEX", "LAX", "ECONOMY", date);
+    }
+}
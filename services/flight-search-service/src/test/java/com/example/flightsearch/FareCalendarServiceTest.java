@@ -0,0 +1,46 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import com.example.flightsearch.repository.FareCalendarRepository;
+import com.example.flightsearch.service.FareCalendarService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FareCalendarServiceTest {
+
+    @Test
+    void calendar_normalizes_codes_and_filters_by_cabin() {
+        FareCalendarRepository repo = Mockito.mock(FareCalendarRepository.class);
+        FareCalendarService service = new FareCalendarService(repo, Mockito.mock(DataSource.class));
+
+        LocalDate from = LocalDate.parse("2025-12-01");
+        LocalDate to = from.plusDays(89);
+        FareCalendarEntry day = new FareCalendarEntry("MEX", "LAX", "ECONOMY", from,
+                new BigDecimal("220.00"), "USD", 1);
+
+        when(repo.findByOriginAndDestinationAndCabinAndDepartureDateBetweenOrderByDepartureDateAsc(
+                "MEX", "LAX", "ECONOMY", from, to)).thenReturn(List.of(day));
+
+        List<FareCalendarEntry> result = service.calendar(" mex ", "lax", from, to, "economy");
+        assertEquals(List.of(day), result);
+    }
+
+    @Test
+    void calendar_rejects_ranges_over_a_year() {
+        FareCalendarRepository repo = Mockito.mock(FareCalendarRepository.class);
+        FareCalendarService service = new FareCalendarService(repo, Mockito.mock(DataSource.class));
+
+        LocalDate from = LocalDate.parse("2025-01-01");
+        assertThrows(IllegalArgumentException.class,
+                () -> service.calendar("MEX", "LAX", from, from.plusDays(400), null));
+        verifyNoInteractions(repo);
+    }
+}
@@ -15,11 +15,12 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
-@Testcontainers
+@Testcontainers(disabledWithoutDocker = true)
 @SuppressWarnings("all")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // no reemplazar por H2
 @TestPropertySource(properties = {
         "spring.sql.init.mode=always",                    // FORZAR ejecución de schema.sql / data.sql
+        "spring.sql.init.data-locations=classpath:data.sql", // application.yml no siembra datos en PostgreSQL
         "spring.jpa.hibernate.ddl-auto=none",             // usamos nuestros scripts
         "spring.jpa.defer-datasource-initialization=true" // esperar a que el datasource esté listo antes de JPA
 })
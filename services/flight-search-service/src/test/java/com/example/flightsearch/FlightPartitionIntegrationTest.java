@@ -0,0 +1,91 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.repository.FlightPartitionMaintenance;
+import com.example.flightsearch.repository.FlightRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=always",
+        "spring.sql.init.data-locations=classpath:data.sql",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.defer-datasource-initialization=true",
+        "flights.partitions.retention-months=12"
+})
+public class FlightPartitionIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("flights")
+            .withUsername("flight")
+            .withPassword("flight");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    FlightPartitionMaintenance maintenance;
+
+    @Autowired
+    FlightRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    @Order(1)
+    void seed_month_gets_its_own_partition_and_searches_are_pruned() {
+        maintenance.maintain(YearMonth.of(2025, 12));
+
+        assertThat(count("flights_p2025_12")).isEqualTo(8);
+        assertThat(count("flights_default")).isZero();
+        assertThat(jdbc.queryForObject("SELECT to_regclass('flights_p2026_03') IS NOT NULL", Boolean.class)).isTrue();
+
+        assertThat(repository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureDateBetween(
+                "mex", "lax", LocalDate.parse("2025-12-20"), LocalDate.parse("2025-12-28"))).hasSize(3);
+
+        String plan = String.join("\n", jdbc.queryForList(
+                "EXPLAIN SELECT * FROM flights WHERE UPPER(origin) = 'MEX' AND UPPER(destination) = 'LAX' "
+                        + "AND departure_date BETWEEN DATE '2025-12-20' AND DATE '2025-12-28'", String.class));
+        assertThat(plan).contains("flights_p2025_12").doesNotContain("flights_p2026_01").doesNotContain("flights_default");
+    }
+
+    @Test
+    @Order(2)
+    void months_past_retention_are_detached_into_the_archive_schema() {
+        maintenance.maintain(YearMonth.of(2027, 1));
+
+        assertThat(jdbc.queryForObject("SELECT to_regclass('flights_archive.flights_p2025_12') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM flights", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM fare_calendar WHERE departure_date < DATE '2026-01-01'", Long.class)).isZero();
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
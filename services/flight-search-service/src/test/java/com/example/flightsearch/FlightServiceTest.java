@@ -2,6 +2,7 @@ package com.example.flightsearch;
 
 import com.example.flightsearch.domain.Flight;
 import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.service.FareCalendarService;
 import com.example.flightsearch.service.FlightService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -17,7 +18,7 @@ public class FlightServiceTest {
     @Test
     void search_validates_and_queries_repository() {
         FlightRepository repo = Mockito.mock(FlightRepository.class);
-        FlightService service = new FlightService(repo);
+        FlightService service = new FlightService(repo, Mockito.mock(FareCalendarService.class), null);
 
         String origin = "MEX";
         String destination = "LAX";
@@ -36,7 +37,7 @@ public class FlightServiceTest {
     @Test
     void search_throws_on_invalid_dates() {
         FlightRepository repo = Mockito.mock(FlightRepository.class);
-        FlightService service = new FlightService(repo);
+        FlightService service = new FlightService(repo, Mockito.mock(FareCalendarService.class), null);
 
         LocalDate from = LocalDate.parse("2025-12-29");
         LocalDate to = LocalDate.parse("2025-12-28");
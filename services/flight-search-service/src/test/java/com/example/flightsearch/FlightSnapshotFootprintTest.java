@@ -0,0 +1,103 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.snapshot.FlightSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retained heap and full-GC pause with the schedule resident as JPA-style {@link Flight} objects vs
+ * as a {@link FlightSnapshot}. Strings are fresh instances per row, as the JDBC driver returns them.
+ * Size with -Dflights.footprint.rows=N. Forces full GCs over a few hundred MB, so it only runs with
+ * {@code mvn test -Pbenchmarks}; FlightSnapshotTest checks the per-row layout.
+ */
+@Tag("benchmark")
+public class FlightSnapshotFootprintTest {
+
+    private static final int ROWS = Integer.getInteger("flights.footprint.rows", 300_000);
+    private static final String[] AIRPORTS = {"MEX", "LAX", "GDL", "CUN", "JFK", "MTY", "BOG", "MAD", "ORD", "SFO"};
+
+    @Test
+    void snapshot_keeps_the_schedule_off_heap() {
+        long baseline = usedAfterGc();
+
+        List<Flight> objects = flights();
+        long objectsHeap = usedAfterGc() - baseline;
+        long objectsPause = fullGcMillis();
+
+        FlightSnapshot snapshot = FlightSnapshot.of(objects);
+        objects = null;
+        long snapshotHeap = usedAfterGc() - baseline;
+        long snapshotPause = fullGcMillis();
+
+        System.out.printf("%d rows as Flight objects: %d MB heap, full GC %d ms%n",
+                ROWS, objectsHeap >> 20, objectsPause);
+        System.out.printf("%d rows as snapshot: %d MB heap + %d MB off-heap, full GC %d ms%n",
+                snapshot.size(), snapshotHeap >> 20, snapshot.offHeapBytes() >> 20, snapshotPause);
+
+        assertThat(snapshot.size()).isEqualTo(ROWS);
+        assertThat(snapshotHeap).isLessThan(objectsHeap / 10);
+        assertThat(snapshot.offHeapBytes()).isLessThan(objectsHeap / 4);
+        assertThat(snapshot.search("MEX", "LAX", LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-31")))
+                .isNotEmpty();
+    }
+
+    private static List<Flight> flights() {
+        var flights = new ArrayList<Flight>(ROWS);
+        LocalDate start = LocalDate.parse("2026-01-01");
+        for (int i = 0; i < ROWS; i++) {
+            var flight = new Flight(new String(AIRPORTS[i % AIRPORTS.length]),
+                    new String(AIRPORTS[(i / AIRPORTS.length) % AIRPORTS.length]),
+                    start.plusDays(i % 365), (i & 1) == 0 ? null : start.plusDays(i % 365 + 7),
+                    new String("AM"), "AM" + (i % 5000), new String((i % 7) == 0 ? "BUSINESS" : "ECONOMY"),
+                    BigDecimal.valueOf(10_000 + i % 90_000, 2), BigDecimal.valueOf(15_000 + i % 90_000, 2),
+                    new String("USD"), i % 180);
+            flight.setId((long) i);
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    /**
+     * Lowest heap occupancy over a few full collections. The first one after a large graph dies can leave
+     * megabytes behind, and eden only holds what other threads allocated since, so neither is counted.
+     */
+    private static long usedAfterGc() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            best = Math.min(best, ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP && !pool.getName().contains("Eden"))
+                    .mapToLong(pool -> pool.getUsage().getUsed())
+                    .sum());
+        }
+        return best;
+    }
+
+    /** Wall time of an explicit full collection, which scales with the live object graph. */
+    private static long fullGcMillis() {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long before = gcTime();
+            long start = System.nanoTime();
+            System.gc();
+            best = Math.min(best, Math.max(gcTime() - before, (System.nanoTime() - start) / 1_000_000));
+        }
+        return best;
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
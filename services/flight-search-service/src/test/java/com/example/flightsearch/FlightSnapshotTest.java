@@ -0,0 +1,124 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.snapshot.FlightSnapshot;
+import com.example.flightsearch.snapshot.FlightSnapshotLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("h2")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FlightSnapshotTest {
+
+    private static final String[] AIRPORTS = {"MEX", "LAX", "GDL", "CUN", "JFK"};
+
+    @Autowired
+    FlightRepository flights;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void search_matches_the_repository_query() {
+        var random = new Random(42);
+        var extra = new ArrayList<Flight>();
+        LocalDate start = LocalDate.parse("2025-12-01");
+        for (int i = 0; i < 2000; i++) {
+            String origin = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            String destination = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            LocalDate departure = start.plusDays(random.nextInt(90));
+            extra.add(new Flight(origin, destination, departure, random.nextBoolean() ? null : departure.plusDays(7),
+                    i % 2 == 0 ? "AM" : "Y4", "X" + i, i % 7 == 0 ? "BUSINESS" : "ECONOMY",
+                    BigDecimal.valueOf(5000 + random.nextInt(90000), 2), BigDecimal.valueOf(9000 + random.nextInt(90000), 2),
+                    "USD", random.nextInt(200)));
+        }
+        flights.saveAllAndFlush(extra);
+
+        FlightSnapshot snapshot = new FlightSnapshotLoader(dataSource, transactionManager, 500).load();
+        assertThat(snapshot.size()).isEqualTo(flights.count());
+
+        for (String origin : AIRPORTS) {
+            for (String destination : AIRPORTS) {
+                for (int[] window : new int[][] {{0, 0}, {3, 10}, {0, 120}, {89, 200}}) {
+                    LocalDate from = start.plusDays(window[0]);
+                    LocalDate to = start.plusDays(window[1]);
+                    assertThat(rows(snapshot.search(origin.toLowerCase(), " " + destination, from, to)))
+                            .as("%s-%s %s..%s", origin, destination, from, to)
+                            .containsExactlyInAnyOrderElementsOf(rows(flights
+                                    .findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureDateBetween(
+                                            origin, destination, from, to)));
+                }
+            }
+        }
+        assertThat(snapshot.search("MEX", "XXX", start, start.plusDays(90))).isEmpty();
+    }
+
+    /** The structural half of FlightSnapshotFootprintTest: a fixed number of off-heap bytes per row. */
+    @Test
+    void rows_cost_a_fixed_number_of_off_heap_bytes() {
+        FlightSnapshot small = FlightSnapshot.of(schedule(1_000));
+        FlightSnapshot large = FlightSnapshot.of(schedule(10_000));
+
+        // id 8, airports 2+2, dates 4+4, airline 2, flight number 4, cabin 2, fares 8+8, currency 2, seats 4
+        assertThat(small.offHeapBytes()).isEqualTo(50L * 1_000);
+        assertThat(large.offHeapBytes()).isEqualTo(50L * 10_000);
+        assertThat(large.routeCount()).isEqualTo(AIRPORTS.length * AIRPORTS.length);
+    }
+
+    @Test
+    void builder_requires_rows_grouped_by_route() {
+        var builder = FlightSnapshot.builder(4);
+        builder.add(flight("MEX", "LAX", "2025-12-01"));
+        builder.add(flight("GDL", "LAX", "2025-12-01"));
+        assertThatThrownBy(() -> builder.add(flight("mex", "lax", "2025-12-02")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        var dates = FlightSnapshot.builder(4).add(flight("MEX", "LAX", "2025-12-02"));
+        assertThatThrownBy(() -> dates.add(flight("MEX", "LAX", "2025-12-01")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Flight> schedule(int rows) {
+        var schedule = new ArrayList<Flight>(rows);
+        LocalDate start = LocalDate.parse("2026-01-01");
+        for (int i = 0; i < rows; i++) {
+            var flight = new Flight(AIRPORTS[i % AIRPORTS.length], AIRPORTS[(i / AIRPORTS.length) % AIRPORTS.length],
+                    start.plusDays(i % 365), null, "AM", "AM" + (i % 500), "ECONOMY",
+                    BigDecimal.valueOf(10_000 + i, 2), BigDecimal.valueOf(15_000 + i, 2), "USD", i % 180);
+            flight.setId((long) i);
+            schedule.add(flight);
+        }
+        return schedule;
+    }
+
+    private static Flight flight(String origin, String destination, String date) {
+        return new Flight(origin, destination, LocalDate.parse(date), null, "AM", "AM1", "ECONOMY",
+                new BigDecimal("10.00"), new BigDecimal("12.00"), "USD", 1);
+    }
+
+    private static List<String> rows(List<Flight> result) {
+        return result.stream().map(f -> String.join("|", String.valueOf(f.getId()), f.getOrigin(), f.getDestination(),
+                String.valueOf(f.getDepartureDate()), String.valueOf(f.getReturnDate()), f.getAirline(),
+                f.getFlightNumber(), f.getCabin(), f.getBaseFare().toPlainString(), f.getTotalFare().toPlainString(),
+                f.getCurrency(), String.valueOf(f.getSeatsAvailable()))).toList();
+    }
+}
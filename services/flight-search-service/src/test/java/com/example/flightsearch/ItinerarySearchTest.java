@@ -0,0 +1,188 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.itinerary.Itinerary;
+import com.example.flightsearch.itinerary.ItinerarySearch;
+import com.example.flightsearch.itinerary.ItineraryService;
+import com.example.flightsearch.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ItinerarySearchTest {
+
+    private static final LocalDate DAY = LocalDate.parse("2025-12-01");
+    private static final ItinerarySearch.Rules RULES = new ItinerarySearch.Rules(0, 1, 2, 1_000_000);
+    private static final List<String> HUBS = List.of("GDL", "MTY", "CUN", "PHX");
+
+    @Test
+    void one_way_matches_the_brute_force_ranking() {
+        Random random = new Random(7);
+        ItinerarySearch.Legs legs = randomLegs(random, "MEX", "LAX", 40);
+
+        List<Itinerary> result = new ItinerarySearch(RULES).cheapest(legs, null, 25);
+
+        assertEquals(fares(bruteForce(legs).subList(0, 25)), fares(result));
+        for (Itinerary it : result) {
+            assertTrue(it.returning().isEmpty());
+            if (it.outbound().size() == 2) {
+                long gap = it.outbound().get(1).getDepartureDate().toEpochDay() - it.outbound().get(0).getDepartureDate().toEpochDay();
+                assertTrue(gap >= 0 && gap <= 1, "connection leaves within the day window");
+            }
+        }
+    }
+
+    @Test
+    void round_trip_matches_the_brute_force_ranking_without_expanding_the_cross_product() {
+        Random random = new Random(11);
+        ItinerarySearch.Legs outbound = randomLegs(random, "MEX", "LAX", 60);
+        ItinerarySearch.Legs returning = randomLegs(random, "LAX", "MEX", 60);
+
+        ItinerarySearch search = new ItinerarySearch(RULES);
+        List<Itinerary> result = search.cheapest(outbound, returning, 20);
+
+        List<List<Flight>> there = bruteForce(outbound);
+        List<List<Flight>> back = bruteForce(returning);
+        List<BigDecimal> expected = new ArrayList<>();
+        for (List<Flight> a : there) {
+            for (List<Flight> b : back) {
+                LocalDate arrives = a.get(a.size() - 1).getDepartureDate();
+                if (!b.get(0).getDepartureDate().isBefore(arrives.plusDays(RULES.minStayDays()))) {
+                    expected.add(fare(a).add(fare(b)));
+                }
+            }
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        assertEquals(expected.subList(0, 20), fares(result));
+        for (Itinerary it : result) {
+            LocalDate arrives = it.outbound().get(it.outbound().size() - 1).getDepartureDate();
+            assertFalse(it.returning().get(0).getDepartureDate().isBefore(arrives.plusDays(2)));
+        }
+        assertTrue(search.expansions() < there.size() * back.size() / 10,
+                "looked at " + search.expansions() + " of " + there.size() * back.size() + " combinations");
+    }
+
+    @Test
+    void expansion_cap_bounds_the_work() {
+        // No return leaves late enough, so every pair is rejected and only the cap ends the walk.
+        ItinerarySearch.Legs outbound = new ItinerarySearch.Legs(
+                List.of(flight("MEX", "LAX", 10, "100.00")), Map.of(), Map.of());
+        List<Flight> early = new ArrayList<>();
+        for (int i = 0; i < 500; i++) early.add(flight("LAX", "MEX", 0, "50.00"));
+        ItinerarySearch search = new ItinerarySearch(new ItinerarySearch.Rules(0, 1, 0, 100));
+
+        assertTrue(search.cheapest(outbound, new ItinerarySearch.Legs(early, Map.of(), Map.of()), 5).isEmpty());
+        assertTrue(search.expansions() <= 101);
+    }
+
+    @Test
+    void service_pairs_legs_through_hubs_and_drops_full_flights() {
+        FlightRepository repo = Mockito.mock(FlightRepository.class);
+        ItineraryService service = new ItineraryService(repo, 0, 1, 0, 1000);
+        Flight direct = flight("MEX", "LAX", 0, "300.00");
+        Flight toHub = flight("MEX", "GDL", 0, "80.00");
+        Flight fromHub = flight("GDL", "LAX", 1, "90.00");
+        Flight full = new Flight("MEX", "MTY", DAY, null, "AM", "AM1", "ECONOMY",
+                new BigDecimal("10.00"), new BigDecimal("10.00"), "USD", 0);
+        Flight fromFull = flight("MTY", "LAX", 0, "10.00");
+        when(repo.findByOriginAndDepartureDateBetween("MEX", DAY, DAY.plusDays(2)))
+                .thenReturn(List.of(direct, toHub, full));
+        when(repo.findByDestinationAndDepartureDateBetween("LAX", DAY, DAY.plusDays(3)))
+                .thenReturn(List.of(direct, fromHub, fromFull));
+
+        List<Itinerary> result = service.search(" mex", "lax ", DAY, DAY.plusDays(2), null, null, 1, 1, 10);
+
+        assertEquals(2, result.size());
+        assertEquals(List.of(toHub, fromHub), result.get(0).outbound());
+        assertEquals(new BigDecimal("170.00"), result.get(0).totalFare());
+        assertEquals(List.of(direct), result.get(1).outbound());
+    }
+
+    @Test
+    void service_rejects_bad_windows_and_stops() {
+        FlightRepository repo = Mockito.mock(FlightRepository.class);
+        ItineraryService service = new ItineraryService(repo, 0, 1, 0, 1000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search("MEX", "LAX", DAY, DAY.plusDays(40), null, null, 1, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search("MEX", "LAX", DAY, DAY, DAY, null, 1, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search("MEX", "LAX", DAY, DAY, null, null, 2, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search("MEX", "MEX", DAY, DAY, null, null, 1, 1, 10));
+        verifyNoInteractions(repo);
+    }
+
+    private static ItinerarySearch.Legs randomLegs(Random random, String from, String to, int perList) {
+        List<Flight> direct = new ArrayList<>();
+        for (int i = 0; i < perList / 4; i++) direct.add(flight(from, to, random.nextInt(5), fareOf(random, 250)));
+        Map<String, List<Flight>> first = new HashMap<>();
+        Map<String, List<Flight>> second = new HashMap<>();
+        for (String hub : HUBS) {
+            List<Flight> a = new ArrayList<>();
+            List<Flight> b = new ArrayList<>();
+            for (int i = 0; i < perList; i++) {
+                a.add(flight(from, hub, random.nextInt(5), fareOf(random, 120)));
+                b.add(flight(hub, to, random.nextInt(6), fareOf(random, 120)));
+            }
+            a.sort(ItinerarySearch.BY_FARE);
+            b.sort(ItinerarySearch.BY_FARE);
+            first.put(hub, a);
+            second.put(hub, b);
+        }
+        direct.sort(ItinerarySearch.BY_FARE);
+        return new ItinerarySearch.Legs(direct, first, second);
+    }
+
+    /** Every valid journey of one direction, cheapest first. */
+    private static List<List<Flight>> bruteForce(ItinerarySearch.Legs legs) {
+        List<List<Flight>> all = new ArrayList<>();
+        legs.direct().forEach(f -> all.add(List.of(f)));
+        legs.firstLegs().forEach((hub, first) -> {
+            for (Flight a : first) {
+                for (Flight b : legs.secondLegs().get(hub)) {
+                    long gap = b.getDepartureDate().toEpochDay() - a.getDepartureDate().toEpochDay();
+                    if (gap >= RULES.minConnectionDays() && gap <= RULES.maxConnectionDays()) all.add(List.of(a, b));
+                }
+            }
+        });
+        all.sort(Comparator.comparing(ItinerarySearchTest::fare));
+        return all;
+    }
+
+    private static BigDecimal fare(List<Flight> legs) {
+        return legs.stream().map(Flight::getTotalFare).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static List<BigDecimal> fares(List<?> itineraries) {
+        List<BigDecimal> fares = new ArrayList<>();
+        for (Object o : itineraries) {
+            @SuppressWarnings("unchecked")
+            BigDecimal fare = o instanceof Itinerary it ? it.totalFare() : fare((List<Flight>) o);
+            fares.add(fare.setScale(2));
+        }
+        return fares;
+    }
+
+    private static String fareOf(Random random, int max) {
+        return BigDecimal.valueOf(1000 + random.nextInt(max * 100), 2).toPlainString();
+    }
+
+    private static Flight flight(String from, String to, int day, String fare) {
+        return new Flight(from, to, DAY.plusDays(day), null, "AM", from + to + day, "ECONOMY",
+                new BigDecimal(fare), new BigDecimal(fare), "USD", 9);
+    }
+}
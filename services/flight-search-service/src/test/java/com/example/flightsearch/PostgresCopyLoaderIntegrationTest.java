@@ -0,0 +1,103 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.ingest.PostgresCopyLoader;
+import com.example.flightsearch.ingest.ScheduleRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresCopyLoaderIntegrationTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("flights")
+            .withUsername("flight")
+            .withPassword("flight");
+
+    private final PostgresCopyLoader loader = new PostgresCopyLoader();
+
+    @BeforeEach
+    void schema() throws SQLException {
+        try (Connection c = connection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS flights, fare_calendar CASCADE");
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("schema-postgresql.sql"));
+        }
+    }
+
+    @Test
+    void copies_a_chunk_and_upserts_by_natural_key() throws SQLException {
+        try (Connection c = connection()) {
+            c.setAutoCommit(false);
+            loader.load(c, List.of(
+                    record("AM680", "2025-12-20", "220.00", null),
+                    record("AM682", "2025-12-22", "235.00", LocalDate.parse("2025-12-29"))));
+            c.commit();
+
+            // Second chunk: one existing key changes, one key repeats and the last occurrence wins.
+            loader.load(c, List.of(
+                    record("AM680", "2025-12-20", "199.00", null),
+                    record("AM700", "2025-12-21", "180.00", null),
+                    record("AM700", "2025-12-21", "175.00", null)));
+            c.commit();
+
+            assertThat(fares(c)).containsExactly("AM680 199.00", "AM682 235.00", "AM700 175.00");
+            assertThat(single(c, "SELECT return_date FROM flights WHERE flight_number = 'AM682'"))
+                    .isEqualTo("2025-12-29");
+            assertThat(single(c, "SELECT COUNT(*) FROM flights_staging")).isEqualTo("0");
+        }
+    }
+
+    @Test
+    void quotes_and_commas_in_values_survive_the_csv_stream() throws SQLException {
+        try (Connection c = connection()) {
+            c.setAutoCommit(false);
+            loader.load(c, List.of(new ScheduleRecord("MEX", "LAX", LocalDate.parse("2025-12-20"), null,
+                    "AM", "AM\"1,2", "PREMIUM, \"X\"", new BigDecimal("100.00"), new BigDecimal("120.50"), "USD", 9)));
+            c.commit();
+
+            assertThat(single(c, "SELECT flight_number || '|' || cabin FROM flights"))
+                    .isEqualTo("AM\"1,2|PREMIUM, \"X\"");
+        }
+    }
+
+    private static ScheduleRecord record(String flightNumber, String date, String totalFare, LocalDate returnDate) {
+        return new ScheduleRecord("MEX", "LAX", LocalDate.parse(date), returnDate, "AM", flightNumber, "ECONOMY",
+                new BigDecimal("150.00"), new BigDecimal(totalFare), "USD", 10);
+    }
+
+    private static List<String> fares(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT flight_number, total_fare FROM flights ORDER BY flight_number")) {
+            List<String> rows = new ArrayList<>();
+            while (rs.next()) rows.add(rs.getString(1) + " " + rs.getBigDecimal(2).toPlainString());
+            return rows;
+        }
+    }
+
+    private static String single(Connection c, String sql) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static Connection connection() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.datasource.LagAwareReplicaDataSource;
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.service.FlightService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases: the primary initialised by the h2 profile, and a "replica" with the same
+ * schema but one row of its own, so each search shows which database answered. The replica's lag comes
+ * from a {@code replica_status} table instead of the PostgreSQL recovery functions.
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.max-lag=5s",
+        "datasource.replicas.check-interval=PT1H",
+        "datasource.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+        "datasource.replicas.targets[0].name=replica-a",
+        "datasource.replicas.targets[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "datasource.replicas.targets[0].maximum-pool-size=2"
+})
+public class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final LocalDate DAY = LocalDate.parse("2025-12-20");
+
+    @Autowired
+    FlightService service;
+
+    @Autowired
+    FlightRepository repository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    LagAwareReplicaDataSource replicas;
+
+    @Autowired
+    MeterRegistry meters;
+
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void setUpReplica() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "sa"));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(replica.getDataSource());
+        replica.update("INSERT INTO flights (origin, destination, departure_date, airline, flight_number, cabin, "
+                + "base_fare, total_fare, currency, seats_available) "
+                + "VALUES ('MEX','LAX','2025-12-20','AM','REPLICA1','ECONOMY',100.00,120.00,'USD',1)");
+        replica.execute("DROP TABLE IF EXISTS replica_status");
+        replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replica_status VALUES (0.5)");
+        replicas.checkLag();
+    }
+
+    @Test
+    void read_only_searches_are_served_by_the_replica() {
+        assertThat(replicas.usableReplicas()).containsExactly("replica-a");
+        assertThat(numbers(service.search("MEX", "LAX", DAY, DAY))).contains("REPLICA1");
+        assertThat(service.listAll()).extracting(Flight::getFlightNumber).contains("REPLICA1");
+        assertThat(meters.get("datasource.replicas.lag").tag("replica", "replica-a").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void writes_go_to_the_primary() {
+        repository.save(new Flight("MEX", "LAX", DAY, null, "AM", "PRIMARY1", "ECONOMY",
+                new BigDecimal("90.00"), new BigDecimal("110.00"), "USD", 4));
+
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM flights WHERE flight_number = 'PRIMARY1'", Integer.class)).isOne();
+        assertThat(replica.queryForObject(
+                "SELECT COUNT(*) FROM flights WHERE flight_number = 'PRIMARY1'", Integer.class)).isZero();
+        // Nothing replicates between the two H2 databases, so the read-only path cannot see the write.
+        assertThat(numbers(service.search("MEX", "LAX", DAY, DAY))).doesNotContain("PRIMARY1");
+        repository.deleteAll(repository.findAll().stream().filter(f -> "PRIMARY1".equals(f.getFlightNumber())).toList());
+    }
+
+    @Test
+    void lagging_replica_falls_back_to_the_primary() {
+        replica.update("UPDATE replica_status SET lag_seconds = 30");
+        replicas.checkLag();
+        double fallbacks = meters.get("datasource.replicas.fallbacks").counter().count();
+
+        assertThat(replicas.usableReplicas()).isEmpty();
+        assertThat(numbers(service.search("MEX", "LAX", DAY, DAY))).doesNotContain("REPLICA1").contains("AM680");
+        assertThat(meters.get("datasource.replicas.fallbacks").counter().count()).isGreaterThan(fallbacks);
+        assertThat(meters.get("datasource.replicas.usable").tag("replica", "replica-a").gauge().value()).isZero();
+    }
+
+    @Test
+    void failing_lag_check_falls_back_to_the_primary() {
+        replica.execute("DROP TABLE replica_status");
+        replicas.checkLag();
+
+        assertThat(replicas.usableReplicas()).isEmpty();
+        assertThat(numbers(service.search("MEX", "LAX", DAY, DAY))).doesNotContain("REPLICA1");
+        assertThat(meters.get("datasource.replicas.lag").tag("replica", "replica-a").gauge().value()).isNaN();
+    }
+
+    @Test
+    void every_target_has_its_own_pool_metrics() {
+        service.search("MEX", "LAX", DAY, DAY);
+        repository.count();
+
+        assertThat(meters.get("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meters.get("hikaricp.connections").tag("pool", "replica-a").gauge()).isNotNull();
+        assertThat(meters.get("hikaricp.connections.acquire").tag("pool", "replica-a").timer().count()).isPositive();
+    }
+
+    @Test
+    void explicit_credentials_follow_the_same_routing() throws SQLException {
+        var routing = new LagAwareReplicaDataSource(new DriverManagerDataSource(PRIMARY_URL, "sa", "sa"),
+                List.of(new LagAwareReplicaDataSource.Replica("replica-a", new DriverManagerDataSource(REPLICA_URL, "sa", "sa"))),
+                "SELECT lag_seconds FROM replica_status", Duration.ofSeconds(5), new SimpleMeterRegistry());
+        routing.checkLag();
+
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing-replica");
+
+        replica.update("UPDATE replica_status SET lag_seconds = 30");
+        routing.checkLag();
+        assertThat(url(routing)).startsWith("jdbc:h2:mem:routing-primary");
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection("sa", "sa")) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static List<String> numbers(List<Flight> flights) {
+        return flights.stream().map(Flight::getFlightNumber).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.ingest.IngestionReport;
+import com.example.flightsearch.ingest.ScheduleFormat;
+import com.example.flightsearch.ingest.ScheduleIngestionService;
+import com.example.flightsearch.web.ScheduleIngestionController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("h2")
+@WebMvcTest(controllers = ScheduleIngestionController.class)
+@TestPropertySource(properties = "flights.ingest.token=s3cret")
+public class ScheduleIngestionControllerTest {
+
+    private static final String CSV = "origin,destination,departure_date\n";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ScheduleIngestionService service;
+
+    @Test
+    void ingest_needs_the_token() throws Exception {
+        mvc.perform(post("/internal/flights/ingest").contentType("text/csv").content(CSV))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/internal/flights/ingest").contentType("text/csv").content(CSV)
+                        .header("X-Ingest-Token", "guess"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void ingest_streams_the_feed_with_a_valid_token() throws Exception {
+        when(service.ingest(any(InputStream.class), eq(ScheduleFormat.CSV)))
+                .thenReturn(new IngestionReport("jdbc-batch", 1, 1, 0, 5, 200));
+
+        mvc.perform(post("/internal/flights/ingest").contentType("text/csv").content(CSV)
+                        .header("X-Ingest-Token", "s3cret"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsUpserted").value(1));
+    }
+
+    @Test
+    void ingest_is_no_longer_under_the_public_api_path() throws Exception {
+        mvc.perform(post("/api/flights/ingest").contentType("text/csv").content(CSV)
+                        .header("X-Ingest-Token", "s3cret"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.flightsearch;
+
+import com.example.flightsearch.domain.FareCalendarEntry;
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.ingest.IngestionReport;
+import com.example.flightsearch.ingest.ScheduleFormat;
+import com.example.flightsearch.ingest.ScheduleIngestionService;
+import com.example.flightsearch.repository.FareCalendarRepository;
+import com.example.flightsearch.repository.FlightRepository;
+import com.example.flightsearch.service.FareCalendarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the loader commits per chunk on its own connection
+@Import({ScheduleIngestionService.class, FareCalendarService.class, ScheduleIngestionServiceTest.Beans.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "flights.ingest.chunk-size=2")
+public class ScheduleIngestionServiceTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        ObjectMapper objectMapper() { return new ObjectMapper().findAndRegisterModules(); }
+
+        @Bean
+        MeterRegistry meterRegistry() { return new SimpleMeterRegistry(); }
+    }
+
+    @Autowired
+    ScheduleIngestionService ingestion;
+
+    @Autowired
+    FlightRepository flights;
+
+    @Autowired
+    FareCalendarRepository calendar;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void csv_feed_is_upserted_by_natural_key_and_bad_rows_are_skipped() throws Exception {
+        String csv = """
+                airline,flight_number,departure_date,origin,destination,cabin,base_fare,total_fare,currency,seats_available
+                ib,IB6401,2026-03-01,mad,mex,ECONOMY,400.00,480.00,EUR,30
+                IB,IB6403,2026-03-01,MAD,MEX,ECONOMY,380.00,455.00,EUR,12
+                IB,IB6405,not-a-date,MAD,MEX,ECONOMY,380.00,455.00,EUR,12
+                IB,IB6401,2026-03-01,MAD,MEX,ECONOMY,350.00,420.00,EUR,28
+                """;
+
+        IngestionReport report = ingestion.ingest(stream(csv), ScheduleFormat.CSV);
+
+        assertThat(report.loader()).isEqualTo("jdbc-batch");
+        assertThat(report.rowsUpserted()).isEqualTo(3);
+        assertThat(report.rowsRejected()).isEqualTo(1);
+        assertThat(flights.findAll()).filteredOn(f -> f.getFlightNumber().equals("IB6401"))
+                .singleElement()
+                .satisfies(f -> assertThat(f.getTotalFare()).isEqualByComparingTo("420.00"));
+
+        FareCalendarEntry day = calendar.findById(new FareCalendarEntry.Key(
+                "MAD", "MEX", "ECONOMY", LocalDate.parse("2026-03-01"))).orElseThrow();
+        assertThat(day.getMinTotalFare()).isEqualByComparingTo("420.00");
+        assertThat(day.getFlightCount()).isEqualTo(2);
+        assertThat(registry.get("flights.ingest.rows").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ndjson_feed_uses_api_property_names() throws Exception {
+        String ndjson = """
+                {"origin":"BOG","destination":"MIA","departureDate":"2026-04-02","airline":"AV","flightNumber":"AV36","cabin":"ECONOMY","baseFare":210.00,"totalFare":250.00,"currency":"USD","seatsAvailable":40}
+                {"origin":"BOG","destination":"MIA","departureDate":"2026-04-02","airline":"AV","flightNumber":"AV38","cabin":"BUSINESS","baseFare":700.00,"totalFare":820.00,"currency":"USD","seatsAvailable":4}
+                """;
+
+        IngestionReport report = ingestion.ingest(stream(ndjson), ScheduleFormat.NDJSON);
+
+        assertThat(report.rowsUpserted()).isEqualTo(2);
+        assertThat(flights.findAll()).extracting(Flight::getFlightNumber).contains("AV36", "AV38");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,8 +3,10 @@ package com.example.configserver;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.config.server.EnableConfigServer;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableConfigServer
+@EnableScheduling
 @SpringBootApplication
 public class ConfigServiceApplication {
   public static void main(String[] args) {
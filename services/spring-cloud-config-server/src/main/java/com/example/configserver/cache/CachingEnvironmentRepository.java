@@ -0,0 +1,182 @@
+package com.example.configserver.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Caches resolved environments per (application, profile, label) in front of the backend repository.
+ * Concurrent requests for the same key share one backend read (single flight); failures are not cached.
+ * Entries live until a watcher invalidates them (file change, new git commit) or {@code ttl} passes.
+ */
+public class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator, MeterBinder {
+
+  public record Key(String application, String profile, String label, boolean includeOrigin) {}
+
+  /** Told about every dropped entry that had finished loading, with the environment it held. */
+  public interface InvalidationListener {
+    void invalidated(Key key, Environment previous);
+  }
+
+  private record Entry(CompletableFuture<Environment> value, long loadedAt) {}
+
+  private final EnvironmentRepository delegate;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private volatile InvalidationListener listener = (key, previous) -> { };
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder bypassed = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public CachingEnvironmentRepository(EnvironmentRepository delegate, Duration ttl, int maxEntries) {
+    this.delegate = delegate;
+    this.ttlNanos = ttl.toNanos();
+    this.maxEntries = maxEntries;
+  }
+
+  @Override
+  public Environment findOne(String application, String profile, String label) {
+    return findOne(application, profile, label, false);
+  }
+
+  @Override
+  public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+    Key key = new Key(application, profile, label, includeOrigin);
+    long now = System.nanoTime();
+    Entry existing = entries.get(key);
+    if (existing != null && now - existing.loadedAt() < ttlNanos) {
+      (existing.value().isDone() ? hits : coalesced).increment();
+      return copy(join(existing.value()));
+    }
+    if (existing == null && entries.size() >= maxEntries) {
+      bypassed.increment();
+      return delegate.findOne(application, profile, label, includeOrigin);
+    }
+
+    Entry mine = new Entry(new CompletableFuture<>(), now);
+    Entry winner = existing == null ? entries.putIfAbsent(key, mine)
+        : entries.replace(key, existing, mine) ? null : entries.get(key);
+    if (winner != null) {
+      coalesced.increment();
+      return copy(join(winner.value()));
+    }
+
+    misses.increment();
+    try {
+      Environment loaded = delegate.findOne(application, profile, label, includeOrigin);
+      mine.value().complete(loaded);
+      return copy(loaded);
+    } catch (RuntimeException ex) {
+      entries.remove(key, mine);
+      mine.value().completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  @Override
+  public Locations getLocations(String application, String profile, String label) {
+    if (delegate instanceof SearchPathLocator locator) {
+      return locator.getLocations(application, profile, label);
+    }
+    return new Locations(application, profile, label, null, new String[0]);
+  }
+
+  public void setInvalidationListener(InvalidationListener listener) {
+    this.listener = listener;
+  }
+
+  public void invalidateAll() {
+    invalidateIf(entry -> true);
+  }
+
+  /** Drops cached environments for {@code label} that were not resolved at {@code version}. */
+  public void invalidateUnlessVersion(String label, String version) {
+    invalidateIf(entry -> {
+      if (!Objects.equals(entry.getKey().label(), label)) return false;
+      Environment env = entry.getValue().value().getNow(null);
+      return env != null && !Objects.equals(env.getVersion(), version);
+    });
+  }
+
+  /** Labels currently cached ({@code null} is the backend's default label). */
+  public Set<String> labels() {
+    Set<String> labels = new HashSet<>();
+    entries.keySet().forEach(k -> labels.add(k.label()));
+    return labels;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void invalidateIf(Predicate<Map.Entry<Key, Entry>> stale) {
+    entries.entrySet().removeIf(entry -> {
+      if (!stale.test(entry)) return false;
+      invalidations.increment();
+      Environment previous = entry.getValue().value().getNow(null);
+      if (previous != null) listener.invalidated(entry.getKey(), previous);
+      return true;
+    });
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    result(registry, "hit", hits);
+    result(registry, "miss", misses);
+    result(registry, "coalesced", coalesced);
+    result(registry, "bypass", bypassed);
+    FunctionCounter.builder("config.environment.cache.invalidations", invalidations, LongAdder::sum)
+        .description("Cached environments dropped by a watcher")
+        .register(registry);
+    Gauge.builder("config.environment.cache.size", entries, Map::size)
+        .description("Cached (application, profile, label) environments")
+        .register(registry);
+  }
+
+  private static void result(MeterRegistry registry, String result, LongAdder adder) {
+    FunctionCounter.builder("config.environment.requests", adder, LongAdder::sum)
+        .description("Environment lookups by cache result")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  private static Environment join(CompletableFuture<Environment> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      throw ex;
+    }
+  }
+
+  /** Callers (encryptors, placeholder resolution) get their own copy of the mutable containers. */
+  private static Environment copy(Environment source) {
+    Environment copy = new Environment(source.getName(), source.getProfiles(), source.getLabel(),
+        source.getVersion(), source.getState());
+    for (PropertySource ps : source.getPropertySources()) {
+      copy.add(new PropertySource(ps.getName(), new LinkedHashMap<>(ps.getSource())));
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.configserver.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Puts {@link CachingEnvironmentRepository} in front of the primary (composite) repository, so every
+ * controller path (JSON, .yml, .properties) shares it, and adds ETags so unchanged responses become 304s.
+ * The post-processor also predicts the wrapped type, so the cache can be injected as
+ * {@link CachingEnvironmentRepository}; it registers its own meters as a {@code MeterBinder} bean.
+ * Disable with {@code config.cache.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "config.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EnvironmentCacheConfiguration {
+
+  @Bean
+  static SmartInstantiationAwareBeanPostProcessor environmentCachePostProcessor(Environment env) {
+    Duration ttl = env.getProperty("config.cache.ttl", Duration.class, Duration.ofMinutes(10));
+    int maxEntries = env.getProperty("config.cache.max-entries", Integer.class, 1000);
+    return new SmartInstantiationAwareBeanPostProcessor() {
+      @Override
+      public Class<?> predictBeanType(Class<?> beanClass, String beanName) {
+        return SearchPathCompositeEnvironmentRepository.class.isAssignableFrom(beanClass)
+            ? CachingEnvironmentRepository.class : null;
+      }
+
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof SearchPathCompositeEnvironmentRepository composite) {
+          return new CachingEnvironmentRepository(composite, ttl, maxEntries);
+        }
+        return bean;
+      }
+    };
+  }
+
+  // Backends are registered by auto-configuration after this class is processed, so they are looked up
+  // lazily; a watcher without a backend to watch does nothing.
+  @Bean
+  NativeLocationWatcher nativeLocationWatcher(ObjectProvider<NativeEnvironmentRepository> nativeRepository,
+                                              CachingEnvironmentRepository cache) {
+    NativeEnvironmentRepository backend = nativeRepository.getIfUnique();
+    return new NativeLocationWatcher(backend == null ? null : backend.getSearchLocations(), cache);
+  }
+
+  @Bean
+  GitCommitWatcher gitCommitWatcher(ObjectProvider<JGitEnvironmentRepository> git, CachingEnvironmentRepository cache,
+                                    Environment env) {
+    Duration interval = env.getProperty("config.cache.git-poll-interval", Duration.class, Duration.ofSeconds(5));
+    return new GitCommitWatcher(git.getIfUnique(), cache, interval);
+  }
+
+  @Bean
+  FilterRegistrationBean<EnvironmentEtagFilter> environmentEtagFilter() {
+    return new FilterRegistrationBean<>(new EnvironmentEtagFilter());
+  }
+}
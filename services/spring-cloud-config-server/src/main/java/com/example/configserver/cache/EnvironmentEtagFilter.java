@@ -0,0 +1,32 @@
+package com.example.configserver.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.Set;
+
+/**
+ * ETags for the environment endpoints only: {@code /{application}/{profile}[/{label}]} and the
+ * {@code .yml}/{@code .yaml}/{@code .properties}/{@code .json} renderings. Everything else (actuator, the
+ * {@code /changes} stream, encrypt/decrypt, plain-text resources) is left unbuffered.
+ */
+public class EnvironmentEtagFilter extends ShallowEtagHeaderFilter {
+
+  private static final Set<String> OTHER_ENDPOINTS = Set.of("actuator", "changes", "encrypt", "decrypt", "key", "monitor");
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !"GET".equals(request.getMethod())
+        || !isEnvironmentPath(request.getRequestURI().substring(request.getContextPath().length()));
+  }
+
+  static boolean isEnvironmentPath(String path) {
+    String[] segments = path.replaceAll("^/+|/+$", "").split("/+");
+    if (segments[0].isEmpty() || OTHER_ENDPOINTS.contains(segments[0])) return false;
+    String last = segments[segments.length - 1];
+    if (last.endsWith(".yml") || last.endsWith(".yaml") || last.endsWith(".properties") || last.endsWith(".json")) {
+      return segments.length <= 2;
+    }
+    return segments.length == 2 || segments.length == 3;
+  }
+}
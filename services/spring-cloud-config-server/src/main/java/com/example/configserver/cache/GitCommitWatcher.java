@@ -0,0 +1,65 @@
+package com.example.configserver.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the commit id of every cached label once per interval and drops environments resolved at an
+ * older commit. One fetch per label per interval replaces one checkout-and-parse per client request.
+ */
+public class GitCommitWatcher implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(GitCommitWatcher.class);
+
+  private final JGitEnvironmentRepository git;
+  private final CachingEnvironmentRepository cache;
+  private final Duration interval;
+  private volatile ScheduledExecutorService scheduler;
+
+  /** {@code git} may be null when the git backend is not active. */
+  public GitCommitWatcher(JGitEnvironmentRepository git, CachingEnvironmentRepository cache, Duration interval) {
+    this.git = git;
+    this.cache = cache;
+    this.interval = interval;
+  }
+
+  @Override
+  public void start() {
+    if (git == null) return;
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "config-cache-git-poll");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::poll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (scheduler != null) scheduler.shutdownNow();
+    scheduler = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  void poll() {
+    for (String label : cache.labels()) {
+      try {
+        String commit = git.refresh(label == null ? git.getDefaultLabel() : label);
+        cache.invalidateUnlessVersion(label, commit);
+      } catch (RuntimeException ex) {
+        log.debug("Cannot resolve commit for label {}: {}", label, ex.toString());
+      }
+    }
+  }
+}
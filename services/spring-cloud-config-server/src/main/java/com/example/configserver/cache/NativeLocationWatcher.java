@@ -0,0 +1,115 @@
+package com.example.configserver.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Watches the native backend's {@code file:} search locations (recursively) and drops the whole
+ * environment cache on any change. Locations with placeholders are watched from their fixed prefix.
+ */
+public class NativeLocationWatcher implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(NativeLocationWatcher.class);
+
+  private final List<Path> roots;
+  private final CachingEnvironmentRepository cache;
+  private volatile WatchService watcher;
+  private volatile boolean running;
+
+  public NativeLocationWatcher(String[] searchLocations, CachingEnvironmentRepository cache) {
+    this.roots = roots(searchLocations);
+    this.cache = cache;
+  }
+
+  @Override
+  public void start() {
+    if (roots.isEmpty()) return;
+    try {
+      watcher = FileSystems.getDefault().newWatchService();
+      for (Path root : roots) register(root);
+    } catch (IOException ex) {
+      log.warn("Cannot watch {}; cached environments only expire by TTL", roots, ex);
+      return;
+    }
+    running = true;
+    Thread thread = new Thread(this::watch, "config-cache-watcher");
+    thread.setDaemon(true);
+    thread.start();
+    log.info("Watching {} for config changes", roots);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      if (watcher != null) watcher.close();
+    } catch (IOException ignored) {
+      // shutting down
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void watch() {
+    while (running) {
+      WatchKey key;
+      try {
+        key = watcher.take();
+      } catch (InterruptedException | ClosedWatchServiceException ex) {
+        return;
+      }
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && key.watchable() instanceof Path dir) {
+          Path created = dir.resolve((Path) event.context());
+          if (Files.isDirectory(created)) register(created);
+        }
+      }
+      key.reset();
+      cache.invalidateAll();
+    }
+  }
+
+  private void register(Path root) {
+    try (Stream<Path> dirs = Files.walk(root)) {
+      for (Path dir : dirs.filter(Files::isDirectory).toList()) {
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+      }
+    } catch (IOException | ClosedWatchServiceException ex) {
+      log.warn("Cannot watch {}", root, ex);
+    }
+  }
+
+  static List<Path> roots(String[] searchLocations) {
+    List<Path> roots = new ArrayList<>();
+    if (searchLocations == null) return roots;
+    for (String location : searchLocations) {
+      if (location == null || location.isBlank() || location.startsWith("classpath:")) continue;
+      String path = location.startsWith("file:") ? location.substring("file:".length()) : location;
+      int placeholder = path.indexOf('{');
+      if (placeholder >= 0) path = path.substring(0, path.lastIndexOf('/', placeholder) + 1);
+      while (path.startsWith("//")) path = path.substring(1);
+      Path dir = Paths.get(path);
+      if (Files.isDirectory(dir)) roots.add(dir);
+    }
+    return roots;
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.configserver.changes;
+
+import java.util.Set;
+
+/**
+ * Keys whose resolved value changed (added, modified or removed) for one (application, profile, label).
+ * Values are not included: clients fetch them through the normal, decrypting environment endpoint.
+ */
+public record ConfigChange(String application, String profile, String label, String version,
+                           Set<String> keys, long timestamp) {
+}
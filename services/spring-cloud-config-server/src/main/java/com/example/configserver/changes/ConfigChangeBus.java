@@ -0,0 +1,15 @@
+package com.example.configserver.changes;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link ConfigChange}s to whoever distributes them. {@link LocalConfigChangeBus} is the
+ * in-process stand-in; a broker-backed implementation replaces it by declaring its own bean.
+ */
+public interface ConfigChangeBus {
+
+  void publish(ConfigChange change);
+
+  /** Returns a handle that removes the subscription. */
+  Runnable subscribe(Consumer<ConfigChange> subscriber);
+}
@@ -0,0 +1,40 @@
+package com.example.configserver.changes;
+
+import com.example.configserver.cache.CachingEnvironmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Change broadcast on top of the environment cache: invalidations are diffed and published on the
+ * {@link ConfigChangeBus}; {@code GET /changes} streams them to clients. Needs {@code config.cache.enabled}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = {"config.cache.enabled", "config.changes.enabled"}, havingValue = "true", matchIfMissing = true)
+public class ConfigChangeConfiguration {
+
+  @Bean
+  @ConditionalOnMissingBean
+  ConfigChangeBus configChangeBus() {
+    return new LocalConfigChangeBus();
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  ConfigDiffPublisher configDiffPublisher(CachingEnvironmentRepository cache, ConfigChangeBus bus, Environment env,
+                                          MeterRegistry registry) {
+    Duration debounce = env.getProperty("config.changes.debounce", Duration.class, Duration.ofMillis(200));
+    ConfigDiffPublisher publisher = new ConfigDiffPublisher(cache, bus, debounce, registry);
+    cache.setInvalidationListener(publisher);
+    return publisher;
+  }
+
+  @Bean(destroyMethod = "close")
+  ConfigChangeStream configChangeStream(ConfigChangeBus bus, MeterRegistry registry) {
+    return new ConfigChangeStream(bus, registry);
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.configserver.changes;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** A literal path, so it wins over the environment controller's /{name}/{profiles} patterns. */
+@RestController
+public class ConfigChangeController {
+
+  private final ConfigChangeStream stream;
+
+  public ConfigChangeController(ConfigChangeStream stream) {
+    this.stream = stream;
+  }
+
+  @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes() {
+    return stream.subscribe();
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.configserver.changes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bus subscriber that relays changes to remote clients as server-sent events. Sends happen on one
+ * dispatcher thread so a slow client never holds up the bus.
+ */
+public class ConfigChangeStream {
+
+  private static final Logger log = LoggerFactory.getLogger(ConfigChangeStream.class);
+
+  private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+  private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "config-change-dispatcher");
+    t.setDaemon(true);
+    return t;
+  });
+  private final Runnable unsubscribe;
+
+  public ConfigChangeStream(ConfigChangeBus bus, MeterRegistry registry) {
+    this.unsubscribe = bus.subscribe(this::publish);
+    Gauge.builder("config.changes.subscribers", subscribers, List::size)
+        .description("Connected config change subscribers")
+        .register(registry);
+  }
+
+  public SseEmitter subscribe() {
+    SseEmitter emitter = new SseEmitter(0L);
+    emitter.onCompletion(() -> subscribers.remove(emitter));
+    emitter.onTimeout(() -> subscribers.remove(emitter));
+    emitter.onError(ex -> subscribers.remove(emitter));
+    try {
+      // Commits the response headers now; otherwise the client sees nothing until the first keep-alive.
+      emitter.send(SseEmitter.event().comment("subscribed"));
+    } catch (IOException ex) {
+      emitter.completeWithError(ex);
+      return emitter;
+    }
+    subscribers.add(emitter);
+    return emitter;
+  }
+
+  /** Comment frames keep idle connections from being cut by proxies and reveal dead subscribers. */
+  @Scheduled(fixedDelayString = "${config.changes.keep-alive-ms:15000}")
+  public void keepAlive() {
+    dispatcher.execute(() -> send(SseEmitter.event().comment("keep-alive")));
+  }
+
+  public void close() {
+    unsubscribe.run();
+    dispatcher.shutdownNow();
+    subscribers.forEach(SseEmitter::complete);
+  }
+
+  private void publish(ConfigChange change) {
+    if (subscribers.isEmpty()) return;
+    dispatcher.execute(() -> send(SseEmitter.event().name("config-change").data(change, MediaType.APPLICATION_JSON)));
+  }
+
+  private void send(SseEmitter.SseEventBuilder frame) {
+    for (SseEmitter emitter : subscribers) {
+      try {
+        emitter.send(frame);
+      } catch (IOException | IllegalStateException ex) {
+        log.debug("Dropping config change subscriber: {}", ex.toString());
+        subscribers.remove(emitter);
+        emitter.completeWithError(ex);
+      }
+    }
+  }
+}
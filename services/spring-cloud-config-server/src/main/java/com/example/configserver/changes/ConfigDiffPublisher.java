@@ -0,0 +1,104 @@
+package com.example.configserver.changes;
+
+import com.example.configserver.cache.CachingEnvironmentRepository;
+import com.example.configserver.cache.CachingEnvironmentRepository.Key;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns cache invalidations into {@link ConfigChange}s: the invalidated key is resolved again (which
+ * also re-warms the cache) and its flattened properties are compared with what was cached before.
+ * Invalidations are debounced, since one save in an editor or one git pull fires several events.
+ */
+public class ConfigDiffPublisher implements CachingEnvironmentRepository.InvalidationListener {
+
+  private static final Logger log = LoggerFactory.getLogger(ConfigDiffPublisher.class);
+
+  private final CachingEnvironmentRepository repository;
+  private final ConfigChangeBus bus;
+  private final long debounceMillis;
+  private final Counter published;
+
+  private final Map<Key, Environment> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "config-diff");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public ConfigDiffPublisher(CachingEnvironmentRepository repository, ConfigChangeBus bus, Duration debounce,
+                             MeterRegistry registry) {
+    this.repository = repository;
+    this.bus = bus;
+    this.debounceMillis = debounce.toMillis();
+    this.published = Counter.builder("config.changes.published")
+        .description("Config changes broadcast to clients")
+        .register(registry);
+  }
+
+  @Override
+  public void invalidated(Key key, Environment previous) {
+    // includeOrigin lookups differ in origin metadata only; the plain lookup covers their keys.
+    if (key.includeOrigin()) return;
+    pending.putIfAbsent(key, previous);
+    if (scheduled.compareAndSet(false, true)) {
+      executor.schedule(this::flush, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void flush() {
+    scheduled.set(false);
+    for (Key key : Set.copyOf(pending.keySet())) {
+      Environment previous = pending.remove(key);
+      try {
+        Environment current = repository.findOne(key.application(), key.profile(), key.label());
+        Set<String> keys = diff(flatten(previous), flatten(current));
+        if (keys.isEmpty()) continue;
+        bus.publish(new ConfigChange(key.application(), key.profile(), key.label(), current.getVersion(),
+            keys, System.currentTimeMillis()));
+        published.increment();
+        log.info("Config change for {}/{}: {}", key.application(), key.profile(), keys);
+      } catch (RuntimeException ex) {
+        log.warn("Cannot diff {}/{} after invalidation", key.application(), key.profile(), ex);
+      }
+    }
+  }
+
+  /** Effective value per key: the first property source that defines it wins, as on the client. */
+  static Map<String, Object> flatten(Environment environment) {
+    Map<String, Object> values = new HashMap<>();
+    for (PropertySource source : environment.getPropertySources()) {
+      source.getSource().forEach((key, value) -> values.putIfAbsent(String.valueOf(key), value));
+    }
+    return values;
+  }
+
+  static Set<String> diff(Map<String, Object> before, Map<String, Object> after) {
+    Set<String> keys = new HashSet<>(before.keySet());
+    keys.addAll(after.keySet());
+    keys.removeIf(key -> Objects.equals(before.get(key), after.get(key)));
+    return new TreeSet<>(keys);
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.configserver.changes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/** Delivers changes synchronously to subscribers in this JVM. */
+public class LocalConfigChangeBus implements ConfigChangeBus {
+
+  private static final Logger log = LoggerFactory.getLogger(LocalConfigChangeBus.class);
+
+  private final List<Consumer<ConfigChange>> subscribers = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(ConfigChange change) {
+    for (Consumer<ConfigChange> subscriber : subscribers) {
+      try {
+        subscriber.accept(change);
+      } catch (RuntimeException ex) {
+        log.warn("Config change subscriber failed for {}", change.application(), ex);
+      }
+    }
+  }
+
+  @Override
+  public Runnable subscribe(Consumer<ConfigChange> subscriber) {
+    subscribers.add(subscriber);
+    return () -> subscribers.remove(subscriber);
+  }
+}
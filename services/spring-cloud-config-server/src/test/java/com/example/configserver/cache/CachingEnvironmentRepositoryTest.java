@@ -0,0 +1,95 @@
+package com.example.configserver.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingEnvironmentRepositoryTest {
+
+  private final AtomicInteger reads = new AtomicInteger();
+  private volatile String version = "c1";
+  private volatile boolean failing;
+
+  private final EnvironmentRepository slowBackend = (application, profile, label) -> {
+    reads.incrementAndGet();
+    sleep(100);
+    if (failing) throw new IllegalStateException("backend down");
+    Environment env = new Environment(application, new String[] {profile}, label, version, null);
+    env.add(new PropertySource("file:" + application + ".yml", Map.of("greeting", "hello")));
+    return env;
+  };
+
+  private final CachingEnvironmentRepository cache =
+      new CachingEnvironmentRepository(slowBackend, Duration.ofMinutes(10), 100);
+
+  @Test
+  void thundering_herd_results_in_one_backend_read() throws Exception {
+    int clients = 200;
+    ExecutorService pool = Executors.newFixedThreadPool(clients);
+    CountDownLatch go = new CountDownLatch(1);
+    List<Future<Environment>> results = new ArrayList<>();
+    for (int i = 0; i < clients; i++) {
+      results.add(pool.submit(() -> {
+        go.await();
+        return cache.findOne("flight-search-service", "default", null);
+      }));
+    }
+    go.countDown();
+    for (Future<Environment> result : results) {
+      assertThat(result.get().getPropertySources().get(0).getSource().get("greeting")).isEqualTo("hello");
+    }
+    pool.shutdown();
+
+    assertThat(reads).hasValue(1);
+  }
+
+  @Test
+  void invalidation_by_version_only_drops_stale_entries_of_that_label() {
+    cache.findOne("a", "default", "main");
+    cache.findOne("a", "default", "release");
+    version = "c2";
+
+    cache.invalidateUnlessVersion("main", "c2");
+    cache.findOne("a", "default", "release");
+    Environment main = cache.findOne("a", "default", "main");
+
+    assertThat(reads).hasValue(3);
+    assertThat(main.getVersion()).isEqualTo("c2");
+  }
+
+  @Test
+  void failures_are_not_cached_and_callers_get_independent_copies() {
+    failing = true;
+    assertThatThrownBy(() -> cache.findOne("a", "default", null)).isInstanceOf(IllegalStateException.class);
+    failing = false;
+
+    Environment first = cache.findOne("a", "default", null);
+    first.getPropertySources().clear();
+    Environment second = cache.findOne("a", "default", null);
+
+    assertThat(reads).hasValue(2);
+    assertThat(second.getPropertySources()).hasSize(1);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
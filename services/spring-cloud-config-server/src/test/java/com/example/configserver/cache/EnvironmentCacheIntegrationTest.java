@@ -0,0 +1,88 @@
+package com.example.configserver.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.profiles.active=native",
+    "eureka.client.enabled=false"
+})
+class EnvironmentCacheIntegrationTest {
+
+  @TempDir
+  static Path repo;
+
+  @DynamicPropertySource
+  static void nativeRepo(DynamicPropertyRegistry registry) throws IOException {
+    Files.writeString(repo.resolve("pricing-service.yml"), "pricing:\n  base-fare: 100\n");
+    registry.add("spring.cloud.config.server.native.search-locations", () -> "file:" + repo + "/");
+  }
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  MeterRegistry meters;
+
+  @Autowired
+  CachingEnvironmentRepository cache;
+
+  private final HttpClient http = HttpClient.newHttpClient();
+
+  @Test
+  void conditional_requests_and_file_change_invalidation() throws Exception {
+    HttpResponse<String> first = get(null);
+    String etag = first.headers().firstValue("ETag").orElseThrow();
+    assertThat(first.statusCode()).isEqualTo(200);
+    assertThat(first.body()).contains("\"pricing.base-fare\":100");
+
+    assertThat(get(etag).statusCode()).isEqualTo(304);
+    assertThat(meters.get("config.environment.requests").tag("result", "hit").functionCounter().count())
+        .isGreaterThanOrEqualTo(1);
+
+    Files.writeString(repo.resolve("pricing-service.yml"), "pricing:\n  base-fare: 120\n");
+    HttpResponse<String> changed = null;
+    for (int attempt = 0; attempt < 50; attempt++) {
+      changed = get(etag);
+      if (changed.statusCode() == 200) break;
+      Thread.sleep(100);
+    }
+    assertThat(changed.statusCode()).isEqualTo(200);
+    assertThat(changed.body()).contains("\"pricing.base-fare\":120");
+  }
+
+  @Test
+  void etags_cover_environment_renderings_only() throws Exception {
+    assertThat(send("/pricing-service-default.yml").headers().firstValue("ETag")).isPresent();
+    assertThat(send("/main/pricing-service-default.properties").headers().firstValue("ETag")).isPresent();
+    assertThat(send("/actuator/health").headers().firstValue("ETag")).isEmpty();
+    assertThat(cache.findOne("pricing-service", "default", null).getPropertySources()).isNotEmpty();
+  }
+
+  private HttpResponse<String> send(String path) throws Exception {
+    return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> get(String ifNoneMatch) throws Exception {
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/pricing-service/default"));
+    if (ifNoneMatch != null) request.header("If-None-Match", ifNoneMatch);
+    return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+}
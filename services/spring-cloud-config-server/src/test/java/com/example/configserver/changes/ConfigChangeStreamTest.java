@@ -0,0 +1,77 @@
+package com.example.configserver.changes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.profiles.active=native",
+    "config.changes.debounce=50ms"
+})
+class ConfigChangeStreamTest {
+
+  @TempDir
+  static Path repo;
+
+  @DynamicPropertySource
+  static void nativeRepo(DynamicPropertyRegistry registry) throws IOException {
+    Files.writeString(repo.resolve("booking-service.yml"), """
+        booking:
+          hold-minutes: 15
+          currency: EUR
+        """);
+    registry.add("spring.cloud.config.server.native.search-locations", () -> "file:" + repo + "/");
+  }
+
+  @LocalServerPort
+  int port;
+
+  private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  @Test
+  void edited_file_is_broadcast_as_the_changed_keys_only() throws Exception {
+    BlockingQueue<String> data = new LinkedBlockingQueue<>();
+    HttpResponse<Stream<String>> stream = http.send(HttpRequest.newBuilder(uri("/changes")).build(),
+        HttpResponse.BodyHandlers.ofLines());
+    Thread reader = new Thread(() -> stream.body().filter(l -> l.startsWith("data:")).forEach(data::add));
+    reader.setDaemon(true);
+    reader.start();
+
+    // A client has resolved its environment, so the server has something to diff against.
+    assertThat(http.send(HttpRequest.newBuilder(uri("/booking-service/default")).build(),
+        HttpResponse.BodyHandlers.ofString()).body()).contains("\"booking.hold-minutes\":15");
+
+    Files.writeString(repo.resolve("booking-service.yml"), """
+        booking:
+          hold-minutes: 20
+          currency: EUR
+          overbooking: true
+        """);
+    String change = data.poll(10, TimeUnit.SECONDS);
+
+    assertThat(change)
+        .contains("\"application\":\"booking-service\"", "\"profile\":\"default\"")
+        .contains("\"keys\":[\"booking.hold-minutes\",\"booking.overbooking\"]");
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.gateway.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Priority-aware admission control in front of every route and the aggregated endpoints. Under
+ * overload, low-priority classes get fast 503s so the ones with a latency target keep meeting it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "gateway.admission.enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfiguration {
+
+  @Bean
+  AdmissionControlFilter admissionControlFilter(AdmissionProperties properties, MeterRegistry registry) {
+    AdmissionControlFilter filter = new AdmissionControlFilter(properties, System::nanoTime);
+    filter.bindTo(registry);
+    return filter;
+  }
+}
@@ -0,0 +1,165 @@
+package com.example.gateway.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts in-flight requests per route class and rejects with 503 and {@code Retry-After}, before any
+ * routing work, once a class reaches its limit or the gateway reaches {@code max-in-flight}.
+ *
+ * <p>Class limits start at the class's {@code max-in-flight}. Every {@code interval}, the filter takes the
+ * fastest response each class with a {@code latency-target} had in that interval. If even the fastest one
+ * missed the target, requests are queueing somewhere rather than just arriving in a burst. The limits of
+ * all lower-priority classes are then multiplied by {@code decrease}. Once no target is missed, they grow
+ * back by {@code recovery} of their maximum per interval. Requests that match no class are not counted.
+ */
+public class AdmissionControlFilter implements WebFilter, Ordered, MeterBinder {
+
+  private final List<Lane> lanes;
+  private final int maxInFlight;
+  private final long intervalNanos;
+  private final String retryAfter;
+  private final double decrease;
+  private final LongSupplier clock;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong nextCheck;
+
+  public AdmissionControlFilter(AdmissionProperties properties, LongSupplier clock) {
+    this.maxInFlight = properties.maxInFlight();
+    this.intervalNanos = properties.interval().toNanos();
+    this.retryAfter = Long.toString(Math.max(1, (properties.retryAfter().toMillis() + 999) / 1000));
+    this.decrease = properties.decrease();
+    this.clock = clock;
+    this.lanes = properties.classes().stream().map(c -> new Lane(c, properties)).toList();
+    this.nextCheck = new AtomicLong(clock.getAsLong() + intervalNanos);
+  }
+
+  @Override
+  public int getOrder() {
+    // After the server observation filter, so shed requests still show up in http.server.requests.
+    return Ordered.HIGHEST_PRECEDENCE + 100;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    Lane lane = classify(exchange.getRequest().getPath().pathWithinApplication());
+    if (lane == null) return chain.filter(exchange);
+    long now = clock.getAsLong();
+    adjust(now);
+    if (!tryAcquire(lane)) {
+      lane.rejected.increment();
+      exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+      return exchange.getResponse().setComplete();
+    }
+    return chain.filter(exchange).doFinally(signal -> {
+      lane.inFlight.decrementAndGet();
+      inFlight.decrementAndGet();
+      long elapsed = clock.getAsLong() - now;
+      lane.fastest.accumulateAndGet(elapsed, Math::min);
+    });
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (Lane lane : lanes) {
+      Gauge.builder("gateway.admission.in-flight", lane.inFlight, AtomicInteger::get)
+          .tag("class", lane.name).register(registry);
+      Gauge.builder("gateway.admission.limit", lane, l -> l.limit)
+          .tag("class", lane.name).register(registry);
+      FunctionCounter.builder("gateway.admission.rejected", lane.rejected, LongAdder::sum)
+          .tag("class", lane.name).description("Requests shed with 503").register(registry);
+    }
+  }
+
+  /** Current limit of a class; for tests and diagnostics. */
+  int limit(String className) {
+    return lanes.stream().filter(l -> l.name.equals(className)).findFirst().orElseThrow().limit;
+  }
+
+  private Lane classify(PathContainer path) {
+    for (Lane lane : lanes) {
+      for (PathPattern pattern : lane.patterns) {
+        if (pattern.matches(path)) return lane;
+      }
+    }
+    return null;
+  }
+
+  private boolean tryAcquire(Lane lane) {
+    if (inFlight.incrementAndGet() > maxInFlight) {
+      inFlight.decrementAndGet();
+      return false;
+    }
+    if (lane.inFlight.incrementAndGet() > lane.limit) {
+      lane.inFlight.decrementAndGet();
+      inFlight.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /** Once per interval (whichever request gets there first): compare latencies and move the limits. */
+  private void adjust(long now) {
+    long due = nextCheck.get();
+    if (now - due < 0 || !nextCheck.compareAndSet(due, now + intervalNanos)) return;
+    int protectedPriority = Integer.MAX_VALUE;
+    for (Lane lane : lanes) {
+      long fastest = lane.fastest.getAndSet(Long.MAX_VALUE);
+      if (lane.targetNanos > 0 && fastest != Long.MAX_VALUE && fastest > lane.targetNanos) {
+        protectedPriority = Math.min(protectedPriority, lane.priority);
+      }
+    }
+    for (Lane lane : lanes) {
+      if (lane.priority > protectedPriority) {
+        lane.limit = Math.max(lane.minInFlight, (int) (lane.limit * decrease));
+      } else {
+        lane.limit = Math.min(lane.maxInFlight, lane.limit + lane.step);
+      }
+    }
+  }
+
+  private static final class Lane {
+    final String name;
+    final int priority;
+    final List<PathPattern> patterns;
+    final int maxInFlight;
+    final int minInFlight;
+    final int step;
+    final long targetNanos;
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicLong fastest = new AtomicLong(Long.MAX_VALUE);
+    final LongAdder rejected = new LongAdder();
+    volatile int limit;
+
+    Lane(AdmissionProperties.RouteClass c, AdmissionProperties properties) {
+      this.name = c.name();
+      this.priority = c.priority();
+      this.patterns = c.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+      this.maxInFlight = c.maxInFlight() == null ? properties.maxInFlight()
+          : Math.min(c.maxInFlight(), properties.maxInFlight());
+      this.minInFlight = Math.min(c.minInFlight(), maxInFlight);
+      this.step = Math.max(1, (int) Math.ceil(maxInFlight * properties.recovery()));
+      this.targetNanos = c.latencyTarget() == null ? 0 : c.latencyTarget().toNanos();
+      this.limit = maxInFlight;
+    }
+  }
+}
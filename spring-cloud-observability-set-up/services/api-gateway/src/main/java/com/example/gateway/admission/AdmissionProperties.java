@@ -0,0 +1,42 @@
+package com.example.gateway.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code gateway.admission.*}: route classes in priority order (0 is the most important) and the limits
+ * that decide which of them are shed first under overload.
+ *
+ * @param maxInFlight requests of all classes the gateway passes downstream at once
+ * @param interval how often the latency targets are checked and the class limits adjusted
+ * @param retryAfter value of {@code Retry-After} on shed requests
+ * @param decrease factor applied to lower-priority limits while a latency target is missed
+ * @param recovery share of its {@code max-in-flight} a class limit regains per healthy interval
+ */
+@ConfigurationProperties("gateway.admission")
+public record AdmissionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500") int maxInFlight,
+    @DefaultValue("100ms") Duration interval,
+    @DefaultValue("1s") Duration retryAfter,
+    @DefaultValue("0.75") double decrease,
+    @DefaultValue("0.05") double recovery,
+    @DefaultValue List<RouteClass> classes) {
+
+  /**
+   * @param paths path patterns ({@code /api/bookings/**}); the first class that matches wins
+   * @param maxInFlight cap for this class alone, at most the global one
+   * @param minInFlight the class limit never shrinks below this
+   * @param latencyTarget when set, lower-priority classes are throttled while this class misses it
+   */
+  public record RouteClass(
+      String name,
+      int priority,
+      List<String> paths,
+      Integer maxInFlight,
+      @DefaultValue("1") int minInFlight,
+      Duration latencyTarget) {}
+}
@@ -0,0 +1,19 @@
+package com.example.gateway.aggregate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+
+/**
+ * One search result with its quote and availability. {@code flight} is passed through from
+ * flight-search-service as-is; like flight-search's {@code PricedFlight}, a degraded price is not
+ * flagged in the body (see the {@code X-Pricing-Fallbacks} response header instead).
+ */
+public record Offer(
+    JsonNode flight,
+    BigDecimal totalPrice,
+    String currency,
+    boolean available,
+    @JsonIgnore boolean fallback
+) {}
@@ -0,0 +1,38 @@
+package com.example.gateway.aggregate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Aggregated search + price + availability endpoint. Downstream calls go through the same
+ * LoadBalancer (and push eviction) as the {@code lb://} routes.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OfferAggregationConfiguration {
+
+  @Bean
+  OfferAggregationHandler offerAggregationHandler(WebClient.Builder builder,
+      LoadBalancedExchangeFilterFunction loadBalancer,
+      @Value("${aggregate.offers.flights-url:http://flight-search-service/api/flights/search}") String flightsUrl,
+      @Value("${aggregate.offers.pricing-url:http://pricing-service/api/pricing/quote}") String pricingUrl,
+      @Value("${aggregate.offers.deadline:2500ms}") Duration deadline,
+      @Value("${aggregate.offers.pricing-concurrency:16}") int pricingConcurrency) {
+    WebClient client = builder.filter(loadBalancer).build();
+    return new OfferAggregationHandler(client, flightsUrl, pricingUrl, deadline, pricingConcurrency);
+  }
+
+  @Bean
+  RouterFunction<ServerResponse> offerRoutes(OfferAggregationHandler handler) {
+    return route(GET("/api/offers/search"), handler::search);
+  }
+}
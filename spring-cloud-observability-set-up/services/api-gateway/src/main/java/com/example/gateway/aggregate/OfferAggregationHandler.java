@@ -0,0 +1,136 @@
+package com.example.gateway.aggregate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code GET /api/offers/search}: one flight search, then one pricing quote per result, fanned out in
+ * parallel, merged into a single response. Saves clients the per-result {@code /api/pricing/quote}
+ * round-trips. The search is made with {@code priced=false}: flight-search returns its usual
+ * {@code PricedFlight} list without quoting, since the quotes here include bags.
+ *
+ * <p>The whole request shares one deadline. The search is mandatory: if it fails the request fails
+ * (its status is passed through, 504 on deadline). A quote that fails or misses the deadline degrades
+ * like {@code FlightPricingService.priceFallback}: base fare (or zero) in USD.
+ */
+public class OfferAggregationHandler {
+
+  static final String FALLBACKS_HEADER = "X-Pricing-Fallbacks";
+  /** Internal hops prefer Smile (binary JSON); JSON stays acceptable for services without it. */
+  static final String INTERNAL_ACCEPT = "application/x-jackson-smile, application/json;q=0.9";
+
+  private static final Logger log = LoggerFactory.getLogger(OfferAggregationHandler.class);
+  private static final String FALLBACK_CURRENCY = "USD";
+  /** Sort, filters and page size go to flight-search too, so the quote fan-out is one page wide. */
+  private static final List<String> SEARCH_PARAMS = List.of("origin", "destination", "dateFrom", "dateTo",
+      "passengerType", "seats", "sort", "cabin", "airline", "minSeats", "limit", "cursor");
+  /** flight-search's token for the next page, relayed unchanged. */
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private final WebClient client;
+  private final String flightsUrl;
+  private final String pricingUrl;
+  private final Duration deadline;
+  private final int pricingConcurrency;
+
+  public OfferAggregationHandler(WebClient client, String flightsUrl, String pricingUrl,
+      Duration deadline, int pricingConcurrency) {
+    this.client = client;
+    this.flightsUrl = flightsUrl;
+    this.pricingUrl = pricingUrl;
+    this.deadline = deadline;
+    this.pricingConcurrency = pricingConcurrency;
+  }
+
+  public Mono<ServerResponse> search(ServerRequest request) {
+    long deadlineNanos = System.nanoTime() + deadline.toNanos();
+    int seats = intParam(request, "seats", 1);
+    int bags = intParam(request, "bags", 0);
+
+    return flights(request)
+        .timeout(remaining(deadlineNanos))
+        .onErrorMap(TimeoutException.class,
+            ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "flight search missed the deadline"))
+        .flatMap(page -> Flux.fromArray(page.getBody() == null ? new JsonNode[0] : page.getBody())
+            .flatMapSequential(flight -> offer(flight, seats, bags, deadlineNanos), pricingConcurrency)
+            .collectList()
+            .flatMap(offers -> {
+              var response = ServerResponse.ok()
+                  .header(FALLBACKS_HEADER, String.valueOf(offers.stream().filter(Offer::fallback).count()));
+              String next = page.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+              if (next != null) response.header(NEXT_CURSOR_HEADER, next);
+              return response.bodyValue(offers);
+            }));
+  }
+
+  private Mono<ResponseEntity<JsonNode[]>> flights(ServerRequest request) {
+    return client.get()
+        .uri(flightsUrl, uri -> {
+          SEARCH_PARAMS.forEach(name -> request.queryParam(name).ifPresent(value -> uri.queryParam(name, value)));
+          return uri.queryParam("priced", false).build();
+        })
+        .header(HttpHeaders.ACCEPT, INTERNAL_ACCEPT)
+        .exchangeToMono(response -> response.statusCode().is2xxSuccessful()
+            ? response.toEntity(JsonNode[].class)
+            : response.releaseBody().then(Mono.error(new ResponseStatusException(response.statusCode(),
+                "flight search failed"))))
+        .onErrorMap(ex -> !(ex instanceof ResponseStatusException),
+            ex -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "flight search unavailable", ex));
+  }
+
+  /** {@code result} is one flight-search {@code PricedFlight}: {@code {"flight":{...},"totalPrice":null,...}}. */
+  private Mono<Offer> offer(JsonNode result, int seats, int bags, long deadlineNanos) {
+    JsonNode flight = result.path("flight");
+    boolean available = flight.path("seatsAvailable").asInt(0) >= seats;
+    BigDecimal baseFare = flight.hasNonNull("baseFare") ? flight.get("baseFare").decimalValue() : BigDecimal.ZERO;
+    Offer degraded = new Offer(flight, baseFare, FALLBACK_CURRENCY, available, true);
+
+    return Mono.defer(() -> {
+      Duration left = remaining(deadlineNanos);
+      if (left.isZero()) return Mono.just(degraded);
+      return client.get()
+          .uri(pricingUrl, uri -> uri
+              .queryParam("baseFare", baseFare)
+              .queryParam("currency", flight.path("currency").asText(FALLBACK_CURRENCY))
+              .queryParam("bags", bags)
+              .build())
+          .header(HttpHeaders.ACCEPT, INTERNAL_ACCEPT)
+          .retrieve()
+          .bodyToMono(JsonNode.class)
+          .map(quote -> new Offer(flight, quote.get("totalFare").decimalValue(), quote.get("currency").asText(),
+              available, false))
+          .timeout(left)
+          .onErrorResume(ex -> {
+            log.debug("Quote for {} degraded: {}", flight.path("flightNumber").asText(), ex.toString());
+            return Mono.just(degraded);
+          });
+    });
+  }
+
+  private static Duration remaining(long deadlineNanos) {
+    return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+  }
+
+  private static int intParam(ServerRequest request, String name, int defaultValue) {
+    try {
+      return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    } catch (NumberFormatException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be an integer");
+    }
+  }
+}
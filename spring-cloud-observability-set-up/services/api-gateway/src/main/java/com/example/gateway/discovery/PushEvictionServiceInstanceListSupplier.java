@@ -0,0 +1,29 @@
+package com.example.gateway.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/** Sits on top of the cached instance list and hides instances eureka-server pushed as gone. */
+public class PushEvictionServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+  private final InstanceEvictions evictions;
+
+  public PushEvictionServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, InstanceEvictions evictions) {
+    super(delegate);
+    this.evictions = evictions;
+  }
+
+  @Override
+  public Flux<List<ServiceInstance>> get() {
+    return delegate.get().map(this::filter);
+  }
+
+  private List<ServiceInstance> filter(List<ServiceInstance> instances) {
+    if (evictions.size() == 0) return instances;
+    return instances.stream().filter(i -> !evictions.isEvicted(i.getInstanceId())).toList();
+  }
+}
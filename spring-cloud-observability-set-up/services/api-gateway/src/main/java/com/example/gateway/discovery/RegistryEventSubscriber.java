@@ -0,0 +1,117 @@
+package com.example.gateway.discovery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Follows eureka-server's {@code /registry/events} stream and feeds {@link InstanceEvictions}:
+ * CANCELED or a non-UP registration evicts the instance, an UP registration restores it.
+ * Reconnects with exponential backoff; while disconnected the regular registry fetch still applies.
+ */
+public class RegistryEventSubscriber implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(RegistryEventSubscriber.class);
+  private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+  private final URI eventsUrl;
+  private final InstanceEvictions evictions;
+  private final ObjectMapper mapper;
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(2))
+      .build();
+
+  private volatile boolean running;
+  private volatile Thread worker;
+  private volatile Stream<String> current;
+
+  public RegistryEventSubscriber(URI eventsUrl, InstanceEvictions evictions, ObjectMapper mapper) {
+    this.eventsUrl = eventsUrl;
+    this.evictions = evictions;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = new Thread(this::follow, "registry-events");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Stream<String> lines = current;
+    if (lines != null) lines.close();
+    if (worker != null) worker.interrupt();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  void handle(String json) {
+    try {
+      JsonNode event = mapper.readTree(json);
+      String instanceId = event.path("instanceId").asText(null);
+      if (instanceId == null) return;
+      boolean up = "REGISTERED".equals(event.path("type").asText()) && "UP".equals(event.path("status").asText());
+      if (up) {
+        evictions.restore(instanceId);
+      } else {
+        evictions.evict(instanceId);
+        log.info("Evicted {} ({}) from load balancing on pushed {} event",
+            instanceId, event.path("app").asText(), event.path("type").asText());
+      }
+    } catch (IOException ex) {
+      log.debug("Ignoring malformed registry event: {}", json);
+    }
+  }
+
+  private void follow() {
+    Duration backoff = Duration.ofSeconds(1);
+    while (running) {
+      try {
+        var request = HttpRequest.newBuilder(eventsUrl).header("Accept", "text/event-stream").GET().build();
+        HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+          response.body().close();
+          throw new IOException("HTTP " + response.statusCode());
+        }
+        log.info("Subscribed to registry events at {}", eventsUrl);
+        backoff = Duration.ofSeconds(1);
+        try (Stream<String> lines = response.body()) {
+          current = lines;
+          lines.filter(line -> line.startsWith("data:")).forEach(line -> handle(line.substring(5).trim()));
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException | RuntimeException ex) {
+        if (running) log.debug("Registry event stream unavailable: {}", ex.toString());
+      } finally {
+        current = null;
+      }
+      if (!running) return;
+      try {
+        Thread.sleep(backoff.toMillis());
+      } catch (InterruptedException ex) {
+        return;
+      }
+      backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+    }
+  }
+}
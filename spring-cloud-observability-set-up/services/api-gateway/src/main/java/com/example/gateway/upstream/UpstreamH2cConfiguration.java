@@ -0,0 +1,23 @@
+package com.example.gateway.upstream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * HTTP/2 over cleartext to backends. The gateway's {@code httpclient} properties have no protocol
+ * setting, so it is applied as a customizer. With both protocols enabled Reactor Netty offers an h2c
+ * upgrade on each new connection and stays on HTTP/1.1 where the backend declines
+ * ({@code server.http2.enabled} is off).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "gateway.upstream.h2c", havingValue = "true")
+public class UpstreamH2cConfiguration {
+
+  @Bean
+  HttpClientCustomizer h2cUpstream() {
+    return client -> client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.gateway.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+  private static final Duration INTERVAL = Duration.ofMillis(100);
+
+  private final AtomicLong now = new AtomicLong();
+  private final List<Sinks.Empty<Void>> open = new ArrayList<>();
+  private final WebFilterChain held = exchange -> {
+    Sinks.Empty<Void> sink = Sinks.empty();
+    open.add(sink);
+    return sink.asMono();
+  };
+
+  private final AdmissionControlFilter filter = new AdmissionControlFilter(new AdmissionProperties(
+      true, 10, INTERVAL, Duration.ofMillis(1500), 0.5, 0.25, List.of(
+          new AdmissionProperties.RouteClass("bookings", 0, List.of("/api/bookings/**"), null, 1,
+              Duration.ofMillis(200)),
+          new AdmissionProperties.RouteClass("browse", 1, List.of("/api/flights/**", "/api/offers/**"), 8, 2,
+              null))),
+      now::get);
+
+  @Test
+  void browse_cannot_take_the_capacity_reserved_for_bookings() {
+    for (int i = 0; i < 8; i++) assertThat(status(call("/api/flights/search"))).isNull();
+
+    MockServerWebExchange shed = call("/api/offers/search");
+    assertThat(status(shed)).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+    assertThat(status(call("/api/bookings"))).isNull();
+    assertThat(status(call("/api/bookings/ABC123"))).isNull();
+    assertThat(status(call("/api/bookings"))).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+    open.forEach(Sinks.Empty::tryEmitEmpty);
+    assertThat(status(call("/api/flights/search"))).isNull();
+  }
+
+  @Test
+  void unclassified_paths_are_not_counted() {
+    for (int i = 0; i < 20; i++) assertThat(status(call("/actuator/health"))).isNull();
+    assertThat(status(call("/api/bookings"))).isNull();
+  }
+
+  @Test
+  void slow_bookings_throttle_browse_until_they_recover() {
+    // Every booking in the interval takes 300ms (target 200ms): a standing queue, not a burst.
+    finishAfter("/api/bookings", 300);
+    finishAfter("/api/bookings", 350);
+    now.addAndGet(INTERVAL.toNanos());
+    call("/api/flights/search");
+    assertThat(filter.limit("browse")).isEqualTo(4);
+    assertThat(filter.limit("bookings")).isEqualTo(10);
+
+    finishAfter("/api/bookings", 300);
+    now.addAndGet(INTERVAL.toNanos());
+    call("/api/flights/search");
+    assertThat(filter.limit("browse")).isEqualTo(2);
+
+    open.forEach(Sinks.Empty::tryEmitEmpty);
+    open.clear();
+    call("/api/flights/search");
+    call("/api/flights/search");
+    assertThat(status(call("/api/flights/search"))).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+    // One fast booking shows the queue has drained: browse grows back by a quarter of its max per interval.
+    finishAfter("/api/bookings", 50);
+    now.addAndGet(INTERVAL.toNanos());
+    call("/api/bookings");
+    assertThat(filter.limit("browse")).isEqualTo(4);
+    now.addAndGet(INTERVAL.toNanos());
+    call("/api/bookings");
+    now.addAndGet(INTERVAL.toNanos());
+    call("/api/bookings");
+    assertThat(filter.limit("browse")).isEqualTo(8);
+  }
+
+  private MockServerWebExchange call(String path) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    filter.filter(exchange, held).subscribe();
+    return exchange;
+  }
+
+  private void finishAfter(String path, long millis) {
+    call(path);
+    Sinks.Empty<Void> sink = open.remove(open.size() - 1);
+    now.addAndGet(Duration.ofMillis(millis).toNanos());
+    sink.tryEmitEmpty();
+    now.addAndGet(-Duration.ofMillis(millis).toNanos());
+  }
+
+  private static HttpStatus status(MockServerWebExchange exchange) {
+    return exchange.getResponse().getStatusCode() == null ? null
+        : HttpStatus.valueOf(exchange.getResponse().getStatusCode().value());
+  }
+}
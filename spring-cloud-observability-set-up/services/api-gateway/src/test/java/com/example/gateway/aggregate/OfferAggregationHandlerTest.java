@@ -0,0 +1,186 @@
+package com.example.gateway.aggregate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferAggregationHandlerTest {
+
+  /** flight-search's {@code List<PricedFlight>} for {@code priced=false}. */
+  private static final String FLIGHTS = """
+      [{"flight":{"id":1,"origin":"MEX","destination":"LAX","departureDate":"2025-12-20","returnDate":null,
+                  "airline":"MX","flightNumber":"MX100","cabin":"ECONOMY","baseFare":100.00,"totalFare":121.00,
+                  "currency":"MXN","seatsAvailable":5},"totalPrice":null,"currency":null},
+       {"flight":{"id":2,"origin":"MEX","destination":"LAX","departureDate":"2025-12-21","returnDate":null,
+                  "airline":"MX","flightNumber":"MX200","cabin":"ECONOMY","baseFare":200.00,"totalFare":242.00,
+                  "currency":"MXN","seatsAvailable":1},"totalPrice":null,"currency":null},
+       {"flight":{"id":3,"origin":"MEX","destination":"LAX","departureDate":"2025-12-22","returnDate":null,
+                  "airline":"MX","flightNumber":"MX300","cabin":"BUSINESS","baseFare":300.00,"totalFare":363.00,
+                  "currency":"MXN","seatsAvailable":9},"totalPrice":null,"currency":null}]
+      """;
+
+  private final AtomicInteger flightCalls = new AtomicInteger();
+  private final AtomicInteger quoteCalls = new AtomicInteger();
+  private final AtomicReference<URI> lastSearch = new AtomicReference<>();
+
+  @Test
+  void merges_search_and_parallel_quotes_into_one_response() {
+    var client = client(Map.of(), Duration.ZERO, HttpStatus.OK);
+
+    client.get().uri("/api/offers/search?origin=MEX&destination=LAX&dateFrom=2025-12-20&dateTo=2025-12-28&seats=2&bags=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(OfferAggregationHandler.FALLBACKS_HEADER, "0")
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(3)
+        .jsonPath("$[0].flight.flightNumber").isEqualTo("MX100")
+        .jsonPath("$[0].flight.cabin").isEqualTo("ECONOMY")
+        .jsonPath("$[0].totalPrice").isEqualTo(151.0)
+        .jsonPath("$[0].currency").isEqualTo("MXN")
+        .jsonPath("$[0].available").isEqualTo(true)
+        .jsonPath("$[1].available").isEqualTo(false)
+        .jsonPath("$[2].totalPrice").isEqualTo(393.0)
+        .jsonPath("$[0].fallback").doesNotExist();
+
+    assertThat(flightCalls).hasValue(1);
+    assertThat(quoteCalls).hasValue(3);
+  }
+
+  @Test
+  void page_parameters_reach_flight_search_and_the_cursor_comes_back() {
+    client(Map.of(), Duration.ZERO, HttpStatus.OK)
+        .get().uri("/api/offers/search?origin=MEX&destination=LAX&dateFrom=2025-12-20&dateTo=2025-12-28"
+            + "&sort=price&cabin=ECONOMY&airline=AM&minSeats=2&limit=3&cursor=abc&bags=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(OfferAggregationHandler.NEXT_CURSOR_HEADER, "next-page");
+
+    var params = UriComponentsBuilder.fromUri(lastSearch.get()).build().getQueryParams();
+    assertThat(params.toSingleValueMap()).containsEntry("sort", "price").containsEntry("cabin", "ECONOMY")
+        .containsEntry("airline", "AM").containsEntry("minSeats", "2").containsEntry("limit", "3")
+        .containsEntry("cursor", "abc").containsEntry("priced", "false").doesNotContainKey("bags");
+  }
+
+  @Test
+  void failed_or_late_quotes_degrade_like_price_fallback_and_the_deadline_holds() {
+    var client = client(Map.of("200.0", HttpStatus.INTERNAL_SERVER_ERROR, "300.0", HttpStatus.REQUEST_TIMEOUT),
+        Duration.ZERO, HttpStatus.OK);
+
+    long start = System.nanoTime();
+    client.get().uri("/api/offers/search?origin=MEX&destination=LAX&dateFrom=2025-12-20&dateTo=2025-12-28")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(OfferAggregationHandler.FALLBACKS_HEADER, "2")
+        .expectBody()
+        .jsonPath("$[0].totalPrice").isEqualTo(121.0)
+        .jsonPath("$[1].totalPrice").isEqualTo(200.0)
+        .jsonPath("$[1].currency").isEqualTo("USD")
+        .jsonPath("$[2].totalPrice").isEqualTo(300.0)
+        .jsonPath("$[2].currency").isEqualTo("USD");
+    long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    assertThat(millis).isLessThan(300 + 200);
+  }
+
+  @Test
+  void search_failure_fails_the_request() {
+    client(Map.of(), Duration.ofSeconds(2), HttpStatus.OK)
+        .get().uri("/api/offers/search?origin=MEX&destination=LAX&dateFrom=2025-12-20&dateTo=2025-12-28")
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+
+    client(Map.of(), Duration.ZERO, HttpStatus.BAD_REQUEST)
+        .get().uri("/api/offers/search?origin=MEX")
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    assertThat(quoteCalls).hasValue(0);
+  }
+
+  /**
+   * Handler with a 300 ms deadline in front of stubbed downstreams. Quotes follow pricing-service's
+   * rules (21% tax, 30 per bag); a base fare mapped to 408 never answers.
+   */
+  private WebTestClient client(Map<String, HttpStatus> quoteFailures, Duration searchDelay, HttpStatus searchStatus) {
+    WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+      assertThat(request.headers().getFirst(HttpHeaders.ACCEPT)).startsWith("application/x-jackson-smile");
+      if (request.url().getHost().equals("flight-search-service")) {
+        flightCalls.incrementAndGet();
+        lastSearch.set(request.url());
+        return Mono.delay(searchDelay).then(Mono.just(json(searchStatus, FLIGHTS).mutate()
+            .header(OfferAggregationHandler.NEXT_CURSOR_HEADER, "next-page").build()));
+      }
+      quoteCalls.incrementAndGet();
+      return quote(request, quoteFailures);
+    }).build();
+    var handler = new OfferAggregationHandler(webClient, "http://flight-search-service/api/flights/search",
+        "http://pricing-service/api/pricing/quote", Duration.ofMillis(300), 4);
+    return WebTestClient.bindToRouterFunction(RouterFunctions.route()
+        .GET("/api/offers/search", handler::search).build()).build();
+  }
+
+  private static Mono<ClientResponse> quote(ClientRequest request, Map<String, HttpStatus> failures) {
+    var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+    String baseFare = params.getFirst("baseFare");
+    HttpStatus failure = failures.get(baseFare);
+    if (failure == HttpStatus.REQUEST_TIMEOUT) return Mono.never();
+    if (failure != null) return Mono.just(json(failure, "{}"));
+    double total = Double.parseDouble(baseFare) * 1.21 + 30 * Integer.parseInt(params.getFirst("bags"));
+    return Mono.just(json(HttpStatus.OK,
+        "{\"totalFare\":%.2f,\"currency\":\"%s\"}".formatted(total, params.getFirst("currency"))));
+  }
+
+  @Test
+  void decodes_smile_from_downstreams() throws Exception {
+    var smile = new ObjectMapper(new SmileFactory());
+    byte[] flights = smile.writeValueAsBytes(new ObjectMapper().readTree(FLIGHTS));
+    byte[] quote = smile.writeValueAsBytes(Map.of("totalFare", new BigDecimal("99.99"), "currency", "EUR"));
+    WebClient webClient = WebClient.builder().exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+        .header(HttpHeaders.CONTENT_TYPE, "application/x-jackson-smile")
+        .body(Flux.just(new DefaultDataBufferFactory().wrap(
+            request.url().getHost().equals("flight-search-service") ? flights : quote)))
+        .build())).build();
+    var handler = new OfferAggregationHandler(webClient, "http://flight-search-service/api/flights/search",
+        "http://pricing-service/api/pricing/quote", Duration.ofMillis(300), 4);
+
+    WebTestClient.bindToRouterFunction(RouterFunctions.route().GET("/api/offers/search", handler::search).build()).build()
+        .get().uri("/api/offers/search?origin=MEX&destination=LAX&dateFrom=2025-12-20&dateTo=2025-12-28")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(3)
+        .jsonPath("$[2].flight.flightNumber").isEqualTo("MX300")
+        .jsonPath("$[2].totalPrice").isEqualTo(99.99)
+        .jsonPath("$[2].currency").isEqualTo("EUR");
+  }
+
+  private static ClientResponse json(HttpStatus status, String body) {
+    return ClientResponse.create(status)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(body)
+        .build();
+  }
+}
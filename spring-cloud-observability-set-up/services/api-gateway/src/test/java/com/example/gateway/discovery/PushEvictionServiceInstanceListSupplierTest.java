@@ -0,0 +1,63 @@
+package com.example.gateway.discovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PushEvictionServiceInstanceListSupplierTest {
+
+  private final InstanceEvictions evictions = new InstanceEvictions(Duration.ofSeconds(90));
+  private final RegistryEventSubscriber subscriber =
+      new RegistryEventSubscriber(URI.create("http://localhost:0/registry/events"), evictions, new ObjectMapper());
+  private final PushEvictionServiceInstanceListSupplier supplier = new PushEvictionServiceInstanceListSupplier(
+      ServiceInstanceListSuppliers.from("flight-search-service", instance("search-1"), instance("search-2")),
+      evictions);
+
+  @Test
+  void canceled_instance_is_filtered_and_restored_when_it_registers_up_again() {
+    subscriber.handle("""
+        {"type":"CANCELED","app":"flight-search-service","instanceId":"search-1","status":null,"timestamp":1}""");
+    assertThat(ids()).containsExactly("search-2");
+
+    subscriber.handle("""
+        {"type":"REGISTERED","app":"flight-search-service","instanceId":"search-1","status":"UP","timestamp":2}""");
+    assertThat(ids()).containsExactly("search-1", "search-2");
+  }
+
+  @Test
+  void registration_that_is_not_up_evicts_and_garbage_is_ignored() {
+    subscriber.handle("""
+        {"type":"REGISTERED","app":"flight-search-service","instanceId":"search-2","status":"DOWN","timestamp":1}""");
+    subscriber.handle("not json");
+    subscriber.handle("{}");
+
+    assertThat(ids()).containsExactly("search-1");
+  }
+
+  @Test
+  void evictions_expire_after_the_ttl() throws InterruptedException {
+    var shortLived = new InstanceEvictions(Duration.ofMillis(20));
+    shortLived.evict("search-1");
+    assertThat(shortLived.isEvicted("search-1")).isTrue();
+
+    Thread.sleep(40);
+    assertThat(shortLived.isEvicted("search-1")).isFalse();
+    assertThat(shortLived.size()).isZero();
+  }
+
+  private List<String> ids() {
+    return supplier.get().blockFirst().stream().map(ServiceInstance::getInstanceId).toList();
+  }
+
+  private static ServiceInstance instance(String id) {
+    return new DefaultServiceInstance(id, "flight-search-service", id, 8080, false);
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.gateway.discovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryEventSubscriberTest {
+
+  private final InstanceEvictions evictions = new InstanceEvictions(Duration.ofSeconds(90));
+  private final CountDownLatch done = new CountDownLatch(1);
+  private HttpServer server;
+  private RegistryEventSubscriber subscriber;
+
+  @AfterEach
+  void stop() {
+    if (subscriber != null) subscriber.stop();
+    done.countDown();
+    if (server != null) server.stop(0);
+  }
+
+  @Test
+  void reconnects_after_a_failed_attempt_and_applies_pushed_events() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/registry/events", exchange -> {
+      if (attempts.incrementAndGet() == 1) {
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+      exchange.sendResponseHeaders(200, 0);
+      try (OutputStream out = exchange.getResponseBody()) {
+        write(out, ":subscribed\n\n");
+        write(out, "event:CANCELED\ndata:{\"type\":\"CANCELED\",\"app\":\"flight-search-service\","
+            + "\"instanceId\":\"search-1\",\"status\":null,\"timestamp\":1}\n\n");
+        done.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    server.start();
+
+    subscriber = new RegistryEventSubscriber(
+        URI.create("http://localhost:" + server.getAddress().getPort() + "/registry/events"),
+        evictions, new ObjectMapper());
+    subscriber.start();
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!evictions.isEvicted("search-1") && System.nanoTime() < deadline) Thread.sleep(10);
+
+    assertThat(evictions.isEvicted("search-1")).isTrue();
+    assertThat(attempts).hasValue(2);
+    assertThat(subscriber.isRunning()).isTrue();
+  }
+
+  private static void write(OutputStream out, String frame) throws IOException {
+    out.write(frame.getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+}
@@ -0,0 +1,154 @@
+package com.example.gateway.upstream;
+
+import com.example.gateway.ApiGatewayApplication;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local load test of the gateway path with the default bundle vs the prod profile
+ * (config-bundles/api-gateway-prod.yml): a stub backend serves flight-search-like results of a
+ * typical size, clients send {@code Accept-Encoding: gzip} and count body bytes on the wire.
+ * Size with -Dgateway.load.requests=N. Takes about a minute, so it only runs with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("load")
+class GatewayProdProfileLoadTest {
+
+  private static final int REQUESTS = Integer.getInteger("gateway.load.requests", 2000);
+  private static final int CONCURRENCY = 32;
+  private static final Map<Integer, byte[]> RESULTS = Map.of(1, results(1), 10, results(10), 50, results(50));
+
+  private final Set<String> upstreamProtocols = ConcurrentHashMap.newKeySet();
+  // Own event loops: closing a gateway context disposes Reactor Netty's global ones.
+  private final LoopResources loops = LoopResources.create("load-test");
+  private DisposableServer backend;
+
+  @BeforeEach
+  void startBackend() {
+    backend = HttpServer.create()
+        .runOn(loops)
+        .host("127.0.0.1")
+        .port(0)
+        .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+        .route(routes -> routes.get("/api/flights/search", (request, response) -> {
+          // h2 streams reach handlers as HTTP/1.1 objects; Netty's conversion tags them with the stream id.
+          upstreamProtocols.add(request.requestHeaders().contains("x-http2-stream-id") ? "h2c" : request.protocol());
+          byte[] body = RESULTS.get(Integer.parseInt(request.uri().replaceAll(".*[?&]n=", "")));
+          return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+              .sendByteArray(Mono.just(body));
+        }))
+        .bindNow();
+  }
+
+  @AfterEach
+  void stopBackend() {
+    backend.disposeNow();
+    loops.disposeLater().block();
+  }
+
+  @Test
+  void prod_profile_compresses_typical_results_and_talks_h2c_upstream() {
+    Run plain = run(false);
+    upstreamProtocols.clear();
+    Run prod = run(true);
+
+    System.out.printf("%-8s %-8s %12s %12s %10s%n", "profile", "results", "raw bytes", "wire bytes", "req/s");
+    for (int n : new int[] {1, 10, 50}) {
+      System.out.printf("%-8s %-8d %12d %12d %10.0f%n", "default", n, RESULTS.get(n).length, plain.bytes.get(n), plain.rps.get(n));
+      System.out.printf("%-8s %-8d %12d %12d %10.0f%n", "prod", n, RESULTS.get(n).length, prod.bytes.get(n), prod.rps.get(n));
+    }
+    System.out.println("upstream protocols (prod): " + prod.protocols + ", default: " + plain.protocols);
+
+    assertThat(plain.bytes.get(50)).isEqualTo(RESULTS.get(50).length);
+    assertThat(prod.bytes.get(50)).isLessThan(RESULTS.get(50).length / 5);
+    assertThat(prod.bytes.get(10)).isLessThan(RESULTS.get(10).length / 3);
+    // Below server.compression.min-response-size: sent as is.
+    assertThat(prod.bytes.get(1)).isEqualTo(RESULTS.get(1).length);
+    assertThat(plain.protocols).containsOnly("HTTP/1.1");
+    assertThat(prod.protocols).contains("h2c");
+  }
+
+  private Run run(boolean prod) {
+    String locations = "file:../config-bundles/api-gateway.yml" + (prod ? ",file:../config-bundles/api-gateway-prod.yml" : "");
+    try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ApiGatewayApplication.class).run(
+        "--spring.config.location=" + locations,
+        "--spring.cloud.config.enabled=false",
+        "--eureka.client.enabled=false",
+        "--discovery.push.enabled=false",
+        "--server.port=0",
+        "--spring.cloud.gateway.discovery.locator.enabled=false",
+        "--spring.cloud.gateway.routes[0].id=flights",
+        "--spring.cloud.gateway.routes[0].uri=http://127.0.0.1:" + backend.port(),
+        "--spring.cloud.gateway.routes[0].predicates[0]=Path=/api/flights/**")) {
+      int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+      var provider = ConnectionProvider.builder("load").maxConnections(CONCURRENCY).build();
+      try {
+        HttpClient client = HttpClient.create(provider)
+            .runOn(loops)
+            .baseUrl("http://127.0.0.1:" + port)
+            .headers(h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"));
+        var bytes = new ConcurrentHashMap<Integer, Long>();
+        var rps = new ConcurrentHashMap<Integer, Double>();
+        for (int n : RESULTS.keySet()) {
+          load(client, n, REQUESTS / 4);
+          long start = System.nanoTime();
+          bytes.put(n, load(client, n, REQUESTS));
+          rps.put(n, REQUESTS / ((System.nanoTime() - start) / 1e9));
+        }
+        return new Run(bytes, rps, Set.copyOf(upstreamProtocols));
+      } finally {
+        provider.disposeLater().block();
+      }
+    }
+  }
+
+  /** Sends {@code requests} searches returning {@code n} results; returns the body size of one response. */
+  private static long load(HttpClient client, int n, int requests) {
+    var size = new AtomicLong();
+    Flux.range(0, requests)
+        .flatMap(i -> client.get().uri("/api/flights/search?n=" + n)
+            .responseSingle((response, body) -> {
+              assertThat(response.status().code()).isEqualTo(200);
+              return body.asByteArray();
+            }), CONCURRENCY)
+        .doOnNext(body -> size.set(body.length))
+        .blockLast();
+    return size.get();
+  }
+
+  private static byte[] results(int n) {
+    String json = IntStream.range(0, n).mapToObj(i -> """
+        {"flight":{"id":%d,"origin":"MEX","destination":"LAX","departureDate":"2025-12-%02d","returnDate":null,\
+        "airline":"AM","flightNumber":"AM%d","cabin":"%s","baseFare":%d.00,"totalFare":%d.50,"currency":"USD",\
+        "seatsAvailable":%d},"totalPrice":%d.50,"currency":"USD"}"""
+        .formatted(i, 20 + i % 7, 100 + i, i % 5 == 0 ? "BUSINESS" : "ECONOMY", 150 + i, 181 + i, 9 + i % 40, 181 + i))
+        .collect(Collectors.joining(",", "[", "]"));
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private record Run(Map<Integer, Long> bytes, Map<Integer, Double> rps, Set<String> protocols) {}
+}
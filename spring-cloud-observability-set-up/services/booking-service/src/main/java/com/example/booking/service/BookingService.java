@@ -4,19 +4,43 @@ import com.example.booking.model.Booking;
 import com.example.booking.model.BookingRequest;
 import com.example.booking.model.BookingResponse;
 import com.example.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class BookingService {
   private final BookingRepository repo;
   private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
   private final SecureRandom rnd = new SecureRandom();
-  public BookingService(BookingRepository repo) { this.repo = repo; }
+  // Registered once; only the outcome is tagged so the series count stays fixed.
+  private final Timer created;
+  private final Timer failed;
+
+  public BookingService(BookingRepository repo, MeterRegistry registry) {
+    this.repo = repo;
+    this.created = createTimer("success", registry);
+    this.failed = createTimer("error", registry);
+  }
 
   @Transactional
   public BookingResponse create(BookingRequest req) {
+    long start = System.nanoTime();
+    try {
+      BookingResponse response = doCreate(req);
+      created.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return response;
+    } catch (RuntimeException ex) {
+      failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+  }
+
+  private BookingResponse doCreate(BookingRequest req) {
     Booking b = new Booking();
     b.setRecordLocator(generateLocator(6));
     b.setFlightNumber(req.flightNumber());
@@ -34,6 +58,16 @@ public class BookingService {
     );
   }
 
+  private static Timer createTimer(String outcome, MeterRegistry registry) {
+    return Timer.builder("bookings.create")
+      .description("Booking creation inside its transaction, commit excluded")
+      .tag("outcome", outcome)
+      .publishPercentileHistogram()
+      .minimumExpectedValue(Duration.ofMillis(1))
+      .maximumExpectedValue(Duration.ofSeconds(5))
+      .register(registry);
+  }
+
   private String generateLocator(int len) {
     StringBuilder sb = new StringBuilder(len);
     for (int i = 0; i < len; i++) sb.append(ALPHABET.charAt(rnd.nextInt(ALPHABET.length())));
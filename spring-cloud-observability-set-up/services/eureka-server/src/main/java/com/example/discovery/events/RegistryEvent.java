@@ -0,0 +1,10 @@
+package com.example.discovery.events;
+
+/**
+ * One registry change as pushed to subscribers. {@code status} is the instance status for
+ * REGISTERED events (clients re-register on every status change) and null for CANCELED.
+ */
+public record RegistryEvent(Type type, String app, String instanceId, String status, long timestamp) {
+
+    public enum Type { REGISTERED, CANCELED }
+}
@@ -0,0 +1,22 @@
+package com.example.discovery.events;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Lives outside /eureka/*, which belongs to Eureka's Jersey filter. */
+@RestController
+public class RegistryEventController {
+
+    private final RegistryEventStream stream;
+
+    public RegistryEventController(RegistryEventStream stream) {
+        this.stream = stream;
+    }
+
+    @GetMapping(path = "/registry/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return stream.subscribe();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.discovery.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans registry changes out to SSE subscribers as they happen, so clients can drop a cancelled or
+ * DOWN instance right away instead of waiting for their next delta fetch. Sends happen on a single
+ * dispatcher thread: a slow subscriber never holds up a register or cancel call.
+ */
+@Component
+public class RegistryEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryEventStream.class);
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "registry-event-dispatcher");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Counter published;
+
+    public RegistryEventStream(MeterRegistry registry) {
+        this.published = Counter.builder("eureka.push.events")
+                .description("Registry change events pushed to subscribers")
+                .register(registry);
+        Gauge.builder("eureka.push.subscribers", subscribers, List::size)
+                .description("Connected registry event subscribers")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        try {
+            // Commits the response headers now; otherwise the client sees nothing until the first keep-alive.
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+            return emitter;
+        }
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        var info = event.getInstanceInfo();
+        publish(new RegistryEvent(RegistryEvent.Type.REGISTERED, info.getAppName().toLowerCase(Locale.ROOT),
+                info.getInstanceId(), info.getStatus().name(), System.currentTimeMillis()));
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        publish(new RegistryEvent(RegistryEvent.Type.CANCELED, event.getAppName().toLowerCase(Locale.ROOT),
+                event.getServerId(), null, System.currentTimeMillis()));
+    }
+
+    /** Comment frames keep idle connections from being cut by proxies and reveal dead subscribers. */
+    @Scheduled(fixedDelayString = "${eureka.push.keep-alive-ms:15000}")
+    public void keepAlive() {
+        dispatcher.execute(() -> send(SseEmitter.event().comment("keep-alive")));
+    }
+
+    @PreDestroy
+    void close() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void publish(RegistryEvent event) {
+        if (subscribers.isEmpty()) return;
+        dispatcher.execute(() -> {
+            send(SseEmitter.event().name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+            published.increment();
+        });
+    }
+
+    private void send(SseEmitter.SseEventBuilder frame) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping registry event subscriber: {}", ex.toString());
+                subscribers.remove(emitter);
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
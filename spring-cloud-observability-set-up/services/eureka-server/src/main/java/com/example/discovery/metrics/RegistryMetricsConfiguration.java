@@ -0,0 +1,39 @@
+package com.example.discovery.metrics;
+
+import com.netflix.eureka.registry.AbstractInstanceRegistry;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class RegistryMetricsConfiguration {
+
+    /** Runs ahead of the Jersey filter Eureka registers at the lowest precedence on /eureka/*. */
+    @Bean
+    FilterRegistrationBean<RegistryTrafficMetricsFilter> registryTrafficMetricsFilter(MeterRegistry registry) {
+        var bean = new FilterRegistrationBean<>(new RegistryTrafficMetricsFilter(registry));
+        bean.addUrlPatterns("/eureka/*");
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return bean;
+    }
+
+    /** Cheap counters only; Applications snapshots are rebuilt per call and stay off the scrape path. */
+    @Bean
+    MeterBinder registrySizeMetrics(PeerAwareInstanceRegistry instanceRegistry) {
+        return registry -> {
+            Gauge.builder("eureka.registry.size", instanceRegistry, r -> r instanceof AbstractInstanceRegistry a
+                            ? a.getLocalRegistrySize() : Double.NaN)
+                    .description("Instances registered locally")
+                    .register(registry);
+            Gauge.builder("eureka.registry.renews.last.minute", instanceRegistry,
+                            PeerAwareInstanceRegistry::getNumOfRenewsInLastMin)
+                    .description("Heartbeats received during the last minute")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.discovery.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the Eureka REST traffic clients generate: registry reads ({@code eureka.registry.reads}, by full,
+ * delta or single-app fetch and by gzip vs identity encoding) and instance writes
+ * ({@code eureka.registry.writes}; the heartbeat rate is {@code rate(...{kind="heartbeat"}[1m])}).
+ * Application names and instance ids are never tags, so the timers form a small fixed set; each one is
+ * built on first use and cached, and the request path only does a map lookup.
+ */
+public class RegistryTrafficMetricsFilter extends OncePerRequestFilter {
+
+    static final String READS = "eureka.registry.reads";
+    static final String WRITES = "eureka.registry.writes";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public RegistryTrafficMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String kind = classify(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (kind == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            timer(request, response, kind).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(HttpServletRequest request, HttpServletResponse response, String kind) {
+        String encoding = null;
+        if (kind.startsWith("read:")) {
+            String accept = request.getHeader("Accept-Encoding");
+            encoding = accept != null && accept.contains("gzip") ? "gzip" : "identity";
+        }
+        return timers.computeIfAbsent(new TimerKey(kind, encoding, response.getStatus()), this::register);
+    }
+
+    private Timer register(TimerKey key) {
+        if (key.encoding() != null) {
+            return Timer.builder(READS)
+                    .tag("kind", key.kind().substring(5))
+                    .tag("encoding", key.encoding())
+                    .tag("status", String.valueOf(key.status()))
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(2))
+                    .register(registry);
+        }
+        return Timer.builder(WRITES)
+                .tag("kind", key.kind())
+                .tag("status", String.valueOf(key.status()))
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    /** Encoding is null for writes. */
+    private record TimerKey(String kind, String encoding, int status) {
+    }
+
+    /**
+     * Maps the Eureka v2 REST API onto a small fixed set of kinds; null for anything not worth timing
+     * (dashboard, status overrides, peer replication batches).
+     */
+    static String classify(String method, String path) {
+        if (!path.startsWith("/eureka/apps")) return null;
+        String rest = path.substring("/eureka/apps".length());
+        if (rest.endsWith("/")) rest = rest.substring(0, rest.length() - 1);
+        int segments = rest.isEmpty() ? 0 : rest.substring(1).split("/").length;
+
+        if ("GET".equals(method)) {
+            if (segments == 0) return "read:full";
+            if ("/delta".equals(rest)) return "read:delta";
+            if (segments == 1) return "read:app";
+            return null;
+        }
+        if (segments == 1 && "POST".equals(method)) return "register";
+        if (segments == 2 && "PUT".equals(method)) return "heartbeat";
+        if (segments == 2 && "DELETE".equals(method)) return "cancel";
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.discovery;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RegistryEventStreamTest {
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void cancel_is_pushed_to_subscribers_within_milliseconds() throws Exception {
+        BlockingQueue<String> data = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> stream = http.send(HttpRequest.newBuilder(uri("/registry/events")).build(),
+                HttpResponse.BodyHandlers.ofLines());
+        Thread reader = new Thread(() -> stream.body().filter(l -> l.startsWith("data:")).forEach(data::add));
+        reader.setDaemon(true);
+        reader.start();
+
+        String instance = """
+                {"instance":{"instanceId":"pricing-1","hostName":"pricing-1","app":"PRICING-SERVICE","ipAddr":"10.0.0.1",
+                "status":"UP","port":{"$":8081,"@enabled":"true"},
+                "dataCenterInfo":{"@class":"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo","name":"MyOwn"}}}
+                """;
+        assertThat(http.send(HttpRequest.newBuilder(uri("/eureka/apps/PRICING-SERVICE"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(instance)).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode()).isEqualTo(204);
+        assertThat(data.poll(5, TimeUnit.SECONDS))
+                .contains("\"type\":\"REGISTERED\"", "\"app\":\"pricing-service\"", "\"instanceId\":\"pricing-1\"");
+
+        long start = System.nanoTime();
+        http.send(HttpRequest.newBuilder(uri("/eureka/apps/PRICING-SERVICE/pricing-1")).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding());
+        String canceled = data.poll(5, TimeUnit.SECONDS);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(canceled).contains("\"type\":\"CANCELED\"", "\"instanceId\":\"pricing-1\"");
+        assertThat(Duration.ofMillis(millis)).isLessThan(Duration.ofMillis(500));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
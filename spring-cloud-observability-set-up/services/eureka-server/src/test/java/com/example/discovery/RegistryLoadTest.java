@@ -0,0 +1,165 @@
+package com.example.discovery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load generator: registers a few thousand instances over the REST API, sends a round of heartbeats
+ * and compares full vs delta registry fetches. Size with -Deureka.load.instances=N. Takes about 35 s, so
+ * it only runs with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.server.response-cache-update-interval-ms=500",
+        "eureka.server.retention-time-in-m-s-in-delta-queue=2000",
+        "eureka.server.delta-retention-timer-interval-in-ms=500",
+        "eureka.server.enable-self-preservation=false"
+})
+class RegistryLoadTest {
+
+    private static final int INSTANCES = Integer.getInteger("eureka.load.instances", 2000);
+    private static final int APPS = 50;
+    private static final int CONCURRENCY = 64;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MeterRegistry meters;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void full_snapshot_and_delta_under_thousands_of_instances() throws Exception {
+        long t0 = System.nanoTime();
+        assertThat(run(INSTANCES, this::register)).allMatch(s -> s == 204);
+        long tr = System.nanoTime();
+        assertThat(run(INSTANCES, this::heartbeat)).allMatch(s -> s == 200);
+        long t1 = System.nanoTime();
+        assertThat(run(INSTANCES, this::heartbeat)).allMatch(s -> s == 200);
+        long t2 = System.nanoTime();
+
+        awaitFull(INSTANCES);
+        long fullGzipBytes = 0;
+        long fetchStart = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            fullGzipBytes = get("/eureka/apps", true).body().length;
+        }
+        double fullMillis = (System.nanoTime() - fetchStart) / 20 / 1e6;
+        int fullBytes = get("/eureka/apps", false).body().length;
+
+        // Let the initial registrations age out of the delta queue, then change a handful of instances.
+        Thread.sleep(3000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(register(i).join()).isEqualTo(204);
+        }
+        byte[] delta = awaitDelta(10);
+
+        System.out.printf("%d instances: register %.0f/s, heartbeat (2nd round) %.0f/s; full fetch %.1f ms, %d bytes (%d gzip); "
+                        + "delta for 10 changes %d bytes%n",
+                INSTANCES, INSTANCES / ((tr - t0) / 1e9), INSTANCES / ((t2 - t1) / 1e9),
+                fullMillis, fullBytes, fullGzipBytes, delta.length);
+
+        assertThat(fullGzipBytes).isLessThan(fullBytes / 5);
+        assertThat(delta.length).isLessThan(fullBytes / 50);
+        assertThat(meters.get("eureka.registry.writes").tag("kind", "heartbeat").timer().count())
+                .isGreaterThanOrEqualTo(2 * INSTANCES);
+        assertThat(meters.get("eureka.registry.reads").tag("kind", "full").tag("encoding", "gzip").timer().count())
+                .isGreaterThanOrEqualTo(20);
+        assertThat(meters.get("eureka.registry.size").gauge().value()).isEqualTo(INSTANCES);
+    }
+
+    private CompletableFuture<Integer> register(int i) {
+        String body = """
+                {"instance":{"instanceId":"%2$s","hostName":"host-%1$d","app":"%3$s","ipAddr":"10.0.%4$d.%5$d",
+                "status":"UP","port":{"$":8080,"@enabled":"true"},"vipAddress":"%3$s",
+                "dataCenterInfo":{"@class":"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo","name":"MyOwn"}}}
+                """.formatted(i, instanceId(i), app(i), i / 256, i % 256);
+        return send(HttpRequest.newBuilder(uri("/eureka/apps/" + app(i)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build());
+    }
+
+    private CompletableFuture<Integer> heartbeat(int i) {
+        return send(HttpRequest.newBuilder(uri("/eureka/apps/" + app(i) + "/" + instanceId(i) + "?status=UP"))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private void awaitFull(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (count(get("/eureka/apps", false).body(), "\"instanceId\"") >= expected) return;
+            Thread.sleep(200);
+        }
+        throw new AssertionError("full registry never reached " + expected + " instances");
+    }
+
+    private byte[] awaitDelta(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            byte[] body = get("/eureka/apps/delta", false).body();
+            if (count(body, "\"instanceId\"") == expected) return body;
+            Thread.sleep(200);
+        }
+        throw new AssertionError("delta never settled on " + expected + " instances");
+    }
+
+    /** Fires {@code task(0..n-1)} with at most CONCURRENCY requests in flight; returns the statuses in order. */
+    private List<Integer> run(int n, IntFunction<CompletableFuture<Integer>> task) {
+        var permits = new Semaphore(CONCURRENCY);
+        var futures = new ArrayList<CompletableFuture<Integer>>(n);
+        for (int i = 0; i < n; i++) {
+            permits.acquireUninterruptibly();
+            futures.add(task.apply(i).whenComplete((r, e) -> permits.release()));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private HttpResponse<byte[]> get(String path, boolean gzip) {
+        var request = HttpRequest.newBuilder(uri(path)).header("Accept", "application/json");
+        if (gzip) request.header("Accept-Encoding", "gzip");
+        return http.sendAsync(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray()).join();
+    }
+
+    private CompletableFuture<Integer> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String app(int i) {
+        return "LOAD-" + (i % APPS);
+    }
+
+    private static String instanceId(int i) {
+        return "load-" + i;
+    }
+
+    private static int count(byte[] body, String token) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        int n = 0;
+        for (int at = text.indexOf(token); at >= 0; at = text.indexOf(token, at + token.length())) n++;
+        return n;
+    }
+}
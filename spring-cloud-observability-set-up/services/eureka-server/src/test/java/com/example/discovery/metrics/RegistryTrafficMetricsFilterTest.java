@@ -0,0 +1,49 @@
+package com.example.discovery.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryTrafficMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RegistryTrafficMetricsFilter filter = new RegistryTrafficMetricsFilter(registry);
+
+    @Test
+    void classifies_the_eureka_rest_api() {
+        assertThat(RegistryTrafficMetricsFilter.classify("GET", "/eureka/apps")).isEqualTo("read:full");
+        assertThat(RegistryTrafficMetricsFilter.classify("GET", "/eureka/apps/")).isEqualTo("read:full");
+        assertThat(RegistryTrafficMetricsFilter.classify("GET", "/eureka/apps/delta")).isEqualTo("read:delta");
+        assertThat(RegistryTrafficMetricsFilter.classify("GET", "/eureka/apps/PRICING-SERVICE")).isEqualTo("read:app");
+        assertThat(RegistryTrafficMetricsFilter.classify("POST", "/eureka/apps/PRICING-SERVICE")).isEqualTo("register");
+        assertThat(RegistryTrafficMetricsFilter.classify("PUT", "/eureka/apps/PRICING-SERVICE/p1")).isEqualTo("heartbeat");
+        assertThat(RegistryTrafficMetricsFilter.classify("DELETE", "/eureka/apps/PRICING-SERVICE/p1")).isEqualTo("cancel");
+        assertThat(RegistryTrafficMetricsFilter.classify("PUT", "/eureka/apps/PRICING-SERVICE/p1/status")).isNull();
+        assertThat(RegistryTrafficMetricsFilter.classify("GET", "/")).isNull();
+    }
+
+    @Test
+    void repeated_requests_reuse_one_timer_per_tag_set() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            request("PUT", "/eureka/apps/PRICING-SERVICE/p" + i, null);
+            request("GET", "/eureka/apps", "gzip, deflate");
+        }
+        request("GET", "/eureka/apps", null);
+
+        assertThat(registry.getMeters()).hasSize(3);
+        assertThat(registry.get(RegistryTrafficMetricsFilter.WRITES).tag("kind", "heartbeat").tag("status", "200")
+                .timer().count()).isEqualTo(100);
+        assertThat(registry.get(RegistryTrafficMetricsFilter.READS).tag("encoding", "gzip").timer().count()).isEqualTo(100);
+        assertThat(registry.get(RegistryTrafficMetricsFilter.READS).tag("encoding", "identity").timer().count()).isEqualTo(1);
+    }
+
+    private void request(String method, String path, String acceptEncoding) throws Exception {
+        var request = new MockHttpServletRequest(method, path);
+        if (acceptEncoding != null) request.addHeader("Accept-Encoding", acceptEncoding);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
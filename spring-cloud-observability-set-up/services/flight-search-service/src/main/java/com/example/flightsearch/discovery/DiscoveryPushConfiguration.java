@@ -0,0 +1,34 @@
+package com.example.flightsearch.discovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Push-based eviction for Feign calls: instances eureka-server reports as gone are filtered out of
+ * every LoadBalancer client's instance list right away instead of after the next registry fetch and
+ * cache expiry (tens of seconds).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "discovery.push.enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PushEvictionLoadBalancerConfiguration.class)
+public class DiscoveryPushConfiguration {
+
+    @Bean
+    InstanceEvictions instanceEvictions(@Value("${discovery.push.eviction-ttl:90s}") Duration ttl) {
+        return new InstanceEvictions(ttl);
+    }
+
+    @Bean
+    RegistryEventSubscriber registryEventSubscriber(
+            @Value("${discovery.push.events-url:http://localhost:8761/registry/events}") URI eventsUrl,
+            InstanceEvictions evictions, ObjectMapper mapper) {
+        return new RegistryEventSubscriber(eventsUrl, evictions, mapper);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.flightsearch.discovery;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instance ids eureka-server reported as gone (cancelled, evicted or not UP). Entries expire after
+ * {@code ttl}, by which time the regular registry fetch has caught up with the same change.
+ */
+public class InstanceEvictions {
+
+    private final ConcurrentHashMap<String, Long> evictedUntil = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public InstanceEvictions(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public void evict(String instanceId) {
+        evictedUntil.put(instanceId, System.nanoTime() + ttlNanos);
+    }
+
+    public void restore(String instanceId) {
+        evictedUntil.remove(instanceId);
+    }
+
+    public boolean isEvicted(String instanceId) {
+        if (instanceId == null || evictedUntil.isEmpty()) return false;
+        Long until = evictedUntil.get(instanceId);
+        if (until == null) return false;
+        if (System.nanoTime() - until < 0) return true;
+        evictedUntil.remove(instanceId, until);
+        return false;
+    }
+
+    public int size() {
+        return evictedUntil.size();
+    }
+}
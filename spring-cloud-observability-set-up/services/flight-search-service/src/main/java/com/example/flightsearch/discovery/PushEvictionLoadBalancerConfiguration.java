@@ -0,0 +1,23 @@
+package com.example.flightsearch.discovery;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Per-client LoadBalancer configuration (not component-scanned on purpose): the default blocking
+ * discovery + caching chain with the push eviction filter on top, so evictions apply without waiting
+ * for the cache to expire.
+ */
+public class PushEvictionLoadBalancerConfiguration {
+
+    @Bean
+    ServiceInstanceListSupplier pushEvictionServiceInstanceListSupplier(ConfigurableApplicationContext context) {
+        InstanceEvictions evictions = context.getBean(InstanceEvictions.class);
+        return ServiceInstanceListSupplier.builder()
+                .withBlockingDiscoveryClient()
+                .withCaching()
+                .with((ctx, delegate) -> new PushEvictionServiceInstanceListSupplier(delegate, evictions))
+                .build(context);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.flightsearch.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/** {@code logging.async.*} meters for the {@link MeteredAsyncAppender} ring buffer from logback-spring.xml. */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("logging.async.queued", MeteredAsyncAppender::queued)
+                .description("Log events in the ring buffer, not yet written")
+                .register(registry);
+        Gauge.builder("logging.async.capacity", MeteredAsyncAppender::capacity)
+                .description("Ring buffer size")
+                .register(registry);
+        FunctionCounter.builder("logging.async.dropped", MeteredAsyncAppender.class, c -> MeteredAsyncAppender.dropped())
+                .description("Log events dropped because the ring buffer was (nearly) full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.flightsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring-buffer (LMAX Disruptor) appender in front of the file and console appenders. The calling thread
+ * only copies the event into a pre-allocated slot. One consumer thread encodes and writes the events and
+ * flushes once per batch. It never blocks the caller:
+ * <ul>
+ *   <li>When less than {@code lowPriorityHeadroomPercent} of the buffer is free, events below WARN are
+ *   dropped. The remaining space is kept for warnings and errors.</li>
+ *   <li>When the buffer is full, everything is dropped ({@code appendTimeout} 0).</li>
+ * </ul>
+ * Logback creates appenders itself and re-creates them when the configuration is rescanned, so the
+ * counts are exposed statically, summed over the running instances (see {@link AsyncLoggingMetrics}).
+ */
+public class MeteredAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private static final Set<MeteredAsyncAppender> RUNNING = new CopyOnWriteArraySet<>();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private int lowPriorityHeadroomPercent = 20;
+    private int lowPriorityHeadroom;
+
+    public MeteredAsyncAppender() {
+        addListener(new AppenderListener<>() {
+            @Override
+            public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event,
+                                          Throwable reason) {
+                DROPPED.increment();
+            }
+        });
+    }
+
+    public void setLowPriorityHeadroomPercent(int percent) {
+        this.lowPriorityHeadroomPercent = percent;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (!isStarted()) return;
+        lowPriorityHeadroom = (int) ((long) getRingBufferSize() * lowPriorityHeadroomPercent / 100);
+        RUNNING.add(this);
+    }
+
+    @Override
+    public void stop() {
+        RUNNING.remove(this);
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (lowPriorityHeadroom > 0 && !event.getLevel().isGreaterOrEqual(Level.WARN)
+                && getDisruptor().getRingBuffer().remainingCapacity() < lowPriorityHeadroom) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /** Events waiting to be written, over all running instances. */
+    public static long queued() {
+        long queued = 0;
+        for (MeteredAsyncAppender appender : RUNNING) {
+            queued += appender.getRingBufferSize() - appender.getDisruptor().getRingBuffer().remainingCapacity();
+        }
+        return queued;
+    }
+
+    public static long capacity() {
+        return RUNNING.stream().mapToLong(MeteredAsyncAppender::getRingBufferSize).sum();
+    }
+
+    /** Events dropped since the JVM started, by the headroom rule or because the buffer was full. */
+    public static long dropped() {
+        return DROPPED.sum();
+    }
+}
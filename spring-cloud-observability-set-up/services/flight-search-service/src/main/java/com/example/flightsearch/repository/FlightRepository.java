@@ -2,11 +2,8 @@ package com.example.flightsearch.repository;
 
 import com.example.flightsearch.domain.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-import java.time.LocalDate;
-import java.util.List;
-
-public interface FlightRepository extends JpaRepository<Flight, Long> {
-
-  List<Flight> search(String origin, String destination, LocalDate dateFrom, LocalDate dateTo);
+/** Route searches are built as specifications by {@code FlightSearchService}, one page per query. */
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight> {
 }
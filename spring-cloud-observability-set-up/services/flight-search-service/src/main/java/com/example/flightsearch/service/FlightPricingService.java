@@ -1,6 +1,8 @@
 package com.example.flightsearch.service;
 
 import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.tracing.TailSamplingSpanProcessor;
+import io.micrometer.tracing.Tracer;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
@@ -16,33 +18,37 @@ import static java.util.Objects.requireNonNull;
 public class FlightPricingService {
 
     private final PricingClient pricingClient;
+    private final Tracer tracer;
 
     @Retry(name = "pricing")
     @CircuitBreaker(name = "pricing", fallbackMethod = "priceFallback")
-    public PricedFlight priceFlight(Flight flight, String passengerType, int seats) {
+    public PricedFlight priceFlight(Flight flight) {
         requireNonNull(flight, "flight is required");
-        var date = flight.getDepartureDate().toString();
 
         final var quote = pricingClient.quote(
-                flight.getFlightNumber(),
-                date,
-                passengerType,
-                seats
+                requireNonNull(flight.getBaseFare(), "flight has no base fare"),
+                flight.getCurrency(),
+                0
         );
 
         return PricedFlight.builder()
                 .flight(flight)
-                .totalPrice(quote.total())
+                .totalPrice(quote.totalFare())
                 .currency(quote.currency())
                 .build();
     }
 
-    private PricedFlight priceFallback(Flight flight, String passengerType, int seats, Throwable ex) {
+    private PricedFlight priceFallback(Flight flight, Throwable ex) {
+        var span = tracer.currentSpan();
+        if (span != null) {
+            span.tag(TailSamplingSpanProcessor.FALLBACK_TAG, ex.getClass().getSimpleName());
+        }
         var degradedPrice = flight.getBaseFare() != null ? flight.getBaseFare() : BigDecimal.ZERO;
         return PricedFlight.builder()
                 .flight(flight)
                 .totalPrice(degradedPrice)
                 .currency("USD")
+                .fallback(true)
                 .build();
     }
 }
\ No newline at end of file
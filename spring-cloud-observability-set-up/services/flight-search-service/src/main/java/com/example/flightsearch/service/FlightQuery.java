@@ -0,0 +1,23 @@
+package com.example.flightsearch.service;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * One page of a route search. {@code cabin}, {@code airline} and {@code minSeats} are optional filters;
+ * {@code cursor} is {@code null} for the first page.
+ */
+@Builder
+public record FlightQuery(
+        String origin,
+        String destination,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        String cabin,
+        String airline,
+        Integer minSeats,
+        SearchSort sort,
+        int limit,
+        SearchCursor cursor
+) {}
@@ -1,27 +1,61 @@
 package com.example.flightsearch.service;
 
+import com.example.flightsearch.domain.Flight;
 import com.example.flightsearch.repository.FlightRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+/**
+ * Sorting, filters and the page limit are part of the query, so only one page of flights is read and only
+ * that page is priced: the pricing fan-out and the payload grow with the page size, not with the number
+ * of flights on the route.
+ */
 @Service
 @RequiredArgsConstructor
 public class FlightSearchService {
 
     private final FlightRepository flightRepository;
     private final FlightPricingService flightPricingService;
+    private final SearchMetrics metrics;
 
-    public List<PricedFlight> searchAndPrice(String origin, String destination,
-                                             LocalDate dateFrom, LocalDate dateTo,
-                                             String passengerType, int seats) {
+    public SearchPage searchAndPrice(FlightQuery query) {
+        return search(query, this::price);
+    }
+
+    /**
+     * Same page without pricing: {@code totalPrice} and {@code currency} are left null. For callers that
+     * quote the flights themselves (the gateway's offer aggregation), so nothing is priced twice.
+     */
+    public SearchPage searchUnpriced(FlightQuery query) {
+        return search(query, f -> PricedFlight.builder().flight(f).build());
+    }
+
+    private SearchPage search(FlightQuery query, Function<Flight, PricedFlight> pricing) {
+        long start = System.nanoTime();
 
-        var flights = flightRepository.search(origin, destination, dateFrom, dateTo);
+        // One row past the page tells whether there is a next page without a count query.
+        List<Flight> flights = flightRepository.findBy(FlightSpecifications.matching(query),
+                q -> q.sortBy(FlightSpecifications.sort(query.sort())).limit(query.limit() + 1).all());
+        boolean more = flights.size() > query.limit();
+        List<Flight> page = more ? flights.subList(0, query.limit()) : flights;
 
-        return flights.stream()
-                .map(f -> flightPricingService.priceFlight(f, passengerType, seats))
+        var priced = page.stream()
+                .map(pricing)
                 .toList();
+        String next = more ? SearchCursor.after(query.sort(), page.get(page.size() - 1)).encode() : null;
+
+        metrics.search(priced.size()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new SearchPage(priced, next);
+    }
+
+    private PricedFlight price(Flight flight) {
+        long start = System.nanoTime();
+        var priced = flightPricingService.priceFlight(flight);
+        metrics.pricing(priced.fallback()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return priced;
     }
 }
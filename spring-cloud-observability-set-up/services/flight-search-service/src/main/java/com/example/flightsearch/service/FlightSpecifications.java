@@ -0,0 +1,61 @@
+package com.example.flightsearch.service;
+
+import com.example.flightsearch.domain.Flight;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+  * Route search as a single query: route and date window, the optional filters and, for later pages, the
+  * keyset condition "after the cursor" in the requested order. Combined with {@link #sort} and a row limit
+  * the database returns exactly one page.
+  */
+final class FlightSpecifications {
+
+    private FlightSpecifications() {}
+
+    static Specification<Flight> matching(FlightQuery query) {
+        return (root, cq, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.equal(cb.upper(root.get("origin")), query.origin().toUpperCase()));
+            where.add(cb.equal(cb.upper(root.get("destination")), query.destination().toUpperCase()));
+            where.add(cb.between(root.get("departureDate"), query.dateFrom(), query.dateTo()));
+            if (query.cabin() != null) where.add(cb.equal(cb.upper(root.get("cabin")), query.cabin().toUpperCase()));
+            if (query.airline() != null) where.add(cb.equal(cb.upper(root.get("airline")), query.airline().toUpperCase()));
+            if (query.minSeats() != null) where.add(cb.ge(root.get("seatsAvailable"), query.minSeats()));
+            if (query.cursor() != null) where.add(after(root, cb, query.cursor()));
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+    }
+
+    static Sort sort(SearchSort sort) {
+        return switch (sort) {
+            case DEPARTURE -> Sort.by("departureDate", "totalFare", "id");
+            case PRICE -> Sort.by("totalFare", "departureDate", "id");
+        };
+    }
+
+    /** (a, b, id) > (a0, b0, id0), spelled out because JPA has no row-value comparison. */
+    private static Predicate after(Root<Flight> root, CriteriaBuilder cb, SearchCursor cursor) {
+        boolean byPrice = cursor.sort() == SearchSort.PRICE;
+        String first = byPrice ? "totalFare" : "departureDate";
+        String second = byPrice ? "departureDate" : "totalFare";
+        Comparable<?> firstValue = byPrice ? cursor.totalFare() : cursor.departureDate();
+        Comparable<?> secondValue = byPrice ? cursor.departureDate() : cursor.totalFare();
+        return cb.or(
+                greater(cb, root, first, firstValue),
+                cb.and(cb.equal(root.get(first), firstValue), greater(cb, root, second, secondValue)),
+                cb.and(cb.equal(root.get(first), firstValue), cb.equal(root.get(second), secondValue),
+                        cb.gt(root.get("id"), cursor.id())));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate greater(CriteriaBuilder cb, Root<Flight> root, String attribute, Comparable value) {
+        return cb.greaterThan(root.get(attribute), value);
+    }
+}
@@ -2,9 +2,11 @@ package com.example.flightsearch.service;
 
 import java.math.BigDecimal;
 
+/** pricing-service's {@code PricingQuote}; rulesVersion is not needed here. */
 public record PriceResponse(
         BigDecimal baseFare,
-        BigDecimal seatFeeTotal,
-        BigDecimal total,
+        BigDecimal tax,
+        BigDecimal bagFees,
+        BigDecimal totalFare,
         String currency
 ) {}
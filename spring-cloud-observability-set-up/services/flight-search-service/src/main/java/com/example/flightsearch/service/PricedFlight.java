@@ -2,6 +2,7 @@ package com.example.flightsearch.service;
 
 
 import com.example.flightsearch.domain.Flight;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 
 import java.math.BigDecimal;
@@ -10,5 +11,6 @@ import java.math.BigDecimal;
 public record PricedFlight(
         Flight flight,
         BigDecimal totalPrice,
-        String currency
-) {}
\ No newline at end of file
+        String currency,
+        @JsonIgnore boolean fallback
+) {}
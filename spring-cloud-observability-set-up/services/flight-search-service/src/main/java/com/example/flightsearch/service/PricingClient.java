@@ -4,14 +4,15 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "pricing-service", path = "/api/pricing")
+import java.math.BigDecimal;
+
+@FeignClient(name = "pricing-service", path = "/api/pricing", configuration = PricingClientConfiguration.class)
 public interface PricingClient {
 
     @GetMapping("/quote")
     PriceResponse quote(
-            @RequestParam String flightNumber,
-            @RequestParam String date,
-            @RequestParam String passengerType,
-            @RequestParam int seats
+            @RequestParam BigDecimal baseFare,
+            @RequestParam String currency,
+            @RequestParam int bags
     );
 }
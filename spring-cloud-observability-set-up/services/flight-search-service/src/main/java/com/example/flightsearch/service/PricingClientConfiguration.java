@@ -0,0 +1,25 @@
+package com.example.flightsearch.service;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign configuration for {@link PricingClient} only (not component-scanned: it is registered through
+ * {@code @FeignClient(configuration = ...)}). Asks pricing-service for Smile instead of JSON; Spring MVC
+ * serves it when jackson-dataformat-smile is on the classpath and Feign's decoder picks the matching
+ * converter from the response Content-Type. JSON stays acceptable at a lower weight, so an older
+ * pricing-service keeps working.
+ */
+public class PricingClientConfiguration {
+
+    public static final String SMILE = "application/x-jackson-smile";
+
+    @Bean
+    RequestInterceptor pricingAcceptHeader(@Value("${pricing.client.binary:true}") boolean binary) {
+        return template -> {
+            if (binary) template.header(HttpHeaders.ACCEPT, SMILE + ", application/json;q=0.9");
+        };
+    }
+}
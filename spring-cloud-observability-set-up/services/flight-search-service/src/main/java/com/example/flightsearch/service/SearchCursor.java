@@ -0,0 +1,39 @@
+package com.example.flightsearch.service;
+
+import com.example.flightsearch.domain.Flight;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position after the last flight of a page: its sort key (departure date, total fare) and id. Clients
+ * get it as an opaque token and send it back unchanged; a token is only valid for the sort it was issued for.
+ */
+public record SearchCursor(SearchSort sort, LocalDate departureDate, BigDecimal totalFare, long id) {
+
+    public static SearchCursor after(SearchSort sort, Flight last) {
+        return new SearchCursor(sort, last.getDepartureDate(), last.getTotalFare(), last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + departureDate + "|" + totalFare.toPlainString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token, SearchSort expected) {
+        SearchCursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            cursor = new SearchCursor(SearchSort.valueOf(parts[0]), LocalDate.parse(parts[1]),
+                    new BigDecimal(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("cursor is not valid");
+        }
+        if (cursor.sort() != expected) {
+            throw new IllegalArgumentException("cursor was issued for sort=" + cursor.sort().name().toLowerCase());
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.flightsearch.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Timers for the search hot path, registered once up front so a call only pays for
+ * {@link Timer#record}. Tags are limited to fixed sets (result-size bucket, pricing outcome):
+ * origin/destination are deliberately not tagged, so the series count does not grow with routes.
+ * Histograms are published as Prometheus buckets bounded by the expected latency range;
+ * percentiles are computed server-side instead of per instance.
+ */
+@Component
+public class SearchMetrics {
+
+    static final String SEARCH = "flights.search";
+    static final String PRICING = "flights.pricing";
+
+    /** Upper bound (inclusive) of each result-size bucket; anything above the last is "51+". */
+    private static final int[] RESULT_BOUNDS = {0, 5, 20, 50};
+    private static final String[] RESULT_BUCKETS = {"0", "1-5", "6-20", "21-50", "51+"};
+
+    private final Timer[] search = new Timer[RESULT_BUCKETS.length];
+    private final Timer livePricing;
+    private final Timer fallbackPricing;
+
+    public SearchMetrics(MeterRegistry registry) {
+        for (int i = 0; i < RESULT_BUCKETS.length; i++) {
+            search[i] = histogram(SEARCH, Duration.ofSeconds(10))
+                    .description("Flight search, including pricing of the returned page unless the caller prices it")
+                    .tag("results", RESULT_BUCKETS[i])
+                    .register(registry);
+        }
+        livePricing = pricing("live", registry);
+        fallbackPricing = pricing("fallback", registry);
+    }
+
+    public Timer search(int resultCount) {
+        for (int i = 0; i < RESULT_BOUNDS.length; i++) {
+            if (resultCount <= RESULT_BOUNDS[i]) return search[i];
+        }
+        return search[RESULT_BOUNDS.length];
+    }
+
+    public Timer pricing(boolean fallback) {
+        return fallback ? fallbackPricing : livePricing;
+    }
+
+    private static Timer pricing(String outcome, MeterRegistry registry) {
+        return histogram(PRICING, Duration.ofSeconds(5))
+                .description("Pricing of a single flight, including retries")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Timer.Builder histogram(String name, Duration max) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(max);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.flightsearch.service;
+
+import java.util.List;
+
+/** Priced flights of one page and the cursor of the next one, {@code null} on the last page. */
+public record SearchPage(List<PricedFlight> flights, String nextCursor) {}
@@ -0,0 +1,20 @@
+package com.example.flightsearch.service;
+
+import java.util.Locale;
+
+/** Result orders of {@code /api/flights/search}; both end with the id so keyset cursors are unambiguous. */
+public enum SearchSort {
+
+    /** departure_date, total_fare, id: the order searches always had. */
+    DEPARTURE,
+    /** total_fare, departure_date, id. */
+    PRICE;
+
+    public static SearchSort parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("sort must be one of departure, price");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.flightsearch.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * Head sampler that never drops: whatever the head decision rejects is still recorded (but not
+ * sampled), so {@link TailSamplingSpanProcessor} can keep the trace once it turns out to be interesting.
+ */
+public class RecordingSampler implements Sampler {
+
+    private static final SamplingResult RECORD_ONLY = SamplingResult.recordOnly();
+
+    private final Sampler head;
+
+    public RecordingSampler(Sampler head) {
+        this.head = head;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        var result = head.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        return result.getDecision() == SamplingDecision.DROP ? RECORD_ONLY : result;
+    }
+
+    @Override
+    public String getDescription() {
+        return "RecordingSampler{" + head.getDescription() + "}";
+    }
+}
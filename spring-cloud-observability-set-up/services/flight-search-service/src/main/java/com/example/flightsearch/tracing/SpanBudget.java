@@ -0,0 +1,29 @@
+package com.example.flightsearch.tracing;
+
+/** Token bucket of spans per second, with a burst of one second's worth. */
+class SpanBudget {
+
+    private final double perNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    SpanBudget(int spansPerSecond) {
+        if (spansPerSecond <= 0) {
+            throw new IllegalArgumentException("spans per second must be > 0");
+        }
+        this.perNano = spansPerSecond / 1e9;
+        this.capacity = spansPerSecond;
+        this.tokens = spansPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire(int spans) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * perNano);
+        lastRefill = now;
+        if (tokens < spans) return false;
+        tokens -= spans;
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.flightsearch.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Replaces Boot's head-only sampling: {@code management.tracing.sampling.probability} stays the head rate,
+ * but rejected traces are recorded and go through {@link TailSamplingSpanProcessor} before Boot's
+ * {@link BatchSpanProcessor} exports anything.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "tracing.tail-sampling.enabled", havingValue = "true", matchIfMissing = true)
+public class TailSamplingConfiguration {
+
+    @Bean
+    Sampler tailSamplingHeadSampler(@Value("${management.tracing.sampling.probability:0.1}") double probability) {
+        return new RecordingSampler(Sampler.parentBased(Sampler.traceIdRatioBased(probability)));
+    }
+
+    @Bean
+    SpanProcessors tailSamplingSpanProcessors(
+            BatchSpanProcessor otelSpanProcessor, MeterRegistry registry,
+            @Value("${tracing.tail-sampling.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${tracing.tail-sampling.max-trace-age:30s}") Duration maxTraceAge,
+            @Value("${tracing.tail-sampling.max-pending-spans:20000}") int maxPendingSpans,
+            @Value("${tracing.tail-sampling.max-spans-per-second:200}") int maxSpansPerSecond) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(otelSpanProcessor, slowThreshold, maxTraceAge,
+                maxPendingSpans, maxSpansPerSecond, registry));
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.flightsearch.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.DelegatingSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-instance tail sampling. Spans of every recorded trace are buffered until the trace's local root
+ * ends; the trace is then handed to the exporting processor if it was head-sampled, took longer than
+ * {@code slowThreshold}, contains an error, or was priced through the fallback. Whatever is kept goes
+ * through a spans-per-second budget, so export volume stays flat however much traffic the instance takes.
+ * <p>
+ * Decisions are local: downstream services only see the head decision in the propagated flags.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    /** Span tag set by the pricing fallback; any span of the trace carrying it keeps the trace. */
+    public static final String FALLBACK_TAG = "pricing.fallback";
+
+    private static final AttributeKey<String> FALLBACK = AttributeKey.stringKey(FALLBACK_TAG);
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    enum Decision { ERROR, FALLBACK, SLOW, HEAD, DROPPED, OVER_BUDGET, OVERFLOW }
+
+    private final SpanProcessor exporter;
+    private final long slowNanos;
+    private final long maxTraceAgeNanos;
+    private final int maxPendingSpans;
+    private final SpanBudget budget;
+
+    private final ConcurrentHashMap<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingSpans = new AtomicInteger();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+
+    public TailSamplingSpanProcessor(SpanProcessor exporter, Duration slowThreshold, Duration maxTraceAge,
+                                     int maxPendingSpans, int maxSpansPerSecond, MeterRegistry registry) {
+        this.exporter = exporter;
+        this.slowNanos = slowThreshold.toNanos();
+        this.maxTraceAgeNanos = maxTraceAge.toNanos();
+        this.maxPendingSpans = maxPendingSpans;
+        this.budget = new SpanBudget(maxSpansPerSecond);
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("tracing.tail.traces")
+                    .description("Tail sampling decisions per local trace")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        Gauge.builder("tracing.tail.pending.spans", pendingSpans, AtomicInteger::get)
+                .description("Spans buffered while waiting for their local root to end")
+                .register(registry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            buffer(traceId, span);
+        } else {
+            PendingTrace trace = pending.remove(traceId);
+            List<ReadableSpan> spans = trace == null ? List.of(span) : trace.drain(span);
+            if (trace != null) pendingSpans.addAndGet(1 - spans.size());
+            decide(span, trace, spans);
+        }
+        sweepIfDue();
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return exporter.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.forceFlush();
+    }
+
+    private void buffer(String traceId, ReadableSpan span) {
+        if (pendingSpans.incrementAndGet() > maxPendingSpans) {
+            pendingSpans.decrementAndGet();
+            decisions.get(Decision.OVERFLOW).increment();
+            return;
+        }
+        if (!pending.computeIfAbsent(traceId, id -> new PendingTrace()).add(span)) {
+            // Lost the race with the root: the trace has been decided already.
+            pendingSpans.decrementAndGet();
+        }
+    }
+
+    private void decide(ReadableSpan root, PendingTrace trace, List<ReadableSpan> spans) {
+        Decision decision;
+        if ((trace != null && trace.error) || isError(root)) {
+            decision = Decision.ERROR;
+        } else if ((trace != null && trace.fallback) || root.getAttribute(FALLBACK) != null) {
+            decision = Decision.FALLBACK;
+        } else if (root.getLatencyNanos() >= slowNanos) {
+            decision = Decision.SLOW;
+        } else if (root.getSpanContext().isSampled()) {
+            decision = Decision.HEAD;
+        } else {
+            decision = Decision.DROPPED;
+        }
+
+        if (decision != Decision.DROPPED && !budget.tryAcquire(spans.size())) {
+            decision = Decision.OVER_BUDGET;
+        }
+        decisions.get(decision).increment();
+        if (decision == Decision.DROPPED || decision == Decision.OVER_BUDGET) return;
+
+        for (ReadableSpan span : spans) {
+            exporter.onEnd(span.getSpanContext().isSampled() ? span : new SampledSpan(span));
+        }
+    }
+
+    /** Drops traces whose local root never ended here (e.g. children finishing after the root). */
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) return;
+
+        pending.entrySet().removeIf(e -> {
+            if (now - e.getValue().createdAt < maxTraceAgeNanos) return false;
+            pendingSpans.addAndGet(-e.getValue().discard());
+            decisions.get(Decision.DROPPED).increment();
+            return true;
+        });
+    }
+
+    private static boolean isError(ReadableSpan span) {
+        return span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    private static final class PendingTrace {
+        final long createdAt = System.nanoTime();
+        final List<ReadableSpan> spans = new ArrayList<>(8);
+        volatile boolean error;
+        volatile boolean fallback;
+        private boolean drained;
+
+        synchronized boolean add(ReadableSpan span) {
+            if (drained) return false;
+            spans.add(span);
+            if (!error && isError(span)) error = true;
+            if (!fallback && span.getAttribute(FALLBACK) != null) fallback = true;
+            return true;
+        }
+
+        synchronized List<ReadableSpan> drain(ReadableSpan root) {
+            drained = true;
+            spans.add(root);
+            return List.copyOf(spans);
+        }
+
+        synchronized int discard() {
+            drained = true;
+            return spans.size();
+        }
+    }
+
+    /** Presents a record-only span as sampled so the exporting processor accepts it. */
+    private static final class SampledSpan implements ReadableSpan {
+        private final ReadableSpan delegate;
+        private final SpanContext context;
+
+        SampledSpan(ReadableSpan delegate) {
+            this.delegate = delegate;
+            SpanContext original = delegate.getSpanContext();
+            this.context = SpanContext.create(original.getTraceId(), original.getSpanId(),
+                    TraceFlags.getSampled(), original.getTraceState());
+        }
+
+        @Override public SpanContext getSpanContext() { return context; }
+        @Override public SpanContext getParentSpanContext() { return delegate.getParentSpanContext(); }
+        @Override public String getName() { return delegate.getName(); }
+        @Override public boolean hasEnded() { return delegate.hasEnded(); }
+        @Override public long getLatencyNanos() { return delegate.getLatencyNanos(); }
+        @Override public SpanKind getKind() { return delegate.getKind(); }
+        @Override public <T> T getAttribute(AttributeKey<T> key) { return delegate.getAttribute(key); }
+        @Override public InstrumentationScopeInfo getInstrumentationScopeInfo() { return delegate.getInstrumentationScopeInfo(); }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+            return delegate.getInstrumentationLibraryInfo();
+        }
+
+        @Override
+        public SpanData toSpanData() {
+            return new DelegatingSpanData(delegate.toSpanData()) {
+                @Override
+                public SpanContext getSpanContext() {
+                    return context;
+                }
+            };
+        }
+    }
+}
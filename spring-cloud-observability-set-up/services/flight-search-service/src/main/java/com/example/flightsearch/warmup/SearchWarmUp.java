@@ -0,0 +1,59 @@
+package com.example.flightsearch.warmup;
+
+import com.example.flightsearch.web.FlightController;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Runs before Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}: replays search requests through
+ * {@link FlightController#search} in-process (repository, pricing client, metrics) and writes each result
+ * with every Jackson converter MVC uses, JSON and Smile, so their serializers are built as well.
+ */
+class SearchWarmUp implements ApplicationRunner {
+
+    private final WarmUp warmUp;
+    private final FlightController controller;
+    private final HttpMessageConverters converters;
+
+    SearchWarmUp(WarmUp warmUp, FlightController controller, HttpMessageConverters converters) {
+        this.warmUp = warmUp;
+        this.controller = controller;
+        this.converters = converters;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp.run(warmUp.requests(), this::search);
+    }
+
+    private void search(String query) throws Exception {
+        MultiValueMap<String, String> p = UriComponentsBuilder.newInstance().query(query).build().getQueryParams();
+        var body = controller.search(
+                p.getFirst("origin"),
+                p.getFirst("destination"),
+                LocalDate.parse(p.getFirst("dateFrom")),
+                LocalDate.parse(p.getFirst("dateTo")),
+                p.containsKey("passengerType") ? p.getFirst("passengerType") : "ADULT",
+                p.containsKey("seats") ? Integer.parseInt(p.getFirst("seats")) : 1,
+                p.containsKey("sort") ? p.getFirst("sort") : "departure",
+                p.getFirst("cabin"),
+                p.getFirst("airline"),
+                p.containsKey("minSeats") ? Integer.valueOf(p.getFirst("minSeats")) : null,
+                p.containsKey("limit") ? Integer.valueOf(p.getFirst("limit")) : null,
+                null,
+                !"false".equals(p.getFirst("priced"))).getBody();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+                jackson.getObjectMapper().writeValue(OutputStream.nullOutputStream(), body);
+            }
+        }
+    }
+}
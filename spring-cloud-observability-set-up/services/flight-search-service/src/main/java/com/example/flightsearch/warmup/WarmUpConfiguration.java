@@ -0,0 +1,73 @@
+package com.example.flightsearch.warmup;
+
+import com.example.flightsearch.web.FlightController;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Warm-up before traffic. Boot keeps readiness at {@code REFUSING_TRAFFIC} until application runners are
+ * done, so {@link SearchWarmUp} holds it simply by running. The instance registers with Eureka as
+ * {@code STARTING}, which clients do not route to, and goes {@code UP} when readiness flips to accepting.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfiguration {
+
+    @Bean
+    SearchWarmUp searchWarmUp(WarmUpProperties properties, MeterRegistry registry,
+                              FlightController controller, HttpMessageConverters converters) {
+        return new SearchWarmUp(new WarmUp(properties, registry), controller, converters);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(EurekaInstanceConfigBean.class)
+    static class EurekaRegistrationGate {
+
+        @Bean
+        static BeanPostProcessor registerAsStarting() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof EurekaInstanceConfigBean instance) instance.setInitialStatus(InstanceStatus.STARTING);
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        ReadinessToEurekaStatus readinessToEurekaStatus(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+            return new ReadinessToEurekaStatus(applicationInfoManager);
+        }
+    }
+
+    /** UP while accepting traffic, OUT_OF_SERVICE while refusing it (for example during a graceful shutdown). */
+    static class ReadinessToEurekaStatus {
+
+        private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+        ReadinessToEurekaStatus(ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+            this.applicationInfoManager = applicationInfoManager;
+        }
+
+        @EventListener
+        void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            InstanceStatus status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                    ? InstanceStatus.UP : InstanceStatus.OUT_OF_SERVICE;
+            applicationInfoManager.ifAvailable(m -> m.setInstanceStatus(status));
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.flightsearch.web;
 
+import com.example.flightsearch.service.FlightQuery;
 import com.example.flightsearch.service.FlightSearchService;
 import com.example.flightsearch.service.PricedFlight;
-import lombok.RequiredArgsConstructor;
+import com.example.flightsearch.service.SearchCursor;
+import com.example.flightsearch.service.SearchPage;
+import com.example.flightsearch.service.SearchSort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,25 +18,66 @@ import java.time.LocalDate;
 import java.util.List;
 
 @RestController
-@RequiredArgsConstructor
 @RequestMapping("/api/flights")
 public class FlightController {
 
+    /** Opaque token for the next page; absent on the last page. Pass it back as {@code cursor}. */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final FlightSearchService service;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public FlightController(FlightSearchService service,
+                            @Value("${flights.search.default-limit:50}") int defaultLimit,
+                            @Value("${flights.search.max-limit:200}") int maxLimit) {
+        this.service = service;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
 
     @GetMapping("/search")
-    public List<PricedFlight> search(
+    public ResponseEntity<List<PricedFlight>> search(
             @RequestParam String origin,
             @RequestParam String destination,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            // Still accepted so existing clients keep working; quotes are per seat and pricing has no passenger types.
             @RequestParam(defaultValue = "ADULT") String passengerType,
-            @RequestParam(defaultValue = "1") int seats
+            @RequestParam(defaultValue = "1") int seats,
+            @RequestParam(defaultValue = "departure") String sort,
+            @RequestParam(required = false) String cabin,
+            @RequestParam(required = false) String airline,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean priced
     ) {
-        return service.searchAndPrice(
-                origin, destination,
-                dateFrom, dateTo,
-                passengerType, seats
-        );
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (minSeats != null && minSeats < 0) {
+            throw new IllegalArgumentException("minSeats must be >= 0");
+        }
+        SearchSort order = SearchSort.parse(sort);
+
+        FlightQuery query = FlightQuery.builder()
+                .origin(origin)
+                .destination(destination)
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .cabin(cabin)
+                .airline(airline)
+                .minSeats(minSeats)
+                .sort(order)
+                .limit(pageSize)
+                .cursor(cursor == null ? null : SearchCursor.decode(cursor, order))
+                .build();
+        SearchPage page = priced ? service.searchAndPrice(query) : service.searchUnpriced(query);
+
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        return response.body(page.flights());
     }
 }
@@ -0,0 +1,113 @@
+package com.example.flightsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.util.Duration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The consumer thread is parked inside the first event, so nothing leaves the 8-slot ring buffer and
+ * the remaining capacity is exactly 8 minus what was published.
+ */
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BlockedAppender child = new BlockedAppender(release);
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender();
+    private final Logger logger = context.getLogger("test");
+
+    @BeforeEach
+    void start() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        child.setContext(context);
+        child.start();
+        appender.setContext(context);
+        appender.addAppender(child);
+        appender.setRingBufferSize(8);
+        appender.setLowPriorityHeadroomPercent(50);
+        appender.setAppendTimeout(Duration.buildByMilliseconds(0));
+        appender.start();
+        logger.setAdditive(false);
+        logger.setLevel(Level.DEBUG);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        appender.stop();
+        context.stop();
+    }
+
+    @Test
+    void below_warn_is_dropped_once_headroom_runs_low_and_warnings_fill_the_rest() throws InterruptedException {
+        long droppedBefore = MeteredAsyncAppender.dropped();
+        logger.warn("w0");
+        assertThat(child.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 6; i++) logger.info("i{}", i);
+        logger.debug("d");
+        // 8 slots, headroom 4: i1..i4 leave 3 free, so i5, i6 and d are dropped
+        assertThat(MeteredAsyncAppender.dropped() - droppedBefore).isEqualTo(3);
+        assertThat(MeteredAsyncAppender.queued()).isEqualTo(5);
+
+        for (int i = 1; i <= 4; i++) logger.error("e{}", i);
+        // warnings and errors take the headroom; e4 finds the buffer full
+        assertThat(MeteredAsyncAppender.dropped() - droppedBefore).isEqualTo(4);
+        assertThat(MeteredAsyncAppender.queued()).isEqualTo(8);
+
+        release.countDown();
+        appender.stop();
+        assertThat(child.messages).containsExactly("w0", "i1", "i2", "i3", "i4", "e1", "e2", "e3");
+    }
+
+    @Test
+    void dropped_events_are_exported_as_a_counter() {
+        var registry = new SimpleMeterRegistry();
+        new AsyncLoggingMetrics().bindTo(registry);
+        double before = registry.get("logging.async.dropped").functionCounter().count();
+
+        logger.warn("w0");
+        for (int i = 0; i < 10; i++) logger.info("i{}", i);
+
+        assertThat(registry.get("logging.async.dropped").functionCounter().count() - before).isEqualTo(6);
+        assertThat(registry.get("logging.async.capacity").gauge().value()).isEqualTo(8);
+    }
+
+    private static final class BlockedAppender extends AppenderBase<ILoggingEvent> {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        BlockedAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getFormattedMessage());
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
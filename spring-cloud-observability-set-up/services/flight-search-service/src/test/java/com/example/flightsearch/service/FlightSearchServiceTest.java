@@ -0,0 +1,132 @@
+package com.example.flightsearch.service;
+
+import com.example.flightsearch.domain.Flight;
+import com.example.flightsearch.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the search specification against the H2 schema and data: 40 extra MEX-LAX flights with repeated fares and
+ * dates, so keyset paging has ties to get through. Pricing is mocked and counted.
+ */
+// application.yml imports the config server; the H2 settings are all this slice needs.
+@DataJpaTest(properties = {"spring.config.location=classpath:/application-h2.yml", "spring.cloud.config.enabled=false"})
+@Import({FlightSearchService.class, SearchMetrics.class, SimpleMeterRegistry.class})
+class FlightSearchServiceTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2025-12-01");
+    private static final LocalDate TO = LocalDate.parse("2025-12-31");
+
+    @Autowired
+    FlightSearchService service;
+
+    @Autowired
+    FlightRepository repository;
+
+    @MockBean
+    FlightPricingService pricing;
+
+    @BeforeEach
+    void setUp() {
+        List<Flight> extra = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            extra.add(new Flight("MEX", "LAX", FROM.plusDays(i % 5), null, i % 3 == 0 ? "LA" : "AM", "X" + i,
+                    i % 4 == 0 ? "BUSINESS" : "ECONOMY", new BigDecimal("100.00"),
+                    new BigDecimal(200 + (i % 7) * 10 + ".00"), "USD", i % 10));
+        }
+        repository.saveAll(extra);
+        when(pricing.priceFlight(any())).thenAnswer(call -> {
+            Flight f = call.getArgument(0);
+            return PricedFlight.builder().flight(f).totalPrice(f.getTotalFare()).currency("USD").build();
+        });
+    }
+
+    @Test
+    void price_sort_with_filters_runs_in_the_query_and_prices_only_the_page() {
+        SearchPage page = service.searchAndPrice(query(SearchSort.PRICE, 5, null)
+                .cabin("economy").airline("am").minSeats(3).build());
+
+        List<Flight> all = repository.findAll().stream()
+                .filter(f -> f.getOrigin().equals("MEX") && f.getDestination().equals("LAX"))
+                .filter(f -> f.getCabin().equals("ECONOMY") && f.getAirline().equals("AM") && f.getSeatsAvailable() >= 3)
+                .sorted(Comparator.comparing(Flight::getTotalFare).thenComparing(Flight::getDepartureDate)
+                        .thenComparing(Flight::getId))
+                .toList();
+        assertThat(flights(page)).containsExactlyElementsOf(all.subList(0, 5));
+        assertThat(page.nextCursor()).isNotNull();
+        verify(pricing, times(5)).priceFlight(any());
+    }
+
+    @Test
+    void cursor_pages_cover_every_match_once_in_order() {
+        for (SearchSort sort : SearchSort.values()) {
+            List<Flight> paged = new ArrayList<>();
+            SearchCursor cursor = null;
+            do {
+                SearchPage page = service.searchAndPrice(query(sort, 7, cursor).build());
+                paged.addAll(flights(page));
+                cursor = page.nextCursor() == null ? null : SearchCursor.decode(page.nextCursor(), sort);
+            } while (cursor != null);
+
+            List<Flight> everything = service.searchAndPrice(query(sort, 500, null).build())
+                    .flights().stream().map(PricedFlight::flight).toList();
+            assertThat(paged).hasSize(43).containsExactlyElementsOf(everything);
+        }
+    }
+
+    @Test
+    void unpriced_search_returns_the_same_page_without_calling_pricing() {
+        SearchPage priced = service.searchAndPrice(query(SearchSort.PRICE, 5, null).build());
+        SearchPage unpriced = service.searchUnpriced(query(SearchSort.PRICE, 5, null).build());
+
+        assertThat(flights(unpriced)).containsExactlyElementsOf(flights(priced));
+        assertThat(unpriced.nextCursor()).isEqualTo(priced.nextCursor());
+        assertThat(unpriced.flights()).allMatch(f -> f.totalPrice() == null && f.currency() == null);
+        verify(pricing, times(5)).priceFlight(any());
+    }
+
+    @Test
+    void departure_sort_keeps_the_previous_order() {
+        List<Flight> page = flights(service.searchAndPrice(query(SearchSort.DEPARTURE, 50, null).build()));
+
+        assertThat(page).isSortedAccordingTo(Comparator.comparing(Flight::getDepartureDate)
+                .thenComparing(Flight::getTotalFare).thenComparing(Flight::getId));
+    }
+
+    @Test
+    void cursor_from_another_sort_is_rejected() {
+        String token = service.searchAndPrice(query(SearchSort.PRICE, 1, null).build()).nextCursor();
+
+        assertThatThrownBy(() -> SearchCursor.decode(token, SearchSort.DEPARTURE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("not-a-cursor", SearchSort.PRICE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static FlightQuery.FlightQueryBuilder query(SearchSort sort, int limit, SearchCursor cursor) {
+        return FlightQuery.builder().origin("mex").destination("LAX").dateFrom(FROM).dateTo(TO)
+                .sort(sort).limit(limit).cursor(cursor);
+    }
+
+    private static List<Flight> flights(SearchPage page) {
+        return page.flights().stream().map(PricedFlight::flight).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.flightsearch.service;
+
+import com.example.flightsearch.domain.Flight;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Poor man's benchmark of JSON vs Smile for the two internal payloads: a pricing quote (one per
+ * search result) and a 50-result search response. Mappers are built the way Spring MVC builds its
+ * converters. Prints size and best-of-5 encode/decode time per message. Takes about 30 s, so it only
+ * runs with {@code mvn test -Pbenchmarks}; {@link PayloadEncodingTest} covers the round-trip.
+ */
+@Tag("benchmark")
+class PayloadEncodingBenchmarkTest {
+
+    private static final int ROUNDS = 5;
+    private static final int ITERATIONS = 20_000;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Test
+    void encode_and_decode_time_per_message() throws Exception {
+        var quote = new PriceResponse(new BigDecimal("1234.50"), new BigDecimal("259.25"),
+                new BigDecimal("60.00"), new BigDecimal("1553.75"), "USD");
+        var results = searchResults(50);
+        JavaType resultsType = json.getTypeFactory().constructCollectionType(List.class, PricedFlight.class);
+
+        Result quoteJson = measure(json, quote, json.constructType(PriceResponse.class));
+        Result quoteSmile = measure(smile, quote, smile.constructType(PriceResponse.class));
+        Result searchJson = measure(json, results, resultsType);
+        Result searchSmile = measure(smile, results, resultsType);
+
+        System.out.printf("%-16s %8s %12s %12s%n", "payload", "bytes", "encode ns", "decode ns");
+        print("quote json", quoteJson);
+        print("quote smile", quoteSmile);
+        print("search(50) json", searchJson);
+        print("search(50) smile", searchSmile);
+
+        assertThat(searchSmile.bytes).isLessThan(searchJson.bytes);
+    }
+
+    private Result measure(ObjectMapper mapper, Object value, JavaType type) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        long sink = 0;
+        long bestEncode = Long.MAX_VALUE;
+        long bestDecode = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += mapper.writeValueAsBytes(value).length;
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += mapper.readValue(bytes, type) == null ? 0 : 1;
+            }
+            long t2 = System.nanoTime();
+            bestEncode = Math.min(bestEncode, t1 - t0);
+            bestDecode = Math.min(bestDecode, t2 - t1);
+        }
+        assertThat(sink).isPositive();
+        return new Result(bytes.length, bestEncode / ITERATIONS, bestDecode / ITERATIONS);
+    }
+
+    private static void print(String label, Result r) {
+        System.out.printf("%-16s %8d %12d %12d%n", label, r.bytes, r.encodeNanos, r.decodeNanos);
+    }
+
+    static List<PricedFlight> searchResults(int n) {
+        var flights = new ArrayList<PricedFlight>(n);
+        for (int i = 0; i < n; i++) {
+            var flight = new Flight("MEX", "LAX", LocalDate.of(2025, 12, 20).plusDays(i % 7), null,
+                    "AM", "AM" + (100 + i), i % 5 == 0 ? "BUSINESS" : "ECONOMY",
+                    new BigDecimal("150.00").add(BigDecimal.valueOf(i)), new BigDecimal("181.50").add(BigDecimal.valueOf(i)),
+                    "USD", 9 + i % 40);
+            flight.setId((long) i);
+            flights.add(PricedFlight.builder().flight(flight).totalPrice(flight.getTotalFare()).currency("USD").build());
+        }
+        return flights;
+    }
+
+    private record Result(int bytes, long encodeNanos, long decodeNanos) {}
+}
@@ -0,0 +1,47 @@
+package com.example.flightsearch.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** JSON and Smile for the two internal payloads, with mappers built the way Spring MVC builds its converters. */
+class PayloadEncodingTest {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Test
+    void smile_is_smaller_and_round_trips_big_decimals_exactly() throws Exception {
+        var quote = new PriceResponse(new BigDecimal("1234.50"), new BigDecimal("259.25"),
+                new BigDecimal("60.00"), new BigDecimal("1553.75"), "USD");
+
+        PriceResponse decoded = smile.readValue(smile.writeValueAsBytes(quote), PriceResponse.class);
+
+        assertThat(decoded).isEqualTo(quote);
+        assertThat(decoded.totalFare().scale()).isEqualTo(2);
+        assertThat(smile.writeValueAsBytes(quote).length).isLessThan(json.writeValueAsBytes(quote).length);
+    }
+
+    @Test
+    void search_page_reads_back_the_same_in_both_encodings() throws Exception {
+        var results = PayloadEncodingBenchmarkTest.searchResults(50);
+        JavaType type = json.getTypeFactory().constructCollectionType(List.class, PricedFlight.class);
+
+        byte[] asJson = json.writeValueAsBytes(results);
+        byte[] asSmile = smile.writeValueAsBytes(results);
+        List<PricedFlight> fromJson = json.readValue(asJson, type);
+        List<PricedFlight> fromSmile = smile.readValue(asSmile, type);
+
+        assertThat(asSmile.length).isLessThan(asJson.length * 3 / 4);
+        assertThat(json.writeValueAsString(fromSmile)).isEqualTo(json.writeValueAsString(fromJson));
+        assertThat(fromSmile).hasSize(50);
+        assertThat(fromSmile.get(7).flight().getFlightNumber()).isEqualTo("AM107");
+        assertThat(fromSmile.get(7).totalPrice()).isEqualByComparingTo("188.50");
+    }
+}
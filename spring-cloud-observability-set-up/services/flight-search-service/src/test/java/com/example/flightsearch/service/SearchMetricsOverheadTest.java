@@ -0,0 +1,73 @@
+package com.example.flightsearch.service;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Poor man's benchmark of what SearchMetrics adds to a call: two nanoTime reads, the bucket
+ * lookup and a histogram record against the real Prometheus registry. Budget is 1 microsecond per call.
+ * Wall-clock bound, so it only runs with {@code mvn test -Pbenchmarks}; {@link SearchMetricsTest} checks
+ * that the hot path reuses the timers registered up front.
+ */
+@Tag("benchmark")
+class SearchMetricsOverheadTest {
+
+    private static final int WARMUP = 500_000;
+    private static final int CALLS = 2_000_000;
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final SearchMetrics metrics = new SearchMetrics(registry);
+
+    @Test
+    void instrumentation_adds_less_than_a_microsecond_per_call() {
+        long sink = 0;
+        sink += baseline(WARMUP);
+        sink += instrumented(WARMUP);
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            sink += baseline(CALLS);
+            long t1 = System.nanoTime();
+            sink += instrumented(CALLS);
+            long t2 = System.nanoTime();
+            best = Math.min(best, (t2 - t1) - (t1 - t0));
+        }
+        double nanosPerCall = (double) best / CALLS;
+        System.out.printf("SearchMetrics overhead: %.1f ns/call (sink=%d)%n", nanosPerCall, sink);
+
+        assertThat(nanosPerCall).isLessThan(1_000);
+        assertThat(registry.scrape())
+                .contains("flights_search_seconds_bucket{results=\"6-20\"")
+                .contains("flights_pricing_seconds_count{outcome=\"fallback\"}");
+    }
+
+    private static long baseline(int calls) {
+        long sink = 0;
+        for (int i = 0; i < calls; i++) {
+            sink += work(i);
+        }
+        return sink;
+    }
+
+    private long instrumented(int calls) {
+        long sink = 0;
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            sink += work(i);
+            metrics.search(i & 63).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.pricing((i & 7) == 0).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return sink;
+    }
+
+    private static long work(int i) {
+        return Long.rotateLeft(i * 0x9E3779B97F4A7C15L, i & 31);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.flightsearch.service;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What SearchMetrics adds to a call is a lookup into meters registered up front plus a histogram
+ * record, so the checks are structural: the hot path hands back the same timers and never registers.
+ */
+class SearchMetricsTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final SearchMetrics metrics = new SearchMetrics(registry);
+
+    @Test
+    void result_counts_map_to_fixed_buckets() {
+        assertThat(metrics.search(0).getId().getTag("results")).isEqualTo("0");
+        assertThat(metrics.search(1).getId().getTag("results")).isEqualTo("1-5");
+        assertThat(metrics.search(5).getId().getTag("results")).isEqualTo("1-5");
+        assertThat(metrics.search(6).getId().getTag("results")).isEqualTo("6-20");
+        assertThat(metrics.search(50).getId().getTag("results")).isEqualTo("21-50");
+        assertThat(metrics.search(10_000).getId().getTag("results")).isEqualTo("51+");
+        assertThat(metrics.pricing(true).getId().getTag("outcome")).isEqualTo("fallback");
+        assertThat(metrics.pricing(false).getId().getTag("outcome")).isEqualTo("live");
+    }
+
+    @Test
+    void hot_path_reuses_the_timers_registered_up_front() {
+        int meters = registry.getMeters().size();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(metrics.search(i & 63)).isSameAs(metrics.search(i & 63));
+            metrics.search(i & 63).record(i, TimeUnit.MICROSECONDS);
+            metrics.pricing((i & 7) == 0).record(i, TimeUnit.MICROSECONDS);
+        }
+
+        assertThat(registry.getMeters()).hasSize(meters);
+        assertThat(registry.scrape())
+                .contains("flights_search_seconds_bucket{results=\"6-20\"")
+                .contains("flights_pricing_seconds_count{outcome=\"fallback\"} 125");
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.flightsearch.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+
+import static com.example.flightsearch.tracing.TailSamplingSpanProcessorTest.trace;
+import static com.example.flightsearch.tracing.TailSamplingSpanProcessorTest.tracer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost per request on the calling thread, with spans serialized to OTLP protobuf synchronously so
+ * export work is counted: 100% head sampling vs 5% head sampling with and without tail sampling
+ * (1% errors, 1% fallbacks). Prints best-of-5 time and spans exported per 3-span trace. Wall-clock,
+ * so it only runs with {@code mvn test -Pbenchmarks}; {@link TailSamplingSpanProcessorTest} checks the
+ * export volumes.
+ */
+@Tag("benchmark")
+class TailSamplingOverheadTest {
+
+    private static final int TRACES = 20_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void overhead_against_full_and_head_only_sampling() {
+        var full = new MarshallingExporter();
+        var headOnly = new MarshallingExporter();
+        var tailed = new MarshallingExporter();
+        Tracer fullTracer = tracer(Sampler.alwaysOn(), SimpleSpanProcessor.create(full));
+        Tracer headOnlyTracer = tracer(Sampler.traceIdRatioBased(0.05), SimpleSpanProcessor.create(headOnly));
+        Tracer tailTracer = tracer(new RecordingSampler(Sampler.parentBased(Sampler.traceIdRatioBased(0.05))),
+                new TailSamplingSpanProcessor(SimpleSpanProcessor.create(tailed), Duration.ofMillis(500),
+                        Duration.ofSeconds(30), 20_000, 1_000_000, new SimpleMeterRegistry()));
+
+        long fullNanos = Long.MAX_VALUE;
+        long headNanos = Long.MAX_VALUE;
+        long tailNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            fullNanos = Math.min(fullNanos, run(fullTracer));
+            headNanos = Math.min(headNanos, run(headOnlyTracer));
+            tailNanos = Math.min(tailNanos, run(tailTracer));
+        }
+        long runs = (long) ROUNDS * TRACES;
+
+        System.out.printf("per trace (3 spans): full %.1f us / %.2f spans exported, head 5%% %.1f us / %.2f, "
+                        + "head 5%% + tail %.1f us / %.2f%n",
+                fullNanos / 1e3 / TRACES, (double) full.spans / runs, headNanos / 1e3 / TRACES,
+                (double) headOnly.spans / runs, tailNanos / 1e3 / TRACES, (double) tailed.spans / runs);
+
+        assertThat(tailNanos).isLessThan(fullNanos);
+        assertThat(tailed.spans).isLessThan(full.spans / 5).isGreaterThan(headOnly.spans);
+    }
+
+    private static long run(Tracer tracer) {
+        long start = System.nanoTime();
+        for (int i = 0; i < TRACES; i++) {
+            trace(tracer, 5, i % 100 == 0, i % 100 == 50);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /** Does the CPU part of the OTLP exporter (protobuf encoding) and counts spans. */
+    private static final class MarshallingExporter implements SpanExporter {
+        long spans;
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            var out = new ByteArrayOutputStream();
+            try {
+                TraceRequestMarshaler.create(batch).writeBinaryTo(out);
+            } catch (IOException ex) {
+                return CompletableResultCode.ofFailure();
+            }
+            spans += batch.size();
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
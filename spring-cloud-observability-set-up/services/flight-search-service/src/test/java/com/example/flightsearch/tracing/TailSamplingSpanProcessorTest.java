@@ -0,0 +1,155 @@
+package com.example.flightsearch.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CollectingExporter exported = new CollectingExporter();
+
+    @Test
+    void keeps_slow_error_and_fallback_traces_when_the_head_rejects_them() {
+        Tracer tracer = tracer(0.0, tail(1_000));
+
+        String normal = trace(tracer, 10, false, false);
+        String slow = trace(tracer, 900, false, false);
+        String error = trace(tracer, 10, true, false);
+        String fallback = trace(tracer, 10, false, true);
+
+        assertThat(exported.traceIds()).containsExactlyInAnyOrder(slow, error, fallback).doesNotContain(normal);
+        assertThat(exported.spans).hasSize(9).allMatch(s -> s.getSpanContext().isSampled());
+        assertThat(decisions("dropped")).isEqualTo(1);
+        assertThat(decisions("slow") + decisions("error") + decisions("fallback")).isEqualTo(3);
+    }
+
+    @Test
+    void head_sampled_traces_are_exported_whole() {
+        Tracer tracer = tracer(1.0, tail(1_000));
+
+        String id = trace(tracer, 10, false, false);
+
+        assertThat(exported.traceIds()).containsExactly(id);
+        assertThat(exported.spans).hasSize(3);
+        assertThat(decisions("head")).isEqualTo(1);
+    }
+
+    @Test
+    void budget_caps_exported_spans_per_second() {
+        Tracer tracer = tracer(1.0, tail(10));
+
+        for (int i = 0; i < 100; i++) {
+            trace(tracer, 10, true, false);
+        }
+
+        assertThat(exported.spans.size()).isLessThanOrEqualTo(12);
+        assertThat(decisions("over_budget")).isGreaterThanOrEqualTo(95);
+        assertThat(registry.get("tracing.tail.pending.spans").gauge().value()).isZero();
+    }
+
+    /** 5% head sampling plus 1% errors and 1% fallbacks kept by the tail, against 100% and 5% head sampling. */
+    @Test
+    void exports_far_less_than_full_sampling_but_keeps_more_than_head_only() {
+        int traces = 20_000;
+        var full = new CollectingExporter();
+        var headOnly = new CollectingExporter();
+        var tailed = new CollectingExporter();
+        run(tracer(Sampler.alwaysOn(), SimpleSpanProcessor.create(full)), traces);
+        run(tracer(Sampler.traceIdRatioBased(0.05), SimpleSpanProcessor.create(headOnly)), traces);
+        run(tracer(new RecordingSampler(Sampler.parentBased(Sampler.traceIdRatioBased(0.05))),
+                new TailSamplingSpanProcessor(SimpleSpanProcessor.create(tailed), Duration.ofMillis(500),
+                        Duration.ofSeconds(30), 20_000, 1_000_000, registry)), traces);
+
+        assertThat(full.spans).hasSize(3 * traces);
+        assertThat(tailed.spans.size()).isLessThan(full.spans.size() / 5);
+        assertThat(tailed.spans.size()).isGreaterThan(headOnly.spans.size());
+        assertThat(decisions("error")).isGreaterThan(0);
+        assertThat(decisions("fallback")).isGreaterThan(0);
+    }
+
+    private void run(Tracer tracer, int traces) {
+        for (int i = 0; i < traces; i++) {
+            trace(tracer, 5, i % 100 == 0, i % 100 == 50);
+        }
+    }
+
+    private SpanProcessor tail(int spansPerSecond) {
+        return new TailSamplingSpanProcessor(SimpleSpanProcessor.create(exported), Duration.ofMillis(500),
+                Duration.ofSeconds(30), 1_000, spansPerSecond, registry);
+    }
+
+    private Tracer tracer(double headProbability, SpanProcessor processor) {
+        return tracer(new RecordingSampler(Sampler.parentBased(Sampler.traceIdRatioBased(headProbability))), processor);
+    }
+
+    static Tracer tracer(Sampler sampler, SpanProcessor processor) {
+        return SdkTracerProvider.builder().setSampler(sampler).addSpanProcessor(processor).build().get("test");
+    }
+
+    /** Root http span with a repository child and a pricing child; timestamps are synthetic. */
+    static String trace(Tracer tracer, long rootMillis, boolean error, boolean fallback) {
+        long t0 = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Span root = tracer.spanBuilder("GET /api/flights/search").setStartTimestamp(t0, TimeUnit.NANOSECONDS).startSpan();
+        Context parent = Context.current().with(root);
+
+        tracer.spanBuilder("flights.search").setParent(parent).setStartTimestamp(t0, TimeUnit.NANOSECONDS)
+                .startSpan().end(t0 + 1_000_000, TimeUnit.NANOSECONDS);
+        Span pricing = tracer.spanBuilder("pricing-service quote").setParent(parent)
+                .setStartTimestamp(t0, TimeUnit.NANOSECONDS).startSpan();
+        if (error) pricing.setStatus(StatusCode.ERROR);
+        if (fallback) pricing.setAttribute(TailSamplingSpanProcessor.FALLBACK_TAG, "CallNotPermittedException");
+        pricing.end(t0 + 2_000_000, TimeUnit.NANOSECONDS);
+
+        root.end(t0 + TimeUnit.MILLISECONDS.toNanos(rootMillis), TimeUnit.NANOSECONDS);
+        return root.getSpanContext().getTraceId();
+    }
+
+    private double decisions(String decision) {
+        return registry.get("tracing.tail.traces").tag("decision", decision).counter().count();
+    }
+
+    private static final class CollectingExporter implements SpanExporter {
+        final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        Set<String> traceIds() {
+            return spans.stream().map(SpanData::getTraceId).collect(Collectors.toSet());
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.flightsearch.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void stops_once_latency_settles() {
+        AtomicInteger calls = new AtomicInteger();
+        // Gets faster for the first 100 calls (5 windows), then flat.
+        WarmUp.Result result = new WarmUp(properties(Duration.ZERO, Duration.ofSeconds(10)), registry)
+                .run(List.of("a", "b"), r -> sleepMicros(Math.max(500, 10_000 - 95L * calls.incrementAndGet())));
+
+        assertThat(result.stable()).isTrue();
+        assertThat(result.requests()).isBetween(120L, 240L);
+        assertThat(result.failures()).isZero();
+        assertThat(result.duration()).isLessThan(Duration.ofSeconds(5));
+        assertThat(registry.get("warmup.duration").tag("outcome", "stable").timeGauge().value(TimeUnit.NANOSECONDS))
+                .isEqualTo(result.duration().toNanos());
+    }
+
+    @Test
+    void keeps_going_until_min_duration_even_if_latency_is_flat_from_the_start() {
+        WarmUp.Result result = new WarmUp(properties(Duration.ofMillis(300), Duration.ofSeconds(10)), registry)
+                .run(List.of("a"), r -> sleepMicros(500));
+
+        assertThat(result.stable()).isTrue();
+        assertThat(result.duration()).isBetween(Duration.ofMillis(300), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void gives_up_at_max_duration_when_latency_keeps_moving() {
+        AtomicInteger calls = new AtomicInteger();
+        WarmUp.Result result = new WarmUp(properties(Duration.ZERO, Duration.ofMillis(300)), registry)
+                .run(List.of("a"), r -> sleepMicros(calls.incrementAndGet() % 40 < 20 ? 300 : 3_000));
+
+        assertThat(result.stable()).isFalse();
+        assertThat(result.duration()).isBetween(Duration.ofMillis(300), Duration.ofSeconds(2));
+        assertThat(registry.get("warmup.duration").tag("outcome", "timeout").timeGauge()).isNotNull();
+    }
+
+    @Test
+    void failures_are_counted_and_never_look_stable() {
+        WarmUp.Result result = new WarmUp(properties(Duration.ZERO, Duration.ofMillis(200)), registry)
+                .run(List.of("a"), r -> { throw new IllegalStateException("pricing down"); });
+
+        assertThat(result.stable()).isFalse();
+        assertThat(result.failures()).isEqualTo(result.requests()).isPositive();
+    }
+
+    @Test
+    void gauges_keep_reporting_after_the_result_is_dropped() {
+        new WarmUp(properties(Duration.ZERO, Duration.ofMillis(200)), registry).run(List.of("a"), r -> sleepMicros(100));
+        System.gc();
+
+        assertThat(registry.get("warmup.requests").gauge().value()).isPositive();
+        assertThat(registry.get("warmup.duration").timeGauge().value(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void a_recording_replaces_the_configured_requests() {
+        var recording = new ByteArrayResource("""
+                # recorded 2025-12-01
+                origin=MEX&destination=LAX&dateFrom=2025-12-01&dateTo=2025-12-31
+
+                origin=GRU&destination=MIA&dateFrom=2025-12-01&dateTo=2025-12-31&sort=price
+                """.getBytes());
+        var properties = new WarmUpProperties(true, Duration.ZERO, Duration.ofSeconds(1), 1, 20, 3, 0.5, List.of("ignored"), recording);
+
+        assertThat(new WarmUp(properties, registry).requests()).containsExactly(
+                "origin=MEX&destination=LAX&dateFrom=2025-12-01&dateTo=2025-12-31",
+                "origin=GRU&destination=MIA&dateFrom=2025-12-01&dateTo=2025-12-31&sort=price");
+    }
+
+    private static WarmUpProperties properties(Duration minDuration, Duration maxDuration) {
+        return new WarmUpProperties(true, minDuration, maxDuration, 2, 20, 3, 0.5, List.of(), null);
+    }
+
+    private static void sleepMicros(long micros) {
+        LockSupport.parkNanos(micros * 1000);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one workload. Latencies are measured from each request's <em>scheduled</em> send time, so a
+ * generator that falls behind (or a backlog of in-flight requests) shows up as latency instead of as
+ * silently reduced load.
+ */
+public record LoadResult(String scenario, long offered, long ok, long failed, long dropped, Duration elapsed,
+                         Duration p50, Duration p95, Duration p99, Duration max) {
+
+    public double throughput() {
+        return ok / (elapsed.toNanos() / 1e9);
+    }
+
+    public double errorRate() {
+        return offered == 0 ? 0 : (double) (failed + dropped) / offered;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-18s offered %6d  ok %6d  failed %4d  dropped %4d  %7.1f req/s  "
+                        + "p50 %5d ms  p95 %5d ms  p99 %5d ms  max %5d ms",
+                scenario, offered, ok, failed, dropped, throughput(),
+                p50.toMillis(), p95.toMillis(), p99.toMillis(), max.toMillis());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Open-model load: requests arrive at a fixed rate per stage whether or not earlier ones have completed,
+ * like users who do not wait for each other (JMeter's thread groups are closed: a slow server slows the
+ * load down and hides its own latency). Arrivals beyond {@code maxInFlight} are counted as dropped.
+ */
+public final class OpenWorkload {
+
+    /** {@code ratePerSecond} arrivals for {@code duration}. */
+    public record Stage(Duration duration, double ratePerSecond) {}
+
+    private final String scenario;
+    private final HttpClient client;
+    private final List<Stage> stages = new ArrayList<>();
+    private IntFunction<HttpRequest> request;
+    private IntPredicate success = status -> status >= 200 && status < 300;
+    private int maxInFlight = 1000;
+
+    public OpenWorkload(String scenario, HttpClient client) {
+        this.scenario = scenario;
+        this.client = client;
+    }
+
+    public OpenWorkload stage(Duration duration, double ratePerSecond) {
+        stages.add(new Stage(duration, ratePerSecond));
+        return this;
+    }
+
+    /** Request for the {@code i}-th arrival (0-based, across all stages). */
+    public OpenWorkload request(IntFunction<HttpRequest> request) {
+        this.request = request;
+        return this;
+    }
+
+    public OpenWorkload success(IntPredicate success) {
+        this.success = success;
+        return this;
+    }
+
+    public OpenWorkload maxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    public LoadResult run() {
+        var permits = new Semaphore(maxInFlight);
+        var latencies = new LatencyRecorder();
+        var failed = new AtomicLong();
+        long dropped = 0;
+        int arrival = 0;
+        var pending = new ArrayList<CompletableFuture<?>>();
+
+        long start = System.nanoTime();
+        long stageStart = start;
+        for (Stage stage : stages) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / stage.ratePerSecond());
+            long stageEnd = stageStart + stage.duration().toNanos();
+            for (long due = stageStart; due < stageEnd; due += interval) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                int i = arrival++;
+                if (!permits.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+                long scheduled = due;
+                pending.add(client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            permits.release();
+                            if (error == null && success.test(response.statusCode())) {
+                                latencies.record(System.nanoTime() - scheduled);
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        }));
+            }
+            stageStart = stageEnd;
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long[] sorted = latencies.sorted();
+        return new LoadResult(scenario, arrival, sorted.length, failed.get(), dropped, elapsed,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                Duration.ofNanos(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    private static Duration percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return Duration.ZERO;
+        int rank = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, rank)]);
+    }
+
+    /** Latencies of successful requests, in nanoseconds. */
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[4096];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
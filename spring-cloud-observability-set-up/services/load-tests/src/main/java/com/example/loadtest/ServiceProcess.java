@@ -0,0 +1,209 @@
+package com.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service module started as a child JVM from its compiled classes, the way the startup benchmark
+ * runs them: {@code mvn compile dependency:build-classpath}, then {@code java -cp target/classes:<deps> Main}.
+ * No config server and no Eureka: configuration comes from {@code config-bundles} plus command-line
+ * overrides, and callers are pointed at each other with Spring Cloud's simple discovery client.
+ */
+public final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(Long.getLong("load.startup-timeout-seconds", 240));
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final Path log;
+
+    private ServiceProcess(String name, int port, Process process, Path log) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+        this.log = log;
+    }
+
+    public static Builder builder(Path moduleDir, String mainClass) {
+        return new Builder(moduleDir, mainClass);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    /** Polls {@code /actuator/health} until it answers 200; fails early if the JVM exits. */
+    public ServiceProcess awaitReady() {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(uri("/actuator/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + "\n" + tail());
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return this;
+            } catch (IOException ignored) {
+                // not listening yet
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            sleep(500);
+        }
+        throw new IllegalStateException(name + " not healthy after " + STARTUP_TIMEOUT + "\n" + tail());
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String tail() {
+        try {
+            List<String> lines = Files.readAllLines(log);
+            return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+        } catch (IOException ex) {
+            return "(no log at " + log + ")";
+        }
+    }
+
+    public static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static final class Builder {
+
+        private final Path moduleDir;
+        private final String mainClass;
+        private final List<String> configFiles = new ArrayList<>();
+        private final List<String> args = new ArrayList<>();
+        private final List<Path> extraClasspath = new ArrayList<>();
+        private String name;
+        private int port = freePort();
+
+        private Builder(Path moduleDir, String mainClass) {
+            this.moduleDir = moduleDir.toAbsolutePath().normalize();
+            this.mainClass = mainClass;
+            this.name = this.moduleDir.getFileName().toString();
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** {@code spring.config.location} entries, later ones win (e.g. a bundle, then {@code classpath:/application-h2.yml}). */
+        public Builder config(String location) {
+            configFiles.add(location);
+            return this;
+        }
+
+        /** A {@code key=value} Spring property, passed as {@code --key=value}. */
+        public Builder property(String key, Object value) {
+            args.add("--" + key + "=" + value);
+            return this;
+        }
+
+        /** Adds the jar or directory that holds {@code type} (e.g. a JDBC driver) to the service's classpath. */
+        public Builder withClasspathOf(Class<?> type) {
+            try {
+                extraClasspath.add(Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()));
+            } catch (Exception ex) {
+                throw new IllegalStateException("cannot locate " + type, ex);
+            }
+            return this;
+        }
+
+        public ServiceProcess start() {
+            try {
+                Path logDir = Files.createDirectories(Path.of("target", "services"));
+                Path log = logDir.resolve(name + ".log");
+                List<String> command = new ArrayList<>(List.of(javaBin(), "-Xmx512m", "-cp", classpath(logDir), mainClass));
+                if (!configFiles.isEmpty()) command.add("--spring.config.location=" + String.join(",", configFiles));
+                command.add("--server.port=" + port);
+                command.add("--spring.cloud.config.enabled=false");
+                command.add("--eureka.client.enabled=false");
+                command.addAll(args);
+                Process process = new ProcessBuilder(command)
+                        .directory(moduleDir.toFile())
+                        .redirectErrorStream(true)
+                        .redirectOutput(log.toFile())
+                        .start();
+                return new ServiceProcess(name, port, process, log);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot start " + name, ex);
+            }
+        }
+
+        private String classpath(Path logDir) throws IOException {
+            Path file = moduleDir.resolve("target/load-test.classpath");
+            Path buildLog = logDir.resolve(name + "-build.log");
+            List<String> mvn = List.of(System.getProperty("maven.cmd", "mvn"), "-B", "-q", "-f", moduleDir.resolve("pom.xml").toString(),
+                    "compile", "dependency:build-classpath", "-Dmdep.includeScope=runtime",
+                    "-Dmdep.outputFile=" + file);
+            try {
+                Process build = new ProcessBuilder(mvn).redirectErrorStream(true).redirectOutput(buildLog.toFile()).start();
+                if (build.waitFor() != 0) {
+                    throw new IllegalStateException("build of " + moduleDir + " failed, see " + buildLog.toAbsolutePath());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            List<String> entries = new ArrayList<>();
+            entries.add(moduleDir.resolve("target/classes").toString());
+            entries.add(Files.readString(file).trim());
+            extraClasspath.forEach(p -> entries.add(p.toString()));
+            return String.join(File.pathSeparator, entries);
+        }
+
+        private static String javaBin() {
+            return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        }
+    }
+}
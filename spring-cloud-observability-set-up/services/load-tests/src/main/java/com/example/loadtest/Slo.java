@@ -0,0 +1,62 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Per-scenario limits from {@code slo.properties} ({@code <scenario>.p95=300ms}, {@code .p99},
+ * {@code .min-throughput} in req/s, {@code .max-error-rate} as a fraction). Any key can be overridden
+ * with a system property of the same name, e.g. {@code -Dsearch-heavy.p95=500ms} on a slower machine.
+ */
+public record Slo(String scenario, Duration p95, Duration p99, double minThroughput, double maxErrorRate) {
+
+    public static Slo of(String scenario) {
+        Properties defaults = new Properties();
+        try (InputStream in = Slo.class.getResourceAsStream("/slo.properties")) {
+            if (in != null) defaults.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Slo(scenario,
+                duration(value(defaults, scenario, "p95")),
+                duration(value(defaults, scenario, "p99")),
+                Double.parseDouble(value(defaults, scenario, "min-throughput")),
+                Double.parseDouble(value(defaults, scenario, "max-error-rate")));
+    }
+
+    /** Human-readable violations; empty when the result meets every limit. */
+    public List<String> violations(LoadResult result) {
+        List<String> violations = new ArrayList<>();
+        if (result.p95().compareTo(p95) > 0) {
+            violations.add("p95 " + result.p95().toMillis() + " ms > " + p95.toMillis() + " ms");
+        }
+        if (result.p99().compareTo(p99) > 0) {
+            violations.add("p99 " + result.p99().toMillis() + " ms > " + p99.toMillis() + " ms");
+        }
+        if (result.throughput() < minThroughput) {
+            violations.add(String.format("throughput %.1f req/s < %.1f req/s", result.throughput(), minThroughput));
+        }
+        if (result.errorRate() > maxErrorRate) {
+            violations.add(String.format("error rate %.2f%% > %.2f%%", result.errorRate() * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+
+    private static String value(Properties defaults, String scenario, String key) {
+        String name = scenario + "." + key;
+        String value = System.getProperty(name, defaults.getProperty(name));
+        if (value == null) throw new IllegalStateException("no SLO " + name + " in slo.properties");
+        return value.trim();
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofMillis((long) (Double.parseDouble(value.substring(0, value.length() - 1)) * 1000));
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What flight-search's logging costs {@code FlightController.search}. The same search workload runs twice
+ * against a fresh flight-search JVM, with request logging turned up to several lines per search
+ * (DispatcherServlet and SQL at DEBUG): once with the {@code sync-logging} profile, where the request thread
+ * encodes and writes every line, and once with the default ring-buffer appender.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoggingLoadTest {
+
+    private static final Path SERVICES = Path.of(System.getProperty("services.dir", ".."));
+    private static final String BUNDLES = "file:" + SERVICES.resolve("config-bundles").toAbsolutePath().normalize() + "/";
+    private static final double RATE_SCALE = Double.parseDouble(System.getProperty("load.rate-scale", "1"));
+    private static final double TIME_SCALE = Double.parseDouble(System.getProperty("load.time-scale", "1"));
+    private static final String[][] ROUTES = {
+            {"MEX", "LAX"}, {"MEX", "JFK"}, {"GDL", "LAX"}, {"GRU", "MIA"}, {"MEX", "GRU"}};
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private ServiceProcess pricing;
+
+    @BeforeAll
+    void startPricing() {
+        pricing = ServiceProcess.builder(SERVICES.resolve("pricing-service"), "com.example.pricing.PricingApplication")
+                .config(BUNDLES + "application.yml")
+                .config(BUNDLES + "pricing-service.yml")
+                .start()
+                .awaitReady();
+    }
+
+    @AfterAll
+    void stopPricing() {
+        if (pricing != null) pricing.close();
+    }
+
+    @Test
+    void ring_buffer_logging_keeps_search_latency_down() {
+        LoadResult sync = searchWithLogging("sync-logging");
+        LoadResult async = searchWithLogging("default");
+        System.out.println(sync);
+        System.out.println(async);
+
+        assertThat(Slo.of(async.scenario()).violations(async)).as("%s SLO", async.scenario()).isEmpty();
+        assertThat(async.p95()).as("ring buffer vs synchronous appender, p95").isLessThanOrEqualTo(sync.p95());
+    }
+
+    private LoadResult searchWithLogging(String profile) {
+        String scenario = "search-logging-" + (profile.equals("default") ? "async" : "sync");
+        Path logFile = Path.of("target", "services", scenario + ".json.log").toAbsolutePath();
+        try (ServiceProcess flightSearch = ServiceProcess.builder(SERVICES.resolve("flight-search-service"),
+                        "com.example.flightsearch.FlightSearchApplication")
+                .name("flight-search-" + scenario)
+                .config(BUNDLES + "application.yml")
+                .config(BUNDLES + "flight-search-service.yml")
+                .config("classpath:/application-h2.yml")
+                .withClasspathOf(org.h2.Driver.class)
+                .property("spring.application.name", "flight-search-service")
+                .property("spring.profiles.active", profile)
+                .property("spring.cloud.compatibility-verifier.enabled", false)
+                .property("discovery.push.enabled", false)
+                .property("spring.cloud.discovery.client.simple.instances.pricing-service[0].uri", pricing.uri(""))
+                .property("management.tracing.sampling.probability", 0)
+                .property("logging.file.name", logFile)
+                .property("logging.level.org.springframework.web.servlet.DispatcherServlet", "DEBUG")
+                .property("logging.level.org.hibernate.SQL", "DEBUG")
+                .start()
+                .awaitReady()) {
+            search(flightSearch, "warm-up").stage(scaled(15), 10).run();
+            return search(flightSearch, scenario).stage(scaled(30), rate(40)).run();
+        }
+    }
+
+    private OpenWorkload search(ServiceProcess flightSearch, String scenario) {
+        return new OpenWorkload(scenario, http).request(i -> {
+            String[] route = ROUTES[i % ROUTES.length];
+            return HttpRequest.newBuilder(flightSearch.uri("/api/flights/search?origin=" + route[0]
+                            + "&destination=" + route[1] + "&dateFrom=" + LocalDate.parse("2025-12-01")
+                            + "&dateTo=" + LocalDate.parse("2025-12-31")))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+        });
+    }
+
+    private static double rate(double perSecond) {
+        return perSecond * RATE_SCALE;
+    }
+
+    private static Duration scaled(long seconds) {
+        return Duration.ofMillis((long) (seconds * 1000 * TIME_SCALE));
+    }
+}
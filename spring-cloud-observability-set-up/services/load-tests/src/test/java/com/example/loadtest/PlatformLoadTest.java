@@ -0,0 +1,185 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts pricing-service, flight-search-service (H2 profile) and booking-service (in-memory H2) as child
+ * JVMs, with simple discovery instead of Eureka, and drives them with open-model workloads. Each scenario
+ * fails when it misses its limits in {@code slo.properties}.
+ *
+ * <p>Discovery lists two pricing-service instances for flight-search: the real one, and a
+ * {@link DelayingProxy} in front of it that the slowdown scenario turns into a slow replica.
+ * Scale arrival rates with {@code -Dload.rate-scale=N} and stage lengths with {@code -Dload.time-scale=N}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PlatformLoadTest {
+
+    private static final Path SERVICES = Path.of(System.getProperty("services.dir", ".."));
+    private static final String BUNDLES = "file:" + SERVICES.resolve("config-bundles").toAbsolutePath().normalize() + "/";
+    private static final double RATE_SCALE = Double.parseDouble(System.getProperty("load.rate-scale", "1"));
+    private static final double TIME_SCALE = Double.parseDouble(System.getProperty("load.time-scale", "1"));
+
+    private static final String[][] ROUTES = {
+            {"MEX", "LAX"}, {"MEX", "JFK"}, {"GDL", "LAX"}, {"GRU", "MIA"}, {"MEX", "GRU"}};
+    private static final LocalDate FROM = LocalDate.parse("2025-12-01");
+    private static final LocalDate TO = LocalDate.parse("2025-12-31");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final ObjectMapper json = new ObjectMapper();
+
+    private ServiceProcess pricing;
+    private ServiceProcess flightSearch;
+    private ServiceProcess booking;
+    private DelayingProxy slowPricing;
+
+    @BeforeAll
+    void startServices() {
+        pricing = ServiceProcess.builder(SERVICES.resolve("pricing-service"), "com.example.pricing.PricingApplication")
+                .config(BUNDLES + "application.yml")
+                .config(BUNDLES + "pricing-service.yml")
+                .start();
+        slowPricing = new DelayingProxy(pricing.uri("/"));
+
+        flightSearch = ServiceProcess.builder(SERVICES.resolve("flight-search-service"), "com.example.flightsearch.FlightSearchApplication")
+                .config(BUNDLES + "application.yml")
+                .config(BUNDLES + "flight-search-service.yml")
+                .config("classpath:/application-h2.yml")
+                .withClasspathOf(org.h2.Driver.class)
+                .property("spring.application.name", "flight-search-service")
+                // The module pairs Boot 3.3 with a newer Spring Cloud train; the verifier would refuse to start.
+                .property("spring.cloud.compatibility-verifier.enabled", false)
+                .property("discovery.push.enabled", false)
+                .property("spring.cloud.discovery.client.simple.instances.pricing-service[0].uri", pricing.uri(""))
+                .property("spring.cloud.discovery.client.simple.instances.pricing-service[1].uri", "http://127.0.0.1:" + slowPricing.port())
+                .property("management.tracing.sampling.probability", 0)
+                .start();
+
+        booking = ServiceProcess.builder(SERVICES.resolve("booking-service"), "com.example.booking.BookingServiceApplication")
+                .config(BUNDLES + "application.yml")
+                .config(BUNDLES + "booking-service.yml")
+                .withClasspathOf(org.h2.Driver.class)
+                .property("spring.datasource.url", "jdbc:h2:mem:bookings;DB_CLOSE_DELAY=-1")
+                .property("spring.datasource.username", "sa")
+                .property("spring.datasource.password", "")
+                .property("spring.jpa.hibernate.ddl-auto", "create")
+                .start();
+
+        Stream.of(pricing, flightSearch, booking).forEach(ServiceProcess::awaitReady);
+
+        // JIT and connection-pool warm-up; not measured.
+        search("warm-up").stage(scaled(15), 10).run();
+        book("warm-up").stage(scaled(10), 10).run();
+    }
+
+    @AfterAll
+    void stopServices() {
+        Stream.of(flightSearch, booking, pricing).filter(s -> s != null).forEach(ServiceProcess::close);
+        if (slowPricing != null) slowPricing.close();
+    }
+
+    @Test
+    @Order(1)
+    void search_heavy() throws Exception {
+        double fallbacksBefore = pricingFallbacks();
+        LoadResult result = search("search-heavy").stage(scaled(30), rate(25)).run();
+
+        assertMeets(result);
+        assertThat(pricingFallbacks() - fallbacksBefore)
+                .as("searches should be priced by pricing-service, not by the fallback")
+                .isZero();
+    }
+
+    @Test
+    @Order(2)
+    void booking_spike() {
+        LoadResult result = book("booking-spike")
+                .stage(scaled(10), rate(5))
+                .stage(scaled(10), rate(40))
+                .stage(scaled(10), rate(5))
+                .run();
+
+        assertMeets(result);
+    }
+
+    @Test
+    @Order(3)
+    void pricing_instance_slowdown() {
+        slowPricing.delay(Duration.ofMillis(300));
+        try {
+            LoadResult result = search("pricing-slowdown").stage(scaled(30), rate(10)).run();
+            assertMeets(result);
+        } finally {
+            slowPricing.delay(Duration.ZERO);
+        }
+    }
+
+    private OpenWorkload search(String scenario) {
+        return new OpenWorkload(scenario, http).request(i -> {
+            String[] route = ROUTES[i % ROUTES.length];
+            return HttpRequest.newBuilder(flightSearch.uri("/api/flights/search?origin=" + route[0]
+                            + "&destination=" + route[1] + "&dateFrom=" + FROM + "&dateTo=" + TO))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+        });
+    }
+
+    private OpenWorkload book(String scenario) {
+        return new OpenWorkload(scenario, http).request(i -> {
+            String body = """
+                    {"flightNumber":"AM%d","origin":"MEX","destination":"LAX","departureDate":"2025-12-20",
+                     "seatCount":%d,"personType":"ADULT","totalFare":220.00,"currency":"USD"}
+                    """.formatted(600 + i % 100, 1 + i % 3);
+            return HttpRequest.newBuilder(booking.uri("/api/bookings"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+    }
+
+    private void assertMeets(LoadResult result) {
+        Slo slo = Slo.of(result.scenario());
+        System.out.println(result);
+        assertThat(slo.violations(result)).as("%s SLO", result.scenario()).isEmpty();
+    }
+
+    private double pricingFallbacks() throws Exception {
+        URI uri = flightSearch.uri("/actuator/metrics/flights.pricing?tag=outcome:fallback");
+        JsonNode metric = json.readTree(http.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()).body());
+        for (JsonNode m : metric.path("measurements")) {
+            if ("COUNT".equals(m.path("statistic").asText())) return m.path("value").asDouble();
+        }
+        return 0;
+    }
+
+    private static double rate(double perSecond) {
+        return perSecond * RATE_SCALE;
+    }
+
+    private static Duration scaled(long seconds) {
+        return Duration.ofMillis((long) (seconds * 1000 * TIME_SCALE));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.pricing.controller;
 
 import com.example.pricing.model.PricingQuote;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +14,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Validated
 @RestController
@@ -21,12 +25,25 @@ public class PricingController {
   private static final BigDecimal BAG_FEE_UNIT = new BigDecimal("30.00"); // per bag
   private static final String RULES_VERSION = "v1";
 
+  // No per-request tags (currency, bags): they come from the caller and would be unbounded.
+  private final Timer quoteTimer;
+
+  public PricingController(MeterRegistry registry) {
+    this.quoteTimer = Timer.builder("pricing.quote")
+        .description("Quote computation")
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofNanos(100_000))
+        .maximumExpectedValue(Duration.ofMillis(100))
+        .register(registry);
+  }
+
   @GetMapping("/api/pricing/quote")
   public ResponseEntity<PricingQuote> quote(
       @RequestParam @NotNull BigDecimal baseFare,
       @RequestParam @NotBlank String currency,
       @RequestParam @Min(0) int bags
   ) {
+    long start = System.nanoTime();
     BigDecimal base = baseFare.setScale(2, RoundingMode.HALF_UP);
     String curr = currency.trim().toUpperCase();
 
@@ -35,6 +52,7 @@ public class PricingController {
     BigDecimal total = base.add(tax).add(bagFees).setScale(2, RoundingMode.HALF_UP);
 
     PricingQuote quote = new PricingQuote(base, tax, bagFees, total, curr, RULES_VERSION);
+    quoteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     return ResponseEntity.ok(quote);
   }
 }
@@ -0,0 +1,49 @@
+package com.example.pricing.warmup;
+
+import com.example.pricing.controller.PricingController;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Runs before Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}: replays quotes through
+ * {@link PricingController#quote} in-process (validation proxy, timer) and writes each result with every
+ * Jackson converter MVC uses, JSON and Smile, so their serializers are built as well.
+ */
+class QuoteWarmUp implements ApplicationRunner {
+
+  private final WarmUp warmUp;
+  private final PricingController controller;
+  private final HttpMessageConverters converters;
+
+  QuoteWarmUp(WarmUp warmUp, PricingController controller, HttpMessageConverters converters) {
+    this.warmUp = warmUp;
+    this.controller = controller;
+    this.converters = converters;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    warmUp.run(warmUp.requests(), this::quote);
+  }
+
+  private void quote(String query) throws Exception {
+    MultiValueMap<String, String> p = UriComponentsBuilder.newInstance().query(query).build().getQueryParams();
+    var body = controller.quote(
+        new BigDecimal(p.getFirst("baseFare")),
+        p.getFirst("currency"),
+        p.containsKey("bags") ? Integer.parseInt(p.getFirst("bags")) : 0).getBody();
+    for (HttpMessageConverter<?> converter : converters) {
+      if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+        jackson.getObjectMapper().writeValue(OutputStream.nullOutputStream(), body);
+      }
+    }
+  }
+}
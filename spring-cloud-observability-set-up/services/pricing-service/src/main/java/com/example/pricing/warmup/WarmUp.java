@@ -0,0 +1,150 @@
+package com.example.pricing.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays representative requests in windows of {@code window} calls on {@code concurrency} threads. It stops
+ * once the median latencies of the last {@code stableWindows} windows are within {@code tolerance} of each
+ * other, meaning the JIT and the serializers no longer get faster, or at {@code max-duration}.
+ * It never stops before {@code min-duration}: C2 compiles a method after thousands of calls, so a few
+ * windows in a row can agree while everything is still interpreted.
+ * A failed call counts as a failure and is left out of the latencies; a window where every call failed
+ * starts the stability count over.
+ */
+public class WarmUp {
+
+  private static final Logger log = LoggerFactory.getLogger(WarmUp.class);
+
+  /** One replayed request. */
+  @FunctionalInterface
+  public interface Call {
+    void run(String request) throws Exception;
+  }
+
+  public record Result(Duration duration, long requests, long failures, boolean stable, Duration median) {}
+
+  private final WarmUpProperties properties;
+  private final MeterRegistry registry;
+
+  public WarmUp(WarmUpProperties properties, MeterRegistry registry) {
+    this.properties = properties;
+    this.registry = registry;
+  }
+
+  /** {@code recording}'s lines when set (blank lines and {@code #} comments skipped), otherwise {@code requests}. */
+  public List<String> requests() {
+    if (properties.recording() == null) return properties.requests();
+    try (var reader = new BufferedReader(new InputStreamReader(properties.recording().getInputStream(), StandardCharsets.UTF_8))) {
+      return reader.lines().map(String::trim).filter(l -> !l.isEmpty() && !l.startsWith("#")).toList();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Cannot read warm-up recording " + properties.recording(), ex);
+    }
+  }
+
+  public Result run(List<String> requests, Call call) {
+    if (requests.isEmpty()) {
+      log.warn("Warm-up enabled but there are no requests to replay; skipping it");
+      return report(new Result(Duration.ZERO, 0, 0, false, Duration.ZERO));
+    }
+    AtomicInteger threads = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(properties.concurrency(), r -> {
+      Thread t = new Thread(r, "warmup-" + threads.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    long start = System.nanoTime();
+    long earliest = start + properties.minDuration().toNanos();
+    long deadline = start + properties.maxDuration().toNanos();
+    Deque<Long> medians = new ArrayDeque<>();
+    long done = 0;
+    long failures = 0;
+    long median = 0;
+    boolean stable = false;
+    try {
+      while (!stable && System.nanoTime() - deadline < 0) {
+        List<Callable<Long>> window = new ArrayList<>(properties.window());
+        for (int i = 0; i < properties.window(); i++) {
+          String request = requests.get((int) ((done + i) % requests.size()));
+          window.add(() -> time(call, request));
+        }
+        long[] latencies = new long[window.size()];
+        int ok = 0;
+        for (Future<Long> f : pool.invokeAll(window)) {
+          try {
+            latencies[ok] = f.get();
+            ok++;
+          } catch (ExecutionException ex) {
+            if (failures++ == 0) log.warn("Warm-up request failed, counting on: {}", ex.getCause().toString());
+          }
+        }
+        done += window.size();
+        if (ok == 0) {
+          medians.clear();
+          continue;
+        }
+        Arrays.sort(latencies, 0, ok);
+        median = latencies[ok / 2];
+        medians.addLast(median);
+        if (medians.size() > properties.stableWindows()) medians.removeFirst();
+        stable = medians.size() == properties.stableWindows() && System.nanoTime() - earliest >= 0
+            && Collections.max(medians) <= Collections.min(medians) * (1 + properties.tolerance());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      pool.shutdownNow();
+    }
+    return report(new Result(Duration.ofNanos(System.nanoTime() - start), done, failures, stable, Duration.ofNanos(median)));
+  }
+
+  private static long time(Call call, String request) throws Exception {
+    long start = System.nanoTime();
+    call.run(request);
+    return System.nanoTime() - start;
+  }
+
+  /** The gauges hold the result strongly: nothing else keeps it once the warm-up is over. */
+  private Result report(Result result) {
+    TimeGauge.builder("warmup.duration", result, TimeUnit.NANOSECONDS, r -> r.duration().toNanos())
+        .tag("outcome", result.stable() ? "stable" : "timeout")
+        .description("Time spent replaying warm-up requests before going ready")
+        .strongReference(true)
+        .register(registry);
+    Gauge.builder("warmup.requests", result, Result::requests)
+        .description("Warm-up requests replayed")
+        .strongReference(true)
+        .register(registry);
+    if (result.requests() > 0) {
+      String message = "Warm-up took {} ms: {} requests, {} failed, median {} us per request{}";
+      Object[] args = {result.duration().toMillis(), result.requests(), result.failures(),
+          result.median().toNanos() / 1000, result.stable() ? "" : " (not settled, max-duration reached)"};
+      if (result.stable()) log.info(message, args);
+      else log.warn(message, args);
+    }
+    return result;
+  }
+}
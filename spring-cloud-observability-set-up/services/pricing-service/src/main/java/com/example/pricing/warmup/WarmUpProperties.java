@@ -0,0 +1,32 @@
+package com.example.pricing.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code warmup.*}: the requests replayed before the instance reports ready, and when to stop.
+ *
+ * @param minDuration replay at least this long, even if the first windows already agree
+ * @param maxDuration the instance goes ready after this even if latency has not settled
+ * @param concurrency threads replaying requests at once
+ * @param window requests per measurement window
+ * @param stableWindows consecutive windows whose median latencies must agree
+ * @param tolerance how far apart those medians may be, as a share of the smallest (0.2 = 20%)
+ * @param requests query strings of the quote endpoint, e.g. {@code baseFare=220.00&currency=USD&bags=1}
+ * @param recording file with one recorded query string per line; replaces {@code requests} when set
+ */
+@ConfigurationProperties("warmup")
+public record WarmUpProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("5s") Duration minDuration,
+    @DefaultValue("60s") Duration maxDuration,
+    @DefaultValue("4") int concurrency,
+    @DefaultValue("200") int window,
+    @DefaultValue("3") int stableWindows,
+    @DefaultValue("0.2") double tolerance,
+    @DefaultValue List<String> requests,
+    Resource recording) {}
@@ -0,0 +1,60 @@
+package com.example.pricing.controller;
+
+import com.example.pricing.model.PricingQuote;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PricingController.class)
+@Import(QuoteContentNegotiationTest.Meters.class)
+class QuoteContentNegotiationTest {
+
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+  @Autowired
+  MockMvc mvc;
+
+  @Test
+  void json_stays_the_default() throws Exception {
+    mvc.perform(get("/api/pricing/quote?baseFare=100&currency=usd&bags=1").accept(MediaType.ALL))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void smile_is_served_when_asked_for() throws Exception {
+    byte[] body = mvc.perform(get("/api/pricing/quote?baseFare=100&currency=usd&bags=1")
+            .accept(SMILE, MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(SMILE))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    PricingQuote quote = new ObjectMapper(new SmileFactory()).readValue(body, PricingQuote.class);
+    assertThat(quote.totalFare()).isEqualByComparingTo(new BigDecimal("151.00"));
+    assertThat(quote.currency()).isEqualTo("USD");
+  }
+
+  @TestConfiguration
+  static class Meters {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+}
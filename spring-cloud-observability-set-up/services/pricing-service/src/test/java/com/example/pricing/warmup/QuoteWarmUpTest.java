@@ -0,0 +1,80 @@
+package com.example.pricing.warmup;
+
+import com.example.pricing.controller.PricingController;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteWarmUpTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final CountingMapper json = new CountingMapper(new JsonFactory());
+  private final CountingMapper smile = new CountingMapper(new SmileFactory());
+  private final HttpMessageConverters converters = new HttpMessageConverters(false, List.of(
+      new StringHttpMessageConverter(),
+      new MappingJackson2HttpMessageConverter(json),
+      new MappingJackson2SmileHttpMessageConverter(smile)));
+
+  @Test
+  void replays_quotes_through_the_controller_and_every_jackson_converter() {
+    quoteWarmUp(List.of("baseFare=220.00&currency=usd&bags=1", "baseFare=99.90&currency=MXN")).run(null);
+
+    double requests = registry.get("warmup.requests").gauge().value();
+    assertThat(requests).isPositive();
+    assertThat(registry.get("pricing.quote").timer().count()).isEqualTo((long) requests);
+    assertThat(json.writes.get()).isEqualTo((long) requests);
+    assertThat(smile.writes.get()).isEqualTo((long) requests);
+  }
+
+  @Test
+  void bad_requests_are_counted_not_thrown() {
+    quoteWarmUp(List.of("currency=USD")).run(null);
+
+    assertThat(registry.get("warmup.requests").gauge().value()).isPositive();
+    assertThat(registry.get("warmup.duration").tag("outcome", "timeout").timeGauge()).isNotNull();
+    assertThat(registry.get("pricing.quote").timer().count()).isZero();
+  }
+
+  @Test
+  void gauges_keep_reporting_after_the_warm_up() {
+    quoteWarmUp(List.of("baseFare=220.00&currency=usd&bags=1")).run(null);
+    System.gc();
+
+    assertThat(registry.get("warmup.requests").gauge().value()).isPositive();
+  }
+
+  private QuoteWarmUp quoteWarmUp(List<String> requests) {
+    var properties = new WarmUpProperties(true, Duration.ZERO, Duration.ofMillis(300), 2, 20, 2, 10.0, requests, null);
+    return new QuoteWarmUp(new WarmUp(properties, registry), new PricingController(registry), converters);
+  }
+
+  private static final class CountingMapper extends ObjectMapper {
+
+    final AtomicLong writes = new AtomicLong();
+
+    CountingMapper(JsonFactory factory) {
+      super(factory);
+    }
+
+    @Override
+    public void writeValue(OutputStream out, Object value) throws IOException {
+      writes.incrementAndGet();
+      super.writeValue(out, value);
+    }
+  }
+}